@@ -168,6 +168,29 @@ public abstract class GLDrawContext {
 
 	private List<UnifiedDrawHandle> caches = new ArrayList<>();
 
+	private boolean spriteBatching = false;
+
+	/**
+	 * While sprite batching is enabled, simple textured quads of managed handles are not drawn one by one. They are collected per texture
+	 * atlas and drawn with one instanced draw call per atlas when the frame is finished, the depth buffer is cleared or the global
+	 * attributes change.
+	 * <p>
+	 * The order of the sprites is lost, so this may only be enabled while everything is drawn with a depth.
+	 *
+	 * @param spriteBatching
+	 * 		<code>true</code> to collect the sprites, <code>false</code> to draw all collected sprites and draw the following ones directly.
+	 */
+	public void setSpriteBatching(boolean spriteBatching) {
+		if(this.spriteBatching && !spriteBatching) {
+			finishFrame();
+		}
+		this.spriteBatching = spriteBatching;
+	}
+
+	public boolean isSpriteBatching() {
+		return spriteBatching;
+	}
+
 	public void finishFrame() {
 		for(int i = 0;i != caches.size(); i++) {
 			if(caches.get(i).flush()) i--;
@@ -14,6 +14,15 @@ public class ManagedUnifiedDrawHandle extends UnifiedDrawHandle {
 		this.texHeight = texHeight;
 	}
 
+	@Override
+	public void drawSimple(int primitive, float x, float y, float z, float sx, float sy, AbstractColor color, float intensity) {
+		if(parent.multiCache != null && primitive == EPrimitiveType.Quad && dc.isSpriteBatching()) {
+			parent.multiCache.schedule(this, EUnifiedMode.TEXTURE, x, y, z, sx, sy, color, intensity);
+		} else {
+			super.drawSimple(primitive, x, y, z, sx, sy, color, intensity);
+		}
+	}
+
 	@Override
 	public void drawComplexQuad(int mode, float x, float y, float z, float sx, float sy, AbstractColor color, float intensity) {
 		if(parent.multiCache != null) {
@@ -210,4 +210,39 @@ public final class HexGridArea implements IMapArea {
 	public static CoordinateStream streamBorder(ShortPoint2D center, int radius) {
 		return streamBorder(center.x, center.y, radius);
 	}
+
+	/**
+	 * Gets the position at which {@link #stream(int, int, int, int)} with a start radius of 0 visits the given offset from the center. Points
+	 * with a smaller index are visited first, independent of the start and max radius.
+	 *
+	 * @param dx
+	 *            x offset from the center.
+	 * @param dy
+	 *            y offset from the center.
+	 * @return The index of the offset in the iteration order.
+	 */
+	public static int getStreamIndex(int dx, int dy) {
+		int radius = ShortPoint2D.getOnGridDist(dx, dy);
+		if (radius == 0) {
+			return 0;
+		}
+
+		// the ring of the radius starts one step SOUTH_EAST of (0|-radius) and walks one side per direction of DIRECTION_INCREASE_X/Y
+		int ringIndex;
+		if (dx > 0 && dy == dx - radius) {
+			ringIndex = dx - 1;
+		} else if (dx == radius && dy > 0) {
+			ringIndex = radius + dy - 1;
+		} else if (dy == radius && dx >= 0) {
+			ringIndex = 3 * radius - dx - 1;
+		} else if (dx < 0 && dy == radius + dx) {
+			ringIndex = 3 * radius - dx - 1;
+		} else if (dx == -radius && dy < 0) {
+			ringIndex = 4 * radius - dy - 1;
+		} else {
+			ringIndex = 6 * radius + dx - 1;
+		}
+
+		return 1 + 3 * radius * (radius - 1) + ringIndex;
+	}
 }
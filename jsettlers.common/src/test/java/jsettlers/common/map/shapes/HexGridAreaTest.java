@@ -185,6 +185,19 @@ public class HexGridAreaTest {
 		assertPositionsIterate(center, startRadius, maxRadius, expectedCount);
 	}
 
+	@Test
+	public void testStreamIndexMatchesIterationOrder() {
+		ShortPoint2D center = new ShortPoint2D(40, 40);
+		MutableInt counter = new MutableInt(0);
+
+		HexGridArea.stream(center.x, center.y, 0, 30).forEach((x, y) -> {
+			assertEquals("pos: (" + x + "|" + y + ")", counter.value, HexGridArea.getStreamIndex(x - center.x, y - center.y));
+			counter.value++;
+		});
+
+		assertEquals(1 + 3 * 30 * 31, counter.value);
+	}
+
 	private void assertPositionsIterate(ShortPoint2D center, int startRadius, int maxRadius, int expectedCount) {
 		int width = center.x + maxRadius + 1;
 		int height = center.y + maxRadius + 1;
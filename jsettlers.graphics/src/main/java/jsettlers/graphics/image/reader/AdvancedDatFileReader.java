@@ -17,7 +17,9 @@ package jsettlers.graphics.image.reader;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -192,8 +194,13 @@ public class AdvancedDatFileReader implements DatFileReader {
 
 	private final DatFileMapping mapping;
 
-	private       ByteReader reader = null;
-	private final File       file;
+	/**
+	 * The reader the index was read with. All images are decoded with own readers created by {@link ByteReader#readerAt(long)}, so independent
+	 * sequences can be decoded concurrently.
+	 */
+	private          ByteReader reader = null;
+	private final    File       file;
+	private volatile boolean    initialized;
 
 	/**
 	 * This is a list of file positions where the settler sequences start.
@@ -203,7 +210,7 @@ public class AdvancedDatFileReader implements DatFileReader {
 	/**
 	 * A list of loaded settler sequences.
 	 */
-	private Sequence<Image>[] settlerSequences = null;
+	private AtomicReferenceArray<Sequence<Image>> settlerSequences = null;
 	/**
 	 * An array with the same length as settlers.
 	 */
@@ -213,6 +220,14 @@ public class AdvancedDatFileReader implements DatFileReader {
 	 */
 	private int[]             shadowStarts;
 
+	/**
+	 * The frame positions of every settler, torso and shadow sequence. They are read once when the reader is initialized. A sequence without
+	 * frames has an empty array, a sequence with a broken header <code>null</code>.
+	 */
+	private long[][] settlerFrames;
+	private long[][] torsoFrames;
+	private long[][] shadowFrames;
+
 	/**
 	 * A list of loaded landscae images.
 	 */
@@ -261,6 +276,7 @@ public class AdvancedDatFileReader implements DatFileReader {
 		SequenceList<Image> settlers = getSettlers();
 
 		return new Hashes(IntStream.range(0, settlers.size())
+				.parallel()
 				.mapToObj(settlers::get)
 				.map(sequence -> sequence.getImage(0, null))
 				.filter(image -> image instanceof SingleImage)
@@ -273,6 +289,7 @@ public class AdvancedDatFileReader implements DatFileReader {
 		Sequence<SingleImage> sequence = getGuis();
 
 		return new Hashes(IntStream.range(0, sequence.length())
+				.parallel()
 				.mapToObj(index -> sequence.getImage(index, null))
 				.map(SingleImage::hash)
 				.collect(Collectors.toList()));
@@ -281,19 +298,14 @@ public class AdvancedDatFileReader implements DatFileReader {
 	/**
 	 * Initializes the reader, reads the index.
 	 */
-	@SuppressWarnings("unchecked")
-	public void initialize() {
-		try {
-			reader = new ByteReader(new RandomAccessFile(file, "r"));
+	public synchronized void initialize() {
+		try (RandomAccessFile in = new RandomAccessFile(file, "r")) {
+			// the mapping stays valid after the file is closed
+			reader = new ByteReader(in.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, in.length()));
 			initFromReader(file, reader);
 
 		} catch (IOException e) {
-			if (reader != null) {
-				try {
-					reader.close();
-				} catch (IOException ex) { /* nothing to do */ }
-				reader = null;
-			}
+			reader = null;
 			System.out.println("Could not read dat file " + file + " due to: " + e.getMessage());
 		}
 		initializeNullFile();
@@ -301,7 +313,7 @@ public class AdvancedDatFileReader implements DatFileReader {
 		landscapeImages = new SingleImage[landscapeStarts.length];
 
 		guiImages = new SingleImage[guiStarts.length];
-		settlerSequences = new Sequence[settlerStarts.length];
+		settlerSequences = new AtomicReferenceArray<>(settlerStarts.length);
 
 		int torsoDifference = settlerStarts.length - torsoStarts.length;
 		if (torsoDifference > 0) {
@@ -313,6 +325,15 @@ public class AdvancedDatFileReader implements DatFileReader {
 			}
 		}
 
+		alignShadows();
+
+		settlerFrames = readSequenceHeaders(settlerStarts);
+		torsoFrames = readSequenceHeaders(torsoStarts);
+		shadowFrames = readSequenceHeaders(shadowStarts);
+		initialized = true;
+	}
+
+	private void alignShadows() {
 		int shadowDifference = settlerStarts.length - shadowStarts.length;
 		int i;
 		if (shadowDifference > 0) {
@@ -483,10 +504,45 @@ public class AdvancedDatFileReader implements DatFileReader {
 		}
 	}
 
+	private long[][] readSequenceHeaders(int[] starts) {
+		long[][] frames = new long[starts.length][];
+		for (int i = 0; i < starts.length; i++) {
+			if (starts[i] < 0) {
+				frames[i] = new long[0];
+			} else {
+				try {
+					frames[i] = readSequenceHeader(starts[i]);
+				} catch (IOException e) {
+					frames[i] = null;
+				}
+			}
+		}
+		return frames;
+	}
+
 	private void initializeIfNeeded() {
-		if (settlerSequences == null) {
-			initialize();
+		if (!initialized) {
+			synchronized (this) {
+				if (!initialized) {
+					initialize();
+				}
+			}
+		}
+	}
+
+	private ByteReader readerAt(long position) throws IOException {
+		if (reader == null) {
+			throw new IOException("Could not read dat file " + file);
 		}
+		return reader.readerAt(position);
+	}
+
+	private static long[] getFrames(long[][] frames, int index) throws IOException {
+		long[] sequenceFrames = frames[index];
+		if (sequenceFrames == null) {
+			throw new IOException("The header of sequence " + index + " could not be read.");
+		}
+		return sequenceFrames;
 	}
 
 	@Override
@@ -500,61 +556,54 @@ public class AdvancedDatFileReader implements DatFileReader {
 		@Override
 		public Sequence<Image> get(int index) {
 			initializeIfNeeded();
-			if (settlerSequences[index] == null) {
-				settlerSequences[index] = NULL_SETTLER_SEQUENCE;
+			Sequence<Image> sequence = settlerSequences.get(index);
+			if (sequence == null) {
+				// concurrent calls may decode the same sequence twice, but never see an incomplete one
 				try {
-					loadSettlers(index, file_name);
+					sequence = loadSettlers(index, file_name);
 				} catch (Exception e) {
+					sequence = NULL_SETTLER_SEQUENCE;
 				}
+				settlerSequences.set(index, sequence);
 			}
-			return settlerSequences[index];
+			return sequence;
 		}
 
 		@Override
 		public int size() {
 			initializeIfNeeded();
-			return settlerSequences.length;
+			return settlerSequences.length();
 		}
 	}
 
-	private synchronized void loadSettlers(int goldIndex, String name) throws IOException {
+	private Sequence<Image> loadSettlers(int goldIndex, String name) throws IOException {
 		int theseGraphicsFilesIndex = mapping.mapSettlersSequence(goldIndex);
 
-		int position = settlerStarts[theseGraphicsFilesIndex];
-		long[] framePositions = readSequenceHeader(position);
+		long[] framePositions = getFrames(settlerFrames, theseGraphicsFilesIndex);
 
 		SettlerImage[] images = new SettlerImage[framePositions.length];
 		for (int i = 0; i < framePositions.length; i++) {
-			reader.skipTo(framePositions[i]);
-			images[i] = DatBitmapReader.getImage(settlerTranslator, reader, name + "-S" + goldIndex + ":" + i);
+			images[i] = DatBitmapReader.getImage(settlerTranslator, readerAt(framePositions[i]), name + "-S" + goldIndex + ":" + i);
 		}
 
-		int torsoPosition = torsoStarts[theseGraphicsFilesIndex];
-		if (torsoPosition >= 0) {
-			long[] torsoPositions = readSequenceHeader(torsoPosition);
-			for (int i = 0; i < torsoPositions.length && i < framePositions.length; i++) {
-				reader.skipTo(torsoPositions[i]);
-				SingleImage torso = DatBitmapReader.getImage(torsoTranslator, reader, name + "-T" + goldIndex + ":" + i);
-				images[i].setTorso(torso);
-			}
+		long[] torsoPositions = getFrames(torsoFrames, theseGraphicsFilesIndex);
+		for (int i = 0; i < torsoPositions.length && i < framePositions.length; i++) {
+			SingleImage torso = DatBitmapReader.getImage(torsoTranslator, readerAt(torsoPositions[i]), name + "-T" + goldIndex + ":" + i);
+			images[i].setTorso(torso);
 		}
 
-		int shadowPosition = shadowStarts[theseGraphicsFilesIndex];
-		if (shadowPosition >= 0) {
-			long[] shadowPositions = readSequenceHeader(shadowPosition);
-			for (int i = 0; i < shadowPositions.length
-				&& i < framePositions.length; i++) {
-				reader.skipTo(shadowPositions[i]);
-				SingleImage shadow = DatBitmapReader.getImage(shadowTranslator, reader, name + "-SH" + goldIndex + ":" + i);
-				images[i].setShadow(shadow);
-			}
+		long[] shadowPositions = getFrames(shadowFrames, theseGraphicsFilesIndex);
+		for (int i = 0; i < shadowPositions.length
+			&& i < framePositions.length; i++) {
+			SingleImage shadow = DatBitmapReader.getImage(shadowTranslator, readerAt(shadowPositions[i]), name + "-SH" + goldIndex + ":" + i);
+			images[i].setShadow(shadow);
 		}
 
-		settlerSequences[goldIndex] = new ArraySequence<>(images);
+		return new ArraySequence<>(images);
 	}
 
 	private long[] readSequenceHeader(int position) throws IOException {
-		reader.skipTo(position);
+		ByteReader reader = readerAt(position);
 
 		reader.assumeToRead(START);
 		int frameCount = reader.read8();
@@ -621,14 +670,12 @@ public class AdvancedDatFileReader implements DatFileReader {
 	@Override
 	public ByteReader getReaderForLandscape(int index) throws IOException {
 		initializeIfNeeded();
-		reader.skipTo(landscapeStarts[index]);
-		return reader;
+		return readerAt(landscapeStarts[index]);
 	}
 
 	private void loadLandscapeImage(int index, String name) {
 		try {
-			reader.skipTo(landscapeStarts[index]);
-			SingleImage image = DatBitmapReader.getImage(landscapeTranslator, reader, name);
+			SingleImage image = DatBitmapReader.getImage(landscapeTranslator, readerAt(landscapeStarts[index]), name);
 			landscapeImages[index] = image;
 		} catch (IOException e) {
 			landscapeImages[index] = NullImage.getForLandscape();
@@ -680,8 +727,7 @@ public class AdvancedDatFileReader implements DatFileReader {
 	private void loadGuiImage(int goldIndex, String name) {
 		try {
 			int theseGraphicsFilesIndex = mapping.mapGuiImage(goldIndex);
-			reader.skipTo(guiStarts[theseGraphicsFilesIndex]);
-			SingleImage image = DatBitmapReader.getImage(guiTranslator, reader, name);
+			SingleImage image = DatBitmapReader.getImage(guiTranslator, readerAt(guiStarts[theseGraphicsFilesIndex]), name);
 			guiImages[goldIndex] = image;
 		} catch (IOException | ArrayIndexOutOfBoundsException e) {
 			guiImages[goldIndex] = NullImage.getForGui();
@@ -690,21 +736,20 @@ public class AdvancedDatFileReader implements DatFileReader {
 
 	public long[] getSettlerPointers(int seqIndex) throws IOException {
 		initializeIfNeeded();
-		return readSequenceHeader(settlerStarts[seqIndex]);
+		return getFrames(settlerFrames, seqIndex);
 	}
 
 	public long[] getTorsoPointers(int seqIndex) throws IOException {
 		initializeIfNeeded();
-		int position = torsoStarts[seqIndex];
-		if (position >= 0) {
-			return readSequenceHeader(position);
+		if (torsoStarts[seqIndex] >= 0) {
+			return getFrames(torsoFrames, seqIndex);
 		} else {
 			return null;
 		}
 	}
 
 	/**
-	 * Gets a reader positioned at the given settler
+	 * Gets a new reader positioned at the given settler
 	 *
 	 * @param pointer
 	 * 		Start of the reader
@@ -714,8 +759,7 @@ public class AdvancedDatFileReader implements DatFileReader {
 	 */
 	public ByteReader getReaderForPointer(long pointer) throws IOException {
 		initializeIfNeeded();
-		reader.skipTo(pointer);
-		return reader;
+		return readerAt(pointer);
 	}
 
 	public DatBitmapTranslator<SettlerImage> getSettlerTranslator() {
@@ -21,6 +21,7 @@ import java.util.Arrays;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class DatFileUtils {
 
@@ -29,15 +30,18 @@ public class DatFileUtils {
 		List<File> distinctGfxDatFiles = distinctFileNames(gfxDatFiles);
 
 		// F-1 because we dont know the dat file index
-		List<Long> list = new ArrayList<>();
-		for (File file : distinctGfxDatFiles) {
-			if (file.getName().toLowerCase().endsWith(".dat")) {
-				AdvancedDatFileReader reader = new AdvancedDatFileReader(file, DatFileType.getForPath(file), "F-1");
+		// the files are decoded in parallel, the order of the hashes stays the same
+		List<Long> list = distinctGfxDatFiles.parallelStream()
+				.filter(file -> file.getName().toLowerCase().endsWith(".dat"))
+				.map(file -> {
+					AdvancedDatFileReader reader = new AdvancedDatFileReader(file, DatFileType.getForPath(file), "F-1");
 
-				list.addAll(reader.getSettlersHashes().getHashes());
-				list.addAll(reader.getGuiHashes().getHashes());
-			}
-		}
+					List<Long> fileHashes = new ArrayList<>(reader.getSettlersHashes().getHashes());
+					fileHashes.addAll(reader.getGuiHashes().getHashes());
+					return fileHashes;
+				})
+				.flatMap(List::stream)
+				.collect(Collectors.toList());
 		Hashes hashes = new Hashes(list);
 
 		return Long.toString(hashes.hash());
@@ -85,6 +85,7 @@ import jsettlers.graphics.localization.Labels;
 import jsettlers.graphics.map.controls.IControls;
 import jsettlers.graphics.map.controls.original.OriginalControls;
 import jsettlers.graphics.map.draw.Background;
+import jsettlers.graphics.map.draw.DrawConstants;
 import jsettlers.graphics.map.draw.ImageProvider;
 import jsettlers.graphics.map.draw.MapObjectDrawer;
 import jsettlers.graphics.messages.Messenger;
@@ -326,22 +327,25 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 
 			this.context.begin(gl);
 			long start = System.nanoTime();
+			long backgroundDuration;
+			try {
+				FloatRectangle screen = this.context.getScreen().getPosition().bigger(SCREEN_PADDING);
+				drawBackground(screen);
+				backgroundDuration = System.nanoTime() - start;
 
-			FloatRectangle screen = this.context.getScreen().getPosition().bigger(SCREEN_PADDING);
-			drawBackground(screen);
-			long backgroundDuration = System.nanoTime() - start;
+				start = System.nanoTime();
+				drawMain(screen);
 
-			start = System.nanoTime();
-			drawMain(screen);
-
-			if (scrollMarker != null) {
-				drawGotoMarker();
-			}
-			if (moveToMarker != null) {
-				drawMoveToMarker();
+				if (scrollMarker != null) {
+					drawGotoMarker();
+				}
+				if (moveToMarker != null) {
+					drawMoveToMarker();
+				}
+			} finally {
+				// the UI is drawn in submission order, so it must never be batched
+				this.context.end();
 			}
-
-			this.context.end();
 			long foregroundDuration = System.nanoTime() - start;
 
 			start = System.nanoTime();
@@ -557,6 +561,10 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 
 		double bottomDrawY = screen.getMinY() - OVERDRAW_BOTTOM_PX;
 
+		// when zoomed out, the border markers overlap, so only the ones on the grid of the background detail are drawn
+		float zoom = this.context.getScreen().getZoom();
+		int borderStep = zoom < DrawConstants.BACKGROUND_QUARTER_DETAIL_ZOOM ? 4 : zoom < DrawConstants.BACKGROUND_HALF_DETAIL_ZOOM ? 2 : 1;
+
 		boolean linePartiallyVisible = true;
 		for(int line = 0; line < area.getHeight() + 50 && linePartiallyVisible; line++) {
 			int y = area.getLineY(line);
@@ -571,7 +579,7 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 			int endX = Math.min(area.getLineEndX(line), width - 1);
 			int startX = Math.max(area.getLineStartX(line), 0);
 			for(int x = startX; x <= endX; x++) {
-				drawTile(x, y);
+				drawTile(x, y, borderStep);
 				if(!linePartiallyVisible) {
 					double drawSpaceY = this.context.getConverter().getViewY(x, y, heightGrid == null ? this.context.getHeight(x, y) : heightGrid[x][y]);
 					if (drawSpaceY > bottomDrawY) {
@@ -597,7 +605,7 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 		}
 	}
 
-	private void drawTile(int x, int y) {
+	private void drawTile(int x, int y, int borderStep) {
 		int tileIndex = x+y*width;
 
 		byte fow = visibleGrid != null && ((IDirectGridProvider)map).isFoWEnabled() ? visibleGrid[x][y] : map.getVisibleStatus(x, y);
@@ -624,7 +632,8 @@ public final class MapContent implements RegionContent, IMapInterfaceListener, A
 				this.objectDrawer.draw(movable);
 			}
 
-			if (borderGrid != null ? borderGrid.get(tileIndex) : map.isBorder(x, y)) {
+			boolean onBorderGrid = borderStep == 1 || x % borderStep == 0 || y % borderStep == 0;
+			if (onBorderGrid && (borderGrid != null ? borderGrid.get(tileIndex) : map.isBorder(x, y))) {
 				IPlayer player = map.getPlayerAt(x, y);
 				objectDrawer.drawPlayerBorderObject(x, y, player);
 			}
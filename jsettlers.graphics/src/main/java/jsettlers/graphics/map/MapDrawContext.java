@@ -152,6 +152,8 @@ public final class MapDrawContext implements IGLProvider {
 		offsetX = (int) (-screen.getLeft()+.5f);
 		offsetY = (int) (-screen.getBottom()+.5f);
 		gl2.setGlobalAttributes(offsetX, offsetY, 0, zoom, zoom, 1);
+		// everything on the map has a depth, so the sprites can be drawn grouped by their texture.
+		gl2.setSpriteBatching(true);
 	}
 
 	private int offsetX, offsetY;
@@ -168,6 +170,7 @@ public final class MapDrawContext implements IGLProvider {
 	 * Ends a drawing session.
 	 */
 	public void end() {
+		this.gl.setSpriteBatching(false);
 		this.gl = null;
 	}
 
@@ -17,6 +17,9 @@ package jsettlers.graphics.map.draw;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import go.graphics.AdvancedUpdateBufferCache;
 import go.graphics.BackgroundDrawHandle;
@@ -24,7 +27,6 @@ import go.graphics.GLDrawContext;
 import go.graphics.IllegalBufferException;
 import go.graphics.TextureHandle;
 
-import go.graphics.VkDrawContext;
 import jsettlers.common.CommonConstants;
 import jsettlers.common.landscape.ELandscapeType;
 import jsettlers.common.map.IDirectGridProvider;
@@ -62,6 +64,15 @@ public class Background implements IGraphicsBackgroundListener {
 	private static final int BYTES_PER_FIELD_SHAPE = 4*5*3*2; // 4 bytes per float * 5 components(x,y,z,t,v) * 3 points per triangle * 2 triangles per field
 	private static final int BYTES_PER_FIELD_COLOR = 4*3*2; // 4 component(r,g,b,a actually gray) * 3 points per triangle * 2 triangles per field
 
+	/**
+	 * The background is split into chunks of this many fields in both directions. Only the chunks on the screen are generated.
+	 */
+	private static final int CHUNK_SIZE = 64;
+	/**
+	 * Chunks are kept after they left the screen until there are more than this many or twice as many as the screen needs.
+	 */
+	private static final int MIN_CACHED_CHUNKS = 16;
+
 	/**
 	 * Where are the textures on the map?
 	 * <p>
@@ -846,7 +857,12 @@ public class Background implements IGraphicsBackgroundListener {
 
 	private static TextureHandle texture = null;
 
-	private BackgroundDrawHandle backgroundHandle = null;
+	private final int chunksX; // in chunks.
+	private final Chunk[] residentChunks; // the chunk at chunkY * chunksX + chunkX, if it is generated. Used as lock for all chunk data.
+	private final List<Chunk> chunkPool = new ArrayList<>();
+	private GLDrawContext chunkContext = null;
+	private long frame = 0;
+	private int lastVisibleChunks = 0;
 
 	private boolean hasdgp;
 	private IDirectGridProvider dgp;
@@ -987,10 +1003,8 @@ public class Background implements IGraphicsBackgroundListener {
 		dgp = context.getDGP();
 		hasdgp = dgp != null;
 
-		color_bfr2 = ByteBuffer.allocateDirect(BYTES_PER_FIELD_COLOR*bufferHeight*bufferWidth).order(ByteOrder.nativeOrder());
-		shape_bfr2 = ByteBuffer.allocateDirect(BYTES_PER_FIELD_SHAPE*bufferHeight*bufferWidth).order(ByteOrder.nativeOrder());
-		color_cache2 = new AdvancedUpdateBufferCache(color_bfr2, BYTES_PER_FIELD_COLOR, context::getGl, () -> backgroundHandle.colors, bufferWidth);
-		shape_cache2 = new AdvancedUpdateBufferCache(shape_bfr2, BYTES_PER_FIELD_SHAPE, context::getGl, () -> backgroundHandle.vertices, bufferWidth);
+		chunksX = (bufferWidth + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		residentChunks = new Chunk[chunksX * ((bufferHeight + CHUNK_SIZE - 1) / CHUNK_SIZE)];
 		asyncAccessContext = context;
 	}
 
@@ -1079,145 +1093,212 @@ public class Background implements IGraphicsBackgroundListener {
 	 */
 	public void drawMapContent(MapDrawContext context, FloatRectangle screen) {
 		GLDrawContext gl = context.getGl();
+		if(gl != chunkContext || (!chunkPool.isEmpty() && !chunkPool.get(0).handle.isValid())) {
+			resetChunks(context);
+		}
+		fowEnabled = hasdgp && dgp.isFoWEnabled();
+		frame++;
+
+		float zoom = context.getScreen().getZoom();
+		int step = zoom < DrawConstants.BACKGROUND_QUARTER_DETAIL_ZOOM ? 4 : zoom < DrawConstants.BACKGROUND_HALF_DETAIL_ZOOM ? 2 : 1;
 		try {
-			if(backgroundHandle == null || !backgroundHandle.isValid()) {
-				generateGeometry(context);
-				context.getGl().setHeightMatrix(context.getConverter().getMatrixWithHeight());
-			}
+			drawChunks(context, context.getConverter().getMapForScreen(screen), step);
 		} catch (IllegalBufferException e) {
 			// TODO: Create crash report.
 			e.printStackTrace();
 		}
-
-		MapRectangle screenArea = context.getConverter().getMapForScreen(screen);
-
-		updateGeometry(context, screenArea);
-
-		backgroundHandle.offset = (screenArea.getMinY() * bufferWidth + screenArea.getMinX())*2;
-		backgroundHandle.lines = screenArea.getHeight();
-		backgroundHandle.width = screenArea.getWidth()*2;
-		gl.drawBackground(backgroundHandle);
 	}
 
-	private void generateGeometry(MapDrawContext context) throws IllegalBufferException {
-		int vertices = bufferWidth*bufferHeight*3*2;
-		backgroundHandle = context.getGl().createBackgroundDrawCall(vertices, getTexture(context.getGl()));
-		backgroundHandle.stride = (2*bufferWidth)+1;
+	private void resetChunks(MapDrawContext context) {
+		synchronized (residentChunks) {
+			chunkPool.clear();
+			Arrays.fill(residentChunks, null);
+		}
+		chunkContext = context.getGl();
+		chunkContext.setHeightMatrix(context.getConverter().getMatrixWithHeight());
 
-		shape_bfr = ByteBuffer.allocateDirect(BYTES_PER_FIELD_SHAPE*bufferWidth).order(ByteOrder.nativeOrder());
-		color_bfr = ByteBuffer.allocateDirect(BYTES_PER_FIELD_COLOR*bufferWidth).order(ByteOrder.nativeOrder());
+		context.getMap().setBackgroundListener(this);
+	}
 
-		for(int y = 0;y != bufferHeight;y++) {
-			for(int x = 0; x != bufferWidth;x++) {
-				addTrianglesToGeometry(context, shape_bfr, x, y);
+	private void drawChunks(MapDrawContext context, MapRectangle screen, int step) throws IllegalBufferException {
+		int miny = Math.max(screen.getMinY(), 0);
+		int maxy = Math.min(screen.getMinY() + screen.getHeight(), bufferHeight);
+
+		int visibleChunks = 0;
+		for(int chunkY = miny / CHUNK_SIZE; chunkY * CHUNK_SIZE < maxy; chunkY++) {
+			int fromY = Math.max(miny, chunkY * CHUNK_SIZE);
+			int toY = Math.min(maxy, (chunkY + 1) * CHUNK_SIZE);
+			// the screen is a parallelogram on the map: its left border is at the top and its right border at the bottom of the chunk row
+			int fromX = Math.max(screen.getLineStartX(fromY - screen.getMinY()), 0);
+			int toX = Math.min(screen.getLineEndX(toY - 1 - screen.getMinY()), bufferWidth - 1);
+			if(fromX > toX) continue;
+
+			for(int chunkX = fromX / CHUNK_SIZE; chunkX * CHUNK_SIZE <= toX; chunkX++) {
+				getChunk(context, chunkX, chunkY, step).draw(context.getGl(), fromY, toY);
+				visibleChunks++;
 			}
-			shape_bfr.rewind();
-			context.getGl().updateBufferAt(backgroundHandle.vertices, BYTES_PER_FIELD_SHAPE*bufferWidth*y, shape_bfr);
 		}
-		fowEnabled = hasdgp && dgp.isFoWEnabled();
+		lastVisibleChunks = visibleChunks;
+	}
 
-		for(int y = 0; y != bufferHeight; y++) {
-			for(int x = 0; x != bufferWidth; x++) {
-				addColorTrianglesToGeometry(context, color_bfr, x, y);
+	private Chunk getChunk(MapDrawContext context, int chunkX, int chunkY, int step) throws IllegalBufferException {
+		synchronized (residentChunks) {
+			int index = chunkY * chunksX + chunkX;
+			Chunk chunk = residentChunks[index];
+			if(chunk == null) {
+				chunk = takeLeastRecentlyDrawnChunk(context.getGl());
+				chunk.generate(context, index, chunkX * CHUNK_SIZE, chunkY * CHUNK_SIZE, step);
+			} else if(chunk.step != step) {
+				chunk.generate(context, index, chunk.minX, chunk.minY, step);
+			} else {
+				chunk.uploadChanges();
 			}
-			color_bfr.rewind();
-			context.getGl().updateBufferAt(backgroundHandle.colors, BYTES_PER_FIELD_COLOR * bufferWidth * y, color_bfr);
+			chunk.lastDrawnFrame = frame;
+			return chunk;
 		}
+	}
 
-		shape_bfr = ByteBuffer.allocateDirect(BYTES_PER_FIELD_SHAPE).order(ByteOrder.nativeOrder());
+	/**
+	 * Reuses the chunk that was not drawn for the longest time or creates a new one while the pool is smaller than the screen needs.
+	 */
+	private Chunk takeLeastRecentlyDrawnChunk(GLDrawContext gl) {
+		Chunk leastRecent = null;
+		if(chunkPool.size() >= Math.max(MIN_CACHED_CHUNKS, 2 * lastVisibleChunks)) {
+			for(Chunk chunk : chunkPool) {
+				if(chunk.lastDrawnFrame != frame && (leastRecent == null || chunk.lastDrawnFrame < leastRecent.lastDrawnFrame)) {
+					leastRecent = chunk;
+				}
+			}
+		}
 
-		context.getMap().setBackgroundListener(this);
+		if(leastRecent == null) {
+			leastRecent = new Chunk(gl);
+			chunkPool.add(leastRecent);
+		} else {
+			residentChunks[leastRecent.index] = null;
+		}
+		return leastRecent;
 	}
 
-	private AdvancedUpdateBufferCache color_cache2;
-	private AdvancedUpdateBufferCache shape_cache2;
-	private final ByteBuffer color_bfr2;
-	private final ByteBuffer shape_bfr2;
-	private ByteBuffer shape_bfr;
-	private ByteBuffer color_bfr;
-
-	private void updateGeometry(MapDrawContext context, MapRectangle screen) {
-		fowEnabled = hasdgp && dgp.isFoWEnabled();
+	/**
+	 * A square part of the background with its own buffers. Its fields are stored line by line. If the chunk is drawn with less detail, every
+	 * stored field covers step * step fields of the map and its corners are sampled from the map.
+	 */
+	private class Chunk {
+		private final BackgroundDrawHandle handle;
+		private final ByteBuffer shape = ByteBuffer.allocateDirect(BYTES_PER_FIELD_SHAPE*CHUNK_SIZE*CHUNK_SIZE).order(ByteOrder.nativeOrder());
+		private final ByteBuffer color = ByteBuffer.allocateDirect(BYTES_PER_FIELD_COLOR*CHUNK_SIZE*CHUNK_SIZE).order(ByteOrder.nativeOrder());
+		private AdvancedUpdateBufferCache shapeCache;
+		private AdvancedUpdateBufferCache colorCache;
+
+		private int index = -1;
+		private int minX, minY, width, height;
+		private int step, columns, rows;
+		private long lastDrawnFrame;
+
+		private Chunk(GLDrawContext gl) {
+			handle = gl.createBackgroundDrawCall(CHUNK_SIZE*CHUNK_SIZE*3*2, getTexture(gl));
+		}
 
-		try {
-			int height = screen.getHeight();
-			int width = screen.getWidth();
-			int miny = screen.getMinY();
-			int minx = screen.getMinX();
-			int maxy = miny + height;
+		private void generate(MapDrawContext context, int index, int minX, int minY, int step) throws IllegalBufferException {
+			this.index = index;
+			this.minX = minX;
+			this.minY = minY;
+			this.step = step;
+			width = Math.min(CHUNK_SIZE, bufferWidth - minX);
+			height = Math.min(CHUNK_SIZE, bufferHeight - minY);
+			columns = (width + step - 1) / step;
+			rows = (height + step - 1) / step;
+			residentChunks[index] = this;
+
+			shapeCache = new AdvancedUpdateBufferCache(shape, BYTES_PER_FIELD_SHAPE, context::getGl, () -> handle.vertices, columns);
+			colorCache = new AdvancedUpdateBufferCache(color, BYTES_PER_FIELD_COLOR, context::getGl, () -> handle.colors, columns);
+
+			shape.clear();
+			color.clear();
+			for(int row = 0; row != rows; row++) {
+				for(int column = 0; column != columns; column++) {
+					addField(context, row, column);
+				}
+			}
+			shape.flip();
+			color.flip();
+			context.getGl().updateBufferAt(handle.vertices, 0, shape);
+			context.getGl().updateBufferAt(handle.colors, 0, color);
+			shape.clear();
+			color.clear();
+		}
 
-			if (maxy > bufferHeight) maxy = bufferHeight;
-			if (miny < 0) miny = 0;
-			int linestart = minx - (miny / 2);
+		private void addField(MapDrawContext context, int row, int column) {
+			int x = minX + column * step;
+			int y = minY + row * step;
+			int stepX = Math.min(step, bufferWidth - x);
+			int stepY = Math.min(step, bufferHeight - y);
+			addTrianglesToGeometry(context, shape, x, y, stepX, stepY);
+			addColorTrianglesToGeometry(context, color, x, y, stepX, stepY);
+		}
 
+		private void updateLine(int y, int x1, int x2) {
+			int row = (y - minY) / step;
+			int fromColumn = (x1 - minX) / step;
+			int toColumn = (x2 - 1 - minX) / step + 1;
+			updateFields(row, fromColumn, toColumn);
+			if(step > 1 && row + 1 < rows) {
+				// the shading of the next line depends on the heights of this line
+				updateFields(row + 1, fromColumn, toColumn);
+			}
+		}
 
-			if(context.getGl() instanceof VkDrawContext) {
-				synchronized (color_bfr2) {
-					color_cache2.clearCache();
-				}
-				synchronized (shape_bfr2) {
-					shape_cache2.clearCache();
-				}
-			} else {
-				synchronized (color_bfr2) {
-					synchronized (shape_bfr2) {
-						for (int y = miny; y < maxy; y++) {
-							int lineStartX = linestart + (y / 2);
-
-							int linewidth = (width + lineStartX);
-							if (linewidth >= bufferWidth) {
-								linewidth = bufferWidth;
-							}
-
-							int linex = lineStartX;
-							if (linex < 0) {
-								linex = 0;
-							}
-
-							color_cache2.clearCacheRegion(y, linex, linewidth);
-							shape_cache2.clearCacheRegion(y, linex, linewidth);
-						}
-
-					}
-				}
+		private void updateFields(int row, int fromColumn, int toColumn) {
+			colorCache.gotoLine(row, fromColumn, toColumn - fromColumn);
+			shapeCache.gotoLine(row, fromColumn, toColumn - fromColumn);
+			for(int column = fromColumn; column != toColumn; column++) {
+				addField(asyncAccessContext, row, column);
 			}
-		} catch (IllegalBufferException e) {
-			e.printStackTrace();
 		}
-	}
 
-	private synchronized void invalidateShapePoint(int x, int y) {
-		if(x >= bufferWidth || y >= bufferHeight || x < 0 || y < 0) return;
-		synchronized (shape_bfr2) {
-			shape_cache2.gotoLine(y, x, 1);
-			addTrianglesToGeometry(asyncAccessContext, shape_bfr2, x, y);
+		private void uploadChanges() throws IllegalBufferException {
+			colorCache.clearCache();
+			shapeCache.clearCache();
+		}
+
+		private void draw(GLDrawContext gl, int fromY, int toY) {
+			// the lines are stored without gaps, so all lines of the chunk on the screen are drawn as one run of triangles
+			int fromRow = (fromY - minY) / step;
+			int toRow = (toY - minY + step - 1) / step;
+			handle.stride = 2*columns;
+			handle.offset = fromRow * 2*columns;
+			handle.lines = 1;
+			handle.width = (toRow - fromRow) * 2*columns;
+			gl.drawBackground(handle);
 		}
 	}
 
 	/**
-	 * Adds the two triangles for a point to the list of verteces
+	 * Adds the two triangles for a point to the list of verteces. They span stepX * stepY fields to draw the background with less detail.
 	 */
-	private void addTrianglesToGeometry(MapDrawContext context, ByteBuffer buffer, int x, int y) {
-		addTriangleToGeometry(context, buffer, x, y, true,x*37 + y*17);
-		addTriangleToGeometry(context, buffer, x, y, false, x);
+	private void addTrianglesToGeometry(MapDrawContext context, ByteBuffer buffer, int x, int y, int stepX, int stepY) {
+		addTriangleToGeometry(context, buffer, x, y, true,x*37 + y*17, stepX, stepY);
+		addTriangleToGeometry(context, buffer, x, y, false, x, stepX, stepY);
 	}
 
-	private void addColorTrianglesToGeometry(MapDrawContext context, ByteBuffer buffer, int x, int y) {
-		addColorPointToGeometry(context, buffer, x, y);
-		addColorPointToGeometry(context, buffer, x, y + 1);
-		addColorPointToGeometry(context, buffer, x + 1, y + 1);
+	private void addColorTrianglesToGeometry(MapDrawContext context, ByteBuffer buffer, int x, int y, int stepX, int stepY) {
+		int step = Math.max(stepX, stepY);
+		addColorPointToGeometry(context, buffer, x, y, step);
+		addColorPointToGeometry(context, buffer, x, y + stepY, step);
+		addColorPointToGeometry(context, buffer, x + stepX, y + stepY, step);
 
-		addColorPointToGeometry(context, buffer, x, y);
-		addColorPointToGeometry(context, buffer, x + 1, y + 1);
-		addColorPointToGeometry(context, buffer, x + 1, y);
+		addColorPointToGeometry(context, buffer, x, y, step);
+		addColorPointToGeometry(context, buffer, x + stepX, y + stepY, step);
+		addColorPointToGeometry(context, buffer, x + stepX, y, step);
 	}
 
-	private void addTriangleToGeometry(MapDrawContext context, ByteBuffer buffer, int x1, int y, boolean up, int useSecondParameter) {
-		int y1 = y + (up?1:0);
-		int x2 = x1 + (up?0:1);
-		int y2 = y + (up?0:1);
-		int x3 = x1 + 1;
-		int y3 = y + (up?1:0);
+	private void addTriangleToGeometry(MapDrawContext context, ByteBuffer buffer, int x1, int y, boolean up, int useSecondParameter, int stepX, int stepY) {
+		int y1 = y + (up?stepY:0);
+		int x2 = x1 + (up?0:stepX);
+		int y2 = y + (up?0:stepY);
+		int x3 = x1 + stepX;
+		int y3 = y + (up?stepY:0);
 
 		ELandscapeType leftLandscape = context.getLandscape(x1, y1);
 		ELandscapeType aLandscape = context.getLandscape(x2, y2);
@@ -1309,14 +1390,14 @@ public class Background implements IGraphicsBackgroundListener {
 		buffer.putFloat(v);
 	}
 
-	private void addColorPointToGeometry(MapDrawContext context, ByteBuffer buffer, int x, int y) {
+	private void addColorPointToGeometry(MapDrawContext context, ByteBuffer buffer, int x, int y, int step) {
 		float fColor;
 		if((x <= 0 || x >= mapWidth - 2 || y <= 0 || y >= mapHeight - 2 || (context.getVisibleStatus(x, y) <= 0) && fowEnabled)) {
 			fColor = 0;
 		} else {
-			int dHeight = context.getHeight(x, y-1) - context.getHeight(x, y);
+			int dHeight = context.getHeight(x, Math.max(y-step, 0)) - context.getHeight(x, y);
 
-			fColor = 0.875f + dHeight * .125f;
+			fColor = 0.875f + dHeight * .125f / step;
 			if (fColor < 0.4f) {
 				fColor = 0.4f;
 			}
@@ -1335,17 +1416,13 @@ public class Background implements IGraphicsBackgroundListener {
 	}
 
 	private void updateLine(int y, int x1, int x2) {
-		synchronized (color_bfr2) {
-			color_cache2.gotoLine(y,x1, x2 - x1);
-			for (int i = x1; i != x2; i++) {
-				addColorTrianglesToGeometry(asyncAccessContext, color_bfr2, i, y);
-			}
-		}
-
-		synchronized (shape_bfr2) {
-			shape_cache2.gotoLine(y, x1, x2 - x1);
-			for(int i = x1; i != x2; i++) {
-				addTrianglesToGeometry(asyncAccessContext, shape_bfr2, i, y);
+		synchronized (residentChunks) {
+			int chunkRow = (y / CHUNK_SIZE) * chunksX;
+			for(int chunkX = x1 / CHUNK_SIZE; chunkX * CHUNK_SIZE < x2; chunkX++) {
+				Chunk chunk = residentChunks[chunkRow + chunkX];
+				if(chunk != null) { // chunks that are not generated yet read the new data when they are
+					chunk.updateLine(y, Math.max(x1, chunk.minX), Math.min(x2, chunk.minX + chunk.width));
+				}
 			}
 		}
 	}
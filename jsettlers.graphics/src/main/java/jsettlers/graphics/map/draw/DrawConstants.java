@@ -42,6 +42,19 @@ public final class DrawConstants {
 	 */
 	public static final float TEXTURE_BORDER_OFFSET = 0.5f;
 
+	/**
+	 * Below this zoom the background is drawn with triangles that are two fields wide.
+	 */
+	public static final float BACKGROUND_HALF_DETAIL_ZOOM = .75f;
+	/**
+	 * Below this zoom the background is drawn with triangles that are four fields wide.
+	 */
+	public static final float BACKGROUND_QUARTER_DETAIL_ZOOM = .375f;
+	/**
+	 * Below this zoom settlers are drawn as dots in the color of their player.
+	 */
+	public static final float MOVABLE_DOT_ZOOM = .375f;
+
 	private DrawConstants() {
 	}
 }
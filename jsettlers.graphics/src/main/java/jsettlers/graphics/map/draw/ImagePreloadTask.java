@@ -14,13 +14,19 @@
  *******************************************************************************/
 package jsettlers.graphics.map.draw;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
 import jsettlers.graphics.map.draw.settlerimages.SettlerImageMap;
 
 public class ImagePreloadTask implements Runnable {
 	@Override
 	public void run() {
-		SettlerImageMap.getInstance();
+		// the dat files can be read concurrently, so the settler images are loaded while the landscape is decoded
+		ForkJoinTask<?> settlerImages = ForkJoinPool.commonPool().submit(SettlerImageMap::getInstance);
 
 		Background.preloadTexture();
+
+		settlerImages.join();
 	}
 }
@@ -39,10 +39,11 @@ import jsettlers.graphics.image.sequence.Sequence;
 
 import java.io.File;
 import java.util.Arrays;
-import java.util.Hashtable;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
@@ -77,7 +78,7 @@ public final class ImageProvider {
 	private static ImageProvider instance;
 
 	private final Queue<GLPreloadTask> tasks = new ConcurrentLinkedQueue<>();
-	private final Hashtable<Integer, DatFileReader> readers = new Hashtable<>();
+	private final Map<Integer, DatFileReader> readers = new ConcurrentHashMap<>();
 
 	private GfxFolderMapping gfxFolderMapping = new DefaultGfxFolderMapping();
 
@@ -118,17 +119,11 @@ public final class ImageProvider {
 	 * 		The file number to search for.
 	 * @return The content as set or <code> null </code>
 	 */
-	public synchronized DatFileReader getFileReader(int file) {
-		Integer integer = file;
-		DatFileReader set = this.readers.get(integer);
-		if (set == null) {
-			set = createFileReader(file);
-			this.readers.put(integer, set);
-		}
-		return set;
+	public DatFileReader getFileReader(int file) {
+		return this.readers.computeIfAbsent(file, this::createFileReader);
 	}
 
-	public synchronized DatFileSet getFileSet(int file) {
+	public DatFileSet getFileSet(int file) {
 		return getFileReader(file);
 	}
 
@@ -291,7 +286,12 @@ public final class ImageProvider {
 	}
 
 	private File findFileInPaths(String fileName) {
-		for (File currentFile : lookupPath.listFiles()) {
+		File[] files = lookupPath != null ? lookupPath.listFiles() : null;
+		if (files == null) { // the lookup path is not set or does not exist
+			return null;
+		}
+
+		for (File currentFile : files) {
 			if (currentFile.isFile() && currentFile.canRead() &&
 					currentFile.getName().equalsIgnoreCase(fileName)) {
 				return currentFile;
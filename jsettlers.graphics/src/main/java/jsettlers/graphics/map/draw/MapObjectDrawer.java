@@ -19,7 +19,9 @@ import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.List;
 
+import go.graphics.EUnifiedMode;
 import go.graphics.GLDrawContext;
+import go.graphics.UnifiedDrawHandle;
 import jsettlers.common.Color;
 import jsettlers.common.CommonConstants;
 import jsettlers.common.buildings.BuildingVariant;
@@ -200,6 +202,11 @@ public class MapObjectDrawer {
 
 	private static final int SMOKE_HEIGHT = 30;
 
+	/**
+	 * The quad drawn instead of a settler below {@link DrawConstants#MOVABLE_DOT_ZOOM}. It covers the body of the settler.
+	 */
+	private static final float[] MOVABLE_DOT = new float[] {-4, 2, 4, 2, 4, 10, -4, 10};
+
 	private static final int FLAG_FILE = 13;
 	private final SoundManager   sound;
 	private final MapDrawContext context;
@@ -217,6 +224,7 @@ public class MapObjectDrawer {
 	private float           betweenTilesY;
 	private Image playerBorderObjectImage;
 	private IInGamePlayer localPlayer;
+	private UnifiedDrawHandle movableDotHandle = null;
 
 	/**
 	 * Creates a new {@link MapObjectDrawer}.
@@ -713,6 +721,11 @@ public class MapObjectDrawer {
 	 */
 	public void draw(IGraphicsMovable movable) {
 		final ShortPoint2D pos = movable.getPosition();
+		if (context.getScreen().getZoom() < DrawConstants.MOVABLE_DOT_ZOOM) {
+			drawMovableDot(movable, pos.x, pos.y);
+			return;
+		}
+
 		if (movable.getMovableType().isShip()) {
 			drawShip(movable, pos.x, pos.y);
 		} else {
@@ -860,32 +873,61 @@ public class MapObjectDrawer {
 		}
 	}
 
-	private void drawMovableAt(IGraphicsMovable movable, int x, int y) {
+	/**
+	 * Draws a settler far away as a dot in the color of its player, without looking up its image.
+	 */
+	private void drawMovableDot(IGraphicsMovable movable, int x, int y) {
 		byte fogStatus = visibleGrid != null ? visibleGrid[x][y] : CommonConstants.FOG_OF_WAR_VISIBLE;
 		if (fogStatus <= CommonConstants.FOG_OF_WAR_EXPLORED) {
 			return; // break
 		}
-		boolean isUndercover = false;
-		if(!CommonConstants.CONTROL_ALL && localPlayer != null &&
-				movable.getMovableType() == EMovableType.THIEF &&
-				movable.getPlayer().getTeamId() != localPlayer.getTeamId() &&
-				!((IGraphicsThief)movable).isUncoveredBy(localPlayer.getTeamId())) {
-			isUndercover = true;
+
+		GLDrawContext gl = context.getGl();
+		if (movableDotHandle == null || !movableDotHandle.isValid()) {
+			movableDotHandle = gl.createUnifiedDrawCall(4, "movable-dot", null, MOVABLE_DOT);
 		}
 
-		final float moveProgress = movable.getMoveProgress();
+		IPlayer movablePlayer = getDisplayedPlayer(movable, x, y, isUndercover(movable));
+		Color color = MapDrawContext.getPlayerColor(movablePlayer.getPlayerId());
+		int height = context.getHeight(x, y);
+		float viewX = context.getConverter().getViewX(x, y, height);
+		float viewY = context.getConverter().getViewY(x, y, height);
+		movableDotHandle.drawComplexQuad(EUnifiedMode.COLOR_ONLY, viewX, viewY, getZ(0, y), 1, 1, color, getColor(fogStatus));
+	}
+
+	private boolean isUndercover(IGraphicsMovable movable) {
+		return !CommonConstants.CONTROL_ALL && localPlayer != null &&
+				movable.getMovableType() == EMovableType.THIEF &&
+				movable.getPlayer().getTeamId() != localPlayer.getTeamId() &&
+				!((IGraphicsThief)movable).isUncoveredBy(localPlayer.getTeamId());
+	}
 
-		IPlayer movablePlayer;
+	/**
+	 * Undercover thieves are shown in the color of the player whose land they are on.
+	 */
+	private IPlayer getDisplayedPlayer(IGraphicsMovable movable, int x, int y, boolean isUndercover) {
 		if (!isUndercover || localPlayer == null) {
-			movablePlayer = movable.getPlayer();
+			return movable.getPlayer();
+		}
+
+		IPlayer localPlayer = context.getMap().getPlayerAt(x, y);
+		if(localPlayer != null) {
+			return localPlayer;
 		} else {
-			IPlayer localPlayer = context.getMap().getPlayerAt(x, y);
-			if(localPlayer != null) {
-				movablePlayer = localPlayer;
-			} else {
-				movablePlayer = this.localPlayer;
-			}
+			return this.localPlayer;
 		}
+	}
+
+	private void drawMovableAt(IGraphicsMovable movable, int x, int y) {
+		byte fogStatus = visibleGrid != null ? visibleGrid[x][y] : CommonConstants.FOG_OF_WAR_VISIBLE;
+		if (fogStatus <= CommonConstants.FOG_OF_WAR_EXPLORED) {
+			return; // break
+		}
+		boolean isUndercover = isUndercover(movable);
+
+		final float moveProgress = movable.getMoveProgress();
+
+		IPlayer movablePlayer = getDisplayedPlayer(movable, x, y, isUndercover);
 		Color color = MapDrawContext.getPlayerColor(movablePlayer.getPlayerId());
 		float shade = MapObjectDrawer.getColor(fogStatus);
 		Image image;
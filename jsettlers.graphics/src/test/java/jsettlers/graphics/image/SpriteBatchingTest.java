@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.graphics.image;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+
+import org.junit.Test;
+
+import go.graphics.AbstractColor;
+import go.graphics.BackgroundDrawHandle;
+import go.graphics.BufferHandle;
+import go.graphics.GLDrawContext;
+import go.graphics.ManagedHandle;
+import go.graphics.MultiDrawHandle;
+import go.graphics.TextureHandle;
+import go.graphics.UnifiedDrawHandle;
+import jsettlers.graphics.image.reader.ImageMetadata;
+
+public class SpriteBatchingTest {
+	private static final int SPRITES = 2500;
+
+	private final CountingDrawContext gl = new CountingDrawContext();
+	private final SingleImage image = createImage();
+
+	@Test
+	public void testSpritesAreDrawnDirectlyWithoutBatching() {
+		drawSprites();
+		gl.finishFrame();
+
+		assertEquals(SPRITES, gl.unifiedDrawCalls);
+		assertEquals(0, gl.multiDrawCalls);
+	}
+
+	@Test
+	public void testSpritesAreDrawnInstancedWithBatching() {
+		gl.setSpriteBatching(true);
+		drawSprites();
+		gl.setSpriteBatching(false);
+
+		assertEquals(0, gl.unifiedDrawCalls);
+		assertEquals((SPRITES + MultiDrawHandle.MAX_CACHE_ENTRIES - 1) / MultiDrawHandle.MAX_CACHE_ENTRIES, gl.multiDrawCalls);
+		assertEquals(SPRITES, gl.instances);
+	}
+
+	@Test
+	public void testSpritesAreDrawnDirectlyAfterBatching() {
+		gl.setSpriteBatching(true);
+		drawSprites();
+		gl.setSpriteBatching(false);
+		int multiDrawCalls = gl.multiDrawCalls;
+
+		image.drawAt(gl, 0, 0, 0, null, 1);
+
+		assertEquals(1, gl.unifiedDrawCalls);
+		assertEquals(multiDrawCalls, gl.multiDrawCalls);
+	}
+
+	private void drawSprites() {
+		for (int i = 0; i < SPRITES; i++) {
+			image.drawAt(gl, i, i, i / (float) SPRITES, null, 1);
+		}
+	}
+
+	private static SingleImage createImage() {
+		ImageMetadata metadata = new ImageMetadata();
+		metadata.width = 4;
+		metadata.height = 4;
+		return new SingleImage(metadata, new short[metadata.width * metadata.height], "test");
+	}
+
+	private static class CountingDrawContext extends GLDrawContext {
+		int unifiedDrawCalls;
+		int multiDrawCalls;
+		int instances;
+
+		CountingDrawContext() {
+			maxUniformBlockSize = 65536;
+			maxTextureSize = 256;
+		}
+
+		@Override
+		protected void drawMulti(MultiDrawHandle call) {
+			multiDrawCalls++;
+			instances += call.used;
+		}
+
+		@Override
+		protected void drawUnifiedArray(UnifiedDrawHandle call, int primitive, int vertexCount, float[] trans, float[] colors, int array_len) {
+			unifiedDrawCalls++;
+		}
+
+		@Override
+		protected void drawUnified(UnifiedDrawHandle call, int primitive, int vertices, int mode, float x, float y, float z, float sx, float sy, AbstractColor color, float intensity) {
+			unifiedDrawCalls++;
+		}
+
+		@Override
+		public TextureHandle generateTexture(int width, int height, ShortBuffer data, String name) {
+			return new TextureHandle(this, 0);
+		}
+
+		@Override
+		public UnifiedDrawHandle createUnifiedDrawCall(int vertices, String name, TextureHandle texture, float[] data) {
+			return new UnifiedDrawHandle(this, -1, 0, vertices, texture, new BufferHandle(this, 0));
+		}
+
+		@Override
+		protected MultiDrawHandle createMultiDrawCall(String name, ManagedHandle source) {
+			return new MultiDrawHandle(this, -1, MultiDrawHandle.MAX_CACHE_ENTRIES, source, new BufferHandle(this, 0));
+		}
+
+		@Override
+		public void setShadowDepthOffset(float depth) {
+		}
+
+		@Override
+		public void drawBackground(BackgroundDrawHandle call) {
+		}
+
+		@Override
+		public void setHeightMatrix(float[] matrix) {
+		}
+
+		@Override
+		public void setGlobalAttributes(float x, float y, float z, float sx, float sy, float sz) {
+		}
+
+		@Override
+		public void updateTexture(TextureHandle textureIndex, int left, int bottom, int width, int height, ShortBuffer data) {
+		}
+
+		@Override
+		public TextureHandle resizeTexture(TextureHandle textureIndex, int width, int height, ShortBuffer data) {
+			return textureIndex;
+		}
+
+		@Override
+		public void updateBufferAt(BufferHandle handle, int pos, ByteBuffer data) {
+		}
+
+		@Override
+		public BackgroundDrawHandle createBackgroundDrawCall(int vertices, TextureHandle texture) {
+			return null;
+		}
+
+		@Override
+		public void clearDepthBuffer() {
+			finishFrame();
+		}
+
+		@Override
+		public void resize(int width, int height) {
+		}
+	}
+}
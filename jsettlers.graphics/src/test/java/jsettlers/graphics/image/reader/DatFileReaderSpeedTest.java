@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.graphics.image.reader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.graphics.image.Image;
+import jsettlers.graphics.image.SettlerImage;
+import jsettlers.graphics.image.SingleImage;
+import jsettlers.graphics.image.sequence.SequenceList;
+
+/**
+ * Measures how long it takes to decode all settler sequences of a generated dat file, once sequence by sequence and once with
+ * {@link AdvancedDatFileReader#getSettlersHashes()} as it is done to detect the version of the original files.
+ */
+public class DatFileReaderSpeedTest {
+	private static final DatFileType TYPE = DatFileType.RGB565;
+
+	private static final int SEQUENCES    = 150;
+	private static final int FRAMES       = 10;
+	private static final int IMAGE_SIZE   = 64;
+	private static final int IMAGE_INDENT = 4;
+
+	private static final int    ID_SETTLERS  = 0x106;
+	private static final int    ID_TORSOS    = 0x3112;
+	private static final int    ID_SHADOWS   = 0x5982;
+	private static final int    ID_LANDSCAPE = 0x2412;
+	private static final int    ID_GUIS      = 0x11306;
+	private static final int    ID_UNUSED    = 0x1;
+	private static final int    HEADER_SIZE  = 96;
+	private static final byte[] SEQUENCE_START = { 0x02, 0x14, 0x00, 0x00, 0x08, 0x00, 0x00 };
+
+	@Test
+	public void testDecodingAllSequences() throws IOException {
+		File file = createDatFile();
+		System.out.println("Generated dat file with " + file.length() / 1024 + " KB");
+
+		decodeSequentially(file); // warm up
+		new AdvancedDatFileReader(file, TYPE, "test").getSettlersHashes();
+
+		long start = System.nanoTime();
+		List<Long> sequentialHashes = decodeSequentially(file);
+		long sequentialTime = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		List<Long> parallelHashes = new AdvancedDatFileReader(file, TYPE, "test").getSettlersHashes().getHashes();
+		long parallelTime = System.nanoTime() - start;
+
+		System.out.println("Decoding " + SEQUENCES + " sequences: sequence by sequence " + sequentialTime / 1000000 + " ms, with all "
+				+ Runtime.getRuntime().availableProcessors() + " cores " + parallelTime / 1000000 + " ms");
+		assertEquals(sequentialHashes, parallelHashes);
+	}
+
+	private static List<Long> decodeSequentially(File file) {
+		SequenceList<Image> settlers = new AdvancedDatFileReader(file, TYPE, "test").getSettlers();
+		List<Long> hashes = new ArrayList<>();
+		for (int i = 0; i < settlers.size(); i++) {
+			SettlerImage image = (SettlerImage) settlers.get(i).getImage(0, null);
+			assertNotNull(image.getTorso());
+			hashes.add(image.hash());
+		}
+		return hashes;
+	}
+
+	/**
+	 * Creates a dat file with settler sequences that all have a torso and a shadow sequence.
+	 */
+	private static File createDatFile() throws IOException {
+		int[] types = { ID_SETTLERS, ID_TORSOS, ID_SHADOWS, ID_LANDSCAPE, ID_GUIS, ID_UNUSED };
+		int[] bytesPerPixel = { 2, 1, 0 }; // for settlers, torsos and shadows
+		int indexBytes = 8 + 4 * SEQUENCES;
+
+		int[] sequencesStart = new int[bytesPerPixel.length + 1];
+		sequencesStart[0] = HEADER_SIZE + types.length * indexBytes;
+		for (int type = 0; type < bytesPerPixel.length; type++) {
+			sequencesStart[type + 1] = sequencesStart[type] + SEQUENCES * getSequenceBytes(bytesPerPixel[type]);
+		}
+		int fileSize = sequencesStart[bytesPerPixel.length];
+
+		File file = File.createTempFile("siedler3_", TYPE.getFileSuffix());
+		file.deleteOnExit();
+		try (RandomAccessFile out = new RandomAccessFile(file, "rw")) {
+			ByteBuffer data = out.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, fileSize).order(ByteOrder.LITTLE_ENDIAN);
+			writeHeader(data, fileSize, types.length, indexBytes);
+
+			for (int type = 0; type < types.length; type++) {
+				data.putInt(types[type]);
+				data.putShort((short) indexBytes);
+				data.putShort((short) SEQUENCES);
+				for (int sequence = 0; sequence < SEQUENCES; sequence++) {
+					data.putInt(type < bytesPerPixel.length ? sequencesStart[type] + sequence * getSequenceBytes(bytesPerPixel[type]) : 0);
+				}
+			}
+
+			Random random = new Random(0);
+			for (int type = 0; type < bytesPerPixel.length; type++) {
+				for (int sequence = 0; sequence < SEQUENCES; sequence++) {
+					writeSequence(data, bytesPerPixel[type], random);
+				}
+			}
+		}
+		return file;
+	}
+
+	private static int getImageBytes(int bytesPerPixel) {
+		return 12 + IMAGE_SIZE * (2 + bytesPerPixel * (IMAGE_SIZE - IMAGE_INDENT));
+	}
+
+	private static int getSequenceBytes(int bytesPerPixel) {
+		return SEQUENCE_START.length + 1 + 4 * FRAMES + FRAMES * getImageBytes(bytesPerPixel);
+	}
+
+	private static void writeHeader(ByteBuffer data, int fileSize, int typeCount, int indexBytes) {
+		data.put(new byte[] { 0x04, 0x13, 0x04, 0x00, 0x0c, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x54, 0x00, 0x00, 0x00, 0x20, 0x00, 0x00,
+				0x00, 0x40, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x10, 0x00, 0x00, 0x00, 0x00 });
+		data.put(TYPE.getFileStartMagic());
+		data.put(new byte[] { 0x00, 0x00, 0x1f, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00 });
+		data.putInt(fileSize);
+		data.putInt(0);
+		for (int type = 0; type < typeCount; type++) {
+			data.putInt(HEADER_SIZE + type * indexBytes);
+		}
+		data.putInt(0);
+		data.put(new byte[] { 0x04, 0x19, 0x00, 0x00, 0x0c, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00 });
+	}
+
+	private static void writeSequence(ByteBuffer data, int bytesPerPixel, Random random) {
+		int position = data.position();
+		data.put(SEQUENCE_START);
+		data.put((byte) FRAMES);
+		int firstImage = SEQUENCE_START.length + 1 + 4 * FRAMES;
+		for (int frame = 0; frame < FRAMES; frame++) {
+			data.putInt(firstImage + frame * getImageBytes(bytesPerPixel));
+		}
+
+		byte[] pixels = new byte[bytesPerPixel * (IMAGE_SIZE - IMAGE_INDENT)];
+		for (int frame = 0; frame < FRAMES; frame++) {
+			// all lengths are even, so the images need no padding
+			data.putInt(0x0c);
+			data.putShort((short) IMAGE_SIZE);
+			data.putShort((short) IMAGE_SIZE);
+			data.putShort((short) 0);
+			data.putShort((short) 0);
+			for (int line = 0; line < IMAGE_SIZE; line++) {
+				data.putShort((short) (0x8000 | IMAGE_INDENT << 8 | IMAGE_SIZE - IMAGE_INDENT));
+				random.nextBytes(pixels);
+				data.put(pixels);
+			}
+		}
+		assertEquals(position + getSequenceBytes(bytesPerPixel), data.position());
+	}
+}
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.graphics.map.draw;
+
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ShortBuffer;
+
+import org.junit.Test;
+
+import go.graphics.AbstractColor;
+import go.graphics.BackgroundDrawHandle;
+import go.graphics.BufferHandle;
+import go.graphics.GLDrawContext;
+import go.graphics.ManagedHandle;
+import go.graphics.MultiDrawHandle;
+import go.graphics.TextureHandle;
+import go.graphics.UnifiedDrawHandle;
+import jsettlers.common.CommonConstants;
+import jsettlers.common.landscape.ELandscapeType;
+import jsettlers.common.map.EDebugColorModes;
+import jsettlers.common.map.IGraphicsBackgroundListener;
+import jsettlers.common.map.IGraphicsGrid;
+import jsettlers.common.map.partition.IPartitionData;
+import jsettlers.common.mapobject.IMapObject;
+import jsettlers.common.movable.IGraphicsMovable;
+import jsettlers.common.player.IPlayer;
+import jsettlers.graphics.map.MapDrawContext;
+
+/**
+ * Measures the time the background needs per frame while the screen pans over a large map at different zoom levels.
+ */
+public class BackgroundSpeedTest {
+	private static final int   MAP_SIZE      = 1024;
+	private static final int   SCREEN_WIDTH  = 1920;
+	private static final int   SCREEN_HEIGHT = 1080;
+	private static final int   FRAMES        = 300;
+	private static final float PAN_PER_FRAME = 8; // in screen pixels
+	private static final float[] ZOOMS        = { 1, .5f, .25f };
+
+	@Test
+	public void testFrameTimes() {
+		drawFrames(.5f); // warm up
+
+		long[] triangles = new long[ZOOMS.length];
+		for (int i = 0; i < ZOOMS.length; i++) {
+			triangles[i] = drawFrames(ZOOMS[i]);
+		}
+
+		// the coarser meshes keep the triangles per frame at about the same number although the screen shows more fields
+		assertTrue(triangles[2] < triangles[0]);
+		assertTrue(triangles[1] < triangles[0]);
+	}
+
+	private static long drawFrames(float zoom) {
+		CountingDrawContext gl = new CountingDrawContext();
+		MapDrawContext context = new MapDrawContext(new GeneratedGrid());
+		context.getScreen().setZoom(zoom, null);
+		context.setSize(SCREEN_WIDTH, SCREEN_HEIGHT);
+		Background background = new Background(context);
+
+		float centerX = MAP_SIZE * DrawConstants.DISTANCE_X / 4f;
+		float centerY = MAP_SIZE * DrawConstants.DISTANCE_Y / 2f;
+		long maxFrameNanos = 0;
+		long start = System.nanoTime();
+		for (int frame = 0; frame < FRAMES; frame++) {
+			context.getScreen().setScreenCenter(centerX + frame * PAN_PER_FRAME / zoom, centerY);
+
+			long frameStart = System.nanoTime();
+			context.begin(gl);
+			background.drawMapContent(context, context.getScreen().getPosition());
+			context.end();
+			maxFrameNanos = Math.max(maxFrameNanos, System.nanoTime() - frameStart);
+		}
+		long nanos = System.nanoTime() - start;
+
+		System.out.println("zoom " + (int) (zoom * 100) + "%: " + nanos / FRAMES / 1000 + " us per frame (max " + maxFrameNanos / 1000 + " us), "
+			+ gl.backgroundTriangles / FRAMES + " triangles per frame, " + gl.uploadedBytes / 1024 / 1024 + " MB uploaded, "
+			+ gl.backgroundDrawCalls / gl.createdBackgrounds + " draw calls per chunk");
+		return gl.backgroundTriangles / FRAMES;
+	}
+
+	private static class GeneratedGrid implements IGraphicsGrid {
+		private static final ELandscapeType[] LANDSCAPES = { ELandscapeType.GRASS, ELandscapeType.SAND, ELandscapeType.MOUNTAIN, ELandscapeType.GRASS };
+
+		@Override
+		public short getWidth() {
+			return MAP_SIZE;
+		}
+
+		@Override
+		public short getHeight() {
+			return MAP_SIZE;
+		}
+
+		@Override
+		public IGraphicsMovable getMovableAt(int x, int y) {
+			return null;
+		}
+
+		@Override
+		public IMapObject getVisibleMapObjectsAt(int x, int y) {
+			return null;
+		}
+
+		@Override
+		public byte getVisibleHeightAt(int x, int y) {
+			return (byte) ((x * 7 + y * 3) % 40);
+		}
+
+		@Override
+		public ELandscapeType getVisibleLandscapeTypeAt(int x, int y) {
+			return LANDSCAPES[(x / 23 + y / 17) % LANDSCAPES.length];
+		}
+
+		@Override
+		public int getDebugColorAt(int x, int y, EDebugColorModes debugColorMode) {
+			return 0;
+		}
+
+		@Override
+		public boolean isBorder(int x, int y) {
+			return false;
+		}
+
+		@Override
+		public IPlayer getPlayerAt(int x, int y) {
+			return null;
+		}
+
+		@Override
+		public byte getVisibleStatus(int x, int y) {
+			return CommonConstants.FOG_OF_WAR_VISIBLE;
+		}
+
+		@Override
+		public void setBackgroundListener(IGraphicsBackgroundListener backgroundListener) {
+		}
+
+		@Override
+		public IPartitionData getPartitionData(int x, int y) {
+			return null;
+		}
+
+		@Override
+		public boolean isBuilding(int x, int y) {
+			return false;
+		}
+	}
+
+	private static class CountingDrawContext extends GLDrawContext {
+		long backgroundTriangles;
+		long backgroundDrawCalls;
+		long uploadedBytes;
+		int  createdBackgrounds;
+
+		@Override
+		public void drawBackground(BackgroundDrawHandle call) {
+			backgroundTriangles += (long) call.width * call.lines;
+			backgroundDrawCalls++;
+		}
+
+		@Override
+		public void updateBufferAt(BufferHandle handle, int pos, ByteBuffer data) {
+			uploadedBytes += data.remaining();
+		}
+
+		@Override
+		public BackgroundDrawHandle createBackgroundDrawCall(int vertices, TextureHandle texture) {
+			createdBackgrounds++;
+			return new BackgroundDrawHandle(this, -1, texture, new BufferHandle(this, 0), new BufferHandle(this, 0));
+		}
+
+		@Override
+		public TextureHandle generateTexture(int width, int height, ShortBuffer data, String name) {
+			return new TextureHandle(this, 0);
+		}
+
+		@Override
+		protected void drawMulti(MultiDrawHandle call) {
+		}
+
+		@Override
+		protected void drawUnifiedArray(UnifiedDrawHandle call, int primitive, int vertexCount, float[] trans, float[] colors, int array_len) {
+		}
+
+		@Override
+		protected void drawUnified(UnifiedDrawHandle call, int primitive, int vertices, int mode, float x, float y, float z, float sx, float sy, AbstractColor color, float intensity) {
+		}
+
+		@Override
+		public UnifiedDrawHandle createUnifiedDrawCall(int vertices, String name, TextureHandle texture, float[] data) {
+			return new UnifiedDrawHandle(this, -1, 0, vertices, texture, new BufferHandle(this, 0));
+		}
+
+		@Override
+		protected MultiDrawHandle createMultiDrawCall(String name, ManagedHandle source) {
+			return new MultiDrawHandle(this, -1, MultiDrawHandle.MAX_CACHE_ENTRIES, source, new BufferHandle(this, 0));
+		}
+
+		@Override
+		public void setShadowDepthOffset(float depth) {
+		}
+
+		@Override
+		public void setHeightMatrix(float[] matrix) {
+		}
+
+		@Override
+		public void setGlobalAttributes(float x, float y, float z, float sx, float sy, float sz) {
+		}
+
+		@Override
+		public void updateTexture(TextureHandle textureIndex, int left, int bottom, int width, int height, ShortBuffer data) {
+		}
+
+		@Override
+		public TextureHandle resizeTexture(TextureHandle textureIndex, int width, int height, ShortBuffer data) {
+			return textureIndex;
+		}
+
+		@Override
+		public void clearDepthBuffer() {
+		}
+
+		@Override
+		public void resize(int width, int height) {
+		}
+	}
+}
@@ -0,0 +1,587 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.ai.highlevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+import jsettlers.common.landscape.ELandscapeType;
+import jsettlers.common.landscape.EResourceType;
+import jsettlers.common.mapobject.EMapObjectType;
+import jsettlers.common.movable.EDirection;
+import jsettlers.logic.map.grid.IMapChangedListener;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.grid.flags.FlagsGrid;
+import jsettlers.logic.map.grid.landscape.LandscapeGrid;
+import jsettlers.logic.map.grid.objects.AbstractHexMapObject;
+import jsettlers.logic.map.grid.objects.ObjectsGrid;
+import jsettlers.logic.map.grid.partition.PartitionsGrid;
+import jsettlers.logic.player.Player;
+
+import static jsettlers.common.mapobject.EMapObjectType.CUT_OFF_STONE;
+import static jsettlers.common.mapobject.EMapObjectType.STONE;
+import static jsettlers.common.mapobject.EMapObjectType.TREE_ADULT;
+import static jsettlers.common.mapobject.EMapObjectType.TREE_GROWING;
+
+/**
+ * The part of the {@link AiStatistics} that is collected by looking at every position of the map: the resources, the free land as well as the land
+ * and the borders of the players.
+ * <p>
+ * The map is divided into blocks. The grids of the {@link MainGrid} report every changed position and {@link #update(short[], short[])} only
+ * recalculates the blocks around these positions. Every block remembers the counts it contributed, so they can be replaced without looking at the
+ * other blocks. The positions of a recalculated block are removed from the position sets and added again.
+ * <p>
+ * Merged partitions and a changed partition or blocked partition of a player change the statistics of positions all over the map. They lead to a
+ * recalculation of the whole map.
+ */
+final class AiMapStatistics implements IMapChangedListener {
+	static final int NEAR_STONE_DISTANCE = 5;
+
+	/**
+	 * The statistics of a position depend on the positions up to this distance.
+	 */
+	private static final int DEPENDENCY_DISTANCE = NEAR_STONE_DISTANCE;
+
+	private static final int BLOCK_SHIFT               = 4;
+	private static final int BLOCK_SIZE                = 1 << BLOCK_SHIFT;
+	private static final int MIN_BLOCKS_PER_CALCULATOR = 16;
+
+	private static final int NUMBER_OF_RESOURCES         = EResourceType.VALUES.length;
+	private static final int TREES_IN_DEFAULT_PARTITION  = NUMBER_OF_RESOURCES;
+	private static final int STONES_IN_DEFAULT_PARTITION = NUMBER_OF_RESOURCES + 1;
+	private static final int RIVERS_IN_DEFAULT_PARTITION = NUMBER_OF_RESOURCES + 2;
+	private static final int FIRST_PLAYER_POSITIONS      = NUMBER_OF_RESOURCES + 3;
+
+	private static final int STONES                        = 0;
+	private static final int STONES_NEAR_BY                = 1;
+	private static final int TREES                         = 2;
+	private static final int LAND_TO_BUILD_ON              = 3;
+	private static final int RIVERS                        = 4;
+	private static final int BORDER_INGESTIBLE_BY_PIONEERS = 5;
+	private static final int OTHER_PARTITION_BORDER        = 6;
+	private static final int NUMBER_OF_PLAYER_POSITIONS    = 7;
+
+	private final MainGrid       mainGrid;
+	private final LandscapeGrid  landscapeGrid;
+	private final ObjectsGrid    objectsGrid;
+	private final PartitionsGrid partitionsGrid;
+	private final FlagsGrid      flagsGrid;
+	private final ExecutorService threadPool;
+
+	private final short width;
+	private final short height;
+	private final int   blocksX;
+
+	/**
+	 * The index of the positions without a player in the counts of the {@link AiMapInformation}.
+	 */
+	private final int neverland;
+	private final int stoneCountOffset;
+	private final int playerResourceCountOffset;
+	private final int defaultPartitionResourceCountOffset;
+	private final int wineCountOffset;
+	private final int numberOfCounters;
+
+	private final AiPositions[] positions;
+	private final long[]        counters;
+	private final int[][]       blockCounters;
+
+	private short[] partitionIdsToBuildOn;
+	private short[] blockedPartitionIds;
+
+	private final BitSet dirtyBlocks;
+	private boolean      allBlocksDirty = true;
+
+	AiMapStatistics(MainGrid mainGrid, ExecutorService threadPool) {
+		this.mainGrid = mainGrid;
+		this.landscapeGrid = mainGrid.getLandscapeGrid();
+		this.objectsGrid = mainGrid.getObjectsGrid();
+		this.partitionsGrid = mainGrid.getPartitionsGrid();
+		this.flagsGrid = mainGrid.getFlagsGrid();
+		this.threadPool = threadPool;
+
+		this.width = mainGrid.getWidth();
+		this.height = mainGrid.getHeight();
+		this.blocksX = (width + BLOCK_SIZE - 1) >> BLOCK_SHIFT;
+		int numberOfBlocks = blocksX * ((height + BLOCK_SIZE - 1) >> BLOCK_SHIFT);
+
+		int numberOfPlayers = partitionsGrid.getNumberOfPlayers();
+		this.neverland = numberOfPlayers;
+		this.stoneCountOffset = (numberOfPlayers + 1) * (AiMapInformation.GRASS_INDEX + 1);
+		this.playerResourceCountOffset = stoneCountOffset + numberOfPlayers + 1;
+		this.defaultPartitionResourceCountOffset = playerResourceCountOffset + numberOfPlayers * NUMBER_OF_RESOURCES;
+		this.wineCountOffset = defaultPartitionResourceCountOffset + NUMBER_OF_RESOURCES;
+		this.numberOfCounters = wineCountOffset + numberOfPlayers;
+
+		this.positions = new AiPositions[FIRST_PLAYER_POSITIONS + numberOfPlayers * NUMBER_OF_PLAYER_POSITIONS];
+		for (int i = 0; i < positions.length; i++) {
+			positions[i] = new AiPositions();
+		}
+		this.counters = new long[numberOfCounters];
+		this.blockCounters = new int[numberOfBlocks][];
+		this.dirtyBlocks = new BitSet(numberOfBlocks);
+
+		this.partitionIdsToBuildOn = new short[numberOfPlayers];
+		this.blockedPartitionIds = new short[numberOfPlayers];
+	}
+
+	@Override
+	public synchronized void positionChanged(int x, int y) {
+		markDirty(x, y);
+
+		// the position is also seen by positions of the neighboring lines that read over the left or right border of the map
+		if (x < DEPENDENCY_DISTANCE) {
+			markDirty(x + width, y - 1);
+		} else if (x >= width - DEPENDENCY_DISTANCE) {
+			markDirty(x - width, y + 1);
+		}
+	}
+
+	@Override
+	public synchronized void partitionsMerged() {
+		allBlocksDirty = true;
+	}
+
+	synchronized void invalidate() {
+		allBlocksDirty = true;
+	}
+
+	private void markDirty(int x, int y) {
+		int minBlockX = Math.max(0, x - DEPENDENCY_DISTANCE) >> BLOCK_SHIFT;
+		int maxBlockX = Math.min(width - 1, x + DEPENDENCY_DISTANCE) >> BLOCK_SHIFT;
+		int minBlockY = Math.max(0, y - DEPENDENCY_DISTANCE) >> BLOCK_SHIFT;
+		int maxBlockY = Math.min(height - 1, y + DEPENDENCY_DISTANCE) >> BLOCK_SHIFT;
+
+		for (int blockY = minBlockY; blockY <= maxBlockY; blockY++) {
+			dirtyBlocks.set(blockY * blocksX + minBlockX, blockY * blocksX + maxBlockX + 1);
+		}
+	}
+
+	/**
+	 * Recalculates the statistics of all positions that changed since the last update.
+	 *
+	 * @param partitionIdsToBuildOn
+	 *            The partition every player builds on.
+	 * @param blockedPartitionIds
+	 *            The blocked partition every player builds on.
+	 */
+	void update(short[] partitionIdsToBuildOn, short[] blockedPartitionIds) {
+		if (!Arrays.equals(this.partitionIdsToBuildOn, partitionIdsToBuildOn) || !Arrays.equals(this.blockedPartitionIds, blockedPartitionIds)) {
+			this.partitionIdsToBuildOn = partitionIdsToBuildOn.clone();
+			this.blockedPartitionIds = blockedPartitionIds.clone();
+			invalidate();
+		}
+
+		final boolean updateAll;
+		final BitSet blocksToUpdate;
+		synchronized (this) {
+			updateAll = allBlocksDirty;
+			if (updateAll) {
+				blocksToUpdate = new BitSet(blockCounters.length);
+				blocksToUpdate.set(0, blockCounters.length);
+			} else {
+				blocksToUpdate = (BitSet) dirtyBlocks.clone();
+			}
+			allBlocksDirty = false;
+			dirtyBlocks.clear();
+		}
+
+		if (blocksToUpdate.isEmpty()) {
+			return;
+		}
+
+		List<BlockCalculator> calculators = calculateBlocks(blocksToUpdate.stream().toArray());
+		if (calculators == null) { // the calculation was interrupted, the old statistics are kept until the next update
+			invalidate();
+			return;
+		}
+
+		for (AiPositions currPositions : positions) {
+			if (updateAll) {
+				currPositions.clear();
+			} else {
+				currPositions.removeAll((x, y) -> blocksToUpdate.get(getBlockIndex(x, y)));
+			}
+		}
+		for (BlockCalculator calculator : calculators) {
+			calculator.apply();
+		}
+		for (AiPositions currPositions : positions) {
+			currPositions.ensureSorted();
+		}
+	}
+
+	/**
+	 * @return The calculators of the given blocks or null if the calculation was interrupted.
+	 */
+	private List<BlockCalculator> calculateBlocks(int[] blocks) {
+		int numberOfCalculators = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), blocks.length / MIN_BLOCKS_PER_CALCULATOR));
+		List<BlockCalculator> calculators = new ArrayList<>(numberOfCalculators);
+		for (int i = 0; i < numberOfCalculators; i++) {
+			calculators.add(new BlockCalculator(blocks, blocks.length * i / numberOfCalculators, blocks.length * (i + 1) / numberOfCalculators));
+		}
+
+		if (numberOfCalculators == 1) {
+			calculators.get(0).call();
+		} else {
+			try {
+				threadPool.invokeAll(calculators);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return null;
+			}
+		}
+		return calculators;
+	}
+
+	private int getBlockIndex(int x, int y) {
+		return (y >> BLOCK_SHIFT) * blocksX + (x >> BLOCK_SHIFT);
+	}
+
+	/**
+	 * @return A description of the first difference to the given statistics or null if both are equal.
+	 */
+	String findDifference(AiMapStatistics other) {
+		for (int i = 0; i < positions.length; i++) {
+			if (!positions[i].hasSamePositions(other.positions[i])) {
+				return "positions " + i + ": " + positions[i] + " instead of " + other.positions[i];
+			}
+		}
+		for (int i = 0; i < counters.length; i++) {
+			if (counters[i] != other.counters[i]) {
+				return "counter " + i + ": " + counters[i] + " instead of " + other.counters[i];
+			}
+		}
+		return null;
+	}
+
+	void copyCountsTo(AiMapInformation aiMapInformation) {
+		for (int mapInformationPlayerId = 0; mapInformationPlayerId <= neverland; mapInformationPlayerId++) {
+			System.arraycopy(counters, getResourceAndGrassCountIndex(mapInformationPlayerId, 0), aiMapInformation.resourceAndGrassCount[mapInformationPlayerId], 0,
+					AiMapInformation.GRASS_INDEX + 1);
+		}
+		System.arraycopy(counters, stoneCountOffset, aiMapInformation.stoneCount, 0, neverland + 1);
+	}
+
+	AiPositions getResourcePositions(EResourceType resourceType) {
+		return positions[resourceType.ordinal];
+	}
+
+	/**
+	 * @return The positions of the given cuttable object outside of the land of the players or null if they are not collected.
+	 */
+	AiPositions getCuttableObjectsInDefaultPartition(EMapObjectType cuttableObject) {
+		switch (cuttableObject) {
+		case TREE_ADULT:
+			return positions[TREES_IN_DEFAULT_PARTITION];
+		case STONE:
+			return positions[STONES_IN_DEFAULT_PARTITION];
+		default:
+			return null;
+		}
+	}
+
+	AiPositions getRiversInDefaultPartition() {
+		return positions[RIVERS_IN_DEFAULT_PARTITION];
+	}
+
+	AiPositions getStones(byte playerId) {
+		return getPlayerPositions(playerId, STONES);
+	}
+
+	AiPositions getStonesNearBy(byte playerId) {
+		return getPlayerPositions(playerId, STONES_NEAR_BY);
+	}
+
+	AiPositions getTrees(byte playerId) {
+		return getPlayerPositions(playerId, TREES);
+	}
+
+	AiPositions getLandToBuildOn(byte playerId) {
+		return getPlayerPositions(playerId, LAND_TO_BUILD_ON);
+	}
+
+	AiPositions getRivers(byte playerId) {
+		return getPlayerPositions(playerId, RIVERS);
+	}
+
+	AiPositions getBorderIngestibleByPioneers(byte playerId) {
+		return getPlayerPositions(playerId, BORDER_INGESTIBLE_BY_PIONEERS);
+	}
+
+	AiPositions getOtherPartitionBorder(byte playerId) {
+		return getPlayerPositions(playerId, OTHER_PARTITION_BORDER);
+	}
+
+	private AiPositions getPlayerPositions(byte playerId, int type) {
+		return positions[getPlayerPositionsIndex(playerId, type)];
+	}
+
+	long getResourceCountOfPlayer(EResourceType resourceType, byte playerId) {
+		return counters[getPlayerResourceCountIndex(playerId, resourceType)];
+	}
+
+	long getResourceCountInDefaultPartition(EResourceType resourceType) {
+		return counters[defaultPartitionResourceCountOffset + resourceType.ordinal];
+	}
+
+	int getWineCount(byte playerId) {
+		return (int) counters[wineCountOffset + playerId];
+	}
+
+	private static int getPlayerPositionsIndex(int playerId, int type) {
+		return FIRST_PLAYER_POSITIONS + playerId * NUMBER_OF_PLAYER_POSITIONS + type;
+	}
+
+	private int getResourceAndGrassCountIndex(int mapInformationPlayerId, int resourceOrGrass) {
+		return mapInformationPlayerId * (AiMapInformation.GRASS_INDEX + 1) + resourceOrGrass;
+	}
+
+	private int getPlayerResourceCountIndex(int playerId, EResourceType resourceType) {
+		return playerResourceCountOffset + playerId * NUMBER_OF_RESOURCES + resourceType.ordinal;
+	}
+
+	/**
+	 * Calculates the statistics of some blocks. The results are collected separately, so the calculators can run in parallel. They are added to
+	 * the statistics by {@link #apply()}.
+	 */
+	private final class BlockCalculator implements Callable<Void> {
+		private final int[]   blocks;
+		private final int     from;
+		private final int     to;
+		private final int[][] newBlockCounters;
+
+		private int[] positionTypes   = new int[64];
+		private int[] positionCoords  = new int[64];
+		private int   numberOfPositions;
+
+		BlockCalculator(int[] blocks, int from, int to) {
+			this.blocks = blocks;
+			this.from = from;
+			this.to = to;
+			this.newBlockCounters = new int[to - from][];
+		}
+
+		@Override
+		public Void call() {
+			for (int i = from; i < to; i++) {
+				int block = blocks[i];
+				int[] blockCounter = new int[numberOfCounters];
+				int minX = (block % blocksX) << BLOCK_SHIFT;
+				int minY = (block / blocksX) << BLOCK_SHIFT;
+				int maxX = Math.min(width, minX + BLOCK_SIZE);
+				int maxY = Math.min(height, minY + BLOCK_SIZE);
+
+				for (short x = (short) minX; x < maxX; x++) {
+					for (short y = (short) minY; y < maxY; y++) {
+						calculatePosition(x, y, blockCounter);
+					}
+				}
+				newBlockCounters[i - from] = blockCounter;
+			}
+			return null;
+		}
+
+		void apply() {
+			for (int i = 0; i < numberOfPositions; i++) {
+				int coords = positionCoords[i];
+				positions[positionTypes[i]].addNoCollission(coords >>> 16, coords & 0xffff);
+			}
+
+			for (int i = from; i < to; i++) {
+				int block = blocks[i];
+				int[] oldBlockCounter = blockCounters[block];
+				int[] newBlockCounter = newBlockCounters[i - from];
+				for (int counter = 0; counter < numberOfCounters; counter++) {
+					counters[counter] += newBlockCounter[counter] - (oldBlockCounter != null ? oldBlockCounter[counter] : 0);
+				}
+				blockCounters[block] = newBlockCounter;
+			}
+		}
+
+		private void addPosition(int type, int x, int y) {
+			if (numberOfPositions == positionTypes.length) {
+				positionTypes = Arrays.copyOf(positionTypes, numberOfPositions * 2);
+				positionCoords = Arrays.copyOf(positionCoords, numberOfPositions * 2);
+			}
+			positionTypes[numberOfPositions] = type;
+			positionCoords[numberOfPositions] = x << 16 | y;
+			numberOfPositions++;
+		}
+
+		private void calculatePosition(short x, short y, int[] blockCounter) {
+			Player player = partitionsGrid.getPlayerAt(x, y);
+			int mapInformationPlayerId = player != null ? player.playerId : neverland;
+
+			calculateResources(x, y, player, mapInformationPlayerId, blockCounter);
+
+			if (landscapeGrid.getLandscapeTypeAt(x, y).isGrass()) {
+				blockCounter[getResourceAndGrassCountIndex(mapInformationPlayerId, AiMapInformation.GRASS_INDEX)]++;
+			}
+
+			if (player == null) {
+				calculateFreeLand(x, y, blockCounter);
+			} else {
+				boolean isPartitionToBuildOn = partitionsGrid.getPartitionIdAt(x, y) == partitionIdsToBuildOn[player.playerId];
+				if (isPartitionToBuildOn) {
+					calculatePlayerLand(x, y, player.playerId, blockCounter);
+				}
+				if (hasNeighborIngestibleByPioneersOf(x, y, player)) {
+					addPosition(getPlayerPositionsIndex(player.playerId, isPartitionToBuildOn ? BORDER_INGESTIBLE_BY_PIONEERS : OTHER_PARTITION_BORDER), x, y);
+				}
+			}
+		}
+
+		private void calculateResources(short x, short y, Player player, int mapInformationPlayerId, int[] blockCounter) {
+			if (landscapeGrid.getResourceAmountAt(x, y) <= 0) {
+				return;
+			}
+
+			EResourceType resourceType = landscapeGrid.getResourceTypeAt(x, y);
+			addPosition(resourceType.ordinal, x, y);
+			if (resourceType != EResourceType.FISH) {
+				blockCounter[getResourceAndGrassCountIndex(mapInformationPlayerId, resourceType.ordinal)]++;
+				if (player != null) {
+					blockCounter[getPlayerResourceCountIndex(player.playerId, resourceType)]++;
+				} else {
+					blockCounter[defaultPartitionResourceCountOffset + resourceType.ordinal]++;
+				}
+			} else if (landscapeGrid.getLandscapeTypeAt(x, y) == ELandscapeType.WATER1) {
+				int fishMapInformationPlayerId = mapInformationPlayerId;
+				if (fishMapInformationPlayerId == neverland) {
+					fishMapInformationPlayerId = mapInformationPlayerIdOfPosition(x + 3, y);
+				}
+				if (fishMapInformationPlayerId == neverland) {
+					fishMapInformationPlayerId = mapInformationPlayerIdOfPosition(x - 3, y);
+				}
+				if (fishMapInformationPlayerId == neverland) {
+					fishMapInformationPlayerId = mapInformationPlayerIdOfPosition(x, y + 3);
+				}
+				if (fishMapInformationPlayerId == neverland) {
+					fishMapInformationPlayerId = mapInformationPlayerIdOfPosition(x, y - 3);
+				}
+
+				blockCounter[getResourceAndGrassCountIndex(fishMapInformationPlayerId, resourceType.ordinal)]++;
+				if (fishMapInformationPlayerId == neverland) {
+					blockCounter[defaultPartitionResourceCountOffset + resourceType.ordinal]++;
+				} else {
+					blockCounter[getPlayerResourceCountIndex(fishMapInformationPlayerId, resourceType)]++;
+				}
+			}
+		}
+
+		private int mapInformationPlayerIdOfPosition(int x, int y) {
+			if (!mainGrid.isInBounds(x, y)) {
+				return neverland;
+			}
+
+			byte playerId = partitionsGrid.getPlayerIdAt(x, y);
+			return playerId == -1 ? neverland : playerId;
+		}
+
+		private void calculateFreeLand(short x, short y, int[] blockCounter) {
+			if (objectsGrid.hasCuttableObject(x, y, TREE_ADULT)) {
+				addPosition(TREES_IN_DEFAULT_PARTITION, x, y);
+			}
+			if (objectsGrid.hasCuttableObject(x, y, STONE)) {
+				addPosition(STONES_IN_DEFAULT_PARTITION, x, y);
+				calculateNearStones(x, y);
+			}
+			if (objectsGrid.hasMapObjectType(x, y, STONE, CUT_OFF_STONE)) {
+				blockCounter[stoneCountOffset + neverland]++;
+			}
+			if (landscapeGrid.getLandscapeTypeAt(x, y).isRiver()) {
+				addPosition(RIVERS_IN_DEFAULT_PARTITION, x, y);
+			}
+		}
+
+		private void calculateNearStones(short x, short y) {
+			for (EDirection dir : EDirection.VALUES) {
+				int currX = dir.getNextTileX(x, NEAR_STONE_DISTANCE);
+				int currY = dir.getNextTileY(y, NEAR_STONE_DISTANCE);
+				if (mainGrid.isInBounds(currX, currY)) {
+					byte playerId = partitionsGrid.getPlayerIdAt(currX, currY);
+					if (playerId != -1 && landscapeGrid.getBlockedPartitionAt(x, y) == blockedPartitionIds[playerId]) {
+						addPosition(getPlayerPositionsIndex(playerId, STONES_NEAR_BY), x, y);
+					}
+				}
+			}
+		}
+
+		private void calculatePlayerLand(short x, short y, byte playerId, int[] blockCounter) {
+			if (flagsGrid.isProtected(x, y)) {
+				AbstractHexMapObject o = objectsGrid.getObjectsAt(x, y);
+				if (o != null) {
+					if (o.hasCuttableObject(STONE) && isCuttableByPlayer(x, y, playerId)) {
+						addPosition(getPlayerPositionsIndex(playerId, STONES), x, y);
+					} else if (o.hasMapObjectTypes(TREE_GROWING, TREE_ADULT) && isCuttableByPlayer(x, y, playerId)) {
+						addPosition(getPlayerPositionsIndex(playerId, TREES), x, y);
+					}
+
+					if (o.hasMapObjectTypes(STONE, CUT_OFF_STONE)) {
+						blockCounter[stoneCountOffset + playerId]++;
+					}
+				}
+			} else {
+				addPosition(getPlayerPositionsIndex(playerId, LAND_TO_BUILD_ON), x, y);
+			}
+			if (landscapeGrid.getLandscapeTypeAt(x, y).isRiver()) {
+				addPosition(getPlayerPositionsIndex(playerId, RIVERS), x, y);
+			}
+			if (objectsGrid.hasMapObjectType(x, y, EMapObjectType.WINE_GROWING, EMapObjectType.WINE_HARVESTABLE)) {
+				blockCounter[wineCountOffset + playerId]++;
+			}
+		}
+
+		private boolean isCuttableByPlayer(short x, short y, byte playerId) {
+			return isPlayerAt(x - 2, y - 2, playerId)
+					&& isPlayerAt(x - 2, y + 2, playerId)
+					&& isPlayerAt(x + 2, y - 2, playerId)
+					&& isPlayerAt(x + 2, y + 2, playerId);
+		}
+
+		/**
+		 * Positions beyond the left or right border of the map are read from the neighboring line. Positions beyond the top or bottom border do not
+		 * belong to any player.
+		 */
+		private boolean isPlayerAt(int x, int y, byte playerId) {
+			int index = x + y * width;
+			return index >= 0 && index < width * height && partitionsGrid.getPlayerIdAt(x, y) == playerId;
+		}
+
+		private boolean hasNeighborIngestibleByPioneersOf(int x, int y, Player player) {
+			for (EDirection direction : EDirection.VALUES) {
+				int dx = direction.gridDeltaX + x;
+				int dy = direction.gridDeltaY + y;
+
+				if (dx >= 0 && dy >= 0 && dx < width && dy < height && isIngestibleByPioneersOf(dx, dy, player)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private boolean isIngestibleByPioneersOf(int x, int y, Player player) {
+			Player otherPlayer = partitionsGrid.getPlayerAt(x, y);
+			return !player.hasSameTeam(otherPlayer)
+					&& !flagsGrid.isBlocked(x, y)
+					&& !partitionsGrid.isEnforcedByTower(x, y);
+		}
+	}
+}
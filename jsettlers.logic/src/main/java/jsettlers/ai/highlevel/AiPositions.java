@@ -152,6 +152,32 @@ public class AiPositions implements IMapArea {
 		}
 	}
 
+	/**
+	 * Removes all positions accepted by the given filter. The order of the remaining positions is kept.
+	 *
+	 * @param filter
+	 *            The filter selecting the positions to be removed.
+	 */
+	public void removeAll(AiPositionFilter filter) {
+		int newSize = 0;
+		for (int i = 0; i < size; i++) {
+			int point = points[i];
+			if (!filter.contains(unpackX(point), unpackY(point))) {
+				points[newSize++] = point;
+			}
+		}
+		size = newSize;
+	}
+
+	/**
+	 * @return true if both sets contain the same positions.
+	 */
+	boolean hasSamePositions(AiPositions other) {
+		ensureSorted();
+		other.ensureSorted();
+		return Arrays.equals(points, 0, size, other.points, 0, other.size);
+	}
+
 	@Override
 	public boolean contains(ShortPoint2D position) {
 		return contains(position.x, position.y);
@@ -173,7 +199,7 @@ public class AiPositions implements IMapArea {
 		return new PositionsIterator();
 	}
 
-	private void ensureSorted() {
+	void ensureSorted() {
 		if (!sorted) {
 			Arrays.sort(points, 0, size);
 			sorted = true;
@@ -26,7 +26,6 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.Vector;
-import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 
 import java.util.Objects;
@@ -43,7 +42,6 @@ import jsettlers.common.landscape.EResourceType;
 import jsettlers.common.map.partition.IPartitionData;
 import jsettlers.common.mapobject.EMapObjectType;
 import jsettlers.common.material.EMaterialType;
-import jsettlers.common.movable.EDirection;
 import jsettlers.common.movable.EMovableAction;
 import jsettlers.common.movable.EMovableType;
 import jsettlers.common.movable.IGraphicsMovable;
@@ -54,11 +52,11 @@ import jsettlers.common.position.RelativePoint;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.buildings.WorkAreaBuilding;
+import jsettlers.logic.constants.Constants;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.grid.flags.FlagsGrid;
 import jsettlers.logic.map.grid.landscape.LandscapeGrid;
 import jsettlers.logic.map.grid.movable.MovableGrid;
-import jsettlers.logic.map.grid.objects.AbstractHexMapObject;
 import jsettlers.logic.map.grid.objects.ObjectsGrid;
 import jsettlers.logic.map.grid.partition.PartitionsGrid;
 import jsettlers.logic.movable.interfaces.ILogicMovable;
@@ -68,10 +66,6 @@ import static jsettlers.common.buildings.EBuildingType.BIG_TOWER;
 import static jsettlers.common.buildings.EBuildingType.CASTLE;
 import static jsettlers.common.buildings.EBuildingType.LUMBERJACK;
 import static jsettlers.common.buildings.EBuildingType.TOWER;
-import static jsettlers.common.mapobject.EMapObjectType.CUT_OFF_STONE;
-import static jsettlers.common.mapobject.EMapObjectType.STONE;
-import static jsettlers.common.mapobject.EMapObjectType.TREE_ADULT;
-import static jsettlers.common.mapobject.EMapObjectType.TREE_GROWING;
 import static jsettlers.common.movable.EMovableType.BEARER;
 import static jsettlers.common.movable.EMovableType.SWORDSMAN_L1;
 import static jsettlers.common.movable.EMovableType.SWORDSMAN_L2;
@@ -79,7 +73,7 @@ import static jsettlers.common.movable.EMovableType.SWORDSMAN_L3;
 
 /**
  * This class calculates statistics based on the grids which are used by highlevel and lowlevel KI. The statistics are calculated once and read multiple times within one AiExecutor step triggerd by
- * the game clock.
+ * the game clock. The statistics of the map positions are only recalculated where the map changed, see {@link AiMapStatistics}.
  *
  * @author codingberlin
  */
@@ -87,14 +81,10 @@ public class AiStatistics {
 
 	private static final EBuildingType[] REFERENCE_POINT_FINDER_BUILDING_ORDER = { LUMBERJACK, TOWER, BIG_TOWER, CASTLE };
 
-	private static final int NEAR_STONE_DISTANCE = 5;
-
 	private final MainGrid mainGrid;
 	private final Queue<Building> buildings;
 	private final PlayerStatistic[] playerStatistics;
-	private final Map<EMapObjectType, AiPositions> sortedCuttableObjectsInDefaultPartition;
-	private final AiPositions[] sortedResourceTypes;
-	private final AiPositions sortedRiversInDefaultPartition;
+	private final AiMapStatistics mapStatistics;
 	private final LandscapeGrid landscapeGrid;
 	private final ObjectsGrid objectsGrid;
 	private final PartitionsGrid partitionsGrid;
@@ -102,11 +92,9 @@ public class AiStatistics {
 	private final FlagsGrid flagsGrid;
 	private final AbstractConstructionMarkableMap constructionMarksGrid;
 	private final AiMapInformation aiMapInformation;
-	private final long[] resourceCountInDefaultPartition;
 	private final List<Player> players;
 
 	private final ExecutorService statisticsUpdaterPool;
-	private final Set<Callable<Void>> parallelStatisticsUpdater;
 
 	public AiStatistics(MainGrid mainGrid, ExecutorService threadPool) {
 		this.mainGrid = mainGrid;
@@ -122,17 +110,11 @@ public class AiStatistics {
 		for (byte i = 0; i < mainGrid.getGuiInputGrid().getNumberOfPlayers(); i++) {
 			this.playerStatistics[i] = new PlayerStatistic();
 		}
-		sortedRiversInDefaultPartition = new AiPositions();
-		sortedCuttableObjectsInDefaultPartition = new HashMap<>();
-		sortedResourceTypes = new AiPositions[EResourceType.VALUES.length];
-		for (int i = 0; i < sortedResourceTypes.length; i++) {
-			sortedResourceTypes[i] = new AiPositions();
-		}
-		resourceCountInDefaultPartition = new long[EResourceType.VALUES.length];
 		players = Arrays.stream(partitionsGrid.getPlayers()).filter(Objects::nonNull).collect(Collectors.toList());
 
 		statisticsUpdaterPool = threadPool;
-		parallelStatisticsUpdater = Set.of(this::mainMapStatUpdater, this::freeLandMapStatUpdater, this::playerLandMapStatUpdater, this::movableMapStatUpdater, this::grassMapStatUpdater, this::pioneerMapStatUpdater);
+		mapStatistics = new AiMapStatistics(mainGrid, threadPool);
+		mainGrid.addMapChangedListener(mapStatistics);
 	}
 
 	public byte getFlatternEffortAtPositionForBuilding(final ShortPoint2D position, final BuildingVariant buildingType) {
@@ -147,11 +129,6 @@ public class AiStatistics {
 		for (PlayerStatistic playerStatistic : playerStatistics) {
 			playerStatistic.clearAll();
 		}
-		sortedRiversInDefaultPartition.clear();
-		sortedCuttableObjectsInDefaultPartition.clear();
-		for (AiPositions xCoordinatesMap : sortedResourceTypes) {
-			xCoordinatesMap.clear();
-		}
 
 		updateBuildingStatistics();
 		updateMapStatistics();
@@ -205,80 +182,7 @@ public class AiStatistics {
 		}
 	}
 
-	private Void mainMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
-
-		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
-				Player player = partitionsGrid.getPlayerAt(x, y);
-
-				int mapInformationPlayerId;
-				if (player != null) {
-					mapInformationPlayerId = player.playerId;
-				} else {
-					mapInformationPlayerId = aiMapInformation.resourceAndGrassCount.length - 1;
-				}
-				if (landscapeGrid.getResourceAmountAt(x, y) > 0) {
-					EResourceType resourceType = landscapeGrid.getResourceTypeAt(x, y);
-					sortedResourceTypes[resourceType.ordinal].addNoCollission(x, y);
-					if (resourceType != EResourceType.FISH) {
-						aiMapInformation.resourceAndGrassCount[mapInformationPlayerId][resourceType.ordinal]++;
-						if (player != null) {
-							playerStatistics[player.playerId].resourceCount[resourceType.ordinal]++;
-						} else {
-							resourceCountInDefaultPartition[resourceType.ordinal]++;
-						}
-					} else if (landscapeGrid.getLandscapeTypeAt(x, y) == ELandscapeType.WATER1) {
-						int fishMapInformationPlayerId = mapInformationPlayerId;
-						if (mapInformationPlayerId == aiMapInformation.resourceAndGrassCount.length - 1) {
-							fishMapInformationPlayerId = mapInformationPlayerIdOfPosition((short) (x + 3), y);
-							if (fishMapInformationPlayerId == aiMapInformation.resourceAndGrassCount.length - 1) {
-								fishMapInformationPlayerId = mapInformationPlayerIdOfPosition((short) (x - 3), y);
-								if (fishMapInformationPlayerId == aiMapInformation.resourceAndGrassCount.length - 1) {
-									fishMapInformationPlayerId = mapInformationPlayerIdOfPosition(x, (short) (y + 3));
-									if (fishMapInformationPlayerId == aiMapInformation.resourceAndGrassCount.length - 1) {
-										fishMapInformationPlayerId = mapInformationPlayerIdOfPosition(x, (short) (y - 3));
-									}
-								}
-							}
-						}
-						aiMapInformation.resourceAndGrassCount[fishMapInformationPlayerId][resourceType.ordinal]++;
-						if (fishMapInformationPlayerId == aiMapInformation.resourceAndGrassCount.length - 1) {
-							resourceCountInDefaultPartition[resourceType.ordinal]++;
-						} else {
-							playerStatistics[fishMapInformationPlayerId].resourceCount[resourceType.ordinal]++;
-						}
-					}
-				}
-			}
-		}
-		return null;
-	}
-
-	private Void grassMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
-
-		for(short x = 0; x < width; x++) {
-			for(short y = 0; y < height; y++) {
-				Player player = partitionsGrid.getPlayerAt(x, y);
-
-				int mapInformationPlayerId;
-				if(player != null) {
-					mapInformationPlayerId = player.playerId;
-				} else {
-					mapInformationPlayerId = aiMapInformation.resourceAndGrassCount.length - 1;
-				}
-				if(landscapeGrid.getLandscapeTypeAt(x, y).isGrass()) {
-					aiMapInformation.resourceAndGrassCount[mapInformationPlayerId][AiMapInformation.GRASS_INDEX]++;
-				}
-			}
-		}
-		return null;
-	}
-
-	private Void movableMapStatUpdater() {
+	private void updateMovableStatistics() {
 		for(ILogicMovable movable : movableGrid.getMovableArray()) {
 			if (movable == null) continue;
 			ShortPoint2D movablePosition = movable.getPosition();
@@ -297,190 +201,32 @@ public class AiStatistics {
 				playerStatistics[player.playerId].enemyTroopsInTown.addNoCollission(movablePosition.x, movablePosition.y);
 			}
 		}
-		return null;
-	}
-
-	private Void freeLandMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
-
-		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
-				Player player = partitionsGrid.getPlayerAt(x, y);
-
-				if (player == null) {
-					updateFreeLand(x, y);
-				}
-			}
-		}
-		return null;
-	}
-
-	private Void playerLandMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
-
-		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
-				Player player = partitionsGrid.getPlayerAt(x, y);
-				if(player == null) continue;
-
-				if (partitionsGrid.getPartitionIdAt(x, y) == playerStatistics[player.playerId].partitionIdToBuildOn) {
-					updatePlayerLand(x, y, player);
-				}
-			}
-		}
-		return null;
-	}
-
-	private Void pioneerMapStatUpdater() {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
-
-		for (short x = 0; x < width; x++) {
-			for (short y = 0; y < height; y++) {
-				Player player = partitionsGrid.getPlayerAt(x, y);
-				if (player == null) continue;
-				if (hasNeighborIngestibleByPioneersOf(x, y, player)) {
-					if (partitionsGrid.getPartitionIdAt(x, y) == playerStatistics[player.playerId].partitionIdToBuildOn) {
-						playerStatistics[player.playerId].borderIngestibleByPioneers.add(x, y);
-					} else {
-						playerStatistics[player.playerId].otherPartitionBorder.add(x, y);
-					}
-
-				}
-			}
-		}
-		return null;
 	}
 
 	private void updateMapStatistics() {
-		aiMapInformation.clear();
 		updatePartitionIdsToBuildOn();
-		Arrays.fill(resourceCountInDefaultPartition, 0);
-
-		try {
-			statisticsUpdaterPool.invokeAll(parallelStatisticsUpdater);
-		} catch (InterruptedException e) {
-			e.printStackTrace();
-		}
-	}
-
-	private int mapInformationPlayerIdOfPosition(short x, short y) {
-		if (!mainGrid.isInBounds(x, y)) {
-			return aiMapInformation.resourceAndGrassCount.length - 1;
-		}
-
-		byte playerId = mainGrid.getPartitionsGrid().getPlayerIdAt(x, y);
-		if (playerId == -1) {
-			return aiMapInformation.resourceAndGrassCount.length - 1;
-		}
-
-		return playerId;
-	}
-
-	private boolean hasNeighborIngestibleByPioneersOf(int x, int y, Player player) {
-		short width = mainGrid.getWidth();
-		short height = mainGrid.getHeight();
-
-		for (EDirection direction : EDirection.VALUES) {
-			int dx = direction.gridDeltaX + x;
-			int dy = direction.gridDeltaY + y;
-
-			if(dx >= 0 && dy >= 0 && dx < width && dy < height && isIngestibleByPioneersOf(dx, dy, player)) {
-				return true;
+		updateMovableStatistics();
+
+		short[] partitionIdsToBuildOn = new short[playerStatistics.length];
+		short[] blockedPartitionIds = new short[playerStatistics.length];
+		for (int playerId = 0; playerId < playerStatistics.length; playerId++) {
+			partitionIdsToBuildOn[playerId] = playerStatistics[playerId].partitionIdToBuildOn;
+			blockedPartitionIds[playerId] = playerStatistics[playerId].blockedPartitionId;
+		}
+		mapStatistics.update(partitionIdsToBuildOn, blockedPartitionIds);
+
+		if (Constants.AI_STATISTICS_VALIDATION_ENABLED) {
+			AiMapStatistics rebuiltMapStatistics = new AiMapStatistics(mainGrid, statisticsUpdaterPool);
+			rebuiltMapStatistics.update(partitionIdsToBuildOn, blockedPartitionIds);
+			String difference = mapStatistics.findDifference(rebuiltMapStatistics);
+			if (difference != null) {
+				System.err.println("ERROR: The updated map statistics differ from the rebuilt ones: " + difference);
+				mapStatistics.invalidate();
+				mapStatistics.update(partitionIdsToBuildOn, blockedPartitionIds);
 			}
 		}
-		return false;
-	}
-
-	private boolean isIngestibleByPioneersOf(int x, int y, Player player) {
-		Player otherPlayer = partitionsGrid.getPlayerAt(x, y);
-		return !player.hasSameTeam(otherPlayer)
-				&& !flagsGrid.isBlocked(x, y)
-				&& !partitionsGrid.isEnforcedByTower(x, y);
-	}
 
-	private void updatePlayerLand(short x, short y, Player player) {
-		byte playerId = player.playerId;
-		PlayerStatistic playerStatistic = playerStatistics[playerId];
-		if (mainGrid.getFlagsGrid().isProtected(x, y)) {
-			AbstractHexMapObject o = objectsGrid.getObjectsAt(x, y);
-			if (o != null) {
-				if (o.hasCuttableObject(STONE) && isCuttableByPlayer(x, y, player.playerId)) {
-					playerStatistic.stones.addNoCollission(x, y);
-				} else if (o.hasMapObjectTypes(TREE_GROWING, TREE_ADULT) && isCuttableByPlayer(x, y, player.playerId)) {
-					playerStatistic.trees.addNoCollission(x, y);
-				}
-
-				if(o.hasMapObjectTypes(STONE, CUT_OFF_STONE)) {
-					aiMapInformation.stoneCount[playerId]++;
-				}
-			}
-		} else {
-			playerStatistic.landToBuildOn.addNoCollission(x, y);
-		}
-		ELandscapeType landscape = landscapeGrid.getLandscapeTypeAt(x, y);
-		if (landscape.isRiver()) {
-			playerStatistic.rivers.addNoCollission(x, y);
-		}
-		if (objectsGrid.hasMapObjectType(x, y, EMapObjectType.WINE_GROWING, EMapObjectType.WINE_HARVESTABLE)) {
-			playerStatistic.wineCount++;
-		}
-	}
-
-	private boolean isCuttableByPlayer(short x, short y, byte playerId) {
-		byte[] playerIds = new byte[4];
-		playerIds[0] = partitionsGrid.getPlayerIdAt(x - 2, y - 2);
-		playerIds[1] = partitionsGrid.getPlayerIdAt(x - 2, y + 2);
-		playerIds[2] = partitionsGrid.getPlayerIdAt(x + 2, y - 2);
-		playerIds[3] = partitionsGrid.getPlayerIdAt(x + 2, y + 2);
-		for (byte positionPlayerId : playerIds) {
-			if (positionPlayerId != playerId) {
-				return false;
-			}
-		}
-		return true;
-	}
-
-	private void updateFreeLand(short x, short y) {
-		if (objectsGrid.hasCuttableObject(x, y, TREE_ADULT)) {
-			AiPositions trees = sortedCuttableObjectsInDefaultPartition.get(TREE_ADULT);
-			if (trees == null) {
-				trees = new AiPositions();
-				sortedCuttableObjectsInDefaultPartition.put(TREE_ADULT, trees);
-			}
-			trees.addNoCollission(x, y);
-		}
-		if (objectsGrid.hasCuttableObject(x, y, STONE)) {
-			AiPositions stones = sortedCuttableObjectsInDefaultPartition.get(STONE);
-			if (stones == null) {
-				stones = new AiPositions();
-				sortedCuttableObjectsInDefaultPartition.put(STONE, stones);
-			}
-			stones.addNoCollission(x, y);
-			updateNearStones(x, y);
-		}
-		if (objectsGrid.hasMapObjectType(x, y, STONE, CUT_OFF_STONE)) {
-			aiMapInformation.stoneCount[aiMapInformation.stoneCount.length - 1]++;
-		}
-		ELandscapeType landscape = landscapeGrid.getLandscapeTypeAt(x, y);
-		if (landscape.isRiver()) {
-			sortedRiversInDefaultPartition.addNoCollission(x, y);
-		}
-	}
-
-	private void updateNearStones(short x, short y) {
-		for (EDirection dir : EDirection.VALUES) {
-			int currX = dir.getNextTileX(x, NEAR_STONE_DISTANCE);
-			int currY = dir.getNextTileY(y, NEAR_STONE_DISTANCE);
-			if (mainGrid.isInBounds(currX, currY)) {
-				byte playerId = partitionsGrid.getPlayerIdAt(currX, currY);
-				if (playerId != -1 && hasPlayersBlockedPartition(playerId, x, y)) {
-					playerStatistics[playerId].stonesNearBy.addNoCollission(x, y);
-				}
-			}
-		}
+		mapStatistics.copyCountsTo(aiMapInformation);
 	}
 
 	private void updatePartitionIdsToBuildOn() {
@@ -509,11 +255,11 @@ public class AiStatistics {
 	}
 
 	ShortPoint2D getNearestResourcePointForPlayer(ShortPoint2D point, EResourceType resourceType, byte playerId, int searchDistance, AiPositionFilter filter) {
-		return getNearestPointInDefaultPartitionOutOfSortedMap(point, sortedResourceTypes[resourceType.ordinal], playerId, searchDistance, filter);
+		return getNearestPointInDefaultPartitionOutOfSortedMap(point, mapStatistics.getResourcePositions(resourceType), playerId, searchDistance, filter);
 	}
 
 	public ShortPoint2D getNearestFishPointForPlayer(ShortPoint2D point, final byte playerId, int currentNearestPointDistance) {
-		return sortedResourceTypes[EResourceType.FISH.ordinal].getNearestPoint(point, currentNearestPointDistance, new AiPositionFilter() {
+		return mapStatistics.getResourcePositions(EResourceType.FISH).getNearestPoint(point, currentNearestPointDistance, new AiPositionFilter() {
 			@Override
 			public boolean contains(int x, int y) {
 				return isPlayerThere(x + 3, y) || isPlayerThere(x - 3, y) || isPlayerThere(x, y + 3) || isPlayerThere(x, y - 3);
@@ -534,7 +280,7 @@ public class AiStatistics {
 	}
 
 	private ShortPoint2D getNearestCuttableObjectPointForPlayer(ShortPoint2D point, EMapObjectType cuttableObject, int searchDistance, byte playerId, AiPositionFilter filter) {
-		AiPositions sortedResourcePoints = sortedCuttableObjectsInDefaultPartition.get(cuttableObject);
+		AiPositions sortedResourcePoints = mapStatistics.getCuttableObjectsInDefaultPartition(cuttableObject);
 		if (sortedResourcePoints == null) {
 			return null;
 		}
@@ -579,7 +325,7 @@ public class AiStatistics {
 	}
 
 	public int getTotalWineCountForPlayer(byte playerId) {
-		return playerStatistics[playerId].wineCount;
+		return mapStatistics.getWineCount(playerId);
 	}
 
 	public int getNumberOfBuildingTypeForPlayer(EBuildingType type, byte playerId) {
@@ -614,15 +360,15 @@ public class AiStatistics {
 	}
 
 	public AiPositions getStonesForPlayer(byte playerId) {
-		return playerStatistics[playerId].stones;
+		return mapStatistics.getStones(playerId);
 	}
 
 	public AiPositions getTreesForPlayer(byte playerId) {
-		return playerStatistics[playerId].trees;
+		return mapStatistics.getTrees(playerId);
 	}
 
 	public AiPositions getLandForPlayer(byte playerId) {
-		return playerStatistics[playerId].landToBuildOn;
+		return mapStatistics.getLandToBuildOn(playerId);
 	}
 
 	public boolean blocksWorkingAreaOfOtherBuilding(int x, int y, byte playerId, BuildingVariant building) {
@@ -728,7 +474,7 @@ public class AiStatistics {
 	}
 
 	public ShortPoint2D getNearestRiverPointInDefaultPartitionFor(ShortPoint2D referencePoint, int searchDistance, AiPositionFilter filter) {
-		return getNearestPointInDefaultPartitionOutOfSortedMap(referencePoint, sortedRiversInDefaultPartition, (byte) -1, searchDistance, filter);
+		return getNearestPointInDefaultPartitionOutOfSortedMap(referencePoint, mapStatistics.getRiversInDefaultPartition(), (byte) -1, searchDistance, filter);
 	}
 
 	int getNumberOfNotFinishedBuildingTypesForPlayer(EBuildingType buildingType, byte playerId) {
@@ -736,7 +482,7 @@ public class AiStatistics {
 	}
 
 	public AiPositions getRiversForPlayer(byte playerId) {
-		return playerStatistics[playerId].rivers;
+		return mapStatistics.getRivers(playerId);
 	}
 
 	private List<IPlayer> getEnemiesOf(IPlayer player) {
@@ -771,11 +517,11 @@ public class AiStatistics {
 	}
 
 	public AiPositions getBorderIngestibleByPioneersOf(byte playerId) {
-		return playerStatistics[playerId].borderIngestibleByPioneers;
+		return mapStatistics.getBorderIngestibleByPioneers(playerId);
 	}
 
 	public AiPositions getOtherPartitionBorderOf(byte playerId) {
-		return playerStatistics[playerId].otherPartitionBorder;
+		return mapStatistics.getOtherPartitionBorder(playerId);
 	}
 
 	public boolean isAlive(IPlayer player) {
@@ -791,11 +537,11 @@ public class AiStatistics {
 	}
 
 	public long resourceCountInDefaultPartition(EResourceType resourceType) {
-		return resourceCountInDefaultPartition[resourceType.ordinal];
+		return mapStatistics.getResourceCountInDefaultPartition(resourceType);
 	}
 
 	public long resourceCountOfPlayer(EResourceType resourceType, byte playerId) {
-		return playerStatistics[playerId].resourceCount[resourceType.ordinal];
+		return mapStatistics.getResourceCountOfPlayer(resourceType, playerId);
 	}
 
 	List<ShortPoint2D> threatenedBorderOf(byte playerId) {
@@ -822,7 +568,7 @@ public class AiStatistics {
 	}
 
 	public AiPositions getStonesNearBy(byte playerId) {
-		return playerStatistics[playerId].stonesNearBy;
+		return mapStatistics.getStonesNearBy(playerId);
 	}
 
 	private static class PlayerStatistic {
@@ -836,22 +582,13 @@ public class AiStatistics {
 		short partitionIdToBuildOn;
 		short blockedPartitionId;
 		IPartitionData materials;
-		final AiPositions landToBuildOn = new AiPositions();
-		final AiPositions borderIngestibleByPioneers = new AiPositions();
-		final AiPositions otherPartitionBorder = new AiPositions();
 		final Map<EMovableType, List<ShortPoint2D>> movablePositions = new HashMap<>();
 		final List<ShortPoint2D> joblessBearerPositions = new ArrayList<>();
-		final AiPositions stones = new AiPositions();
-		final AiPositions stonesNearBy = new AiPositions();
-		final AiPositions trees = new AiPositions();
-		final AiPositions rivers = new AiPositions();
 		final AiPositions enemyTroopsInTown = new AiPositions();
 		List<ShortPoint2D> threatenedBorder;
-		final long[] resourceCount = new long[EResourceType.VALUES.length];
 		int numberOfNotFinishedBuildings;
 		int numberOfTotalBuildings;
 		int numberOfNotOccupiedMilitaryBuildings;
-		int wineCount;
 		IMaterialProductionSettings materialProduction;
 
 		PlayerStatistic() {
@@ -862,13 +599,6 @@ public class AiStatistics {
 			materials = null;
 			buildingPositions.clear();
 			enemyTroopsInTown.clear();
-			stones.clear();
-			stonesNearBy.clear();
-			trees.clear();
-			rivers.clear();
-			landToBuildOn.clear();
-			borderIngestibleByPioneers.clear();
-			otherPartitionBorder.clear();
 			movablePositions.clear();
 			joblessBearerPositions.clear();
 			farmWorkAreas.clear();
@@ -881,11 +611,9 @@ public class AiStatistics {
 		private void clearIntegers() {
 			Arrays.fill(totalBuildingsNumbers, 0);
 			Arrays.fill(buildingsNumbers, 0);
-			Arrays.fill(resourceCount, 0);
 			numberOfNotFinishedBuildings = 0;
 			numberOfTotalBuildings = 0;
 			numberOfNotOccupiedMilitaryBuildings = 0;
-			wineCount = 0;
 			partitionIdToBuildOn = Short.MIN_VALUE;
 			blockedPartitionId = Short.MIN_VALUE;
 		}
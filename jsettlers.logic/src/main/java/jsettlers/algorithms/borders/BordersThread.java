@@ -14,24 +14,40 @@
  *******************************************************************************/
 package jsettlers.algorithms.borders;
 
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
 import jsettlers.common.movable.EDirection;
 import jsettlers.common.position.ShortPoint2D;
 
-import java.util.concurrent.LinkedBlockingQueue;
-
 /**
  * This thread calculates the positions that represent the border between the areas occupied by different players.
+ * <p>
+ * Changed positions are marked in a bitset. The thread takes all marked positions as one batch and recalculates the borders of the rows
+ * around them, large batches are calculated in parallel.
  * 
  * @author Andreas Eberle
  * 
  */
 public class BordersThread implements Runnable {
+	/**
+	 * Batches with more positions to calculate are split by rows and calculated in parallel.
+	 */
+	private static final int PARALLEL_BATCH_SIZE = 64 * 1024;
 
 	private final IBordersThreadGrid grid;
-	private final LinkedBlockingQueue<ShortPoint2D> positionsQueue = new LinkedBlockingQueue<>();
-	private final Thread bordersThread;
+	private final int                width;
+	private final int                height;
+	private final Thread             bordersThread;
+
+	private BitSet dirtyPositions; // guarded by this
+	private BitSet batchPositions; // only used by the borders thread
 
-	private boolean canceled = false;
+	private final int[] spanFromX;
+	private final int[] spanToX;
+
+	private volatile boolean canceled = false;
 
 	/**
 	 * This constructor creates a new instance of {@link BordersThread} and automatically launches a thread for it called "bordersThread".
@@ -41,6 +57,13 @@ public class BordersThread implements Runnable {
 	 */
 	public BordersThread(IBordersThreadGrid grid) {
 		this.grid = grid;
+		this.width = grid.getWidth();
+		this.height = grid.getHeight();
+		this.dirtyPositions = new BitSet(width * height);
+		this.batchPositions = new BitSet(width * height);
+		this.spanFromX = new int[height];
+		this.spanToX = new int[height];
+
 		this.bordersThread = new Thread(this);
 		this.bordersThread.setName("BordersThread");
 		this.bordersThread.setDaemon(true);
@@ -49,82 +72,146 @@ public class BordersThread implements Runnable {
 	@Override
 	public void run() {
 		while (!canceled) {
-			ShortPoint2D position = null;
-			while (position == null && !canceled) {
-				try {
-					position = positionsQueue.take();
-				} catch (InterruptedException e) {
+			synchronized (this) {
+				while (dirtyPositions.isEmpty() && !canceled) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+					}
 				}
 			}
 			if (!canceled) {
-				calculateForPosition(position);
+				calculateDirtyPositions();
 			}
 		}
 	}
 
-	private void calculateForPosition(ShortPoint2D position) {
-		short x = position.x;
-		short y = position.y;
-
-		byte player = grid.getPlayerIdAt(x, y);
-		boolean isBorder = false;
+	/**
+	 * Calculates the borders around all positions marked so far in the calling thread.
+	 */
+	void calculateDirtyPositions() {
+		BitSet batch;
+		synchronized (this) {
+			batch = dirtyPositions;
+			dirtyPositions = batchPositions;
+		}
+		batchPositions = batch;
 
-		if (grid.getBlockedPartition(x, y) > 0) { // the position is not a blocked landscape
-			for (EDirection currDir : EDirection.VALUES) {
-				int currNeighborX = currDir.getNextTileX(x);
-				int currNeighborY = currDir.getNextTileY(y);
+		int positions = collectRowSpans(batch);
+		batch.clear();
 
-				if (!grid.isInBounds(currNeighborX, currNeighborY)) {
-					continue;
-				}
-				if (grid.getBlockedPartition(currNeighborX, currNeighborY) <= 0) {
-					continue; // this neighbor is in the sea => it can never be set.
+		if (positions > PARALLEL_BATCH_SIZE) {
+			calculateRowsInParallel();
+		} else {
+			for (int y = 0; y < height; y++) {
+				for (int x = spanFromX[y]; x < spanToX[y]; x++) {
+					grid.setBorderAt(x, y, isBorder(x, y));
 				}
+			}
+		}
+	}
 
-				byte neighborPlayer = grid.getPlayerIdAt(currNeighborX, currNeighborY);
-				boolean neighborIsBorder = false;
+	/**
+	 * Sets the span of every row to the marked positions of the row and the rows above and below it, widened by one position. The border of
+	 * a position depends on its neighbors, so these are all positions whose border may have changed.
+	 *
+	 * @return The number of positions in the spans.
+	 */
+	private int collectRowSpans(BitSet batch) {
+		Arrays.fill(spanFromX, Integer.MAX_VALUE);
+		Arrays.fill(spanToX, Integer.MIN_VALUE);
+
+		for (int index = batch.nextSetBit(0); index >= 0; ) {
+			int y = index / width;
+			int rowEnd = (y + 1) * width;
+			int fromX = Math.max(0, index - y * width - 1);
+			int toX = Math.min(width, batch.previousSetBit(rowEnd - 1) - y * width + 2);
+
+			for (int spanY = Math.max(0, y - 1); spanY <= Math.min(height - 1, y + 1); spanY++) {
+				spanFromX[spanY] = Math.min(spanFromX[spanY], fromX);
+				spanToX[spanY] = Math.max(spanToX[spanY], toX);
+			}
 
-				if (neighborPlayer != player) {
-					isBorder = true;
-				}
+			index = rowEnd < width * height ? batch.nextSetBit(rowEnd) : -1;
+		}
 
-				if (neighborPlayer >= 0) { // this position is occupied by a player
-					for (EDirection currNeighborDir : EDirection.VALUES) {
-						int nextX = currNeighborDir.getNextTileX(currNeighborX);
-						int nextY = currNeighborDir.getNextTileY(currNeighborY);
+		int positions = 0;
+		for (int y = 0; y < height; y++) {
+			positions += Math.max(0, spanToX[y] - spanFromX[y]);
+		}
+		return positions;
+	}
 
-						if (grid.isInBounds(nextX, nextY) && grid.getPlayerIdAt(nextX, nextY) != neighborPlayer
-								&& grid.getBlockedPartition(nextX, nextY) > 0) {
-							neighborIsBorder = true;
-							break;
-						}
-					}
-				} // else the position is not occupied -> don't display a border here
+	private void calculateRowsInParallel() {
+		BitSet[] rowBorders = new BitSet[height];
+		IntStream.range(0, height).parallel().filter(y -> spanFromX[y] < spanToX[y]).forEach(y -> {
+			BitSet borders = new BitSet(spanToX[y] - spanFromX[y]);
+			for (int x = spanFromX[y]; x < spanToX[y]; x++) {
+				borders.set(x - spanFromX[y], isBorder(x, y));
+			}
+			rowBorders[y] = borders;
+		});
 
-				grid.setBorderAt(currNeighborX, currNeighborY, neighborIsBorder);
+		for (int y = 0; y < height; y++) { // the grid does not need to support concurrent writes
+			for (int x = spanFromX[y]; x < spanToX[y]; x++) {
+				grid.setBorderAt(x, y, rowBorders[y].get(x - spanFromX[y]));
 			}
 		}
+	}
+
+	/**
+	 * A position is a border if it is occupied by a player and one of its neighbors is occupied by somebody else. Blocked landscape never has
+	 * a border and never makes its neighbors a border.
+	 */
+	private boolean isBorder(int x, int y) {
+		if (grid.getBlockedPartition(x, y) <= 0) {
+			return false;
+		}
+		byte player = grid.getPlayerIdAt(x, y);
+		if (player < 0) {
+			return false;
+		}
 
-		grid.setBorderAt(x, y, isBorder && player >= 0);
+		for (EDirection direction : EDirection.VALUES) {
+			int neighborX = direction.getNextTileX(x);
+			int neighborY = direction.getNextTileY(y);
+
+			if (grid.isInBounds(neighborX, neighborY) && grid.getPlayerIdAt(neighborX, neighborY) != player
+					&& grid.getBlockedPartition(neighborX, neighborY) > 0) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	public void checkPosition(ShortPoint2D position) {
-		this.positionsQueue.offer(position);
+		if (!canceled) {
+			synchronized (this) {
+				dirtyPositions.set(position.x + position.y * width);
+				notify();
+			}
+		}
 	}
 
 	public void checkArea(int x, int y, short width, short height) {
-		int endX = x + width;
-		int endY = y + height;
+		if (canceled) {
+			return;
+		}
 
-		for (; y < endY; y += 2) {
-			for (int currX = x; currX < endX; currX += 2) {
-				this.positionsQueue.offer(new ShortPoint2D(currX, y));
+		synchronized (this) {
+			for (int endY = y + height; y < endY; y++) {
+				dirtyPositions.set(x + y * this.width, x + width + y * this.width);
 			}
+			notify();
 		}
 	}
 
 	public void cancel() {
 		this.canceled = true;
+		synchronized (this) {
+			dirtyPositions.clear();
+			notify();
+		}
 		bordersThread.interrupt();
 	}
 
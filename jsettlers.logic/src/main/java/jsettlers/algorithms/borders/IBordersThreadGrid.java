@@ -59,4 +59,8 @@ public interface IBordersThreadGrid {
 	 */
 	short getBlockedPartition(int x, int y);
 
+	int getWidth();
+
+	int getHeight();
+
 }
@@ -17,6 +17,7 @@ package jsettlers.algorithms.construction;
 import jsettlers.common.buildings.EBuildingType;
 import jsettlers.common.landscape.ELandscapeType;
 import jsettlers.common.position.RelativePoint;
+import jsettlers.logic.map.grid.IMapChangedListener;
 
 import java.util.Set;
 
@@ -80,4 +81,13 @@ public abstract class AbstractConstructionMarkableMap {
 	public abstract boolean canConstructAt(int x, int y, EBuildingType type, byte playerId);
 
 	public abstract byte calculateConstructionMarkValue(int mapX, int mapY, final RelativePoint[] flattenPositions);
+
+	/**
+	 * Adds a listener informed when the landscape, the flags or the partition of a position change. These are the changes that can change the
+	 * result of {@link #canConstructAt(int, int, EBuildingType, byte)} for the positions around it.
+	 * 
+	 * @param listener
+	 *            The listener to be added.
+	 */
+	public abstract void addConstructionChangedListener(IMapChangedListener listener);
 }
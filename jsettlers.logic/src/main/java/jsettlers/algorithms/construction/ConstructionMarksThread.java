@@ -14,37 +14,54 @@
  *******************************************************************************/
 package jsettlers.algorithms.construction;
 
+import java.util.BitSet;
+
 import jsettlers.algorithms.AlgorithmConstants;
 import jsettlers.common.buildings.BuildingVariant;
 import jsettlers.common.logging.MilliStopWatch;
 import jsettlers.common.logging.StopWatch;
 import jsettlers.common.map.shapes.MapRectangle;
+import jsettlers.logic.map.grid.IMapChangedListener;
 import jsettlers.network.client.interfaces.IPausingSupplier;
 
 /**
  * Thread to calculate the markings for the user if he want's to construct a new building.<br>
  * This is a singleton class.
+ * <p>
+ * The marks are only calculated again for positions that became visible and for positions affected by changes of the map.
  *
  * @author Andreas Eberle
  *
  */
-public final class ConstructionMarksThread implements Runnable {
+public final class ConstructionMarksThread implements Runnable, IMapChangedListener {
 
 	private final NewConstructionMarksAlgorithm algorithm;
 	private final IPausingSupplier pausingSupplier;
 	private final Thread thread;
+	private final short mapWidth;
 
-	private boolean canceled;
+	private volatile boolean canceled;
 
 	/**
 	 * area of tiles to be checked.
 	 */
 	private MapRectangle mapArea = null;
-	private BuildingVariant building = null;
+	private volatile BuildingVariant building = null;
+
+	/**
+	 * positions changed since the last calculation, guarded by this.
+	 */
+	private BitSet changedPositions;
+	private BitSet calculatedPositions;
+	private boolean allPositionsChanged = false;
 
 	public ConstructionMarksThread(AbstractConstructionMarkableMap map, IPausingSupplier pausingSupplier, byte player) {
 		this.algorithm = new NewConstructionMarksAlgorithm(map, player);
 		this.pausingSupplier = pausingSupplier;
+		this.mapWidth = map.getWidth();
+		this.changedPositions = new BitSet(map.getWidth() * map.getHeight());
+		this.calculatedPositions = new BitSet(map.getWidth() * map.getHeight());
+		map.addConstructionChangedListener(this);
 
 		thread = new Thread(this, "ConstructionMarksThread");
 		thread.setDaemon(true);
@@ -63,15 +80,7 @@ public final class ConstructionMarksThread implements Runnable {
 
 				while (building != null && !canceled) {
 					if (!pausingSupplier.isPausing()) {
-						StopWatch watch = new MilliStopWatch();
-						watch.restart();
-
-						BuildingVariant building = this.building;
-						if (building != null && mapArea != null) { // if the task has already been canceled
-							algorithm.calculateConstructMarks(mapArea, building);
-						}
-
-						watch.stop("calculation of construction marks");
+						calculateConstructionMarks();
 					}
 					synchronized (this) {
 						wait(AlgorithmConstants.CONSTRUCT_MARKS_MAX_REFRESH_TIME);
@@ -86,6 +95,32 @@ public final class ConstructionMarksThread implements Runnable {
 		}
 	}
 
+	private void calculateConstructionMarks() {
+		BuildingVariant building;
+		MapRectangle mapArea;
+		BitSet changed;
+		boolean allChanged;
+		synchronized (this) {
+			building = this.building;
+			mapArea = this.mapArea;
+			changed = changedPositions;
+			changedPositions = calculatedPositions;
+			calculatedPositions = changed;
+			allChanged = allPositionsChanged;
+			allPositionsChanged = false;
+		}
+
+		if (building != null && mapArea != null) { // if the task has already been canceled
+			StopWatch watch = new MilliStopWatch();
+			watch.restart();
+
+			algorithm.calculateConstructMarks(mapArea, building, allChanged ? null : changed);
+
+			watch.stop("calculation of construction marks");
+		}
+		changed.clear();
+	}
+
 	public synchronized void setScreen(MapRectangle mapArea) {
 		this.mapArea = mapArea;
 		this.notifyAll();
@@ -93,9 +128,28 @@ public final class ConstructionMarksThread implements Runnable {
 
 	public synchronized void setBuilding(BuildingVariant buildingVariant) {
 		this.building = buildingVariant;
+		this.allPositionsChanged = true; // changes are not recorded while no building is selected
 		this.notifyAll();
 	}
 
+	@Override
+	public void positionChanged(int x, int y) {
+		if (building != null && !canceled) {
+			synchronized (this) {
+				changedPositions.set(x + y * mapWidth);
+			}
+		}
+	}
+
+	@Override
+	public void partitionsMerged() {
+		if (building != null && !canceled) {
+			synchronized (this) {
+				allPositionsChanged = true;
+			}
+		}
+	}
+
 	public void cancel() {
 		canceled = true;
 		thread.interrupt();
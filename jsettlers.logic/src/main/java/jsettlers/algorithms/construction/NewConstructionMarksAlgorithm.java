@@ -14,6 +14,9 @@
  *******************************************************************************/
 package jsettlers.algorithms.construction;
 
+import java.util.BitSet;
+
+import jsettlers.common.buildings.BuildingAreaBitSet;
 import jsettlers.common.buildings.BuildingVariant;
 import jsettlers.common.map.shapes.IMapArea;
 import jsettlers.common.map.shapes.MapRectangle;
@@ -21,6 +24,9 @@ import jsettlers.common.position.RelativePoint;
 
 /**
  * Algorithm to calculate the construction marks for the user.
+ * <p>
+ * The marks of the last area and building are kept. Later calls only calculate the marks of the positions that became visible and of the
+ * positions whose building area contains a changed position.
  *
  * @author Andreas Eberle
  *
@@ -28,44 +34,135 @@ import jsettlers.common.position.RelativePoint;
 public final class NewConstructionMarksAlgorithm {
 	private final AbstractConstructionMarkableMap map;
 	private final byte playerId;
+	private final BitSet positionsToCalculate;
 
 	private MapRectangle lastArea = null;
+	private BuildingVariant lastBuildingVariant = null;
 
 	public NewConstructionMarksAlgorithm(AbstractConstructionMarkableMap map, byte player) {
 		this.map = map;
 		this.playerId = player;
+		this.positionsToCalculate = new BitSet(map.getWidth() * map.getHeight());
 	}
 
-	public void calculateConstructMarks(final MapRectangle mapArea, BuildingVariant buildingVariant) {
-		if (lastArea != null) {
+	/**
+	 * Updates the construction marks of the given area.
+	 *
+	 * @param mapArea
+	 *            The area that shall show the construction marks.
+	 * @param buildingVariant
+	 *            The building the marks are calculated for.
+	 * @param changedPositions
+	 *            The indexes (x + y * width) of the positions that changed since the last call. All marks of the area need to be calculated if
+	 *            this is null.
+	 */
+	public void calculateConstructMarks(final MapRectangle mapArea, BuildingVariant buildingVariant, BitSet changedPositions) {
+		if (lastArea != null && !isSameArea(lastArea, mapArea)) {
 			removeConstructionMarks(lastArea, mapArea);
 		}
 
+		if (buildingVariant != lastBuildingVariant || lastArea == null || changedPositions == null) {
+			addLines(mapArea, null);
+		} else {
+			addLines(mapArea, lastArea);
+			addAffectedPositions(mapArea, changedPositions, buildingVariant);
+		}
+
 		boolean binaryConstructionMarkValues = !buildingVariant.needsFlattenedGround();
 		RelativePoint[] buildingArea = buildingVariant.getBuildingArea();
+		int width = map.getWidth();
+
+		for (int index = positionsToCalculate.nextSetBit(0); index >= 0; index = positionsToCalculate.nextSetBit(index + 1)) {
+			int x = index % width;
+			int y = index / width;
+
+			if (map.canConstructAt(x, y, buildingVariant.getType(), playerId)) {
+				map.setConstructMarking(x, y, true, binaryConstructionMarkValues, buildingArea);
+			} else {
+				map.setConstructMarking(x, y, false, false, null);
+			}
+		}
+		positionsToCalculate.clear();
+
+		// set the last variables for the next run
+		lastArea = mapArea;
+		lastBuildingVariant = buildingVariant;
+	}
 
-		final short height = mapArea.getHeight();
-		final short width = mapArea.getWidth();
+	/**
+	 * Adds the positions of the lines of the area that are not contained in the lines of the area already calculated.
+	 */
+	private void addLines(MapRectangle mapArea, MapRectangle calculatedArea) {
+		int width = map.getWidth();
 
-		for(short line = 0; line < height; line++) {
-			short y = (short) mapArea.getLineY(line);
+		for (int line = 0; line < mapArea.getHeight(); line++) {
+			int y = mapArea.getLineY(line);
+			if (y < 0 || y >= map.getHeight()) {
+				continue;
+			}
 
-			short minX = (short) mapArea.getLineStartX(line);
+			int fromX = Math.max(0, mapArea.getLineStartX(line));
+			int toX = Math.min(width, mapArea.getLineEndX(line) + 1);
 
-			for(short tile = 0; tile < width; tile++) {
-				short x = (short) (minX + tile);
+			if (calculatedArea != null && calculatedArea.containsLine(y)) {
+				int calculatedLine = y - calculatedArea.getMinY();
+				int calculatedFromX = Math.max(fromX, calculatedArea.getLineStartX(calculatedLine));
+				int calculatedToX = Math.min(toX, calculatedArea.getLineEndX(calculatedLine) + 1);
 
-				if(map.canConstructAt(x, y, buildingVariant.getType(), playerId)) {
-					map.setConstructMarking(x, y, true, binaryConstructionMarkValues, buildingArea);
-				} else {
-					map.setConstructMarking(x, y, false, false, null);
+				if (calculatedFromX < calculatedToX) {
+					setRange(fromX, calculatedFromX, y);
+					setRange(calculatedToX, toX, y);
+					continue;
 				}
+			}
+			setRange(fromX, toX, y);
+		}
+	}
+
+	/**
+	 * Adds the visible positions whose building area, border or flatten positions contain one of the changed positions.
+	 */
+	private void addAffectedPositions(MapRectangle area, BitSet changedPositions, BuildingVariant buildingVariant) {
+		BuildingAreaBitSet areaBitSet = buildingVariant.getBuildingAreaBitSet();
+		int minDx = areaBitSet.minX;
+		int maxDx = areaBitSet.maxX;
+		int minDy = areaBitSet.minY;
+		int maxDy = areaBitSet.maxY;
+		for (RelativePoint border : buildingVariant.getBuildingAreaBorder()) {
+			minDx = Math.min(minDx, border.getDx());
+			maxDx = Math.max(maxDx, border.getDx());
+			minDy = Math.min(minDy, border.getDy());
+			maxDy = Math.max(maxDy, border.getDy());
+		}
+
+		int width = map.getWidth();
 
+		for (int index = changedPositions.nextSetBit(0); index >= 0; index = changedPositions.nextSetBit(index + 1)) {
+			int changedX = index % width;
+			int changedY = index / width;
+
+			for (int y = Math.max(changedY - maxDy, area.getMinY()); y <= changedY - minDy && area.containsLine(y); y++) {
+				int line = y - area.getMinY();
+				int fromX = Math.max(changedX - maxDx, area.getLineStartX(line));
+				int toX = Math.min(changedX - minDx, area.getLineEndX(line)) + 1;
+				setRange(fromX, toX, y);
 			}
 		}
+	}
 
-		// set the lastArea variable for the next run
-		lastArea = mapArea;
+	private void setRange(int fromX, int toX, int y) {
+		if (y >= 0 && y < map.getHeight()) {
+			fromX = Math.max(0, fromX);
+			toX = Math.min(map.getWidth(), toX);
+			if (fromX < toX) {
+				positionsToCalculate.set(fromX + y * map.getWidth(), toX + y * map.getWidth());
+			}
+		}
+	}
+
+	private static boolean isSameArea(MapRectangle area, MapRectangle other) {
+		return area.getMinX() == other.getMinX() && area.getMinY() == other.getMinY() && area.getWidth() == other.getWidth()
+				&& area.getHeight() == other.getHeight();
 	}
 
 	/**
@@ -77,6 +174,7 @@ public final class NewConstructionMarksAlgorithm {
 					.filterBounds(map.getWidth(), map.getHeight())
 					.forEach((x, y) -> map.setConstructMarking(x, y, false, false, null));
 			lastArea = null;
+			lastBuildingVariant = null;
 		}
 	}
 
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+/**
+ * Statistics of a {@link FogOfWar}.
+ * <p>
+ * The metrics are written by the fog of war threads without synchronization, so other threads only see approximate values.
+ */
+public final class FoWMetrics {
+	private final long memoryUsage;
+
+	private long refUpdates;
+	private long refUpdateNanos;
+	private long drawnCircles;
+
+	private long dimUpdates;
+	private long dimUpdateNanos;
+	private long maxDimUpdateNanos;
+	private long visitedPositions;
+	private int  activeBlocks;
+
+	FoWMetrics(FogOfWar fogOfWar) {
+		long positions = (long) fogOfWar.width * fogOfWar.height;
+		// sight, hidden height, hidden landscape and hidden map object references, reference counters and the two position bit sets of the dim thread
+		memoryUsage = positions * (1 + 1 + 4 + 4 + 2 * FogOfWar.REF_LEVELS) + 2 * positions / 8;
+	}
+
+	void refUpdateExecuted(long nanos) {
+		refUpdates++;
+		refUpdateNanos += nanos;
+	}
+
+	void circleDrawn() {
+		drawnCircles++;
+	}
+
+	void dimUpdateExecuted(long nanos, int visitedPositions, int activeBlocks) {
+		dimUpdates++;
+		dimUpdateNanos += nanos;
+		if (nanos > maxDimUpdateNanos) {
+			maxDimUpdateNanos = nanos;
+		}
+		this.visitedPositions += visitedPositions;
+		this.activeBlocks = activeBlocks;
+	}
+
+	/**
+	 * @return The approximate number of bytes used by the per position arrays of the fog of war. The hidden map objects are not included.
+	 */
+	public long getMemoryUsage() {
+		return memoryUsage;
+	}
+
+	public long getRefUpdates() {
+		return refUpdates;
+	}
+
+	public long getRefUpdateNanos() {
+		return refUpdateNanos;
+	}
+
+	public long getDrawnCircles() {
+		return drawnCircles;
+	}
+
+	public long getDimUpdates() {
+		return dimUpdates;
+	}
+
+	public long getDimUpdateNanos() {
+		return dimUpdateNanos;
+	}
+
+	public long getMaxDimUpdateNanos() {
+		return maxDimUpdateNanos;
+	}
+
+	/**
+	 * @return The number of positions the dim thread has looked at.
+	 */
+	public long getVisitedPositions() {
+		return visitedPositions;
+	}
+
+	/**
+	 * @return The number of blocks that still had positions to dim after the last dim update.
+	 */
+	public int getActiveBlocks() {
+		return activeBlocks;
+	}
+
+	public void reset() {
+		refUpdates = 0;
+		refUpdateNanos = 0;
+		drawnCircles = 0;
+		dimUpdates = 0;
+		dimUpdateNanos = 0;
+		maxDimUpdateNanos = 0;
+		visitedPositions = 0;
+		activeBlocks = 0;
+	}
+
+	@Override
+	public String toString() {
+		return "FoWMetrics [memoryUsageKB=" + memoryUsage / 1024 + ", refUpdates=" + refUpdates + ", refUpdateMs=" + refUpdateNanos / 1000000
+			+ ", drawnCircles=" + drawnCircles + ", dimUpdates=" + dimUpdates + ", dimUpdateMs=" + dimUpdateNanos / 1000000 + ", maxDimUpdateNs="
+			+ maxDimUpdateNanos + ", visitedPositions=" + visitedPositions + ", activeBlocks=" + activeBlocks + "]";
+	}
+}
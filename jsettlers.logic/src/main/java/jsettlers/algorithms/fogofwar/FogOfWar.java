@@ -14,7 +14,9 @@
  *******************************************************************************/
 package jsettlers.algorithms.fogofwar;
 
+import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.BitSet;
 import java.util.HashMap;
@@ -28,12 +30,14 @@ import jsettlers.common.map.IGraphicsBackgroundListener;
 import jsettlers.common.mapobject.IMapObject;
 import jsettlers.common.position.ShortPoint2D;
 import go.graphics.FramerateComputer;
+import jsettlers.logic.SerializationUtils;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.grid.landscape.LandscapeGrid;
 import jsettlers.logic.map.grid.objects.AbstractHexMapObject;
+import jsettlers.logic.map.grid.objects.EyeMapObject;
 import jsettlers.logic.map.grid.objects.ObjectsGrid;
 import jsettlers.logic.movable.MovableManager;
 
@@ -43,27 +47,45 @@ import jsettlers.logic.movable.MovableManager;
  * @author Andreas Eberle
  */
 public final class FogOfWar implements Serializable {
-	private static final long serialVersionUID = 1877994785778678511L;
+	private static final long serialVersionUID = -4383290561547218367L;
 	/**
 	 * Longest distance any unit may look
 	 */
 	public static final byte MAX_VIEW_DISTANCE = 65;
 	public static final int PADDING = 10;
+	/**
+	 * Number of reference counters per position. The reference indexes of a {@link CachedViewCircle} are in [0, {@link #PADDING}].
+	 */
+	public static final int REF_LEVELS = PADDING + 1;
+
+	private static final int BLOCK_SHIFT = 4;
+	private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
 
 	public final byte team;
 
 	public final short width;
 	public final short height;
-	public final byte[][] sight;
+	public transient byte[][] sight;
 	public final ELandscapeType[][] hiddenLandscape;
-	public final byte[][] hiddenHeight;
+	public transient byte[][] hiddenHeight;
 	public final IMapObject[][] hiddenMapObjects;
-	public final short[][][] visibleRefs;
-	public final HashMap<Byte, LinkedList<Object>>[][] namedRefs;
+	/**
+	 * The reference counters of all positions. The {@link #REF_LEVELS} counters of a position are stored at (y * width + x) * REF_LEVELS.
+	 * <p>
+	 * They are not saved. The {@link FoWRefThread} draws the view circles of all movables, buildings and eyes again when it starts.
+	 */
+	public transient short[] visibleRefs;
+	public transient HashMap<Byte, LinkedList<Object>>[][] namedRefs;
+	/**
+	 * Number of times the whole map has been shown and not hidden again.
+	 */
+	private int shownMapRefs;
 	public transient FowDimThread dimThread;
 	public transient FoWRefThread refThread;
+	public transient FoWMetrics metrics;
 	private final LandscapeGrid landscapeGrid;
 	private final ObjectsGrid objectsGrid;
+	private final int blocksPerRow;
 
 	public transient CircleDrawer circleDrawer;
 	private transient IGraphicsBackgroundListener backgroundListener;
@@ -78,21 +100,10 @@ public final class FogOfWar implements Serializable {
 		this.hiddenLandscape = new ELandscapeType[width][height];
 		this.hiddenHeight = new byte[width][height];
 		this.hiddenMapObjects = new IMapObject[width][height];
-		this.visibleRefs = new short[width][height][0];
+		this.blocksPerRow = (width + BLOCK_SIZE - 1) >> BLOCK_SHIFT;
 		this.landscapeGrid = root.getLandscapeGrid();
 		this.objectsGrid = root.getObjectsGrid();
 
-		if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES) {
-			this.namedRefs = new HashMap[width][height];
-			for (HashMap<Byte, LinkedList<Object>>[] a : namedRefs) {
-				for (int i = 0; i < a.length; i++) {
-					a[i] = new HashMap<>();
-				}
-			}
-		} else {
-			namedRefs = null;
-		}
-
 		readObject(null);
 	}
 
@@ -103,11 +114,16 @@ public final class FogOfWar implements Serializable {
 	}
 
 	public static void queueResizeCircle(ShortPoint2D at, short from, short to) {
+		FogOfWar fogOfWar = instance;
+		if (fogOfWar == null || fogOfWar.canceled) {
+			return;
+		}
+
 		BuildingFoWTask foWTask = new BuildingFoWTask();
 		foWTask.from = from;
 		foWTask.to = to;
 		foWTask.at = at;
-		instance.refThread.nextTasks.add(foWTask);
+		fogOfWar.refThread.nextTasks.add(foWTask);
 	}
 
 	public static FogOfWar instance;
@@ -120,17 +136,37 @@ public final class FogOfWar implements Serializable {
 		}
 	}
 
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		SerializationUtils.writePlane(oos, sight);
+		SerializationUtils.writePlane(oos, hiddenHeight);
+	}
+
 	private void readObject(ObjectInputStream ois) {
 		if(ois != null) {
 			try {
 				ois.defaultReadObject();
+				sight = SerializationUtils.readBytePlanes(ois);
+				hiddenHeight = SerializationUtils.readBytePlanes(ois);
 			} catch (Exception e) {
 				e.printStackTrace();
 			}
 		}
+		visibleRefs = new short[width * height * REF_LEVELS];
+		if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES) {
+			namedRefs = new HashMap[width][height];
+			for (HashMap<Byte, LinkedList<Object>>[] a : namedRefs) {
+				for (int i = 0; i < a.length; i++) {
+					a[i] = new HashMap<>();
+				}
+			}
+		} else {
+			namedRefs = null;
+		}
 		refThread = new FoWRefThread();
 		dimThread = new FowDimThread();
 		circleDrawer = new CircleDrawer();
+		metrics = new FoWMetrics(this);
 		enabled = Constants.FOG_OF_WAR_DEFAULT_ENABLED;
 		canceled = false;
 		backgroundListener = new MainGrid.NullBackgroundListener();
@@ -189,12 +225,20 @@ public final class FogOfWar implements Serializable {
 	}
 
 	public void showMap() {
+		if (canceled) {
+			return;
+		}
+
 		ShowHideFoWTask foWTask = new ShowHideFoWTask();
 		foWTask.addRef = true;
 		instance.refThread.nextTasks.add(foWTask);
 	}
 
 	public void hideMap() {
+		if (canceled) {
+			return;
+		}
+
 		ShowHideFoWTask foWTask = new ShowHideFoWTask();
 		foWTask.addRef = false;
 		instance.refThread.nextTasks.add(foWTask);
@@ -217,20 +261,39 @@ public final class FogOfWar implements Serializable {
 		public void init() {
 			MovableManager.initFow(team);
 			Building.initFow(team);
+
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					for (AbstractHexMapObject object = objectsGrid.getObjectsAt(x, y); object != null; object = object.getNextObject()) {
+						if (object instanceof EyeMapObject) {
+							((EyeMapObject) object).initFow(team);
+						}
+					}
+				}
+			}
+
+			for (int i = 0; i < shownMapRefs; i++) {
+				circleDrawer.draw(new ShowHideMapIterator(), CIRCLE_ADD|CIRCLE_DIM, this);
+			}
 		}
 
 		@Override
 		public void taskProcessor() {
 			if (enabled) {
-				while(true) {
-					FoWTask task = nextTasks.poll();
-					if(task == null) return;
+				long start = System.nanoTime();
+				try {
+					while(true) {
+						FoWTask task = nextTasks.poll();
+						if(task == null) return;
 
-					if(!runTask(task)) {
-						nextTasks.add(task);
-					}
+						if(!runTask(task)) {
+							nextTasks.add(task);
+						}
 
-					if(task instanceof WaitFoWTask) return;
+						if(task instanceof WaitFoWTask) return;
+					}
+				} finally {
+					metrics.refUpdateExecuted(System.nanoTime() - start);
 				}
 			}
 		}
@@ -244,6 +307,7 @@ public final class FogOfWar implements Serializable {
 				return true;
 			} else if(task instanceof ShowHideFoWTask) {
 				ShowHideFoWTask shFOW = (ShowHideFoWTask) task;
+				shownMapRefs += shFOW.addRef ? 1 : -1;
 				circleDrawer.draw(new ShowHideMapIterator(), shFOW.addRef?CIRCLE_ADD|CIRCLE_DIM : CIRCLE_REMOVE|CIRCLE_DIM, this);
 				return true;
 			} else if(task instanceof MovableFoWTask) {
@@ -276,24 +340,35 @@ public final class FogOfWar implements Serializable {
 		return enabled;
 	}
 
+	/**
+	 * Dims the sight of the positions towards their reference sight.
+	 * <p>
+	 * The map is divided into blocks of {@value #BLOCK_SIZE}x{@value #BLOCK_SIZE} positions. The {@link CircleDrawer} marks the positions whose
+	 * sight has to change and their blocks. Only the positions of blocks with marked positions are visited, so nothing is done while
+	 * nothing moves.
+	 */
 	public class FowDimThread extends FoWThread {
 		FowDimThread() {
 			super("FOW-dimmer");
-			size = width*height;
+			int size = width*height;
+			int numberOfBlocks = blocksPerRow * ((height + BLOCK_SIZE - 1) >> BLOCK_SHIFT);
 			nextUpdate = new BitSet(size);
+			nextDirtyBlocks = new BitSet(numberOfBlocks);
 			update = new BitSet(size);
+			activeBlocks = new BitSet(numberOfBlocks);
 		}
 
+		/**
+		 * Positions marked by the {@link CircleDrawer}. Guards {@link #nextDirtyBlocks} as well.
+		 */
 		public final BitSet nextUpdate;
+		private final BitSet nextDirtyBlocks;
 		public final BitSet update;
-		private final int size;
+		private final BitSet activeBlocks;
 
 		@Override
 		public void taskProcessor() {
-			synchronized (nextUpdate) {
-				update.or(nextUpdate);
-				nextUpdate.clear();
-			}
+			long start = System.nanoTime();
 
 			double sync_factor = fc.getTime();
 			if (sync_factor == 0) sync_factor = 1.0 / CommonConstants.FOG_OF_WAR_DIM_FRAMERATE;
@@ -302,71 +377,130 @@ public final class FogOfWar implements Serializable {
 				dim = (byte) Math.round(sync_factor * CommonConstants.FOG_OF_WAR_DIM * MatchConstants.clock().getGameSpeed());
 			}
 
+			int visitedPositions = dimMarkedPositions(dim);
 
-			int last = 0;
-			do {
-				int first = update.nextSetBit(last);
-				if (first == -1) break;
-
-				last = update.nextClearBit(first);
-				if (last == -1) last = size;
-
-				int beginX = first % width;
-				int beginY = (first - beginX) / width;
+			if(MatchConstants.clock() != null) {
+				framerate = (int) (CommonConstants.FOG_OF_WAR_DIM_FRAMERATE * MatchConstants.clock().getGameSpeed());
 
-				int endX = last % width;
-				int endY = (last - endX) / width;
+				if(framerate > CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE) {
+					framerate = CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE;
+				}
+			} else {
+				framerate = CommonConstants.FOG_OF_WAR_DIM_NO_CLOCK_FRAMERATE;
+			}
+			metrics.dimUpdateExecuted(System.nanoTime() - start, visitedPositions, activeBlocks.cardinality());
+		}
 
-				for (int y = beginY; y <= endY; y++) {
+		/**
+		 * Dims all marked positions by the given value.
+		 *
+		 * @return The number of visited positions.
+		 */
+		int dimMarkedPositions(byte dim) {
+			takeMarkedPositions();
+
+			int visitedPositions = 0;
+			int block = activeBlocks.nextSetBit(0);
+			while (block != -1) {
+				int blockY = block / blocksPerRow;
+				int rowEnd = (blockY + 1) * blocksPerRow;
+				int minY = blockY << BLOCK_SHIFT;
+				int maxY = Math.min(minY + BLOCK_SIZE, height);
+
+				for (int y = minY; y < maxY; y++) {
 					int firstUpdate = -1;
 					int lastUpdate = -1;
 
-					int x = y == beginY ? beginX : 0;
-					int x2 = y == endY ? endX : width;
-					for(; x < x2; x++) {
-						final byte refSight = refSight(x, y);
-						final byte dimTo = targetSight(x, y, refSight);
-						final byte oldSight = sight[x][y];
+					for (int rowBlock = block; rowBlock != -1 && rowBlock < rowEnd; rowBlock = activeBlocks.nextSetBit(rowBlock + 1)) {
+						int minX = (rowBlock - blockY * blocksPerRow) << BLOCK_SHIFT;
+						int endIndex = y * width + Math.min(minX + BLOCK_SIZE, width);
 
-						final byte newSight = dim(sight[x][y], dimTo, dim);
+						for (int index = update.nextSetBit(y * width + minX); index != -1 && index < endIndex; index = update.nextSetBit(index + 1)) {
+							int x = index - y * width;
+							visitedPositions++;
 
-						if(oldSight <= CommonConstants.FOG_OF_WAR_EXPLORED && newSight > CommonConstants.FOG_OF_WAR_EXPLORED) {
-							clearHidden(x, y);
-						} else if((oldSight > CommonConstants.FOG_OF_WAR_EXPLORED && newSight <= CommonConstants.FOG_OF_WAR_EXPLORED) ||
-								(oldSight <= CommonConstants.FOG_OF_WAR_EXPLORED && refSight < oldSight)) {
-							recordHidden(x, y);
-						}
+							final byte refSight = refSight(x, y);
+							final byte dimTo = targetSight(x, y, refSight);
+							final byte oldSight = sight[x][y];
 
-						sight[x][y] = newSight;
+							final byte newSight = dim(sight[x][y], dimTo, dim);
 
-						if(dimTo != oldSight) {
-							if(lastUpdate + 1 != x) {
-								if(firstUpdate != -1) update(y, firstUpdate, lastUpdate);
-								firstUpdate = lastUpdate = x;
-							} else {
-								if(firstUpdate == -1) firstUpdate = x;
-								lastUpdate = x;
+							if(oldSight <= CommonConstants.FOG_OF_WAR_EXPLORED && newSight > CommonConstants.FOG_OF_WAR_EXPLORED) {
+								clearHidden(x, y);
+							} else if((oldSight > CommonConstants.FOG_OF_WAR_EXPLORED && newSight <= CommonConstants.FOG_OF_WAR_EXPLORED) ||
+									(oldSight <= CommonConstants.FOG_OF_WAR_EXPLORED && refSight < oldSight)) {
+								recordHidden(x, y);
 							}
 
-							if(sight[x][y] == dimTo) update.clear(y * width + x);
-						} else {
-							update.set(y * width + x, false);
+							sight[x][y] = newSight;
+
+							if(dimTo != oldSight) {
+								if(lastUpdate + 1 != x) {
+									if(firstUpdate != -1) update(y, firstUpdate, lastUpdate);
+									firstUpdate = lastUpdate = x;
+								} else {
+									if(firstUpdate == -1) firstUpdate = x;
+									lastUpdate = x;
+								}
+
+								if(sight[x][y] == dimTo) update.clear(index);
+							} else {
+								update.clear(index);
+							}
 						}
 					}
 					if (firstUpdate != -1) {
 						update(y, firstUpdate, lastUpdate);
 					}
 				}
-			} while (last < size);
-			if(MatchConstants.clock() != null) {
-				framerate = (int) (CommonConstants.FOG_OF_WAR_DIM_FRAMERATE * MatchConstants.clock().getGameSpeed());
 
-				if(framerate > CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE) {
-					framerate = CommonConstants.FOG_OF_WAR_DIM_MAX_FRAMERATE;
+				for (int rowBlock = block; rowBlock != -1 && rowBlock < rowEnd; rowBlock = activeBlocks.nextSetBit(rowBlock + 1)) {
+					if (!hasMarkedPositions(rowBlock)) {
+						activeBlocks.clear(rowBlock);
+					}
 				}
-			} else {
-				framerate = CommonConstants.FOG_OF_WAR_DIM_NO_CLOCK_FRAMERATE;
+				block = activeBlocks.nextSetBit(rowEnd);
 			}
+			return visitedPositions;
+		}
+
+		/**
+		 * Moves the positions marked by the {@link CircleDrawer} into {@link #update} and activates their blocks.
+		 */
+		private void takeMarkedPositions() {
+			synchronized (nextUpdate) {
+				for (int block = nextDirtyBlocks.nextSetBit(0); block != -1; block = nextDirtyBlocks.nextSetBit(block + 1)) {
+					int minX = (block % blocksPerRow) << BLOCK_SHIFT;
+					int maxX = Math.min(minX + BLOCK_SIZE, width);
+					int minY = (block / blocksPerRow) << BLOCK_SHIFT;
+					int maxY = Math.min(minY + BLOCK_SIZE, height);
+
+					for (int y = minY; y < maxY; y++) {
+						int endIndex = y * width + maxX;
+						for (int index = nextUpdate.nextSetBit(y * width + minX); index != -1 && index < endIndex; index = nextUpdate.nextSetBit(index + 1)) {
+							update.set(index);
+						}
+						nextUpdate.clear(y * width + minX, endIndex);
+					}
+				}
+				activeBlocks.or(nextDirtyBlocks);
+				nextDirtyBlocks.clear();
+			}
+		}
+
+		private boolean hasMarkedPositions(int block) {
+			int minX = (block % blocksPerRow) << BLOCK_SHIFT;
+			int maxX = Math.min(minX + BLOCK_SIZE, width);
+			int minY = (block / blocksPerRow) << BLOCK_SHIFT;
+			int maxY = Math.min(minY + BLOCK_SIZE, height);
+
+			for (int y = minY; y < maxY; y++) {
+				int index = update.nextSetBit(y * width + minX);
+				if (index != -1 && index < y * width + maxX) {
+					return true;
+				}
+			}
+			return false;
 		}
 
 		private void update(int y, int from, int to) {
@@ -435,17 +569,16 @@ public final class FogOfWar implements Serializable {
 	}
 
 	final byte refSight(int x, int y) {
-		short[] refs = instance.visibleRefs[x][y];
-		if(refs.length == 0) return 0;
+		int refsIndex = (y * width + x) * REF_LEVELS;
 
 		byte value = CommonConstants.FOG_OF_WAR_VISIBLE;
 
-		for(int i = 0;i != refs.length;i++) {
-			if(refs[i] > 0) break;
+		for(int i = 0;i != REF_LEVELS;i++) {
+			if(visibleRefs[refsIndex + i] > 0) return value;
 			value -= 10;
 		}
 
-		return value;
+		return 0;
 	}
 
 	public abstract class FoWThread extends Thread {
@@ -482,18 +615,6 @@ public final class FogOfWar implements Serializable {
 		canceled = true;
 	}
 
-	public int maxIndex(int x, int y) {
-		short[] array = instance.visibleRefs[x][y];
-		int lastEntry = array.length-1;
-
-		if(array.length == 0) return 0;
-
-		for(int i = lastEntry;i >= 0;i--) {
-			if(array[i] > 0) return i+1;
-		}
-		return 0;
-	}
-
 	public interface ViewAreaIterator {
 		boolean hasNext();
 		int getCurrX();
@@ -554,47 +675,37 @@ public final class FogOfWar implements Serializable {
 		}
 
 		final void draw(ViewAreaIterator iterator, int state, Object reference) {
-			while (iterator.hasNext()) {
-				final int x = iterator.getCurrX();
-				final int y = iterator.getCurrY();
-
-				if (x >= 0 && x < width && y > 0 && y < height) {
-					byte tmpIndex = iterator.getRefIndex();
-
-					if((state&CIRCLE_ADD) > 0) {
-						if(instance.visibleRefs[x][y].length <= tmpIndex) { // enlarge ref index array
-							short[] tmpRef = instance.visibleRefs[x][y];
-							instance.visibleRefs[x][y] = new short[tmpIndex+1];
-							System.arraycopy(tmpRef, 0, instance.visibleRefs[x][y], 0, tmpRef.length);
-						}
-
-						if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES) {
-							getNamedRefList(x, y, tmpIndex).add(reference);
-						}
-						instance.visibleRefs[x][y][tmpIndex]++;
-					}
-					if((state&CIRCLE_REMOVE) > 0) {
-						if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES &&
-								!getNamedRefList(x, y, tmpIndex).removeLastOccurrence(reference)) {
-							System.err.println("Fog of war reference error on " + reference);
+			synchronized (dimThread.nextUpdate) {
+				while (iterator.hasNext()) {
+					final int x = iterator.getCurrX();
+					final int y = iterator.getCurrY();
+
+					if (x >= 0 && x < width && y > 0 && y < height) {
+						byte tmpIndex = iterator.getRefIndex();
+						int refsIndex = (y * width + x) * REF_LEVELS + tmpIndex;
+
+						if((state&CIRCLE_ADD) > 0) {
+							if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES) {
+								getNamedRefList(x, y, tmpIndex).add(reference);
+							}
+							visibleRefs[refsIndex]++;
 						}
-						instance.visibleRefs[x][y][tmpIndex]--;
-						if(instance.visibleRefs[x][y][tmpIndex] == 0 && instance.visibleRefs[x][y].length == tmpIndex+1) { // minimize ref index array size
-							int newLength = maxIndex(x, y);
-
-							short[] tmpRef = instance.visibleRefs[x][y];
-							instance.visibleRefs[x][y] = new short[newLength];
-							System.arraycopy(tmpRef, 0, instance.visibleRefs[x][y], 0, newLength);
+						if((state&CIRCLE_REMOVE) > 0) {
+							if(CommonConstants.FOG_OF_WAR_DEBUG_REFERENCES &&
+									!getNamedRefList(x, y, tmpIndex).removeLastOccurrence(reference)) {
+								System.err.println("Fog of war reference error on " + reference);
+							}
+							visibleRefs[refsIndex]--;
 						}
-					}
 
-					if((state&CIRCLE_DIM) > 0 && sight[x][y] != refSight(x, y)) {
-						synchronized (instance.dimThread.nextUpdate) {
-							instance.dimThread.nextUpdate.set(y*width+x);
+						if((state&CIRCLE_DIM) > 0 && sight[x][y] != refSight(x, y)) {
+							dimThread.nextUpdate.set(y*width+x);
+							dimThread.nextDirtyBlocks.set((y >> BLOCK_SHIFT) * blocksPerRow + (x >> BLOCK_SHIFT));
 						}
 					}
 				}
 			}
+			metrics.circleDrawn();
 		}
 
 		public CachedViewCircle getCachedCircle(int viewDistance) {
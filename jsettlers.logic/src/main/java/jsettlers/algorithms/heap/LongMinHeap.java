@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.heap;
+
+import java.util.Arrays;
+
+/**
+ * An unsynchronized min heap of primitive long values.
+ * <p>
+ * Users usually pack a priority into the upper and an element id into the lower 32 bits (see {@link #pack(int, int)}). The heap does not support
+ * decrease key, so outdated entries have to be skipped by the user when they are deleted.
+ */
+public final class LongMinHeap {
+	private long[] heap;
+	private int    size = 0;
+
+	public LongMinHeap(int initialCapacity) {
+		this.heap = new long[Math.max(initialCapacity, 1)];
+	}
+
+	public static long pack(int priority, int element) {
+		return ((long) priority << 32) | (element & 0xFFFFFFFFL);
+	}
+
+	public static int getPriority(long packed) {
+		return (int) (packed >> 32);
+	}
+
+	public static int getElement(long packed) {
+		return (int) packed;
+	}
+
+	public void insert(long value) {
+		if (size == heap.length) {
+			heap = Arrays.copyOf(heap, heap.length * 2);
+		}
+
+		int idx = size++;
+		while (idx > 0) {
+			int parentIdx = (idx - 1) >>> 1;
+			long parent = heap[parentIdx];
+			if (parent <= value) {
+				break;
+			}
+			heap[idx] = parent;
+			idx = parentIdx;
+		}
+		heap[idx] = value;
+	}
+
+	/**
+	 * Deletes the minimal value of the heap. The heap must not be empty.
+	 *
+	 * @return The deleted value.
+	 */
+	public long deleteMin() {
+		long result = heap[0];
+		long last = heap[--size];
+
+		int idx = 0;
+		int half = size >>> 1;
+		while (idx < half) {
+			int childIdx = 2 * idx + 1;
+			long child = heap[childIdx];
+			int rightIdx = childIdx + 1;
+			if (rightIdx < size && heap[rightIdx] < child) {
+				childIdx = rightIdx;
+				child = heap[rightIdx];
+			}
+			if (last <= child) {
+				break;
+			}
+			heap[idx] = child;
+			idx = childIdx;
+		}
+		heap[idx] = last;
+
+		return result;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		size = 0;
+	}
+}
@@ -29,4 +29,18 @@ public interface IPathCalculatable extends IPlayerable, ILocatable, Serializable
 	boolean needsPlayersGround();
 
 	boolean isShip();
+
+	/**
+	 * 
+	 * @return true if long distance paths of this requester may be calculated by the hierarchical path finder.<br>
+	 *         Hierarchical paths are found much faster on big maps, but may be a few steps longer than the shortest path.
+	 */
+	boolean usesHierarchicalPathfinding();
+
+	/**
+	 * 
+	 * @return true if the paths of this requester may be taken from and added to the shared path cache.<br>
+	 *         Cached paths ignore other movables standing near the requester.
+	 */
+	boolean usesPathCache();
 }
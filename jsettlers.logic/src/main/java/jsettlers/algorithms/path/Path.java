@@ -20,6 +20,8 @@ import jsettlers.common.position.ShortPoint2D;
 
 /**
  * A path a movable can follow.
+ * <p>
+ * Paths whose positions are shared with {@link #getSharedCopy()} become read only, so they can be used by multiple movables.
  * 
  * @author Andreas Eberle
  * 
@@ -30,13 +32,20 @@ public class Path implements Serializable {
 	private final short[] pathX;
 	private final short[] pathY;
 
-	private int idx = -1;
+	private int     idx = -1;
+	private boolean readOnly;
 
 	public Path(int length) {
 		pathX = new short[length];
 		pathY = new short[length];
 	}
 
+	private Path(short[] pathX, short[] pathY) {
+		this.pathX = pathX;
+		this.pathY = pathY;
+		this.readOnly = true;
+	}
+
 	/**
 	 * Concatenates two paths
 	 *
@@ -99,6 +108,17 @@ public class Path implements Serializable {
 		insertAt(0, position.x, position.y);
 	}
 
+	/**
+	 * Creates a path that shares the positions of this path, but has its own step counter, starting at the beginning of the path. Afterwards,
+	 * the positions of both paths can not be changed anymore.
+	 *
+	 * @return A new path with the same positions as this one.
+	 */
+	public Path getSharedCopy() {
+		readOnly = true;
+		return new Path(pathX, pathY);
+	}
+
 	/**
 	 * sets the given position to the given index of the path
 	 *
@@ -108,8 +128,13 @@ public class Path implements Serializable {
 	 *            x position of the step
 	 * @param y
 	 *            y position of the step
+	 * @throws IllegalStateException
+	 *             if the positions of this path are shared with other paths.
 	 */
 	public final void insertAt(int idx, short x, short y) {
+		if (readOnly) {
+			throw new IllegalStateException("The positions of a shared path can not be changed.");
+		}
 		pathX[idx] = x;
 		pathY[idx] = y;
 	}
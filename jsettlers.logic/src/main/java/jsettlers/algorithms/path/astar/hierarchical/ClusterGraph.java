@@ -0,0 +1,497 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar.hierarchical;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import jsettlers.algorithms.heap.LongMinHeap;
+import jsettlers.common.movable.EDirection;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * The abstraction graph of the {@link HierarchicalAStar}.
+ * <p>
+ * The map is split into square clusters. Every maximal run of free positions along the border of two neighboring clusters forms an entrance. Short
+ * entrances get one portal in their middle, long entrances get one portal at each end. The portals are the nodes of the abstract graph. Portals of
+ * the same cluster are connected by their walking distance inside the cluster, portals of neighboring clusters are connected with costs 1.
+ * <p>
+ * Clusters are marked dirty when the blocked state of one of their positions changes and are rebuilt lazily before the next search.
+ */
+final class ClusterGraph {
+	static final int DEFAULT_CLUSTER_SIZE = 16;
+
+	private static final int MAX_CLUSTER_SIZE     = 31;
+	private static final int LONG_ENTRANCE_LENGTH = 6;
+
+	private static final byte NO_PORTAL   = -1;
+	static final         int  UNREACHABLE = -1;
+
+	private static final int RIGHT    = 0;
+	private static final int DOWN     = 1;
+	private static final int DIAGONAL = 2;
+
+	private static final byte[] xDeltaArray = EDirection.getXDeltaArray();
+	private static final byte[] yDeltaArray = EDirection.getYDeltaArray();
+
+	private final IHierarchicalAStarPathMap map;
+	private final short                     width;
+	private final short                     height;
+
+	private final int clusterSize;
+	private final int clustersX;
+	private final int clustersY;
+	private final int maxPortalsPerCluster;
+
+	private final BitSet dirtyClusters;
+	private final BitSet affectedClusters;
+
+	private final byte[]    portalIdxOfPosition;
+	private final int[][]   portals;
+	private final int[][][] portalPartners;
+	private final int[][]   intraClusterDistances;
+
+	private final int[] localDistances;
+	private final int[] localParents;
+	private final int[] localQueue;
+	private final int[] entranceBuffer;
+	private final LongMinHeap localOpen;
+
+	ClusterGraph(IHierarchicalAStarPathMap map, short width, short height, int clusterSize) {
+		if (clusterSize < 2 || clusterSize > MAX_CLUSTER_SIZE) {
+			throw new IllegalArgumentException("cluster size must be in [2, " + MAX_CLUSTER_SIZE + "]: " + clusterSize);
+		}
+
+		this.map = map;
+		this.width = width;
+		this.height = height;
+		this.clusterSize = clusterSize;
+		this.clustersX = (width + clusterSize - 1) / clusterSize;
+		this.clustersY = (height + clusterSize - 1) / clusterSize;
+		this.maxPortalsPerCluster = 4 * clusterSize;
+
+		int numberOfClusters = clustersX * clustersY;
+		this.dirtyClusters = new BitSet(numberOfClusters);
+		this.dirtyClusters.set(0, numberOfClusters);
+		this.affectedClusters = new BitSet(numberOfClusters);
+
+		this.portalIdxOfPosition = new byte[width * height];
+		Arrays.fill(portalIdxOfPosition, NO_PORTAL);
+		this.portals = new int[numberOfClusters][0];
+		this.portalPartners = new int[numberOfClusters][0][];
+		this.intraClusterDistances = new int[numberOfClusters][0];
+
+		this.localDistances = new int[clusterSize * clusterSize];
+		this.localParents = new int[clusterSize * clusterSize];
+		this.localQueue = new int[clusterSize * clusterSize];
+		this.entranceBuffer = new int[4 * clusterSize];
+		this.localOpen = new LongMinHeap(clusterSize * clusterSize);
+	}
+
+	/**
+	 * Must be called when the blocked state of the given position changed.
+	 */
+	void blockedChanged(int x, int y) {
+		dirtyClusters.set(getClusterAt(x, y));
+	}
+
+	/**
+	 * Rebuilds the portals and intra cluster distances of all dirty clusters and their neighbors.
+	 *
+	 * @return The number of clusters that have been rebuilt.
+	 */
+	int ensureUpToDate() {
+		if (dirtyClusters.isEmpty()) {
+			return 0;
+		}
+
+		affectedClusters.clear();
+		for (int cluster = dirtyClusters.nextSetBit(0); cluster >= 0; cluster = dirtyClusters.nextSetBit(cluster + 1)) {
+			int clusterX = cluster % clustersX;
+			int clusterY = cluster / clustersX;
+			affectedClusters.set(cluster);
+
+			for (int direction = 0; direction < EDirection.NUMBER_OF_DIRECTIONS; direction++) {
+				int neighborX = clusterX + xDeltaArray[direction];
+				int neighborY = clusterY + yDeltaArray[direction];
+				if (0 <= neighborX && neighborX < clustersX && 0 <= neighborY && neighborY < clustersY) {
+					affectedClusters.set(neighborY * clustersX + neighborX);
+				}
+			}
+		}
+		dirtyClusters.clear();
+
+		for (int cluster = affectedClusters.nextSetBit(0); cluster >= 0; cluster = affectedClusters.nextSetBit(cluster + 1)) {
+			rebuildPortals(cluster);
+		}
+		for (int cluster = affectedClusters.nextSetBit(0); cluster >= 0; cluster = affectedClusters.nextSetBit(cluster + 1)) {
+			rebuildIntraClusterDistances(cluster);
+		}
+		return affectedClusters.cardinality();
+	}
+
+	private void rebuildPortals(int cluster) {
+		for (int position : portals[cluster]) {
+			portalIdxOfPosition[position] = NO_PORTAL;
+		}
+
+		int[] newPortals = new int[maxPortalsPerCluster];
+		int[][] newPartners = new int[maxPortalsPerCluster][];
+		int numberOfPortals = 0;
+
+		int clusterX = cluster % clustersX;
+		int clusterY = cluster / clustersX;
+
+		for (int type = RIGHT; type <= DIAGONAL; type++) {
+			int transitions = computeEntrances(cluster, type);
+			for (int i = 0; i < transitions; i++) {
+				numberOfPortals = addPortal(newPortals, newPartners, numberOfPortals, entranceBuffer[2 * i], entranceBuffer[2 * i + 1]);
+			}
+
+			int lowerNeighborX = clusterX - (type == DOWN ? 0 : 1);
+			int lowerNeighborY = clusterY - (type == RIGHT ? 0 : 1);
+			if (lowerNeighborX >= 0 && lowerNeighborY >= 0) {
+				transitions = computeEntrances(lowerNeighborY * clustersX + lowerNeighborX, type);
+				for (int i = 0; i < transitions; i++) {
+					numberOfPortals = addPortal(newPortals, newPartners, numberOfPortals, entranceBuffer[2 * i + 1], entranceBuffer[2 * i]);
+				}
+			}
+		}
+
+		portals[cluster] = Arrays.copyOf(newPortals, numberOfPortals);
+		portalPartners[cluster] = Arrays.copyOf(newPartners, numberOfPortals);
+	}
+
+	private int addPortal(int[] newPortals, int[][] newPartners, int numberOfPortals, int position, int partnerPosition) {
+		int portalIdx = portalIdxOfPosition[position];
+		if (portalIdx == NO_PORTAL) {
+			portalIdx = numberOfPortals++;
+			portalIdxOfPosition[position] = (byte) portalIdx;
+			newPortals[portalIdx] = position;
+			newPartners[portalIdx] = new int[] { partnerPosition };
+		} else {
+			int[] partners = newPartners[portalIdx];
+			for (int partner : partners) {
+				if (partner == partnerPosition) {
+					return numberOfPortals;
+				}
+			}
+			partners = Arrays.copyOf(partners, partners.length + 1);
+			partners[partners.length - 1] = partnerPosition;
+			newPartners[portalIdx] = partners;
+		}
+		return numberOfPortals;
+	}
+
+	/**
+	 * Computes the portal transitions between the given cluster and its right, lower or diagonal neighbor. As the result only depends on the two
+	 * clusters, both of them see the same transitions.
+	 *
+	 * @return The number of transitions written as (position in cluster, position in neighbor) pairs into {@link #entranceBuffer}.
+	 */
+	private int computeEntrances(int cluster, int type) {
+		int clusterX = cluster % clustersX;
+		int clusterY = cluster / clustersX;
+		int neighborX = clusterX + (type == DOWN ? 0 : 1);
+		int neighborY = clusterY + (type == RIGHT ? 0 : 1);
+		if (neighborX >= clustersX || neighborY >= clustersY) {
+			return 0;
+		}
+		int neighbor = neighborY * clustersX + neighborX;
+
+		int maxX = Math.min((clusterX + 1) * clusterSize, width) - 1;
+		int maxY = Math.min((clusterY + 1) * clusterSize, height) - 1;
+
+		int candidates;
+		switch (type) {
+		case RIGHT:
+			candidates = maxY - clusterY * clusterSize + 1;
+			break;
+		case DOWN:
+			candidates = maxX - clusterX * clusterSize + 1;
+			break;
+		default:
+			candidates = 1;
+			break;
+		}
+
+		int transitions = 0;
+		int runStart = -1;
+		int[] runTransitions = new int[candidates];
+		for (int candidate = 0; candidate <= candidates; candidate++) {
+			int transition = -1;
+			if (candidate < candidates) {
+				int x = type == RIGHT ? maxX : (type == DOWN ? clusterX * clusterSize + candidate : maxX);
+				int y = type == RIGHT ? clusterY * clusterSize + candidate : maxY;
+				transition = findTransition(x, y, neighbor);
+				runTransitions[candidate] = transition;
+			}
+
+			if (transition >= 0 && runStart < 0) {
+				runStart = candidate;
+			} else if (transition < 0 && runStart >= 0) {
+				int runEnd = candidate - 1;
+				if (runEnd - runStart + 1 >= LONG_ENTRANCE_LENGTH) {
+					transitions = addTransition(transitions, runTransitions[runStart], type);
+					transitions = addTransition(transitions, runTransitions[runEnd], type);
+				} else {
+					transitions = addTransition(transitions, runTransitions[(runStart + runEnd) / 2], type);
+				}
+				runStart = -1;
+			}
+		}
+		return transitions;
+	}
+
+	private int addTransition(int transitions, int packedTransition, int type) {
+		int position = packedTransition / EDirection.NUMBER_OF_DIRECTIONS;
+		int direction = packedTransition % EDirection.NUMBER_OF_DIRECTIONS;
+		int x = position % width;
+		int y = position / width;
+
+		entranceBuffer[2 * transitions] = position;
+		entranceBuffer[2 * transitions + 1] = getPosition(x + xDeltaArray[direction], y + yDeltaArray[direction]);
+		return transitions + 1;
+	}
+
+	private int findTransition(int x, int y, int neighborCluster) {
+		if (map.isBlocked(x, y)) {
+			return -1;
+		}
+		for (int direction = 0; direction < EDirection.NUMBER_OF_DIRECTIONS; direction++) {
+			int neighborX = x + xDeltaArray[direction];
+			int neighborY = y + yDeltaArray[direction];
+			if (isInBounds(neighborX, neighborY) && getClusterAt(neighborX, neighborY) == neighborCluster && !map.isBlocked(neighborX, neighborY)) {
+				return getPosition(x, y) * EDirection.NUMBER_OF_DIRECTIONS + direction;
+			}
+		}
+		return -1;
+	}
+
+	private void rebuildIntraClusterDistances(int cluster) {
+		int[] clusterPortals = portals[cluster];
+		int numberOfPortals = clusterPortals.length;
+		int[] distances = new int[numberOfPortals * numberOfPortals];
+
+		for (int from = 0; from < numberOfPortals; from++) {
+			searchInCluster(cluster, clusterPortals[from], false);
+			for (int to = 0; to < numberOfPortals; to++) {
+				distances[from * numberOfPortals + to] = getLocalDistance(clusterPortals[to]);
+			}
+		}
+		intraClusterDistances[cluster] = distances;
+	}
+
+	/**
+	 * Runs a breadth first search on the free positions of the given cluster. The results can be read with {@link #getLocalDistance(int)} and
+	 * {@link #getLocalParent(int)} until the next search is started.
+	 *
+	 * @param cluster
+	 *            The cluster to search in.
+	 * @param start
+	 *            The flat start position. It must be inside the cluster.
+	 * @param markClosed
+	 *            If true, all visited positions are reported to the map with {@link IHierarchicalAStarPathMap#markAsClosed(int, int)}.
+	 */
+	void searchInCluster(int cluster, int start, boolean markClosed) {
+		int minX = (cluster % clustersX) * clusterSize;
+		int minY = (cluster / clustersX) * clusterSize;
+		int maxX = Math.min(minX + clusterSize, width);
+		int maxY = Math.min(minY + clusterSize, height);
+
+		Arrays.fill(localDistances, UNREACHABLE);
+
+		int startX = start % width;
+		int startY = start / width;
+		int startLocalIdx = (startY - minY) * clusterSize + startX - minX;
+		localDistances[startLocalIdx] = 0;
+		localParents[startLocalIdx] = -1;
+		localQueue[0] = startLocalIdx;
+
+		int head = 0;
+		int tail = 1;
+		while (head < tail) {
+			int localIdx = localQueue[head++];
+			int x = minX + localIdx % clusterSize;
+			int y = minY + localIdx / clusterSize;
+			if (markClosed) {
+				map.markAsClosed(x, y);
+			}
+
+			int neighborDistance = localDistances[localIdx] + 1;
+			for (int direction = 0; direction < EDirection.NUMBER_OF_DIRECTIONS; direction++) {
+				int neighborX = x + xDeltaArray[direction];
+				int neighborY = y + yDeltaArray[direction];
+				if (minX <= neighborX && neighborX < maxX && minY <= neighborY && neighborY < maxY) {
+					int neighborLocalIdx = (neighborY - minY) * clusterSize + neighborX - minX;
+					if (localDistances[neighborLocalIdx] == UNREACHABLE && !map.isBlocked(neighborX, neighborY)) {
+						localDistances[neighborLocalIdx] = neighborDistance;
+						localParents[neighborLocalIdx] = localIdx;
+						localQueue[tail++] = neighborLocalIdx;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the shortest path between two positions of the given cluster with an A* that does not leave the cluster. The path can be read
+	 * backwards with {@link #getLocalParent(int)} starting at the target, its length is given by {@link #getLocalDistance(int)} of the target.
+	 *
+	 * @param cluster
+	 *            The cluster to search in.
+	 * @param start
+	 *            The flat start position. It must be inside the cluster.
+	 * @param target
+	 *            The flat target position. It must be inside the cluster and reachable from the start.
+	 */
+	void findPathInCluster(int cluster, int start, int target) {
+		int minX = (cluster % clustersX) * clusterSize;
+		int minY = (cluster / clustersX) * clusterSize;
+		int maxX = Math.min(minX + clusterSize, width);
+		int maxY = Math.min(minY + clusterSize, height);
+		int targetX = target % width;
+		int targetY = target / width;
+		int targetLocalIdx = (targetY - minY) * clusterSize + targetX - minX;
+
+		Arrays.fill(localDistances, UNREACHABLE);
+		localOpen.clear();
+
+		int startX = start % width;
+		int startY = start / width;
+		int startLocalIdx = (startY - minY) * clusterSize + startX - minX;
+		localDistances[startLocalIdx] = 0;
+		localParents[startLocalIdx] = -1;
+		localOpen.insert(LongMinHeap.pack(ShortPoint2D.getOnGridDist(targetX - startX, targetY - startY), startLocalIdx));
+
+		while (!localOpen.isEmpty()) {
+			long entry = localOpen.deleteMin();
+			int localIdx = LongMinHeap.getElement(entry);
+			int x = minX + localIdx % clusterSize;
+			int y = minY + localIdx / clusterSize;
+			int distance = localDistances[localIdx];
+			if (LongMinHeap.getPriority(entry) != distance + ShortPoint2D.getOnGridDist(targetX - x, targetY - y)) {
+				continue; // outdated entry
+			}
+
+			map.markAsClosed(x, y);
+			if (localIdx == targetLocalIdx) {
+				return;
+			}
+
+			int neighborDistance = distance + 1;
+			for (int direction = 0; direction < EDirection.NUMBER_OF_DIRECTIONS; direction++) {
+				int neighborX = x + xDeltaArray[direction];
+				int neighborY = y + yDeltaArray[direction];
+				if (minX <= neighborX && neighborX < maxX && minY <= neighborY && neighborY < maxY) {
+					int neighborLocalIdx = (neighborY - minY) * clusterSize + neighborX - minX;
+					int oldDistance = localDistances[neighborLocalIdx];
+					if ((oldDistance == UNREACHABLE || oldDistance > neighborDistance) && !map.isBlocked(neighborX, neighborY)) {
+						localDistances[neighborLocalIdx] = neighborDistance;
+						localParents[neighborLocalIdx] = localIdx;
+						int heuristicCosts = ShortPoint2D.getOnGridDist(targetX - neighborX, targetY - neighborY);
+						localOpen.insert(LongMinHeap.pack(neighborDistance + heuristicCosts, neighborLocalIdx));
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return The distance of the given flat position to the start of the last search or {@link #UNREACHABLE}. The position must be inside the
+	 *         last searched cluster.
+	 */
+	int getLocalDistance(int position) {
+		return localDistances[getLocalIdx(position)];
+	}
+
+	/**
+	 * @return The flat position of the predecessor of the given position on the shortest path of the last search.
+	 */
+	int getLocalParent(int position) {
+		int parentLocalIdx = localParents[getLocalIdx(position)];
+		int clusterX = (position % width) / clusterSize;
+		int clusterY = (position / width) / clusterSize;
+		return getPosition(clusterX * clusterSize + parentLocalIdx % clusterSize, clusterY * clusterSize + parentLocalIdx / clusterSize);
+	}
+
+	private int getLocalIdx(int position) {
+		int x = position % width;
+		int y = position / width;
+		return (y % clusterSize) * clusterSize + x % clusterSize;
+	}
+
+	int getClusterAt(int x, int y) {
+		return (y / clusterSize) * clustersX + x / clusterSize;
+	}
+
+	int getClusterOfPosition(int position) {
+		return getClusterAt(position % width, position / width);
+	}
+
+	int getNumberOfNodes() {
+		return clustersX * clustersY * maxPortalsPerCluster;
+	}
+
+	int getNodeId(int cluster, int portalIdx) {
+		return cluster * maxPortalsPerCluster + portalIdx;
+	}
+
+	/**
+	 * @return The id of the node of the portal at the given flat position. The position must be a portal.
+	 */
+	int getNodeIdOfPosition(int position) {
+		return getNodeId(getClusterOfPosition(position), portalIdxOfPosition[position]);
+	}
+
+	int getClusterOfNode(int nodeId) {
+		return nodeId / maxPortalsPerCluster;
+	}
+
+	int getPortalIdxOfNode(int nodeId) {
+		return nodeId % maxPortalsPerCluster;
+	}
+
+	int[] getPortals(int cluster) {
+		return portals[cluster];
+	}
+
+	int[] getPortalPartners(int cluster, int portalIdx) {
+		return portalPartners[cluster][portalIdx];
+	}
+
+	/**
+	 * @return The walking distance between two portals of the given cluster or {@link #UNREACHABLE}.
+	 */
+	int getIntraClusterDistance(int cluster, int fromPortalIdx, int toPortalIdx) {
+		return intraClusterDistances[cluster][fromPortalIdx * portals[cluster].length + toPortalIdx];
+	}
+
+	int getNumberOfPortals() {
+		int numberOfPortals = 0;
+		for (int[] clusterPortals : portals) {
+			numberOfPortals += clusterPortals.length;
+		}
+		return numberOfPortals;
+	}
+
+	private boolean isInBounds(int x, int y) {
+		return 0 <= x && x < width && 0 <= y && y < height;
+	}
+
+	private int getPosition(int x, int y) {
+		return y * width + x;
+	}
+}
@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar.hierarchical;
+
+import jsettlers.algorithms.heap.LongMinHeap;
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.AbstractAStar;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Hierarchical path finding (HPA*) for long distance routes.
+ * <p>
+ * The path is first searched on the portal graph of a {@link ClusterGraph} and then refined cluster by cluster. This only expands a few hundred
+ * nodes even for routes across the whole map. The found paths are not always the shortest ones, but they are at most a few steps longer.
+ * <p>
+ * Only requesters that return true for {@link IPathCalculatable#usesHierarchicalPathfinding()} are handled hierarchically. Short routes, ships and
+ * requesters that need their players ground are always delegated to the given local A*.
+ */
+public final class HierarchicalAStar extends AbstractAStar {
+	private static final int START_PARENT = -1;
+
+	private final IHierarchicalAStarPathMap map;
+	private final AbstractAStar             localAStar;
+	private final ClusterGraph              graph;
+
+	private final short width;
+	private final short height;
+	private final int   minHierarchicalDistance;
+
+	private final int   targetNode;
+	private final int[] costs;
+	private final int[] parents;
+	private final int[] openGeneration;
+	private final int[] closedGeneration;
+	private final int[] targetPortalDistances;
+	private final int[] abstractPath;
+
+	private final LongMinHeap open = new LongMinHeap(256);
+	private int generation = 0;
+
+	public HierarchicalAStar(IHierarchicalAStarPathMap map, AbstractAStar localAStar, short width, short height) {
+		this(map, localAStar, width, height, ClusterGraph.DEFAULT_CLUSTER_SIZE);
+	}
+
+	public HierarchicalAStar(IHierarchicalAStarPathMap map, AbstractAStar localAStar, short width, short height, int clusterSize) {
+		this.map = map;
+		this.localAStar = localAStar;
+		this.width = width;
+		this.height = height;
+		this.graph = new ClusterGraph(map, width, height, clusterSize);
+		this.minHierarchicalDistance = 2 * clusterSize;
+
+		this.targetNode = graph.getNumberOfNodes();
+		this.costs = new int[targetNode + 1];
+		this.parents = new int[targetNode + 1];
+		this.openGeneration = new int[targetNode + 1];
+		this.closedGeneration = new int[targetNode + 1];
+		this.targetPortalDistances = new int[4 * clusterSize];
+		this.abstractPath = new int[targetNode + 1];
+	}
+
+	/**
+	 * Must be called whenever the requester independent blocked state ({@link IHierarchicalAStarPathMap#isBlocked(int, int)}) of a position
+	 * changed.
+	 */
+	public void blockedChanged(int x, int y) {
+		graph.blockedChanged(x, y);
+	}
+
+	/**
+	 * Rebuilds all clusters that have been changed since the last search. This is done automatically before every hierarchical search.
+	 *
+	 * @return The number of rebuilt clusters.
+	 */
+	public int updateAbstraction() {
+		return graph.ensureUpToDate();
+	}
+
+	public int getNumberOfPortals() {
+		return graph.getNumberOfPortals();
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, ShortPoint2D target) {
+		ShortPoint2D pos = requester.getPosition();
+		return findPath(requester, pos.x, pos.y, target.x, target.y);
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, ShortPoint2D target, ShortPoint2D start) {
+		return findPath(requester, start.x, start.y, target.x, target.y);
+	}
+
+	@Override
+	public Path findPath(IPathCalculatable requester, short sx, short sy, short tx, short ty) {
+		if (!isHierarchicalSearch(requester, sx, sy, tx, ty)) {
+			return localAStar.findPath(requester, sx, sy, tx, ty);
+		}
+
+		if (map.isBlocked(tx, ty) || map.getBlockedPartition(sx, sy) != map.getBlockedPartition(tx, ty)) {
+			return null; // target can not be reached
+		}
+
+		graph.ensureUpToDate();
+
+		Path path = findHierarchicalPath(sx, sy, tx, ty);
+		if (path == null) { // only happens if the blocked partitions are not up to date
+			path = localAStar.findPath(requester, sx, sy, tx, ty);
+		}
+		return path;
+	}
+
+	private boolean isHierarchicalSearch(IPathCalculatable requester, short sx, short sy, short tx, short ty) {
+		return requester.usesHierarchicalPathfinding()
+			&& !requester.isShip()
+			&& !requester.needsPlayersGround()
+			&& isInBounds(sx, sy) && isInBounds(tx, ty)
+			&& ShortPoint2D.getOnGridDist(tx - sx, ty - sy) >= minHierarchicalDistance
+			&& !map.isBlocked(sx, sy); // the local A* knows how to leave blocked areas
+	}
+
+	private Path findHierarchicalPath(int sx, int sy, int tx, int ty) {
+		int start = getPosition(sx, sy);
+		int target = getPosition(tx, ty);
+		int startCluster = graph.getClusterAt(sx, sy);
+		int targetCluster = graph.getClusterAt(tx, ty);
+
+		generation++;
+		open.clear();
+
+		int[] targetPortals = graph.getPortals(targetCluster);
+		graph.searchInCluster(targetCluster, target, true);
+		for (int i = 0; i < targetPortals.length; i++) {
+			targetPortalDistances[i] = graph.getLocalDistance(targetPortals[i]);
+		}
+
+		int[] startPortals = graph.getPortals(startCluster);
+		graph.searchInCluster(startCluster, start, true);
+		for (int i = 0; i < startPortals.length; i++) {
+			int distance = graph.getLocalDistance(startPortals[i]);
+			if (distance != ClusterGraph.UNREACHABLE) {
+				relax(graph.getNodeId(startCluster, i), startPortals[i], distance, START_PARENT, tx, ty);
+			}
+		}
+
+		while (!open.isEmpty()) {
+			int node = LongMinHeap.getElement(open.deleteMin());
+			if (closedGeneration[node] == generation) {
+				continue;
+			}
+			closedGeneration[node] = generation;
+
+			if (node == targetNode) {
+				return refinePath(start, target);
+			}
+
+			int cluster = graph.getClusterOfNode(node);
+			int portalIdx = graph.getPortalIdxOfNode(node);
+			int[] clusterPortals = graph.getPortals(cluster);
+			int position = clusterPortals[portalIdx];
+			int nodeCosts = costs[node];
+			map.markAsClosed(position % width, position / width);
+
+			if (cluster == targetCluster && targetPortalDistances[portalIdx] != ClusterGraph.UNREACHABLE) {
+				relax(targetNode, target, nodeCosts + targetPortalDistances[portalIdx], node, tx, ty);
+			}
+
+			for (int otherIdx = 0; otherIdx < clusterPortals.length; otherIdx++) {
+				int distance = graph.getIntraClusterDistance(cluster, portalIdx, otherIdx);
+				if (otherIdx != portalIdx && distance != ClusterGraph.UNREACHABLE) {
+					relax(graph.getNodeId(cluster, otherIdx), clusterPortals[otherIdx], nodeCosts + distance, node, tx, ty);
+				}
+			}
+
+			for (int partner : graph.getPortalPartners(cluster, portalIdx)) {
+				relax(graph.getNodeIdOfPosition(partner), partner, nodeCosts + 1, node, tx, ty);
+			}
+		}
+
+		return null;
+	}
+
+	private void relax(int node, int position, int newCosts, int parent, int tx, int ty) {
+		if (closedGeneration[node] == generation || (openGeneration[node] == generation && costs[node] <= newCosts)) {
+			return;
+		}
+
+		openGeneration[node] = generation;
+		costs[node] = newCosts;
+		parents[node] = parent;
+
+		int heuristicCosts = ShortPoint2D.getOnGridDist(tx - position % width, ty - position / width);
+		open.insert(LongMinHeap.pack(newCosts + heuristicCosts, node));
+	}
+
+	private Path refinePath(int start, int target) {
+		int abstractLength = 0;
+		abstractPath[abstractLength++] = target;
+		for (int node = parents[targetNode]; node != START_PARENT; node = parents[node]) {
+			abstractPath[abstractLength++] = graph.getPortals(graph.getClusterOfNode(node))[graph.getPortalIdxOfNode(node)];
+		}
+		abstractPath[abstractLength++] = start;
+
+		Path path = new Path(costs[targetNode]);
+		int pathIdx = 0;
+		for (int i = abstractLength - 1; i > 0; i--) {
+			int from = abstractPath[i];
+			int to = abstractPath[i - 1];
+			int cluster = graph.getClusterOfPosition(from);
+
+			if (cluster != graph.getClusterOfPosition(to)) { // portal transition to the neighbor cluster
+				path.insertAt(pathIdx++, (short) (to % width), (short) (to / width));
+			} else if (from != to) {
+				graph.findPathInCluster(cluster, from, to);
+				int segmentLength = graph.getLocalDistance(to);
+				int position = to;
+				for (int segmentIdx = segmentLength - 1; segmentIdx >= 0; segmentIdx--) {
+					path.insertAt(pathIdx + segmentIdx, (short) (position % width), (short) (position / width));
+					position = graph.getLocalParent(position);
+				}
+				pathIdx += segmentLength;
+			}
+		}
+		return path;
+	}
+
+	private boolean isInBounds(int x, int y) {
+		return 0 <= x && x < width && 0 <= y && y < height;
+	}
+
+	private int getPosition(int x, int y) {
+		return y * width + x;
+	}
+}
@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import jsettlers.algorithms.path.Path;
+
+/**
+ * A bounded LRU cache for paths, keyed by start position, target position and blocked partition of the start.
+ * <p>
+ * The map is divided into square regions. Every entry remembers the regions its path touches and is dropped as soon as the blocking of a
+ * position in one of these regions changes. Cached paths therefore stay walkable, but they are not updated if a shorter route opens up somewhere
+ * else.
+ * <p>
+ * The cache only stores and returns shared copies of the paths (see {@link Path#getSharedCopy()}), so every caller gets its own step counter.
+ */
+public final class PathCache {
+	public static final int DEFAULT_CAPACITY    = 1024;
+	public static final int DEFAULT_REGION_SIZE = 16;
+
+	private final int regionSize;
+	private final int regionsPerRow;
+
+	private final CacheMap                entries;
+	private final ArrayList<CacheEntry>[] regionEntries;
+	private final CacheKey                lookupKey = new CacheKey();
+
+	private long hits;
+	private long misses;
+	private long invalidations;
+	private long evictions;
+
+	public PathCache(short width, short height) {
+		this(width, height, DEFAULT_CAPACITY, DEFAULT_REGION_SIZE);
+	}
+
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public PathCache(short width, short height, int capacity, int regionSize) {
+		this.regionSize = regionSize;
+		this.regionsPerRow = (width + regionSize - 1) / regionSize;
+		this.entries = new CacheMap(capacity);
+		this.regionEntries = new ArrayList[regionsPerRow * ((height + regionSize - 1) / regionSize)];
+	}
+
+	/**
+	 * Looks up a cached path.
+	 *
+	 * @return A new shared copy of the cached path or null if there is no path cached for the given key.
+	 */
+	public Path get(short sx, short sy, short tx, short ty, short blockedPartition) {
+		lookupKey.set(sx, sy, tx, ty, blockedPartition);
+		CacheEntry entry = entries.get(lookupKey);
+		if (entry == null) {
+			misses++;
+			return null;
+		} else {
+			hits++;
+			return entry.path.getSharedCopy();
+		}
+	}
+
+	/**
+	 * Adds a path to the cache. The positions of the path can not be changed afterwards.
+	 */
+	public void put(short sx, short sy, short tx, short ty, short blockedPartition, Path path) {
+		CacheKey key = new CacheKey();
+		key.set(sx, sy, tx, ty, blockedPartition);
+
+		CacheEntry oldEntry = entries.remove(key);
+		if (oldEntry != null) {
+			unlinkRegions(oldEntry);
+		}
+
+		CacheEntry entry = new CacheEntry(key, path.getSharedCopy(), getTouchedRegions(sx, sy, path));
+		for (int region : entry.regions) {
+			ArrayList<CacheEntry> regionList = regionEntries[region];
+			if (regionList == null) {
+				regionList = regionEntries[region] = new ArrayList<>();
+			}
+			regionList.add(entry);
+		}
+		entries.put(key, entry);
+	}
+
+	/**
+	 * Drops all paths that touch the region of the given position. Must be called whenever the blocking or the blocked partition of a position
+	 * changes.
+	 */
+	public void invalidate(int x, int y) {
+		ArrayList<CacheEntry> regionList = regionEntries[getRegion(x, y)];
+		if (regionList == null || regionList.isEmpty()) {
+			return;
+		}
+
+		for (CacheEntry entry : new ArrayList<>(regionList)) {
+			entries.remove(entry.key);
+			unlinkRegions(entry);
+			invalidations++;
+		}
+	}
+
+	public void clear() {
+		entries.clear();
+		for (ArrayList<CacheEntry> regionList : regionEntries) {
+			if (regionList != null) {
+				regionList.clear();
+			}
+		}
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public long getInvalidations() {
+		return invalidations;
+	}
+
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * @return The share of lookups that have been answered from the cache.
+	 */
+	public float getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (float) hits / lookups;
+	}
+
+	@Override
+	public String toString() {
+		return "PathCache [size=" + entries.size() + ", hits=" + hits + ", misses=" + misses + ", hitRate=" + getHitRate() + ", invalidations="
+			+ invalidations + ", evictions=" + evictions + "]";
+	}
+
+	private int[] getTouchedRegions(short sx, short sy, Path path) {
+		int[] regions = new int[8];
+		int numberOfRegions = 0;
+		regions[numberOfRegions++] = getRegion(sx, sy);
+
+		Path walker = path.getSharedCopy();
+		while (walker.hasNextStep()) {
+			int region = getRegion(walker.nextX(), walker.nextY());
+			walker.goToNextStep();
+
+			if (contains(regions, numberOfRegions, region)) {
+				continue;
+			}
+			if (numberOfRegions == regions.length) {
+				int[] newRegions = new int[regions.length * 2];
+				System.arraycopy(regions, 0, newRegions, 0, numberOfRegions);
+				regions = newRegions;
+			}
+			regions[numberOfRegions++] = region;
+		}
+
+		int[] result = new int[numberOfRegions];
+		System.arraycopy(regions, 0, result, 0, numberOfRegions);
+		return result;
+	}
+
+	private static boolean contains(int[] regions, int numberOfRegions, int region) {
+		// paths are continuous, so the last regions are the most likely ones
+		for (int i = numberOfRegions - 1; i >= 0; i--) {
+			if (regions[i] == region) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void unlinkRegions(CacheEntry entry) {
+		for (int region : entry.regions) {
+			ArrayList<CacheEntry> regionList = regionEntries[region];
+			for (int i = regionList.size() - 1; i >= 0; i--) {
+				if (regionList.get(i) == entry) {
+					regionList.remove(i);
+					break;
+				}
+			}
+		}
+	}
+
+	private int getRegion(int x, int y) {
+		return (y / regionSize) * regionsPerRow + x / regionSize;
+	}
+
+	private final class CacheMap extends LinkedHashMap<CacheKey, CacheEntry> {
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+
+		CacheMap(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<CacheKey, CacheEntry> eldest) {
+			if (size() > capacity) {
+				unlinkRegions(eldest.getValue());
+				evictions++;
+				return true;
+			}
+			return false;
+		}
+	}
+
+	private static final class CacheEntry {
+		final CacheKey key;
+		final Path     path;
+		final int[]    regions;
+
+		CacheEntry(CacheKey key, Path path, int[] regions) {
+			this.key = key;
+			this.path = path;
+			this.regions = regions;
+		}
+	}
+
+	private static final class CacheKey {
+		private long  positions;
+		private short blockedPartition;
+
+		void set(short sx, short sy, short tx, short ty, short blockedPartition) {
+			this.positions = (sx & 0xFFFFL) << 48 | (sy & 0xFFFFL) << 32 | (tx & 0xFFFFL) << 16 | (ty & 0xFFFFL);
+			this.blockedPartition = blockedPartition;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(positions * 31 + blockedPartition);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey other = (CacheKey) obj;
+			return positions == other.positions && blockedPartition == other.blockedPartition;
+		}
+	}
+}
@@ -40,10 +40,21 @@ public final class DijkstraAlgorithm {
 	private final IDijkstraPathMap map;
 	private final short height, width;
 	private final AbstractAStar aStar;
+	private final SearchTypeIndex searchTypeIndex;
 
 	public DijkstraAlgorithm(IDijkstraPathMap map, AbstractAStar aStar, short width, short height) {
+		this(map, aStar, null, width, height);
+	}
+
+	/**
+	 * @param searchTypeIndex
+	 * 		If not null, the searches for the indexed search types only check the candidates of the index instead of every position around the
+	 * 		center. The result is the same.
+	 */
+	public DijkstraAlgorithm(IDijkstraPathMap map, AbstractAStar aStar, SearchTypeIndex searchTypeIndex, short width, short height) {
 		this.map = map;
 		this.aStar = aStar;
+		this.searchTypeIndex = searchTypeIndex;
 		this.width = width;
 		this.height = height;
 	}
@@ -54,6 +65,10 @@ public final class DijkstraAlgorithm {
 			throw new InvalidStartPositionException("dijkstra center position is not in bounds!", cX, cY);
 		}
 
+		if (searchTypeIndex != null && searchTypeIndex.isIndexed(type)) {
+			return findIndexed(requester, cX, cY, minRadius, maxRadius, type);
+		}
+
 		// check center position (special case for minRadius <= 0
 		if (minRadius <= 0) {
 			map.setDijkstraSearched(cX, cY);
@@ -88,6 +103,26 @@ public final class DijkstraAlgorithm {
 		return null;
 	}
 
+	private Path findIndexed(final IPathCalculatable requester, final short cX, final short cY, final short minRadius, final short maxRadius,
+			final ESearchType type) {
+		int numberOfCandidates = searchTypeIndex.findCandidates(cX, cY, minRadius, maxRadius, type);
+
+		for (int i = 0; i < numberOfCandidates; i++) {
+			int index = searchTypeIndex.getFoundCandidate(i);
+			short x = (short) (index % width);
+			short y = (short) (index / width);
+
+			map.setDijkstraSearched(x, y);
+			if (map.fitsSearchType(x, y, type, requester)) {
+				Path path = findPathTo(requester, x, y);
+				if (path != null) {
+					return path;
+				}
+			}
+		}
+		return null;
+	}
+
 	private final Path findPathTo(IPathCalculatable requester, short tx, short ty) {
 		ShortPoint2D pos = requester.getPosition();
 		return aStar.findPath(requester, pos.x, pos.y, tx, ty);
@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.dijkstra;
+
+import jsettlers.common.material.ESearchType;
+
+/**
+ * The map a {@link SearchTypeIndex} is built from.
+ */
+public interface ISearchTypeIndexMap {
+	/**
+	 * Checks the requester independent part of {@link IDijkstraPathMap#fitsSearchType(int, int, ESearchType, jsettlers.algorithms.path.IPathCalculatable)}.
+	 *
+	 * @return <code>true</code> if the position may fit the search type for any requester. This must be <code>true</code> for every position
+	 * that fits the search type.
+	 */
+	boolean isSearchCandidate(int x, int y, ESearchType type);
+}
@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.dijkstra;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Set;
+
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * A spatial index of the positions that may fit an {@link ESearchType}. It is used for sparse search types like cuttable trees and stones, so
+ * the {@link DijkstraAlgorithm} does not need to check every position around the search center.
+ * <p>
+ * For every indexed search type, the candidates are stored in a bit set over all positions and counted per block of 16x16 positions, so a
+ * query can skip empty blocks. The index has to be informed with {@link #update(int, int, ESearchType)} about every position whose
+ * candidate state might have changed.
+ * <p>
+ * The index is not thread safe. It must be used by the thread changing the map.
+ */
+public final class SearchTypeIndex {
+	private static final int BLOCK_SHIFT = 4;
+	private static final int BLOCK_SIZE  = 1 << BLOCK_SHIFT;
+
+	private final ISearchTypeIndexMap map;
+	private final short               width;
+	private final short               height;
+	private final int                 blocksPerRow;
+	private final int                 blocksPerColumn;
+
+	private final BitSet[] candidates      = new BitSet[ESearchType.values().length];
+	private final int[][]  blockCandidates = new int[ESearchType.values().length][];
+	private final int[]    numberOfCandidates = new int[ESearchType.values().length];
+
+	/**
+	 * The candidates found by the last query. The upper 32 bits hold the position in the search order, the lower 32 bits the index of the
+	 * position.
+	 */
+	private long[] foundCandidates = new long[64];
+
+	public SearchTypeIndex(ISearchTypeIndexMap map, short width, short height, Set<ESearchType> indexedTypes) {
+		this.map = map;
+		this.width = width;
+		this.height = height;
+		this.blocksPerRow = (width + BLOCK_SIZE - 1) >> BLOCK_SHIFT;
+		this.blocksPerColumn = (height + BLOCK_SIZE - 1) >> BLOCK_SHIFT;
+
+		for (ESearchType type : indexedTypes) {
+			candidates[type.ordinal()] = new BitSet(width * height);
+			blockCandidates[type.ordinal()] = new int[blocksPerRow * blocksPerColumn];
+		}
+	}
+
+	public boolean isIndexed(ESearchType type) {
+		return candidates[type.ordinal()] != null;
+	}
+
+	/**
+	 * Checks all positions of the map for all indexed search types.
+	 */
+	public void rebuild() {
+		for (ESearchType type : ESearchType.values()) {
+			if (isIndexed(type)) {
+				candidates[type.ordinal()].clear();
+				Arrays.fill(blockCandidates[type.ordinal()], 0);
+				numberOfCandidates[type.ordinal()] = 0;
+
+				for (int y = 0; y < height; y++) {
+					for (int x = 0; x < width; x++) {
+						update(x, y, type);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks again if the given position is a candidate of the given search type. Positions out of bounds and search types that are not
+	 * indexed are ignored.
+	 */
+	public void update(int x, int y, ESearchType type) {
+		BitSet typeCandidates = candidates[type.ordinal()];
+		if (typeCandidates == null || x < 0 || y < 0 || x >= width || y >= height) {
+			return;
+		}
+
+		int index = x + y * width;
+		boolean candidate = map.isSearchCandidate(x, y, type);
+		if (candidate != typeCandidates.get(index)) {
+			typeCandidates.set(index, candidate);
+			int delta = candidate ? 1 : -1;
+			blockCandidates[type.ordinal()][(x >> BLOCK_SHIFT) + (y >> BLOCK_SHIFT) * blocksPerRow] += delta;
+			numberOfCandidates[type.ordinal()] += delta;
+		}
+	}
+
+	public boolean isCandidate(int x, int y, ESearchType type) {
+		return candidates[type.ordinal()].get(x + y * width);
+	}
+
+	public int getNumberOfCandidates(ESearchType type) {
+		return numberOfCandidates[type.ordinal()];
+	}
+
+	/**
+	 * Finds the candidates nearest to the given center.
+	 *
+	 * @param result
+	 * 		Receives the indexes (x + y * width) of the nearest candidates. The candidates are in the order of {@link #findCandidates(int, int,
+	 * 		int, int, ESearchType)}.
+	 * @return The number of candidates written to the result.
+	 */
+	public int findNearest(int centerX, int centerY, int minRadius, int maxRadius, ESearchType type, int[] result) {
+		int found = Math.min(findCandidates(centerX, centerY, minRadius, maxRadius, type), result.length);
+		for (int i = 0; i < found; i++) {
+			result[i] = getFoundCandidate(i);
+		}
+		return found;
+	}
+
+	/**
+	 * Finds all candidates with a hex distance in [minRadius, maxRadius) to the given center. The candidates are sorted in the order the
+	 * {@link DijkstraAlgorithm} visits the positions: by distance and on every ring counterclockwise, starting at (centerX, centerY - radius).
+	 *
+	 * @return The number of found candidates. They can be read with {@link #getFoundCandidate(int)} until the next query.
+	 */
+	int findCandidates(int centerX, int centerY, int minRadius, int maxRadius, ESearchType type) {
+		BitSet typeCandidates = candidates[type.ordinal()];
+		int[] typeBlockCandidates = blockCandidates[type.ordinal()];
+		int found = 0;
+
+		int minX = Math.max(0, centerX - maxRadius + 1);
+		int maxX = Math.min(width - 1, centerX + maxRadius - 1);
+		int minY = Math.max(0, centerY - maxRadius + 1);
+		int maxY = Math.min(height - 1, centerY + maxRadius - 1);
+
+		for (int blockY = minY >> BLOCK_SHIFT; blockY <= maxY >> BLOCK_SHIFT; blockY++) {
+			for (int blockX = minX >> BLOCK_SHIFT; blockX <= maxX >> BLOCK_SHIFT; blockX++) {
+				if (typeBlockCandidates[blockX + blockY * blocksPerRow] == 0) {
+					continue;
+				}
+
+				int startX = Math.max(minX, blockX << BLOCK_SHIFT);
+				int endX = Math.min(maxX, (blockX << BLOCK_SHIFT) + BLOCK_SIZE - 1);
+				int endY = Math.min(maxY, (blockY << BLOCK_SHIFT) + BLOCK_SIZE - 1);
+
+				for (int y = Math.max(minY, blockY << BLOCK_SHIFT); y <= endY; y++) {
+					int rowStart = y * width;
+					for (int index = typeCandidates.nextSetBit(rowStart + startX); index >= 0 && index <= rowStart + endX;
+						 index = typeCandidates.nextSetBit(index + 1)) {
+						int dx = index - rowStart - centerX;
+						int dy = y - centerY;
+						int radius = ShortPoint2D.getOnGridDist(dx, dy);
+						if (minRadius <= radius && radius < maxRadius) {
+							if (found == foundCandidates.length) {
+								foundCandidates = Arrays.copyOf(foundCandidates, found * 2);
+							}
+							foundCandidates[found++] = ((long) getSearchOrder(dx, dy, radius) << 32) | index;
+						}
+					}
+				}
+			}
+		}
+
+		Arrays.sort(foundCandidates, 0, found);
+		return found;
+	}
+
+	int getFoundCandidate(int i) {
+		return (int) foundCandidates[i];
+	}
+
+	/**
+	 * @return The position of the given offset in the order the rings around the center are visited by the {@link DijkstraAlgorithm}.
+	 */
+	static int getSearchOrder(int dx, int dy, int radius) {
+		if (radius == 0) {
+			return 0;
+		}
+
+		int ringPosition;
+		if (dy == -radius && dx < 0) {
+			ringPosition = -dx - 1;
+		} else if (dx == -radius && dy <= 0) {
+			ringPosition = radius + dy + radius - 1;
+		} else if (dx - dy == -radius && dy > 0) {
+			ringPosition = 2 * radius + dy - 1;
+		} else if (dy == radius && dx > 0) {
+			ringPosition = 3 * radius + dx - 1;
+		} else if (dx == radius && dy >= 0) {
+			ringPosition = 4 * radius + radius - dy - 1;
+		} else {
+			ringPosition = 5 * radius - dy - 1;
+		}
+		return 1 + 3 * radius * (radius - 1) + ringPosition;
+	}
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.group;
+
+import java.util.BitSet;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.AbstractAStar;
+import jsettlers.algorithms.path.astar.IAStarPathMap;
+import jsettlers.common.movable.EDirection;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Calculates the paths of a group of movables that are sent to targets around a common center, e.g. soldiers moved by the player.
+ * <p>
+ * Instead of one A* search per movable, a single breadth first search starts at the center and runs until it reached the positions of all
+ * movables. Every visited position remembers the direction towards the center, so the path of every movable can be read in O(path length).
+ * A movable follows this flow field until it is as close to the center as its own target; the remaining few steps to its target are
+ * calculated with the given A*.
+ * <p>
+ * All steps have the same costs. The movables of a group must share the same blocking rules: the first movable is used to check if a
+ * position is blocked.
+ */
+public final class GroupPathCalculator {
+	private static final byte[] xDeltaArray = EDirection.getXDeltaArray();
+	private static final byte[] yDeltaArray = EDirection.getYDeltaArray();
+
+	private final IAStarPathMap map;
+	private final AbstractAStar aStar;
+	private final short         width;
+	private final short         height;
+
+	private final int[]  visitedGeneration;
+	private final byte[] directionToCenter;
+	private final int[]  queue;
+	private final BitSet pendingStarts;
+
+	private int generation = 0;
+
+	/**
+	 * @param aStar
+	 * 		The A* used for the last steps from the flow field to the targets of the movables.
+	 */
+	public GroupPathCalculator(IAStarPathMap map, AbstractAStar aStar, short width, short height) {
+		this.map = map;
+		this.aStar = aStar;
+		this.width = width;
+		this.height = height;
+
+		this.visitedGeneration = new int[width * height];
+		this.directionToCenter = new byte[width * height];
+		this.queue = new int[width * height];
+		this.pendingStarts = new BitSet(width * height);
+	}
+
+	/**
+	 * Calculates the paths of the given movables to their targets.
+	 *
+	 * @param requesters
+	 * 		The movables of the group.
+	 * @param targets
+	 * 		The target of every movable. The targets should lie around the center.
+	 * @param center
+	 * 		The center of the targets.
+	 * @return The path of every movable or null for the movables no path has been found for. The paths do not contain the start positions.
+	 */
+	public Path[] findPaths(IPathCalculatable[] requesters, ShortPoint2D[] targets, ShortPoint2D center) {
+		Path[] paths = new Path[requesters.length];
+		if (requesters.length == 0) {
+			return paths;
+		}
+
+		calculateFlowField(requesters, center);
+
+		for (int i = 0; i < requesters.length; i++) {
+			paths[i] = findPath(requesters[i], targets[i], center);
+		}
+		return paths;
+	}
+
+	private void calculateFlowField(IPathCalculatable[] requesters, ShortPoint2D center) {
+		generation++;
+		pendingStarts.clear();
+
+		IPathCalculatable requester = requesters[0];
+		if (!isInBounds(center.x, center.y) || map.isBlocked(requester, center.x, center.y)) {
+			return;
+		}
+
+		short centerPartition = map.getBlockedPartition(center.x, center.y);
+		int numberOfPendingStarts = 0;
+		for (IPathCalculatable groupMember : requesters) {
+			ShortPoint2D start = groupMember.getPosition();
+			int startIdx = getFlatIdx(start.x, start.y);
+			if (!pendingStarts.get(startIdx) && !map.isBlocked(requester, start.x, start.y)
+				&& map.getBlockedPartition(start.x, start.y) == centerPartition) {
+				pendingStarts.set(startIdx);
+				numberOfPendingStarts++;
+			}
+		}
+
+		int centerIdx = getFlatIdx(center.x, center.y);
+		visitedGeneration[centerIdx] = generation;
+		queue[0] = centerIdx;
+		int head = 0;
+		int tail = 1;
+
+		while (head < tail && numberOfPendingStarts > 0) {
+			int currIdx = queue[head++];
+			int x = currIdx % width;
+			int y = currIdx / width;
+
+			if (pendingStarts.get(currIdx)) {
+				numberOfPendingStarts--;
+			}
+
+			for (int direction = 0; direction < EDirection.NUMBER_OF_DIRECTIONS; direction++) {
+				int neighborX = x + xDeltaArray[direction];
+				int neighborY = y + yDeltaArray[direction];
+
+				if (isInBounds(neighborX, neighborY)) {
+					int neighborIdx = getFlatIdx(neighborX, neighborY);
+					if (visitedGeneration[neighborIdx] != generation && !map.isBlocked(requester, neighborX, neighborY)) {
+						visitedGeneration[neighborIdx] = generation;
+						directionToCenter[neighborIdx] = (byte) ((direction + EDirection.NUMBER_OF_DIRECTIONS / 2) % EDirection.NUMBER_OF_DIRECTIONS);
+						queue[tail++] = neighborIdx;
+					}
+				}
+			}
+		}
+	}
+
+	private Path findPath(IPathCalculatable requester, ShortPoint2D target, ShortPoint2D center) {
+		ShortPoint2D start = requester.getPosition();
+		if (visitedGeneration[getFlatIdx(start.x, start.y)] != generation) {
+			return aStar.findPath(requester, start.x, start.y, target.x, target.y);
+		}
+
+		int targetRadius = target.getOnGridDistTo(center);
+		int x = start.x;
+		int y = start.y;
+		int steps = 0;
+		while ((x != target.x || y != target.y) && ShortPoint2D.getOnGridDist(x, y, center.x, center.y) > targetRadius + 1) {
+			int direction = directionToCenter[getFlatIdx(x, y)];
+			x += xDeltaArray[direction];
+			y += yDeltaArray[direction];
+			steps++;
+		}
+
+		if (steps == 0) {
+			return aStar.findPath(requester, start.x, start.y, target.x, target.y);
+		}
+
+		Path prefix = new Path(steps);
+		x = start.x;
+		y = start.y;
+		for (int i = 0; i < steps; i++) {
+			int direction = directionToCenter[getFlatIdx(x, y)];
+			x += xDeltaArray[direction];
+			y += yDeltaArray[direction];
+			prefix.insertAt(i, (short) x, (short) y);
+		}
+
+		if (x == target.x && y == target.y) {
+			return prefix;
+		}
+
+		Path rest = aStar.findPath(requester, (short) x, (short) y, target.x, target.y);
+		return rest != null ? new Path(rest, prefix) : null;
+	}
+
+	private boolean isInBounds(int x, int y) {
+		return 0 <= x && x < width && 0 <= y && y < height;
+	}
+
+	private int getFlatIdx(int x, int y) {
+		return y * width + x;
+	}
+}
@@ -6,9 +6,17 @@ public abstract class Node<T> implements Serializable {
 	private static final long serialVersionUID = -4544227752720944971L;
 
 	private int     id = -1;
+	/**
+	 * The index of this node's property in the int or object properties of a tick. Assigned by the {@link Root}.
+	 */
+	int propertySlot = -1;
 
 	public int getId() { return id; }
 
+	protected NodePropertyType getPropertyType() {
+		return NodePropertyType.NONE;
+	}
+
 	public NodeStatus execute(Tick<T> tick) {
 		if(!tick.isOpen(this)) {
 			open(tick);
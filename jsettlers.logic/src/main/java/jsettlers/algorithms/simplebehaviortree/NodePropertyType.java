@@ -0,0 +1,10 @@
+package jsettlers.algorithms.simplebehaviortree;
+
+/**
+ * The kind of property a node keeps in the {@link Tick}. Only nodes with a property get a slot in the tick.
+ */
+public enum NodePropertyType {
+	NONE,
+	INT,
+	OBJECT
+}
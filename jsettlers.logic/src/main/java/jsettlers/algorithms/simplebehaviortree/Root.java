@@ -6,13 +6,39 @@ public class Root<T> extends Decorator<T> {
 	private         int     maxID = -1;
 	private int invocationDelay = 0;
 
+	/**
+	 * All nodes of this tree indexed by their id.
+	 */
+	private final Node<T>[] nodes;
+	private       int       intPropertyCount;
+	private       int       objectPropertyCount;
+
 	public int getChildrenCount() {
 		return maxID + 1;
 	}
 
+	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public Root(Node<T> child) {
 		super(child);
 		maxID = initiate(-1);
+
+		// the ids are dense, so ticks can keep their state in arrays instead of maps
+		nodes = new Node[maxID + 1];
+		for (int id = 0; id <= maxID; id++) {
+			Node<T> node = super.findNode(id);
+			nodes[id] = node;
+
+			switch (node.getPropertyType()) {
+				case INT:
+					node.propertySlot = intPropertyCount++;
+					break;
+				case OBJECT:
+					node.propertySlot = objectPropertyCount++;
+					break;
+				default:
+					break;
+			}
+		}
 	}
 
 	public void setInvocationDelay(int invocationDelay) {
@@ -23,6 +49,19 @@ public class Root<T> extends Decorator<T> {
 		return invocationDelay;
 	}
 
+	int getIntPropertyCount() {
+		return intPropertyCount;
+	}
+
+	int getObjectPropertyCount() {
+		return objectPropertyCount;
+	}
+
+	@Override
+	public Node<T> findNode(int id) {
+		return id >= 0 && id < nodes.length ? nodes[id] : null;
+	}
+
 	@Override
 	protected NodeStatus onTick(Tick<T> tick) {
 		return child.execute(tick);
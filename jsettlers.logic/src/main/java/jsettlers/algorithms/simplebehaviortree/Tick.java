@@ -3,9 +3,7 @@ package jsettlers.algorithms.simplebehaviortree;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 import java.util.TreeMap;
 
 public class Tick<T> {
@@ -13,12 +11,26 @@ public class Tick<T> {
 	public final Root<T> root;
 	public final T       target;
 
-	private final Set<Node<T>> openNodes = new HashSet<>();
-	private final Map<Integer, Object> properties = new TreeMap<>();
+	/**
+	 * Bitset of the open nodes by their id.
+	 */
+	private final long[]   openNodes;
+	private final int[]    intProperties;
+	private final Object[] objectProperties;
+	/**
+	 * Bitset of the nodes whose property was set, by their id. Only these properties are serialized.
+	 */
+	private final long[]   setProperties;
 
 	public Tick(T target, Root<T> root) {
 		this.root = root;
 		this.target = target;
+
+		int words = (root.getChildrenCount() + Long.SIZE - 1) / Long.SIZE;
+		openNodes = new long[words];
+		setProperties = new long[words];
+		intProperties = new int[root.getIntPropertyCount()];
+		objectProperties = new Object[root.getObjectPropertyCount()];
 	}
 
 	public NodeStatus tick() {
@@ -30,50 +42,96 @@ public class Tick<T> {
 	}
 
 	public boolean isOpen(Node<T> node) {
-		return openNodes.contains(node);
+		return isSet(openNodes, node.getId());
 	}
 
 	public void visitNode(Node<T> node) {
-		openNodes.add(node);
+		set(openNodes, node.getId());
 	}
 
 	public void tickNode(Node<T> node) {
 	}
 
 	public void leaveNode(Node<T> node) {
-		openNodes.remove(node);
+		int id = node.getId();
+		openNodes[id / Long.SIZE] &= ~(1L << id);
+	}
+
+	public int getIntProperty(Node<T> node) {
+		return intProperties[node.propertySlot];
+	}
+
+	public void setIntProperty(Node<T> node, int value) {
+		intProperties[node.propertySlot] = value;
+		set(setProperties, node.getId());
+	}
+
+	@SuppressWarnings("unchecked")
+	public <I> I getProperty(Node<T> node) {
+		return (I) objectProperties[node.propertySlot];
 	}
 
-	public <I> I getProperty(int id) {
-		return (I) properties.get(id);
+	public void setProperty(Node<T> node, Object value) {
+		objectProperties[node.propertySlot] = value;
+		set(setProperties, node.getId());
 	}
 
-	public void setProperty(int id, Object value) {
-		properties.put(id, value);
+	private static boolean isSet(long[] bits, int id) {
+		return (bits[id / Long.SIZE] & (1L << id)) != 0;
+	}
+
+	private static void set(long[] bits, int id) {
+		bits[id / Long.SIZE] |= 1L << id;
 	}
 
 	public void serialize(ObjectOutputStream oos) throws IOException {
+		// the same map of node ids to properties as it was kept before the properties had slots
+		Map<Integer, Object> properties = new TreeMap<>();
+		for (int id = 0; id < root.getChildrenCount(); id++) {
+			if (isSet(setProperties, id)) {
+				Node<T> node = root.findNode(id);
+				properties.put(id, node.getPropertyType() == NodePropertyType.INT ? (Object) getIntProperty(node) : getProperty(node));
+			}
+		}
 		oos.writeObject(properties);
 
-		oos.writeInt(openNodes.size());
+		int openNodeCount = 0;
+		for (long word : openNodes) {
+			openNodeCount += Long.bitCount(word);
+		}
+		oos.writeInt(openNodeCount);
 
-		for(int openNode : openNodes.stream().map(Node::getId).sorted().toArray(Integer[]::new)) {
-			oos.writeInt(openNode);
+		for (int id = 0; id < root.getChildrenCount(); id++) {
+			if (isSet(openNodes, id)) {
+				oos.writeInt(id);
+			}
 		}
 	}
 
+	@SuppressWarnings("unchecked")
 	public static <T> Tick<T> deserialize(ObjectInputStream ois, T target, Root<T> root)
 			throws IOException, ClassNotFoundException {
 		Tick<T> out = new Tick<>(target, root);
 
-		out.properties.putAll((Map<Integer, Object>) ois.readObject());
+		for (Map.Entry<Integer, Object> property : ((Map<Integer, Object>) ois.readObject()).entrySet()) {
+			Node<T> node = root.findNode(property.getKey());
+
+			if (node == null || node.getPropertyType() == NodePropertyType.NONE) throw new Error("Unknown property node!");
+
+			if (node.getPropertyType() == NodePropertyType.INT) {
+				out.setIntProperty(node, (Integer) property.getValue());
+			} else {
+				out.setProperty(node, property.getValue());
+			}
+		}
+
 		int openNodeCount = ois.readInt();
 		for(int i = 0; i < openNodeCount; i++) {
 			Node<T> openNode = root.findNode(ois.readInt());
 
 			if(openNode == null) throw new Error("Unknown open node!");
 
-			out.openNodes.add(openNode);
+			out.visitNode(openNode);
 		}
 
 		return out;
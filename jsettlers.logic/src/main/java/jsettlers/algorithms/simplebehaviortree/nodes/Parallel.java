@@ -4,6 +4,7 @@ import java.util.Arrays;
 
 import jsettlers.algorithms.simplebehaviortree.Composite;
 import jsettlers.algorithms.simplebehaviortree.Node;
+import jsettlers.algorithms.simplebehaviortree.NodePropertyType;
 import jsettlers.algorithms.simplebehaviortree.NodeStatus;
 import jsettlers.algorithms.simplebehaviortree.Tick;
 
@@ -37,9 +38,14 @@ public class Parallel<T> extends Composite<T> {
 		this.preemptive = preemptive;
 	}
 
+	@Override
+	protected NodePropertyType getPropertyType() {
+		return NodePropertyType.OBJECT;
+	}
+
 	@Override
 	protected NodeStatus onTick(Tick<T> tick) {
-		NodeStatus[] childStatus = tick.getProperty(getId());
+		NodeStatus[] childStatus = tick.getProperty(this);
 		int successCount = 0;
 
 		boolean anyRunning = false;
@@ -63,7 +69,7 @@ public class Parallel<T> extends Composite<T> {
 			return NodeStatus.RUNNING;
 		}
 
-		tick.setProperty(getId(), null);
+		tick.setProperty(this, null);
 
 		if (successCondition) {
 			return NodeStatus.SUCCESS;
@@ -76,12 +82,12 @@ public class Parallel<T> extends Composite<T> {
 	protected void onOpen(Tick<T> tick) {
 		NodeStatus[] childStatus = new NodeStatus[children.size()];
 		Arrays.fill(childStatus, NodeStatus.RUNNING);
-		tick.setProperty(getId(), childStatus);
+		tick.setProperty(this, childStatus);
 	}
 
 	@Override
 	protected void onClose(Tick<T> tick) {
-		NodeStatus[] childStatus = tick.getProperty(getId());
+		NodeStatus[] childStatus = tick.getProperty(this);
 		if(childStatus == null) return;
 
 		for(int i = 0; i < childStatus.length; i++) {
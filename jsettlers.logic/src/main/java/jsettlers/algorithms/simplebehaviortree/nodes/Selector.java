@@ -2,6 +2,7 @@ package jsettlers.algorithms.simplebehaviortree.nodes;
 
 import jsettlers.algorithms.simplebehaviortree.Composite;
 import jsettlers.algorithms.simplebehaviortree.Node;
+import jsettlers.algorithms.simplebehaviortree.NodePropertyType;
 import jsettlers.algorithms.simplebehaviortree.NodeStatus;
 import jsettlers.algorithms.simplebehaviortree.Tick;
 
@@ -12,9 +13,14 @@ public class Selector<T> extends Composite<T> {
 		super(children);
 	}
 
+	@Override
+	protected NodePropertyType getPropertyType() {
+		return NodePropertyType.INT;
+	}
+
 	@Override
 	protected NodeStatus onTick(Tick<T> tick) {
-		int index = tick.getProperty(getId());
+		int index = tick.getIntProperty(this);
 
 		for (; index < children.size(); index++) {
 			NodeStatus status = children.get(index).execute(tick);
@@ -22,7 +28,7 @@ public class Selector<T> extends Composite<T> {
 			if(status == NodeStatus.SUCCESS) {
 				return NodeStatus.SUCCESS;
 			} else if(status == NodeStatus.RUNNING) {
-				tick.setProperty(getId(), index);
+				tick.setIntProperty(this, index);
 				return NodeStatus.RUNNING;
 			}
 		}
@@ -31,11 +37,11 @@ public class Selector<T> extends Composite<T> {
 
 	@Override
 	protected void onOpen(Tick<T> tick) {
-		tick.setProperty(getId(), 0);
+		tick.setIntProperty(this, 0);
 	}
 
 	@Override
 	protected void onClose(Tick<T> tick) {
-		children.get(tick.getProperty(getId())).close(tick);
+		children.get(tick.getIntProperty(this)).close(tick);
 	}
 }
@@ -15,6 +15,7 @@
 package jsettlers.input;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
@@ -386,6 +387,9 @@ class GuiTaskExecutor implements ITaskExecutor {
 	}
 
 	private void sendManyMovables(ShortPoint2D targetPosition, List<ILogicMovable> movables, EMoveToType moveToType) {
+		List<ILogicMovable> sentMovables = new ArrayList<>();
+		List<ShortPoint2D> targets = new ArrayList<>();
+
 		for (int radius = 0, ringsWithoutSuccessCtr = 0; ringsWithoutSuccessCtr <= Math.max(5, 15 - radius + ringsWithoutSuccessCtr) && !movables.isEmpty(); radius++) {
 			MutableInt numberOfSendMovables = new MutableInt(0);
 
@@ -397,7 +401,10 @@ class GuiTaskExecutor implements ITaskExecutor {
 					Optional<ILogicMovable> movableOptional = removeMovableThatCanMoveTo(movables, x, y);
 
 					movableOptional.ifPresent(movable -> {
-						movable.moveTo(new ShortPoint2D(x, y), moveToType);
+						ShortPoint2D target = new ShortPoint2D(x, y);
+						movable.moveTo(target, moveToType);
+						sentMovables.add(movable);
+						targets.add(target);
 						numberOfSendMovables.value++;
 					});
 				});
@@ -408,6 +415,10 @@ class GuiTaskExecutor implements ITaskExecutor {
 				ringsWithoutSuccessCtr++;
 			}
 		}
+
+		if (moveToType != EMoveToType.PATROL) {
+			grid.prepareGroupPaths(targetPosition, sentMovables, targets);
+		}
 	}
 
 	private Optional<ILogicMovable> removeMovableThatCanMoveTo(List<ILogicMovable> movables, int x, int y) {
@@ -15,6 +15,7 @@
 package jsettlers.input;
 
 import java.io.IOException;
+import java.util.List;
 
 import jsettlers.algorithms.construction.AbstractConstructionMarkableMap;
 import jsettlers.common.buildings.EBuildingType;
@@ -25,6 +26,7 @@ import jsettlers.common.movable.EMovableType;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.FerryEntrance;
 import jsettlers.logic.map.grid.partition.manager.settings.MaterialProductionSettings;
+import jsettlers.logic.movable.interfaces.ILogicMovable;
 import jsettlers.logic.player.Player;
 
 import java.util.Optional;
@@ -144,4 +146,17 @@ public interface IGuiInputGrid {
 	void changeMovableSettings(ShortPoint2D position, EMovableType movableType, boolean relative, int amount);
 
 	void setMovableLimitType(ShortPoint2D position, EMovableType movableType, boolean relative);
+
+	/**
+	 * Calculates the paths of a group of movables that has been sent to targets around a common center at once. Every movable keeps its path
+	 * until it starts to move to its target.
+	 *
+	 * @param center
+	 *            The position the group has been sent to.
+	 * @param movables
+	 *            The movables of the group.
+	 * @param targets
+	 *            The target of every movable.
+	 */
+	void prepareGroupPaths(ShortPoint2D center, List<? extends ILogicMovable> movables, List<ShortPoint2D> targets);
 }
@@ -4,10 +4,15 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.lang.reflect.Array;
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
 
+import jsettlers.logic.map.loading.savegame.GridPlanes;
+import jsettlers.logic.map.loading.savegame.GridPlanes.PlaneObjectInputStream;
+import jsettlers.logic.map.loading.savegame.GridPlanes.PlaneObjectOutputStream;
+
 public class SerializationUtils {
 
 	public static <T> void writeSparseArray(ObjectOutputStream oos, T[] data) throws IOException {
@@ -44,4 +49,70 @@ public class SerializationUtils {
 		}
 		return data;
 	}
+
+	/**
+	 * Writes a plane of a grid. If the stream collects {@link GridPlanes}, the plane is handed to them instead of being serialized.
+	 */
+	public static void writePlane(ObjectOutputStream oos, byte[] plane) throws IOException {
+		if (oos instanceof PlaneObjectOutputStream) {
+			((PlaneObjectOutputStream) oos).getPlanes().add(plane);
+		} else {
+			oos.writeObject(plane);
+		}
+	}
+
+	public static void writePlane(ObjectOutputStream oos, short[] plane) throws IOException {
+		if (oos instanceof PlaneObjectOutputStream) {
+			((PlaneObjectOutputStream) oos).getPlanes().add(plane);
+		} else {
+			oos.writeObject(plane);
+		}
+	}
+
+	public static void writePlane(ObjectOutputStream oos, byte[][] planes) throws IOException {
+		oos.writeInt(planes.length);
+		for (byte[] plane : planes) {
+			writePlane(oos, plane);
+		}
+	}
+
+	public static void writePlane(ObjectOutputStream oos, BitSet plane) throws IOException {
+		if (oos instanceof PlaneObjectOutputStream) {
+			((PlaneObjectOutputStream) oos).getPlanes().add(plane.toLongArray());
+		} else {
+			oos.writeObject(plane);
+		}
+	}
+
+	public static byte[] readBytePlane(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		if (ois instanceof PlaneObjectInputStream) {
+			return ((PlaneObjectInputStream) ois).getPlanes().nextBytePlane();
+		} else {
+			return (byte[]) ois.readObject();
+		}
+	}
+
+	public static short[] readShortPlane(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		if (ois instanceof PlaneObjectInputStream) {
+			return ((PlaneObjectInputStream) ois).getPlanes().nextShortPlane();
+		} else {
+			return (short[]) ois.readObject();
+		}
+	}
+
+	public static byte[][] readBytePlanes(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		byte[][] planes = new byte[ois.readInt()][];
+		for (int i = 0; i < planes.length; i++) {
+			planes[i] = readBytePlane(ois);
+		}
+		return planes;
+	}
+
+	public static BitSet readBitSetPlane(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		if (ois instanceof PlaneObjectInputStream) {
+			return BitSet.valueOf(((PlaneObjectInputStream) ois).getPlanes().nextLongPlane());
+		} else {
+			return (BitSet) ois.readObject();
+		}
+	}
 }
@@ -264,6 +264,16 @@ public class OccupyingBuilding extends Building implements IBuilding.IOccupied,
 		return false;
 	}
 
+	@Override
+	public boolean usesHierarchicalPathfinding() {
+		return false;
+	}
+
+	@Override
+	public boolean usesPathCache() {
+		return false;
+	}
+
 	@Override
 	public final OccupierPlace addSoldier(ISoldierMovable soldier) {
 		SoldierRequest soldierRequest = comingSoldiers.remove(soldier);
@@ -28,6 +28,54 @@ public final class Constants {
 
 	public static boolean FOG_OF_WAR_DEFAULT_ENABLED = true;
 
+	/**
+	 * If enabled, bearers and soldiers use the hierarchical path finder for long distance routes. This changes the found paths, so all
+	 * participants of a game must use the same value.
+	 */
+	public static boolean HIERARCHICAL_PATHFINDING_ENABLED = false;
+
+	/**
+	 * If enabled, bearers share their paths via a path cache. Cached paths ignore the other movables around the requester, so all participants
+	 * of a game must use the same value.
+	 */
+	public static boolean PATH_CACHE_ENABLED = false;
+
+	/**
+	 * If enabled, the RescheduleTimer runs the read phase of the timer events (e.g. the enemy search of soldiers) on all cores. The results are
+	 * only used if they are equal to the results of the sequential execution, so the game state is not affected by this setting.
+	 */
+	public static boolean PARALLEL_TIMER_ENABLED = false;
+
+	/**
+	 * If enabled, the RescheduleTimer measures the execution time of every timer event and sums it up per timerable class (see
+	 * TimerMetrics).
+	 */
+	public static boolean TIMER_METRICS_ENABLED = false;
+
+	/**
+	 * If enabled, the AiStatistics rebuild their map statistics from scratch on every update and report any difference to the incrementally
+	 * updated statistics. This is slow and only meant for testing.
+	 */
+	public static boolean AI_STATISTICS_VALIDATION_ENABLED = false;
+
+	/**
+	 * If enabled, the PartitionsGrid counts the workers of every partition from scratch before it updates the profession settings and reports any
+	 * difference to the incrementally updated counts. This is slow and only meant for testing.
+	 */
+	public static boolean PROFESSION_COUNTS_VALIDATION_ENABLED = false;
+
+	/**
+	 * Interval of the automatic savegames in minutes of game time. The game is only paused while a snapshot is taken, the snapshot is
+	 * compressed and written in the background. 0 disables the automatic savegames.
+	 */
+	public static int AUTOSAVE_INTERVAL_MINUTES = 0;
+
+	/**
+	 * Interval of the keyframes embedded into the replay log in locksteps. A keyframe is a savegame, replays can be started from it
+	 * instead of simulating the game from its start. 0 disables the keyframes.
+	 */
+	public static int REPLAY_KEYFRAME_INTERVAL_LOCKSTEPS = 0;
+
 	public static final float COMBAT_STRENGTH_OWN_GROUND = 1;
 
 	/**
@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid;
+
+/**
+ * An implementor of this interface is informed by the grids of the {@link MainGrid} when the state of a position changes. This covers the landscape
+ * and resources, the blocked and protected flags, the map objects, the player and partition as well as the tower enforcement of a position.
+ * <p>
+ * The listener is called by the thread changing the grid. It is not serialized and needs to be set again after loading.
+ *
+ * @see MainGrid#addMapChangedListener(IMapChangedListener)
+ */
+public interface IMapChangedListener {
+	/**
+	 * This is a default implementation doing nothing on calls to the methods of {@link IMapChangedListener}.
+	 */
+	IMapChangedListener DEFAULT_IMPLEMENTATION = new IMapChangedListener() {
+		@Override
+		public void positionChanged(int x, int y) {
+		}
+
+		@Override
+		public void partitionsMerged() {
+		}
+	};
+
+	/**
+	 * This method is called when the state of the given position changed.
+	 *
+	 * @param x
+	 *            x coordinate of the position.
+	 * @param y
+	 *            y coordinate of the position.
+	 */
+	void positionChanged(int x, int y);
+
+	/**
+	 * This method is called when two partitions have been merged. This changes the partition id of all positions of the merged partition without
+	 * calling {@link #positionChanged(int, int)} for them.
+	 */
+	void partitionsMerged();
+}
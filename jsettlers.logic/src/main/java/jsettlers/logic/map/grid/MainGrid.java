@@ -14,15 +14,21 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 import jsettlers.algorithms.borders.BordersThread;
 import jsettlers.algorithms.borders.IBordersThreadGrid;
 import jsettlers.algorithms.construction.AbstractConstructionMarkableMap;
@@ -35,9 +41,14 @@ import jsettlers.algorithms.path.area.IInAreaFinderMap;
 import jsettlers.algorithms.path.area.InAreaFinder;
 import jsettlers.algorithms.path.astar.AbstractAStar;
 import jsettlers.algorithms.path.astar.BucketQueueAStar;
-import jsettlers.algorithms.path.astar.IAStarPathMap;
+import jsettlers.algorithms.path.astar.hierarchical.HierarchicalAStar;
+import jsettlers.algorithms.path.astar.hierarchical.IHierarchicalAStarPathMap;
+import jsettlers.algorithms.path.cache.PathCache;
 import jsettlers.algorithms.path.dijkstra.DijkstraAlgorithm;
 import jsettlers.algorithms.path.dijkstra.IDijkstraPathMap;
+import jsettlers.algorithms.path.dijkstra.ISearchTypeIndexMap;
+import jsettlers.algorithms.path.dijkstra.SearchTypeIndex;
+import jsettlers.algorithms.path.group.GroupPathCalculator;
 import jsettlers.algorithms.previewimage.PreviewImageCreator;
 import jsettlers.algorithms.traversing.area.IAreaVisitor;
 import jsettlers.common.Color;
@@ -121,6 +132,7 @@ import jsettlers.logic.map.loading.data.objects.StoneMapDataObject;
 import jsettlers.logic.map.loading.list.MapList;
 import jsettlers.logic.map.loading.newmap.MapFileHeader;
 import jsettlers.logic.map.loading.newmap.MapFileHeader.MapType;
+import jsettlers.logic.map.loading.savegame.SavegameSections;
 import jsettlers.logic.movable.Movable;
 import jsettlers.logic.movable.interfaces.AbstractMovableGrid;
 import jsettlers.logic.movable.interfaces.IAttackable;
@@ -141,6 +153,18 @@ import jsettlers.logic.player.PlayerSetting;
 public final class MainGrid implements Serializable {
 	private static final long serialVersionUID = 3824511313693431423L;
 
+	/**
+	 * The search types of the {@link SearchTypeIndex}. They are searched with the {@link DijkstraAlgorithm} and only fit at a few positions.
+	 */
+	private static final Set<ESearchType> INDEXED_SEARCH_TYPES = EnumSet.of(ESearchType.CUTTABLE_TREE, ESearchType.CUTTABLE_STONE,
+		ESearchType.CUTTABLE_CORN, ESearchType.HARVESTABLE_WINE, ESearchType.HARVESTABLE_RICE, ESearchType.HARVESTABLE_HIVE
+	);
+
+	/**
+	 * Smaller groups of movables calculate their paths with one A* search per movable, because it is faster.
+	 */
+	private static final int MIN_GROUP_PATH_SIZE = 20;
+
 	final String mapId;
 	final String mapName;
 
@@ -163,6 +187,8 @@ public final class MainGrid implements Serializable {
 	transient         BordersThread                  bordersThread;
 	transient         IGuiInputGrid                  guiInputGrid;
 	private transient IEnclosedBlockedAreaFinderGrid enclosedBlockedAreaFinderGrid;
+	private transient MapChangedListeners            mapChangedListeners;
+	private transient MapChangedListeners            groundChangedListeners;
 
 	public MainGrid(String mapId, String mapName, short width, short height, PlayerSetting[] playerSettings) {
 		this.mapId = mapId;
@@ -172,7 +198,6 @@ public final class MainGrid implements Serializable {
 		this.height = height;
 
 		this.flagsGrid = new FlagsGrid(width, height);
-		this.movablePathfinderGrid = new MovablePathfinderGrid();
 
 		MapObjectsManagerGrid grid = new MapObjectsManagerGrid();
 		this.mapObjectsManager = new MapObjectsManager(grid);
@@ -180,6 +205,7 @@ public final class MainGrid implements Serializable {
 		this.objectsGrid = new ObjectsGrid(width, height);
 		this.landscapeGrid = new LandscapeGrid(width, height, flagsGrid);
 		this.movableGrid = new MovableGrid(width, height, landscapeGrid);
+		this.movablePathfinderGrid = new MovablePathfinderGrid(); // needs the flags and landscape grid
 
 		this.partitionsGrid = new PartitionsGrid(width, height, playerSettings, landscapeGrid);
 		this.buildingsGrid = new BuildingsGrid();
@@ -210,6 +236,14 @@ public final class MainGrid implements Serializable {
 		this.guiInputGrid = new GuiInputGrid();
 
 		this.partitionsGrid.setPlayerChangedListener(new PlayerChangedListener());
+		this.mapChangedListeners = new MapChangedListeners();
+		this.groundChangedListeners = new MapChangedListeners();
+		this.groundChangedListeners.add(mapChangedListeners);
+		this.landscapeGrid.setMapChangedListener(groundChangedListeners);
+		this.flagsGrid.setMapChangedListener(groundChangedListeners);
+		this.objectsGrid.setMapChangedListener(mapChangedListeners);
+		this.partitionsGrid.setMapChangedListener(groundChangedListeners);
+		this.mapChangedListeners.add(new SearchTypeIndexUpdater());
 		this.enclosedBlockedAreaFinderGrid = new EnclosedBlockedAreaFinderGrid();
 	}
 
@@ -234,9 +268,29 @@ public final class MainGrid implements Serializable {
 		initAdditional();
 		this.bordersThread.checkArea(0, 0, width, height);
 		movablePathfinderGrid.initPathfinders();
+		// the grid may be read as part of a reference cycle, so the objects on it are only complete when the whole stream has been read
+		ois.registerValidation(movablePathfinderGrid::rebuildSearchTypeIndex, 0);
 	}
 
 	public void startThreads() {
+		startThreads(false);
+	}
+
+	/**
+	 * Starts the threads of the grid.
+	 * 
+	 * @param headless
+	 *            If <code>true</code>, the borders and the fog of war are not calculated, because they are only displayed.
+	 */
+	public void startThreads(boolean headless) {
+		if (headless) {
+			bordersThread.cancel();
+			if (fogOfWar != null) {
+				fogOfWar.cancel();
+			}
+			return;
+		}
+
 		bordersThread.start();
 		if (fogOfWar != null) {
 			fogOfWar.start();
@@ -368,6 +422,46 @@ public final class MainGrid implements Serializable {
 		MatchConstants.clock().setPausing(savedPausingState);
 	}
 
+	/**
+	 * Takes a snapshot of the game for a savegame. The returned task compresses and writes the snapshot, so it can be executed by another
+	 * thread while the game continues. This must be called by the game clock between two game steps.
+	 */
+	public Runnable createSavegameSnapshot(Byte playerId, UIState uiState) throws IOException {
+		PlayerState[] playerStates = calculatePlayerStates(playerId, uiState);
+		MapFileHeader header = generateSaveHeader(playerId);
+		MapList list = MapList.getDefaultList();
+		SavegameSections snapshot = MapList.createSavegameSections(playerStates, MainGrid.this);
+
+		return () -> {
+			try {
+				list.writeSavegame(header, snapshot);
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		};
+	}
+
+	/**
+	 * Takes a snapshot of the game like {@link #createSavegameSnapshot(Byte, UIState)}, but the returned task hands the savegame to the given
+	 * consumer instead of writing it to disk.
+	 */
+	public Runnable createSavegameSnapshot(Byte playerId, UIState uiState, Consumer<byte[]> savegameConsumer) throws IOException {
+		PlayerState[] playerStates = calculatePlayerStates(playerId, uiState);
+		MapFileHeader header = generateSaveHeader(playerId);
+		SavegameSections snapshot = MapList.createSavegameSections(playerStates, MainGrid.this);
+
+		return () -> {
+			try {
+				ByteArrayOutputStream savegame = new ByteArrayOutputStream();
+				header.writeTo(savegame);
+				snapshot.writeTo(savegame);
+				savegameConsumer.accept(savegame.toByteArray());
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		};
+	}
+
 	private PlayerState[] calculatePlayerStates(Byte playerId, UIState uiState) {
 		byte numberOfPlayers = partitionsGrid.getNumberOfPlayers();
 		PlayerState[] playerStates = new PlayerState[numberOfPlayers];
@@ -527,6 +621,23 @@ public final class MainGrid implements Serializable {
 		return flagsGrid;
 	}
 
+	/**
+	 * Adds a listener informed about changes of the landscape, the flags, the map objects and the partitions of the positions.
+	 *
+	 * @param mapChangedListener
+	 *            The listener to be added.
+	 */
+	public void addMapChangedListener(IMapChangedListener mapChangedListener) {
+		mapChangedListeners.add(mapChangedListener);
+	}
+
+	/**
+	 * @return The path cache shared by the movables. Its hit and miss counters show how many path searches have been saved.
+	 */
+	public PathCache getPathCache() {
+		return movablePathfinderGrid.pathCache;
+	}
+
 	public void initWithPlayerSettings(PlayerSetting[] playerSettings) {
 		partitionsGrid.initWithPlayerSettings(playerSettings);
 	}
@@ -543,7 +654,7 @@ public final class MainGrid implements Serializable {
 		fogOfWar.showMap();
 	}
 
-	final class PathfinderGrid implements IAStarPathMap, IDijkstraPathMap, IInAreaFinderMap, Serializable {
+	final class PathfinderGrid implements IHierarchicalAStarPathMap, IDijkstraPathMap, ISearchTypeIndexMap, IInAreaFinderMap, Serializable {
 		private static final long serialVersionUID = -2775530442375843213L;
 
 		@Override
@@ -554,6 +665,11 @@ public final class MainGrid implements Serializable {
 			return flagsGrid.isBlocked(x, y) || (requester.needsPlayersGround() && requester.getPlayer().getPlayerId() != partitionsGrid.getPlayerIdAt(x, y));
 		}
 
+		@Override
+		public boolean isBlocked(int x, int y) {
+			return flagsGrid.isBlocked(x, y);
+		}
+
 		@Override
 		public final float getCost(IPathCalculatable requester, int sx, int sy, int tx, int ty) {
 			if(requester.getPosition().getOnGridDistTo(sx, sy) <= CommonConstants.MOVABLE_PATH_REPAIR_DISTANCE) {
@@ -657,6 +773,39 @@ public final class MainGrid implements Serializable {
 			}
 		}
 
+		@Override
+		public boolean isSearchCandidate(int x, int y, ESearchType searchType) {
+			switch (searchType) {
+				case CUTTABLE_TREE:
+					return isInBounds(x - 1, y - 1) && isMapObjectCuttable(x - 1, y - 1, EMapObjectType.TREE_ADULT);
+				case CUTTABLE_STONE:
+					return y + 1 < height && x - 1 > 0 && isMapObjectCuttable(x - 1, y + 1, EMapObjectType.STONE);
+				case CUTTABLE_CORN:
+					return isMapObjectCuttable(x, y, EMapObjectType.CORN_ADULT);
+				case HARVESTABLE_WINE:
+					return isMapObjectCuttable(x, y, EMapObjectType.WINE_HARVESTABLE);
+				case HARVESTABLE_RICE:
+					return isMapObjectCuttable(x, y, EMapObjectType.RICE_HARVESTABLE);
+				case HARVESTABLE_HIVE:
+					return isMapObjectCuttable(x, y, EMapObjectType.HIVE_HARVESTABLE);
+				default:
+					return true;
+			}
+		}
+
+		/**
+		 * Updates the {@link SearchTypeIndex} after the map objects at the given position changed. The search position of trees and stones is
+		 * next to the object (see {@link #fitsSearchType(int, int, ESearchType, IPathCalculatable)}).
+		 */
+		void updateSearchTypeIndex(SearchTypeIndex searchTypeIndex, int x, int y) {
+			searchTypeIndex.update(x + 1, y + 1, ESearchType.CUTTABLE_TREE);
+			searchTypeIndex.update(x + 1, y - 1, ESearchType.CUTTABLE_STONE);
+			searchTypeIndex.update(x, y, ESearchType.CUTTABLE_CORN);
+			searchTypeIndex.update(x, y, ESearchType.HARVESTABLE_WINE);
+			searchTypeIndex.update(x, y, ESearchType.HARVESTABLE_RICE);
+			searchTypeIndex.update(x, y, ESearchType.HARVESTABLE_HIVE);
+		}
+
 		@Override
 		public boolean fitsSearchType(int x, int y, Set<ESearchType> types, IPathCalculatable requester) {
 			for (ESearchType searchType : types) {
@@ -992,9 +1141,17 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public final boolean removeMapObject(int x, int y, AbstractHexMapObject mapObject) {
+			if (mapObject != null && mapObject.getObjectType() == EMapObjectType.ATTACKABLE_TOWER) {
+				movableGrid.areaModified(x, y); // towers are found by the enemy search
+			}
 			return objectsGrid.removeMapObject(x, y, mapObject);
 		}
 
+		@Override
+		public final void mapObjectChangedAt(int x, int y) {
+			objectsGrid.mapObjectChangedAt(x, y);
+		}
+
 		@Override
 		public final AbstractHexMapObject getMapObject(int x, int y, EMapObjectType mapObjectType) {
 			return objectsGrid.getMapObjectAt(x, y, mapObjectType);
@@ -1002,6 +1159,9 @@ public final class MainGrid implements Serializable {
 
 		@Override
 		public final void addMapObject(int x, int y, AbstractHexMapObject mapObject) {
+			if (mapObject.getObjectType() == EMapObjectType.ATTACKABLE_TOWER) {
+				movableGrid.areaModified(x, y); // towers are found by the enemy search
+			}
 			objectsGrid.addMapObjectAt(x, y, mapObject);
 		}
 
@@ -1223,6 +1383,11 @@ public final class MainGrid implements Serializable {
 		public boolean isInBounds(int x, int y) {
 			return MainGrid.this.isInBounds(x, y);
 		}
+
+		@Override
+		public void addConstructionChangedListener(IMapChangedListener listener) {
+			groundChangedListeners.add(listener);
+		}
 	}
 
 	final class MovablePathfinderGrid extends AbstractMovableGrid {
@@ -1230,19 +1395,64 @@ public final class MainGrid implements Serializable {
 
 		private transient PathfinderGrid    pathfinderGrid;
 		private transient AbstractAStar     aStar;
+		private transient PathCache         pathCache;
 		transient         DijkstraAlgorithm dijkstra; // not private, because it's used by BuildingsGrid
+		private transient SearchTypeIndex   searchTypeIndex;
 		private transient InAreaFinder      inAreaFinder;
 
+		private transient GroupPathCalculator groupPathCalculator;
+
 		public MovablePathfinderGrid() {
 			initPathfinders();
+			rebuildSearchTypeIndex();
 		}
 
 		private void initPathfinders() {
 			pathfinderGrid = new PathfinderGrid();
 
-			aStar = new BucketQueueAStar(pathfinderGrid, width, height);
-			dijkstra = new DijkstraAlgorithm(pathfinderGrid, aStar, width, height);
+			HierarchicalAStar hierarchicalAStar = new HierarchicalAStar(pathfinderGrid, new BucketQueueAStar(pathfinderGrid, width, height), width, height);
+			pathCache = new PathCache(width, height);
+			flagsGrid.setBlockedChangedListener((x, y, blocked) -> {
+				hierarchicalAStar.blockedChanged(x, y);
+				pathCache.invalidate(x, y);
+			});
+			landscapeGrid.setBlockedPartitionChangedListener((x, y, blocked) -> pathCache.invalidate(x, y));
+			aStar = hierarchicalAStar;
+			searchTypeIndex = new SearchTypeIndex(pathfinderGrid, width, height, INDEXED_SEARCH_TYPES);
+			dijkstra = new DijkstraAlgorithm(pathfinderGrid, aStar, searchTypeIndex, width, height);
 			inAreaFinder = new InAreaFinder(pathfinderGrid, width, height);
+			groupPathCalculator = new GroupPathCalculator(pathfinderGrid, aStar, width, height);
+		}
+
+		private void rebuildSearchTypeIndex() {
+			searchTypeIndex.rebuild();
+		}
+
+		/**
+		 * Calculates the paths of a group of movables sent to targets around the given center with the {@link GroupPathCalculator}. Every
+		 * movable keeps its path until it starts to move to its target.
+		 */
+		void prepareGroupPaths(ShortPoint2D center, List<? extends ILogicMovable> requesters, List<ShortPoint2D> targets) {
+			List<ILogicMovable> groupMembers = new ArrayList<>();
+			List<ShortPoint2D> groupTargets = new ArrayList<>();
+			for (int i = 0; i < requesters.size(); i++) {
+				ILogicMovable requester = requesters.get(i);
+				if (!requester.isShip() && !requester.needsPlayersGround()) {
+					groupMembers.add(requester);
+					groupTargets.add(targets.get(i));
+				}
+			}
+
+			if (groupMembers.size() < MIN_GROUP_PATH_SIZE) {
+				return;
+			}
+
+			Path[] paths = groupPathCalculator.findPaths(groupMembers.toArray(new IPathCalculatable[0]), groupTargets.toArray(new ShortPoint2D[0]), center);
+			for (int i = 0; i < paths.length; i++) {
+				if (paths[i] != null) {
+					groupMembers.get(i).setPreparedPath(paths[i]);
+				}
+			}
 		}
 
 		@Override
@@ -1473,14 +1683,36 @@ public final class MainGrid implements Serializable {
 			}
 		}
 
+		@Override
+		public void attackableChanged(ShortPoint2D position) {
+			movableGrid.areaModified(position.x, position.y);
+		}
+
+		@Override
+		public void movablePositionChanged(ILogicMovable movable, ShortPoint2D oldPosition, ShortPoint2D newPosition) {
+			partitionsGrid.movablePositionChanged(movable, oldPosition, newPosition);
+		}
+
 		@Override
 		public Path calculatePathTo(IPathCalculatable pathRequester, ShortPoint2D targetPos) {
-			return aStar.findPath(pathRequester, targetPos);
+			return calculatePathTo(pathRequester, targetPos, pathRequester.getPosition());
 		}
 
 		@Override
 		public Path calculatePathTo(IPathCalculatable pathRequester, ShortPoint2D targetPos, ShortPoint2D startPos) {
-			return aStar.findPath(pathRequester, targetPos, startPos);
+			if (!pathRequester.usesPathCache() || pathRequester.isShip() || pathRequester.needsPlayersGround()) {
+				return aStar.findPath(pathRequester, targetPos, startPos);
+			}
+
+			short blockedPartition = landscapeGrid.getBlockedPartitionAt(startPos.x, startPos.y);
+			Path path = pathCache.get(startPos.x, startPos.y, targetPos.x, targetPos.y, blockedPartition);
+			if (path == null) {
+				path = aStar.findPath(pathRequester, targetPos, startPos);
+				if (path != null) {
+					pathCache.put(startPos.x, startPos.y, targetPos.x, targetPos.y, blockedPartition, path);
+				}
+			}
+			return path;
 		}
 
 		@Override
@@ -1561,6 +1793,16 @@ public final class MainGrid implements Serializable {
 			return enemy;
 		}
 
+		@Override
+		public long getEnemySearchModificationCount() {
+			return movableGrid.getModificationCount();
+		}
+
+		@Override
+		public boolean isEnemySearchAreaUnmodifiedSince(ShortPoint2D centerPos, int radius, long modificationCount) {
+			return movableGrid.isAreaUnmodifiedSince(centerPos.x, centerPos.y, radius, modificationCount);
+		}
+
 		private IAttackable searchEnemyInArea(final ShortPoint2D position, final IPlayer searchingPlayer, final short minSearchRadius, final short maxSearchRadius, boolean isBowman, boolean includeTowers) {
 			int minDistance = Integer.MAX_VALUE;
 			IAttackable result = null;
@@ -1692,6 +1934,16 @@ public final class MainGrid implements Serializable {
 		public final short getBlockedPartition(int x, int y) {
 			return landscapeGrid.getBlockedPartitionAt(x, y);
 		}
+
+		@Override
+		public int getWidth() {
+			return width;
+		}
+
+		@Override
+		public int getHeight() {
+			return height;
+		}
 	}
 
 	final class BuildingsGrid implements IBuildingsGrid, Serializable {
@@ -2052,6 +2304,16 @@ public final class MainGrid implements Serializable {
 				public boolean isShip() {
 					return isShip;
 				}
+
+				@Override
+				public boolean usesHierarchicalPathfinding() {
+					return false;
+				}
+
+				@Override
+				public boolean usesPathCache() {
+					return false;
+				}
 			};
 			Path path = movablePathfinderGrid.searchDijkstra(pathSearcher, target.x, target.y, targetRadius, ESearchType.VALID_FREE_POSITION);
 
@@ -2122,6 +2384,11 @@ public final class MainGrid implements Serializable {
 			return MainGrid.this.isNavigable(x, y);
 		}
 
+		@Override
+		public void prepareGroupPaths(ShortPoint2D center, List<? extends ILogicMovable> movables, List<ShortPoint2D> targets) {
+			movablePathfinderGrid.prepareGroupPaths(center, movables, targets);
+		}
+
 		@Override
 		public boolean hasLost(byte playerId) {
 			return partitionsGrid.getPlayer(playerId).getWinState() == EWinState.LOST;
@@ -2236,6 +2503,47 @@ public final class MainGrid implements Serializable {
 		}
 	}
 
+	/**
+	 * Keeps the {@link SearchTypeIndex} of the {@link MovablePathfinderGrid} up to date.
+	 */
+	private final class SearchTypeIndexUpdater implements IMapChangedListener {
+		@Override
+		public void positionChanged(int x, int y) {
+			movablePathfinderGrid.pathfinderGrid.updateSearchTypeIndex(movablePathfinderGrid.searchTypeIndex, x, y);
+		}
+
+		@Override
+		public void partitionsMerged() {
+		}
+	}
+
+	/**
+	 * Forwards the changes reported by the grids to all listeners added with {@link MainGrid#addMapChangedListener(IMapChangedListener)}.
+	 */
+	private static final class MapChangedListeners implements IMapChangedListener {
+		private volatile IMapChangedListener[] listeners = new IMapChangedListener[0];
+
+		synchronized void add(IMapChangedListener listener) {
+			IMapChangedListener[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+			newListeners[listeners.length] = listener;
+			listeners = newListeners;
+		}
+
+		@Override
+		public void positionChanged(int x, int y) {
+			for (IMapChangedListener listener : listeners) {
+				listener.positionChanged(x, y);
+			}
+		}
+
+		@Override
+		public void partitionsMerged() {
+			for (IMapChangedListener listener : listeners) {
+				listener.partitionsMerged();
+			}
+		}
+	}
+
 	/**
 	 * This class implements the {@link IPlayerChangedListener} interface and executes all work that needs to be done when a position of the grid changes it's player.
 	 *
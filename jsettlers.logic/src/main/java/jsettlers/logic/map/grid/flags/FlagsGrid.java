@@ -14,10 +14,15 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.flags;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.BitSet;
 
 import jsettlers.algorithms.partitions.IBlockingProvider;
+import jsettlers.logic.SerializationUtils;
+import jsettlers.logic.map.grid.IMapChangedListener;
 
 /**
  * Grid that's storing the blocked information for fast access.
@@ -26,15 +31,17 @@ import jsettlers.algorithms.partitions.IBlockingProvider;
  *
  */
 public final class FlagsGrid implements Serializable, IBlockingProvider, IProtectedProvider {
-	private static final long serialVersionUID = -413005884613149208L;
+	private static final long serialVersionUID = -413005884613149209L;
 
 	private final short width;
 
-	private final BitSet blockedGrid;
-	private final BitSet markedGrid;
-	private final BitSet protectedGrid;
+	private transient BitSet blockedGrid;
+	private transient BitSet markedGrid;
+	private transient BitSet protectedGrid;
 
-	private IProtectedChangedListener protectedChangedListener = null;
+	private IProtectedChangedListener          protectedChangedListener = null;
+	private transient IBlockedChangedListener blockedChangedListener   = null;
+	private transient IMapChangedListener     mapChangedListener       = IMapChangedListener.DEFAULT_IMPLEMENTATION;
 
 	public FlagsGrid(final short width, final short height) {
 		this.width = width;
@@ -44,6 +51,21 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 		this.markedGrid = new BitSet(width * height);
 	}
 
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		SerializationUtils.writePlane(oos, blockedGrid);
+		SerializationUtils.writePlane(oos, markedGrid);
+		SerializationUtils.writePlane(oos, protectedGrid);
+	}
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+		setMapChangedListener(null);
+		blockedGrid = SerializationUtils.readBitSetPlane(ois);
+		markedGrid = SerializationUtils.readBitSetPlane(ois);
+		protectedGrid = SerializationUtils.readBitSetPlane(ois);
+	}
+
 	@Override
 	public boolean isBlocked(int x, int y) {
 		return blockedGrid.get(x + y * width);
@@ -78,6 +100,7 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 	 */
 	public void setBlockedAndProtected(int x, int y, boolean newBlocked, boolean newProtected) {
 		final int idx = x + y * width;
+		boolean oldBlocked = this.blockedGrid.get(idx);
 		boolean oldProtected = this.protectedGrid.get(idx);
 
 		this.blockedGrid.set(idx, newBlocked);
@@ -86,6 +109,12 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 		if (protectedChangedListener != null && oldProtected != newProtected) {
 			this.protectedChangedListener.protectedChanged(x, y, newProtected);
 		}
+		if (blockedChangedListener != null && oldBlocked != newBlocked) {
+			this.blockedChangedListener.blockedChanged(x, y, newBlocked);
+		}
+		if (oldBlocked != newBlocked || oldProtected != newProtected) {
+			this.mapChangedListener.positionChanged(x, y);
+		}
 	}
 
 	public boolean isMarked(int x, int y) {
@@ -107,6 +136,7 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 		if (protectedChangedListener != null) {
 			this.protectedChangedListener.protectedChanged(x, y, newProtected);
 		}
+		this.mapChangedListener.positionChanged(x, y);
 	}
 
 	public boolean isPioneerBlocked(int x, int y) {
@@ -118,4 +148,29 @@ public final class FlagsGrid implements Serializable, IBlockingProvider, IProtec
 	public void setProtectedChangedListener(IProtectedChangedListener protectedChangedListener) {
 		this.protectedChangedListener = protectedChangedListener;
 	}
+
+	/**
+	 * Sets the listener informed about changes of the blocked state. The listener is not serialized and needs to be set again after loading.
+	 *
+	 * @param blockedChangedListener
+	 *            The new listener or null.
+	 */
+	public void setBlockedChangedListener(IBlockedChangedListener blockedChangedListener) {
+		this.blockedChangedListener = blockedChangedListener;
+	}
+
+	/**
+	 * Sets the listener informed about changes of the blocked and protected state. The listener is not serialized and needs to be set again after
+	 * loading.
+	 *
+	 * @param mapChangedListener
+	 *            The new listener or null.
+	 */
+	public void setMapChangedListener(IMapChangedListener mapChangedListener) {
+		if (mapChangedListener != null) {
+			this.mapChangedListener = mapChangedListener;
+		} else {
+			this.mapChangedListener = IMapChangedListener.DEFAULT_IMPLEMENTATION;
+		}
+	}
 }
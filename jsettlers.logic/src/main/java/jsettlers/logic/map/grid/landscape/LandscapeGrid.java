@@ -16,6 +16,7 @@ package jsettlers.logic.map.grid.landscape;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 
 import jsettlers.algorithms.partitions.IBlockingProvider;
@@ -28,9 +29,12 @@ import jsettlers.common.movable.EDirection;
 import jsettlers.common.movable.ESpellType;
 import jsettlers.common.position.RelativePoint;
 import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.SerializationUtils;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.IMapChangedListener;
 import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.grid.flags.IBlockedChangedListener;
 import jsettlers.logic.map.grid.flags.IProtectedProvider;
 import jsettlers.logic.map.grid.flags.IProtectedProvider.IProtectedChangedListener;
 
@@ -40,16 +44,16 @@ import jsettlers.logic.map.grid.flags.IProtectedProvider.IProtectedChangedListen
  * @author Andreas Eberle
  */
 public final class LandscapeGrid implements Serializable, IWalkableGround, IFlattenedResettable, IDebugColorSetable, IProtectedChangedListener, IBlockingProvider {
-	private static final long serialVersionUID = -751261669662036484L;
+	private static final long serialVersionUID = -751261669662036485L;
 
 	public static final short SEA_BLOCKED_PARTITION = 0;
 
-	private final byte[][] heightGrid;
-	private final byte[] landscapeGrid;
-	private final byte[] resourceAmount;
-	private final byte[] temporaryFlatened;
-	private final byte[] resourceType;
-	private final short[] blockedPartitions;
+	private transient byte[][] heightGrid;
+	private transient byte[]   landscapeGrid;
+	private transient byte[]   resourceAmount;
+	private transient byte[]   temporaryFlatened;
+	private transient byte[]   resourceType;
+	private transient short[]  blockedPartitions;
 
 	private final short width;
 	private final short height;
@@ -59,6 +63,8 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 
 	private transient int[] debugColors;
 	private transient IGraphicsBackgroundListener backgroundListener;
+	private transient IBlockedChangedListener blockedPartitionChangedListener;
+	private transient IMapChangedListener     mapChangedListener = IMapChangedListener.DEFAULT_IMPLEMENTATION;
 
 	public LandscapeGrid(short width, short height, IProtectedProvider protectedProvider) {
 		this.width = width;
@@ -80,9 +86,26 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 		protectedProvider.setProtectedChangedListener(this);
 	}
 
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		SerializationUtils.writePlane(oos, heightGrid);
+		SerializationUtils.writePlane(oos, landscapeGrid);
+		SerializationUtils.writePlane(oos, resourceAmount);
+		SerializationUtils.writePlane(oos, temporaryFlatened);
+		SerializationUtils.writePlane(oos, resourceType);
+		SerializationUtils.writePlane(oos, blockedPartitions);
+	}
+
 	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
 		ois.defaultReadObject();
+		heightGrid = SerializationUtils.readBytePlanes(ois);
+		landscapeGrid = SerializationUtils.readBytePlane(ois);
+		resourceAmount = SerializationUtils.readBytePlane(ois);
+		temporaryFlatened = SerializationUtils.readBytePlane(ois);
+		resourceType = SerializationUtils.readBytePlane(ois);
+		blockedPartitions = SerializationUtils.readShortPlane(ois);
 		setBackgroundListener(null);
+		setMapChangedListener(null);
 
 		initDebugColors();
 	}
@@ -191,6 +214,7 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 
 		this.landscapeGrid[x + y * width] = landscapeType.ordinal;
 		backgroundListener.backgroundLineChangedAt(x, y, 1);
+		mapChangedListener.positionChanged(x, y);
 	}
 
 	public final void setHeightAt(short x, short y, byte height) {
@@ -212,6 +236,20 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 		backgroundListener.backgroundLineChangedAt(x, y, 1);
 	}
 
+	/**
+	 * Sets the listener informed about changes of the landscape, the resources and the blocked partitions.
+	 *
+	 * @param mapChangedListener
+	 *            The new listener or null.
+	 */
+	public final void setMapChangedListener(IMapChangedListener mapChangedListener) {
+		if (mapChangedListener != null) {
+			this.mapChangedListener = mapChangedListener;
+		} else {
+			this.mapChangedListener = IMapChangedListener.DEFAULT_IMPLEMENTATION;
+		}
+	}
+
 	public final void setBackgroundListener(IGraphicsBackgroundListener backgroundListener) {
 		if (backgroundListener != null) {
 			this.backgroundListener = backgroundListener;
@@ -223,6 +261,7 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 	public final void setResourceAt(short x, short y, EResourceType resourceType, byte amount) {
 		this.resourceType[x + y * width] = resourceType.ordinal;
 		this.resourceAmount[x + y * width] = (byte) Math.min(amount, Constants.MAX_RESOURCE_AMOUNT_PER_POSITION);
+		mapChangedListener.positionChanged(x, y);
 	}
 
 	/**
@@ -257,6 +296,7 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 		int idx = position.x + position.y * width;
 		if (resourceType[idx] == resource.ordinal && resourceAmount[idx] > 0) {
 			resourceAmount[idx]--;
+			mapChangedListener.positionChanged(position.x, position.y);
 			return true;
 		} else {
 			return false;
@@ -331,7 +371,26 @@ public final class LandscapeGrid implements Serializable, IWalkableGround, IFlat
 	}
 
 	public void setBlockedPartition(short x, short y, short blockedPartition) {
-		this.blockedPartitions[x + y * width] = blockedPartition;
+		int index = x + y * width;
+		short oldBlockedPartition = this.blockedPartitions[index];
+		this.blockedPartitions[index] = blockedPartition;
+
+		if (oldBlockedPartition != blockedPartition) {
+			if (blockedPartitionChangedListener != null) {
+				blockedPartitionChangedListener.blockedChanged(x, y, blockedPartition == SEA_BLOCKED_PARTITION);
+			}
+			mapChangedListener.positionChanged(x, y);
+		}
+	}
+
+	/**
+	 * Sets the listener informed about changes of the blocked partitions. The listener is not serialized and needs to be set again after loading.
+	 *
+	 * @param blockedPartitionChangedListener
+	 *            The new listener or null.
+	 */
+	public void setBlockedPartitionChangedListener(IBlockedChangedListener blockedPartitionChangedListener) {
+		this.blockedPartitionChangedListener = blockedPartitionChangedListener;
 	}
 
 	public short getBlockedPartitionAt(int x, int y) {
@@ -18,13 +18,14 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.Consumer;
 
 import jsettlers.common.map.shapes.HexGridArea;
 import jsettlers.common.movable.EMovableType;
 import jsettlers.common.movable.IGraphicsMovable;
 import jsettlers.common.player.IPlayer;
 import jsettlers.common.position.ShortPoint2D;
-import jsettlers.common.utils.coordinates.CoordinateStream;
 import jsettlers.common.utils.mutables.MutableBoolean;
 import jsettlers.logic.SerializationUtils;
 import jsettlers.logic.constants.Constants;
@@ -41,17 +42,54 @@ import jsettlers.logic.movable.interfaces.ILogicMovable;
 public final class MovableGrid implements Serializable {
 	private static final long serialVersionUID = 7003522358013103962L;
 
+	private static final int MODIFICATION_REGION_SHIFT = 3;
+	private static final int ATTACKABLE_BUCKET_SHIFT   = 4;
+
 	private transient ILogicMovable[] movableGrid;
 	private final IWalkableGround ground;
 	private final short width;
 
 	private final short height;
 
+	private transient int    modificationRegionsPerRow;
+	private transient long[] regionModifications;
+	private transient long   modificationCount;
+
+	/**
+	 * The positions of the {@link IAttackableMovable}s in {@link #movableGrid}, grouped by player and by coarse buckets of the grid. Indexed
+	 * by player id and bucket, the buckets of a player are created when the first movable of it enters.
+	 */
+	private transient int                  attackableBucketsPerRow;
+	private transient AttackableBucket[][] attackableBuckets;
+	private transient byte[]               attackablePlayerTeams;
+	private transient long[]               enemySearchBuffer;
+
 	public MovableGrid(short width, short height, IWalkableGround ground) {
 		this.width = width;
 		this.height = height;
 		this.ground = ground;
 		this.movableGrid = new ILogicMovable[width * height];
+		initModificationTracking();
+		initAttackableBuckets();
+	}
+
+	private void initModificationTracking() {
+		modificationRegionsPerRow = ((width - 1) >> MODIFICATION_REGION_SHIFT) + 1;
+		regionModifications = new long[modificationRegionsPerRow * (((height - 1) >> MODIFICATION_REGION_SHIFT) + 1)];
+		modificationCount = 0;
+	}
+
+	private void initAttackableBuckets() {
+		attackableBucketsPerRow = ((width - 1) >> ATTACKABLE_BUCKET_SHIFT) + 1;
+		attackableBuckets = new AttackableBucket[0][];
+		attackablePlayerTeams = new byte[0];
+		enemySearchBuffer = new long[16];
+
+		for (int index = 0; index < movableGrid.length; index++) {
+			if (movableGrid[index] instanceof IAttackableMovable) {
+				addAttackable((IAttackableMovable) movableGrid[index], index);
+			}
+		}
 	}
 
 	private void writeObject(ObjectOutputStream oos) throws IOException {
@@ -62,6 +100,8 @@ public final class MovableGrid implements Serializable {
 	private void readObject(ObjectInputStream ois) throws ClassNotFoundException, IOException {
 		ois.defaultReadObject();
 		movableGrid = SerializationUtils.readSparseArray(ois, ILogicMovable.class);
+		initModificationTracking();
+		initAttackableBuckets();
 	}
 
 	public final ILogicMovable getMovableAt(int x, int y) {
@@ -76,7 +116,11 @@ public final class MovableGrid implements Serializable {
 		int idx = position.x + position.y * width;
 		if (this.movableGrid[idx] == movable) {
 			this.movableGrid[idx] = null;
+			if (movable instanceof IAttackableMovable) {
+				removeAttackable((IAttackableMovable) movable, idx);
+			}
 		}
+		areaModified(position.x, position.y);
 	}
 
 	/**
@@ -91,12 +135,73 @@ public final class MovableGrid implements Serializable {
 		final short x = position.x;
 		final short y = position.y;
 
-		this.movableGrid[x + y * width] = movable;
+		final int idx = x + y * width;
+		final ILogicMovable oldMovable = this.movableGrid[idx];
+		this.movableGrid[idx] = movable;
+		if (oldMovable != movable) {
+			if (oldMovable instanceof IAttackableMovable) {
+				removeAttackable((IAttackableMovable) oldMovable, idx);
+			}
+			if (movable instanceof IAttackableMovable) {
+				addAttackable((IAttackableMovable) movable, idx);
+			}
+		}
+		areaModified(x, y);
 		if (movable != null && movable.getMovableType() == EMovableType.BEARER) {
 			ground.walkOn(x, y);
 		}
 	}
 
+	/**
+	 * Marks the area around the given position as modified. Must be called for every change that alters the result of an enemy search, e.g.
+	 * when the attackable state of a movable changes. Movables entering and leaving positions are tracked automatically.
+	 *
+	 * @param x
+	 *            x coordinate of the modified position.
+	 * @param y
+	 *            y coordinate of the modified position.
+	 */
+	public void areaModified(int x, int y) {
+		regionModifications[(y >> MODIFICATION_REGION_SHIFT) * modificationRegionsPerRow + (x >> MODIFICATION_REGION_SHIFT)] = ++modificationCount;
+	}
+
+	/**
+	 * @return A counter that is increased by every modification. It can be used with {@link #isAreaUnmodifiedSince(int, int, int, long)}.
+	 */
+	public long getModificationCount() {
+		return modificationCount;
+	}
+
+	/**
+	 * Checks if any position in the given radius around the given center may have been modified after {@link #getModificationCount()} returned
+	 * the given value.
+	 *
+	 * @param x
+	 *            x coordinate of the center.
+	 * @param y
+	 *            y coordinate of the center.
+	 * @param radius
+	 *            The radius around the center.
+	 * @param modificationCount
+	 *            A value returned by {@link #getModificationCount()}.
+	 * @return true if no position in the area has been modified since then.
+	 */
+	public boolean isAreaUnmodifiedSince(int x, int y, int radius, long modificationCount) {
+		int minRegionX = Math.max(0, x - radius) >> MODIFICATION_REGION_SHIFT;
+		int maxRegionX = Math.min(width - 1, x + radius) >> MODIFICATION_REGION_SHIFT;
+		int minRegionY = Math.max(0, y - radius) >> MODIFICATION_REGION_SHIFT;
+		int maxRegionY = Math.min(height - 1, y + radius) >> MODIFICATION_REGION_SHIFT;
+
+		for (int regionY = minRegionY; regionY <= maxRegionY; regionY++) {
+			for (int regionX = minRegionX; regionX <= maxRegionX; regionX++) {
+				if (regionModifications[regionY * modificationRegionsPerRow + regionX] > modificationCount) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * 
 	 * @param movable
@@ -111,31 +216,116 @@ public final class MovableGrid implements Serializable {
 	 */
 	public void informMovables(IAttackableMovable movable, short x, short y, boolean informFullArea) {
 		// inform all movables of the given movable
-		CoordinateStream area;
+		int minRadius;
+		int maxRadius;
 		if (informFullArea) {
-			area = HexGridArea.stream(x, y, (short) 1, Constants.SOLDIER_SEARCH_RADIUS);
+			minRadius = 1;
+			maxRadius = Constants.SOLDIER_SEARCH_RADIUS;
 		} else {
-			area = HexGridArea.streamBorder(x, y, Constants.SOLDIER_SEARCH_RADIUS - 1);
+			minRadius = maxRadius = Constants.SOLDIER_SEARCH_RADIUS - 1;
 		}
 
 		MutableBoolean foundOne = new MutableBoolean();
-		IPlayer movablePlayer = movable.getPlayer();
 
-		area.filterBounds(width, height).forEach((currX, currY) -> {
-			ILogicMovable currMovable = getMovableAt(currX, currY);
-			if (currMovable instanceof IAttackableMovable) {
-				IAttackable currAttackable = (IAttackable) currMovable;
+		forEachEnemy(movable.getPlayer(), x, y, minRadius, maxRadius, currAttackable -> {
+			currAttackable.informAboutAttackable(movable);
+
+			if (!foundOne.value) { // the first found movable is the one closest to the given movable.
+				movable.informAboutAttackable(currAttackable);
+				foundOne.value = true;
+			}
+		});
+	}
+
+	/**
+	 * Calls the given consumer for every attackable enemy movable in the given hexagon ring. The enemies are visited in the order of
+	 * {@link HexGridArea#stream(int, int, int, int)}, but only the buckets containing movables of enemy players are looked at.
+	 *
+	 * @param player
+	 *            The player searching for enemies.
+	 * @param x
+	 *            x coordinate of the center.
+	 * @param y
+	 *            y coordinate of the center.
+	 * @param minRadius
+	 *            inclusive inner radius.
+	 * @param maxRadius
+	 *            inclusive outer radius.
+	 * @param consumer
+	 *            Is called with every enemy. It must not move any movables.
+	 */
+	public void forEachEnemy(IPlayer player, int x, int y, int minRadius, int maxRadius, Consumer<IAttackableMovable> consumer) {
+		byte teamId = player.getTeamId();
+		int minBucketX = Math.max(0, x - maxRadius) >> ATTACKABLE_BUCKET_SHIFT;
+		int maxBucketX = Math.min(width - 1, x + maxRadius) >> ATTACKABLE_BUCKET_SHIFT;
+		int minBucketY = Math.max(0, y - maxRadius) >> ATTACKABLE_BUCKET_SHIFT;
+		int maxBucketY = Math.min(height - 1, y + maxRadius) >> ATTACKABLE_BUCKET_SHIFT;
+
+		// every enemy is stored with its index in the iteration order of the hexagon in the upper and its grid index in the lower bits
+		long[] enemies = enemySearchBuffer;
+		int numberOfEnemies = 0;
 
-				if(isEnemy(movablePlayer, currAttackable)) {
-					currAttackable.informAboutAttackable(movable);
+		for (int playerId = 0; playerId < attackableBuckets.length; playerId++) {
+			AttackableBucket[] playerBuckets = attackableBuckets[playerId];
+			if (playerBuckets == null || attackablePlayerTeams[playerId] == teamId) {
+				continue;
+			}
 
-					if (!foundOne.value) { // the first found movable is the one closest to the given movable.
-						movable.informAboutAttackable(currAttackable);
-						foundOne.value = true;
+			for (int bucketY = minBucketY; bucketY <= maxBucketY; bucketY++) {
+				for (int bucketX = minBucketX; bucketX <= maxBucketX; bucketX++) {
+					AttackableBucket bucket = playerBuckets[bucketY * attackableBucketsPerRow + bucketX];
+					if (bucket == null) {
+						continue;
+					}
+
+					for (int i = 0; i < bucket.size; i++) {
+						int index = bucket.positions[i];
+						int dx = index % width - x;
+						int dy = index / width - y;
+						int radius = ShortPoint2D.getOnGridDist(dx, dy);
+
+						if (minRadius <= radius && radius <= maxRadius && ((IAttackable) movableGrid[index]).isAttackable()) {
+							if (numberOfEnemies == enemies.length) {
+								enemies = enemySearchBuffer = Arrays.copyOf(enemies, 2 * numberOfEnemies);
+							}
+							enemies[numberOfEnemies++] = (long) HexGridArea.getStreamIndex(dx, dy) << 32 | index;
+						}
 					}
 				}
 			}
-		});
+		}
+
+		Arrays.sort(enemies, 0, numberOfEnemies);
+		for (int i = 0; i < numberOfEnemies; i++) {
+			consumer.accept((IAttackableMovable) movableGrid[(int) enemies[i]]);
+		}
+	}
+
+	private void addAttackable(IAttackableMovable movable, int index) {
+		byte playerId = movable.getPlayer().getPlayerId();
+		if (playerId >= attackableBuckets.length) {
+			attackableBuckets = Arrays.copyOf(attackableBuckets, playerId + 1);
+			attackablePlayerTeams = Arrays.copyOf(attackablePlayerTeams, playerId + 1);
+		}
+		if (attackableBuckets[playerId] == null) {
+			attackableBuckets[playerId] = new AttackableBucket[attackableBucketsPerRow * (((height - 1) >> ATTACKABLE_BUCKET_SHIFT) + 1)];
+			attackablePlayerTeams[playerId] = movable.getPlayer().getTeamId();
+		}
+
+		int bucketIndex = getAttackableBucketIndex(index);
+		AttackableBucket bucket = attackableBuckets[playerId][bucketIndex];
+		if (bucket == null) {
+			bucket = attackableBuckets[playerId][bucketIndex] = new AttackableBucket();
+		}
+		bucket.add(index);
+	}
+
+	private void removeAttackable(IAttackableMovable movable, int index) {
+		attackableBuckets[movable.getPlayer().getPlayerId()][getAttackableBucketIndex(index)].remove(index);
+	}
+
+	private int getAttackableBucketIndex(int index) {
+		return ((index / width) >> ATTACKABLE_BUCKET_SHIFT) * attackableBucketsPerRow + ((index % width) >> ATTACKABLE_BUCKET_SHIFT);
 	}
 
 	/**
@@ -154,4 +344,28 @@ public final class MovableGrid implements Serializable {
 	public boolean hasNoMovableAt(int x, int y) {
 		return getMovableAt(x, y) == null;
 	}
+
+	/**
+	 * The grid indexes of the attackable movables of one player in one bucket.
+	 */
+	private static final class AttackableBucket {
+		private int[] positions = new int[4];
+		private int   size;
+
+		void add(int index) {
+			if (size == positions.length) {
+				positions = Arrays.copyOf(positions, 2 * size);
+			}
+			positions[size++] = index;
+		}
+
+		void remove(int index) {
+			for (int i = 0; i < size; i++) {
+				if (positions[i] == index) {
+					positions[i] = positions[--size];
+					return;
+				}
+			}
+		}
+	}
 }
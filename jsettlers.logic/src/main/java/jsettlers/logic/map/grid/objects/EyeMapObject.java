@@ -34,8 +34,19 @@ public class EyeMapObject extends SoundableSelfDeletingObject {
 					drawn = true;
 				} else {
 					FogOfWar.queueResizeCircle(at, distance, (short) 0);
+					drawn = false;
 				}
 			}
 		}
 	}
+
+	/**
+	 * Draws the view circle of this eye again when the fog of war of the given team starts. The whole map shown by an eye is restored by the
+	 * fog of war itself.
+	 */
+	public void initFow(byte team) {
+		if(drawn && distance != -1 && getPlayer().getTeamId() == team) {
+			FogOfWar.queueResizeCircle(at, (short) 0, distance);
+		}
+	}
 }
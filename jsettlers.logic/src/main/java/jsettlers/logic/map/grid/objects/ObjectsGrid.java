@@ -30,6 +30,7 @@ import jsettlers.common.utils.coordinates.CoordinateStream;
 import jsettlers.logic.SerializationUtils;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.grid.IMapChangedListener;
 import jsettlers.logic.movable.interfaces.IAttackable;
 import jsettlers.logic.movable.interfaces.IInformable;
 
@@ -48,6 +49,8 @@ public final class ObjectsGrid implements Serializable {
 	private transient AbstractHexMapObject[] objectsGrid;
 	private transient Building[] buildingsGrid;
 
+	private transient IMapChangedListener mapChangedListener = IMapChangedListener.DEFAULT_IMPLEMENTATION;
+
 	public ObjectsGrid(short width, short height) {
 		this.width = width;
 		this.height = height;
@@ -82,6 +85,7 @@ public final class ObjectsGrid implements Serializable {
 
 	private final void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
 		ois.defaultReadObject();
+		setMapChangedListener(null);
 
 		buildingsGrid = SerializationUtils.readSparseArray(ois, Building.class);
 
@@ -129,6 +133,7 @@ public final class ObjectsGrid implements Serializable {
 		if (mapObjectHead != null) {
 			mapObjectHead.removeMapObjectTypes(mapObjectTypes);
 		}
+		mapChangedListener.positionChanged(x, y);
 	}
 
 	public final boolean removeMapObject(int x, int y, AbstractHexMapObject mapObject) {
@@ -143,6 +148,9 @@ public final class ObjectsGrid implements Serializable {
 				removed = mapObjectHead.removeMapObject(mapObject);
 			}
 
+			if (removed) {
+				mapChangedListener.positionChanged(x, y);
+			}
 			return removed;
 		} else
 			return false;
@@ -158,6 +166,34 @@ public final class ObjectsGrid implements Serializable {
 		} else {
 			mapObjectHead.addMapObject(mapObject);
 		}
+		mapChangedListener.positionChanged(x, y);
+	}
+
+	/**
+	 * Informs the listener that the state of a map object at the given position changed without adding or removing it.
+	 *
+	 * @param x
+	 *            x coordinate of the map object.
+	 * @param y
+	 *            y coordinate of the map object.
+	 */
+	public final void mapObjectChangedAt(int x, int y) {
+		mapChangedListener.positionChanged(x, y);
+	}
+
+	/**
+	 * Sets the listener informed about added, removed and changed map objects. The listener is not serialized and needs to be set again after
+	 * loading.
+	 *
+	 * @param mapChangedListener
+	 *            The new listener or null.
+	 */
+	public void setMapChangedListener(IMapChangedListener mapChangedListener) {
+		if (mapChangedListener != null) {
+			this.mapChangedListener = mapChangedListener;
+		} else {
+			this.mapChangedListener = IMapChangedListener.DEFAULT_IMPLEMENTATION;
+		}
 	}
 
 	public final boolean hasCuttableObject(int x, int y, EMapObjectType mapObjectType) {
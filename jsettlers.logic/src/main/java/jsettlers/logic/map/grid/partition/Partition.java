@@ -16,6 +16,7 @@ package jsettlers.logic.map.grid.partition;
 
 import java.io.Serializable;
 
+import jsettlers.common.movable.EMovableType;
 import jsettlers.common.player.IPlayer;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.map.grid.partition.data.PartitionDataSupplier;
@@ -41,6 +42,12 @@ public final class Partition extends PartitionManager implements Serializable {
 	private int xSum    = 0;
 	private int ySum    = 0;
 
+	/**
+	 * The number of movables of every {@link EMovableType} that are not player controllable and counted by this partition. Maintained by the
+	 * {@link PartitionsGrid}.
+	 */
+	transient int[] workerCounts = new int[EMovableType.NUMBER_OF_MOVABLETYPES];
+
 	public Partition(PartitionsGrid grid, short partitionId, IPlayer player, IOffersCountListener countListener) {
 		super(player, countListener);
 		this.partitionId = partitionId;
@@ -74,6 +81,13 @@ public final class Partition extends PartitionManager implements Serializable {
 		counter = 0;
 		xSum = 0;
 		ySum = 0;
+
+		if (workerCounts != null && newPartition.workerCounts != null) { // the counts are not known directly after loading
+			for (int i = 0; i < workerCounts.length; i++) {
+				newPartition.workerCounts[i] += workerCounts[i];
+				workerCounts[i] = 0;
+			}
+		}
 	}
 
 	public void removePositionTo(final int x, final int y, final Partition newPartitionObject) {
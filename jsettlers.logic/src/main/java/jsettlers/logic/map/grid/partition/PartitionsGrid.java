@@ -15,10 +15,13 @@
 package jsettlers.logic.map.grid.partition;
 
 import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -35,12 +38,16 @@ import jsettlers.common.map.shapes.IMapArea;
 import jsettlers.common.map.shapes.MapCircle;
 import jsettlers.common.map.shapes.MapShapeFilter;
 import jsettlers.common.movable.EDirection;
+import jsettlers.common.movable.EMovableType;
 import jsettlers.common.position.ILocatable;
 import jsettlers.common.position.SRectangle;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.utils.Tuple;
 import jsettlers.common.utils.coordinates.CoordinateStream;
 import jsettlers.common.utils.mutables.MutableInt;
+import jsettlers.logic.SerializationUtils;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.grid.IMapChangedListener;
 import jsettlers.logic.map.grid.partition.manager.settings.MaterialProductionSettings;
 import jsettlers.logic.map.grid.partition.PartitionsListingBorderVisitor.BorderPartitionInfo;
 import jsettlers.logic.map.grid.partition.manager.PartitionManager;
@@ -60,7 +67,7 @@ import jsettlers.logic.timer.RescheduleTimer;
  * 
  */
 public final class PartitionsGrid implements Serializable, IScheduledTimerable {
-	private static final long serialVersionUID = 8919380724171427679L;
+	private static final long serialVersionUID = 8919380724171427680L;
 
 	private static final int RESCHEDULE_DELAY = 10000;
 
@@ -76,18 +83,29 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 	private final Player[] players;
 	private final IBlockingProvider blockingProvider;
 
-	final short[] partitions;
-	private final byte[] towers;
+	transient short[] partitions;
+	private transient byte[] towers;
 
 	private final short[] blockedPartitionsForPlayers;
 	Partition[] partitionObjects = new Partition[NUMBER_OF_START_PARTITION_OBJECTS];
 
+	/**
+	 * The movables that are not player controllable, linked by their position. firstWorkerAt holds the slot of the first worker at a position
+	 * index plus one, nextWorker the slot of the next worker at the same position plus one. The slot of a worker is its id minus
+	 * {@link Integer#MIN_VALUE}. The arrays are null after loading until the workers are counted again.
+	 */
+	private transient int[]           firstWorkerAt;
+	private transient int[]           nextWorker;
+	private transient ILogicMovable[] workers;
+
 	private transient IPlayerChangedListener playerChangedListener = IPlayerChangedListener.DEFAULT_IMPLEMENTATION;
+	private transient IMapChangedListener    mapChangedListener    = IMapChangedListener.DEFAULT_IMPLEMENTATION;
 
 	public PartitionsGrid(short width, short height, PlayerSetting[] playerSettings, IBlockingProvider blockingProvider) {
 		this.width = width;
 		this.height = height;
 		this.blockingProvider = blockingProvider;
+		initWorkerLinks();
 
 		this.players = new Player[playerSettings.length]; // create the players.
 		this.blockedPartitionsForPlayers = new short[playerSettings.length];
@@ -134,6 +152,14 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		int normalizedPartitions = checkNormalizePartitions(0);
 		System.out.println("Normalized " + normalizedPartitions + " partitions");
 		oos.defaultWriteObject();
+		SerializationUtils.writePlane(oos, partitions);
+		SerializationUtils.writePlane(oos, towers);
+	}
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+		partitions = SerializationUtils.readShortPlane(ois);
+		towers = SerializationUtils.readBytePlane(ois);
 	}
 
 	public boolean isDefaultPartition(short partitionId) {
@@ -271,7 +297,7 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 
 	private void occupyAreaOfTower(PartitionOccupyingTower tower) {
 		// set the tower counter of the groundArea to 0 => the ground area will be occupied
-		tower.groundArea.stream().forEach((x, y) -> towers[x + y * width] = 0);
+		tower.groundArea.stream().forEach((x, y) -> setTowerCounterAt(x, y, 0));
 
 		// occupy the area for the new player
 		occupyAreaByTower(tower.playerId, tower.area.stream(), tower.areaBorders);
@@ -311,12 +337,12 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 	 * @param area
 	 */
 	private void recalculateTowerCounter(PartitionOccupyingTower tower, IMapArea area) {
-		area.stream().forEach((x, y) -> towers[x + y * width] = 0);
+		area.stream().forEach((x, y) -> setTowerCounterAt(x, y, 0));
 
 		List<Tuple<Integer, PartitionOccupyingTower>> towersInRange = occupyingTowers.getTowersInRange(tower.position, tower.radius, currTower -> currTower.playerId == tower.playerId);
 		towersInRange.forEach(currTower -> area.stream()
 						.filter(currTower.e2.area::contains)
-						.forEach((x, y) -> towers[x + y * width]++));
+						.forEach((x, y) -> setTowerCounterAt(x, y, towers[x + y * width] + 1)));
 	}
 
 	/**
@@ -496,7 +522,17 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 	private void changeTowerCounter(final byte playerId, CoordinateStream influencingArea, int delta) {
 		influencingArea
 				.filter((x, y) -> partitionObjects[partitions[x + y * width]].playerId == playerId)
-				.forEach((x, y) -> towers[x + y * width] += delta);
+				.forEach((x, y) -> setTowerCounterAt(x, y, towers[x + y * width] + delta));
+	}
+
+	private void setTowerCounterAt(int x, int y, int towerCounter) {
+		int idx = x + y * width;
+		boolean wasEnforced = towers[idx] > 0;
+		towers[idx] = (byte) towerCounter;
+
+		if (wasEnforced != towers[idx] > 0) {
+			mapChangedListener.positionChanged(x, y);
+		}
 	}
 
 	/**
@@ -536,6 +572,7 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		smallerPartitionObject.stopManager();
 
 		partitionObjects[smallerPartition] = biggerPartitionObject;
+		mapChangedListener.partitionsMerged();
 
 		/**
 		 * Flatten all hierarchies: <br>
@@ -619,9 +656,16 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		Partition newPartitionObject = partitionObjects[newPartition];
 
 		oldPartitionObject.removePositionTo(x, y, newPartitionObject);
+		if (firstWorkerAt != null) {
+			for (int slot = firstWorkerAt[idx] - 1; slot >= 0; slot = nextWorker[slot] - 1) {
+				changeWorkerCount(oldPartitionObject, workers[slot], -1);
+				changeWorkerCount(newPartitionObject, workers[slot], 1);
+			}
+		}
 		synchronized (this) {
 			partitions[idx] = newPartition;
 		}
+		mapChangedListener.positionChanged(x, y);
 
 		return newPartitionObject.playerId;
 	}
@@ -680,6 +724,20 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 		}
 	}
 
+	/**
+	 * Sets the given listener. The listener will then be informed of any positions that change their partition or their enforcement by towers.
+	 *
+	 * @param listener
+	 *            The listener to be set or null if no listener should be set.
+	 */
+	public void setMapChangedListener(IMapChangedListener listener) {
+		if (listener == null) {
+			this.mapChangedListener = IMapChangedListener.DEFAULT_IMPLEMENTATION;
+		} else {
+			this.mapChangedListener = listener;
+		}
+	}
+
 	public byte getNumberOfPlayers() {
 		return (byte) players.length;
 	}
@@ -732,27 +790,157 @@ public final class PartitionsGrid implements Serializable, IScheduledTimerable {
 	}
 
 	public void updatePartitionProfessionStats() {
+		if (firstWorkerAt == null) {
+			countWorkers();
+		} else if (Constants.PROFESSION_COUNTS_VALIDATION_ENABLED) {
+			validateWorkerCounts();
+		}
+
 		for(Partition partition : partitionObjects) {
 			if(partition == null) continue;
 
-			partition.getPartitionSettings().getProfessionSettings().resetCount();
+			partition.getPartitionSettings().getProfessionSettings().setCounts(partition.workerCounts);
 		}
 
-		for(ILogicMovable movable : MovableManager.getAllMovables()) {
-			if(movable.getMovableType().isPlayerControllable()) continue;
+		for(Partition partition : partitionObjects) {
+			if(partition == null) continue;
 
-			ShortPoint2D position = movable.getPosition();
-			Partition partition = getPartitionAt(position.x, position.y);
+			partition.convertWorkers();
+		}
+	}
 
-			if(partition.playerId != movable.getPlayer().getPlayerId()) continue;
+	/**
+	 * Must be called before a movable is added to the game, removed from it or changes its position. Movables that are not player controllable
+	 * are counted by the partition at their position if it belongs to their player.
+	 *
+	 * @param movable
+	 *            The movable.
+	 * @param oldPosition
+	 *            The current position of the movable or null if it is added.
+	 * @param newPosition
+	 *            The new position of the movable or null if it is removed.
+	 */
+	public void movablePositionChanged(ILogicMovable movable, ShortPoint2D oldPosition, ShortPoint2D newPosition) {
+		if (movable.getMovableType().isPlayerControllable()) {
+			return;
+		}
+		if (firstWorkerAt == null) {
+			countWorkers(); // the movables are not yet known after loading a savegame. They are still in their old state now.
+		}
 
-			partition.getPartitionSettings().getProfessionSettings().increment(movable.getMovableType());
+		int slot = getWorkerSlot(movable);
+		Partition oldPartitionObject = null;
+		if (oldPosition != null) {
+			int index = oldPosition.x + oldPosition.y * width;
+			if (unlinkWorker(slot, index)) {
+				oldPartitionObject = partitionObjects[partitions[index]];
+			}
 		}
 
-		for(Partition partition : partitionObjects) {
-			if(partition == null) continue;
+		Partition newPartitionObject = null;
+		if (newPosition != null) {
+			int index = newPosition.x + newPosition.y * width;
+			linkWorker(movable, slot, index);
+			newPartitionObject = partitionObjects[partitions[index]];
+		}
 
-			partition.convertWorkers();
+		if (oldPartitionObject != newPartitionObject) { // most steps stay in the same partition
+			if (oldPartitionObject != null) {
+				changeWorkerCount(oldPartitionObject, movable, -1);
+			}
+			if (newPartitionObject != null) {
+				changeWorkerCount(newPartitionObject, movable, 1);
+			}
+		}
+	}
+
+	private void initWorkerLinks() {
+		firstWorkerAt = new int[width * height];
+		nextWorker = new int[16];
+		workers = new ILogicMovable[16];
+	}
+
+	private static int getWorkerSlot(ILogicMovable movable) {
+		return movable.getID() - Integer.MIN_VALUE;
+	}
+
+	private void linkWorker(ILogicMovable movable, int slot, int index) {
+		if (slot >= workers.length) {
+			int newLength = Math.max(slot + 1, workers.length * 2);
+			workers = Arrays.copyOf(workers, newLength);
+			nextWorker = Arrays.copyOf(nextWorker, newLength);
+		}
+		workers[slot] = movable;
+		nextWorker[slot] = firstWorkerAt[index];
+		firstWorkerAt[index] = slot + 1;
+	}
+
+	/**
+	 * @return true if the worker has been linked at the given position index.
+	 */
+	private boolean unlinkWorker(int slot, int index) {
+		int previousSlot = -1;
+		for (int currentSlot = firstWorkerAt[index] - 1; currentSlot >= 0; currentSlot = nextWorker[currentSlot] - 1) {
+			if (currentSlot == slot) {
+				if (previousSlot < 0) {
+					firstWorkerAt[index] = nextWorker[slot];
+				} else {
+					nextWorker[previousSlot] = nextWorker[slot];
+				}
+				nextWorker[slot] = 0;
+				workers[slot] = null;
+				return true;
+			}
+			previousSlot = currentSlot;
+		}
+		return false;
+	}
+
+	private static void changeWorkerCount(Partition partition, ILogicMovable movable, int delta) {
+		if (partition.playerId == movable.getPlayer().getPlayerId()) {
+			partition.workerCounts[movable.getMovableType().ordinal()] += delta;
+		}
+	}
+
+	/**
+	 * Counts the workers of all partitions from scratch.
+	 */
+	private void countWorkers() {
+		for (Partition partition : partitionObjects) {
+			if (partition != null) {
+				partition.workerCounts = new int[EMovableType.NUMBER_OF_MOVABLETYPES];
+			}
+		}
+
+		initWorkerLinks();
+		for (ILogicMovable movable : MovableManager.getAllMovables()) {
+			ShortPoint2D position = movable.getPosition();
+			if (!movable.getMovableType().isPlayerControllable() && position != null) {
+				int index = position.x + position.y * width;
+				linkWorker(movable, getWorkerSlot(movable), index);
+				changeWorkerCount(partitionObjects[partitions[index]], movable, 1);
+			}
+		}
+	}
+
+	/**
+	 * Counts the workers from scratch and reports any difference to the incrementally updated counts. The counts from scratch are used afterwards.
+	 */
+	private void validateWorkerCounts() {
+		Map<Partition, int[]> updatedCounts = new IdentityHashMap<>();
+		for (Partition partition : partitionObjects) {
+			if (partition != null) {
+				updatedCounts.put(partition, partition.workerCounts);
+			}
+		}
+
+		countWorkers();
+
+		for (Map.Entry<Partition, int[]> entry : updatedCounts.entrySet()) {
+			if (!Arrays.equals(entry.getValue(), entry.getKey().workerCounts)) {
+				System.err.println("ERROR: The updated worker counts of partition " + entry.getKey().partitionId + " differ from the counted ones: "
+						+ Arrays.toString(entry.getValue()) + " != " + Arrays.toString(entry.getKey().workerCounts));
+			}
 		}
 	}
 
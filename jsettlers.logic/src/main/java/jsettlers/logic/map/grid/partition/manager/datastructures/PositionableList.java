@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 - 2017
+ * Copyright (c) 2015
  *
  * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
  * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
@@ -14,48 +14,80 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition.manager.datastructures;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.Iterator;
-import java.util.LinkedList;
-
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.function.Consumer;
+import java.util.function.Predicate;
+
 import jsettlers.common.position.ILocatable;
 import jsettlers.common.position.ShortPoint2D;
-import jsettlers.common.utils.MathUtils;
 
 /**
  * This is a data structure for storing and retrieving objects at given positions.<br>
  * It is also possible to find the nearest object around a given position.
+ * <p>
+ * The objects are kept in insertion order and are additionally sorted into buckets of {@value #BUCKET_SIZE}x{@value #BUCKET_SIZE} positions, so
+ * the search for the nearest object only needs to look at the buckets around the search position. If several objects have the same distance,
+ * the one inserted first is returned, exactly like a linear search over the insertion order.
+ * <p>
+ * Objects that change their position while they are stored in the list have to implement {@link ITrackedLocatable}.
  *
  * @param <T>
  * @author Andreas Eberle
  */
 public class PositionableList<T extends ILocatable> implements Serializable {
-	private static final long serialVersionUID = 414099060331344505L;
+	private static final long serialVersionUID = -2279474425384367349L;
+
+	private static final int BUCKET_SHIFT            = 4;
+	private static final int BUCKET_SIZE             = 1 << BUCKET_SHIFT;
+	private static final int MIN_INDEXED_SEARCH_SIZE = 16;
+
+	private transient LinkedHashMap<T, Entry<T>>            entries;
+	private transient HashMap<Integer, ArrayList<Entry<T>>> buckets;
+	private transient long                                  nextSequence;
 
-	protected final LinkedList<T> data;
+	private transient int minBucketX;
+	private transient int maxBucketX;
+	private transient int minBucketY;
+	private transient int maxBucketY;
 
 	public PositionableList() {
-		data = new LinkedList<>();
+		init();
+	}
+
+	private void init() {
+		entries = new LinkedHashMap<>();
+		buckets = new HashMap<>();
+		nextSequence = 0;
+		resetBounds();
+	}
+
+	private void resetBounds() {
+		minBucketX = minBucketY = Integer.MAX_VALUE;
+		maxBucketX = maxBucketY = Integer.MIN_VALUE;
 	}
 
 	public void insert(T object) {
-		if(!data.contains(object)) {
+		if (!entries.containsKey(object)) {
 			// TODO fix double inserts from the root
-			data.add(object);
+			ShortPoint2D position = object.getPosition();
+			append(object, position.x, position.y);
 		}
 	}
 
 	public T removeObjectAt(ShortPoint2D position) {
-		Iterator<T> iterator = data.iterator();
-		while (iterator.hasNext()) {
-			T curr = iterator.next();
-			if (curr.getPosition().equals(position)) {
-				iterator.remove();
-				return curr;
-			}
+		Entry<T> entry = getFirstEntryAt(position.x, position.y);
+		if (entry == null) {
+			return null;
 		}
-		return null;
+		removeEntry(entry);
+		return entry.object;
 	}
 
 	/**
@@ -66,12 +98,8 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 	 * @return Returns the found object at the given position or null if no object has been found.
 	 */
 	public T getObjectAt(ShortPoint2D position) {
-		for (T curr : data) {
-			if (curr.getPosition().equals(position)) {
-				return curr;
-			}
-		}
-		return null;
+		Entry<T> entry = getFirstEntryAt(position.x, position.y);
+		return entry != null ? entry.object : null;
 	}
 
 	/**
@@ -79,7 +107,7 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 	 * @return Returns any object in this list or null if this list is empty
 	 */
 	public T getAnyObject() {
-		return data.peekFirst();
+		return entries.isEmpty() ? null : entries.keySet().iterator().next();
 	}
 
 	/**
@@ -93,70 +121,380 @@ public class PositionableList<T extends ILocatable> implements Serializable {
 		T currBest = getObjectCloseTo(position);
 
 		if (currBest != null) {
-			data.remove(currBest);
+			remove(currBest);
 		}
 
 		return currBest;
 	}
 
 	protected T getObjectCloseTo(ShortPoint2D position) {
-		int bestDistance = Integer.MAX_VALUE;
+		return getObjectCloseTo(position, null, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Finds the accepted object that's closest to the given position.
+	 *
+	 * @param position
+	 * 		position to be used to find the nearest accepted neighbor around it.
+	 * @param acceptor
+	 * 		if acceptor != null, only objects accepted by it are returned. The acceptor must not change this list.
+	 * @param maxSquareDistance
+	 * 		only objects with a square distance lower than this value are returned.
+	 * @return accepted object that's nearest to position or null if there is none.
+	 */
+	protected final T getObjectCloseTo(ShortPoint2D position, Predicate<? super T> acceptor, int maxSquareDistance) {
+		if (entries.size() < MIN_INDEXED_SEARCH_SIZE || getNumberOfBuckets() > entries.size()) {
+			return searchLinear(position.x, position.y, acceptor, maxSquareDistance);
+		} else {
+			return searchBuckets(position.x, position.y, acceptor, maxSquareDistance);
+		}
+	}
+
+	private T searchLinear(int x, int y, Predicate<? super T> acceptor, int maxSquareDistance) {
+		int bestDistance = maxSquareDistance;
 		T currBest = null;
 
-		for (T currEntry : data) {
-			int currDist = MathUtils.squareHypot(position, currEntry.getPosition());
+		for (Entry<T> currEntry : entries.values()) {
+			if (acceptor != null && !acceptor.test(currEntry.object)) {
+				continue;
+			}
 
+			int currDist = currEntry.getSquareDistance(x, y);
 			if (bestDistance > currDist) {
 				bestDistance = currDist;
-				currBest = currEntry;
+				currBest = currEntry.object;
 			}
 		}
 		return currBest;
 	}
 
+	/**
+	 * Searches the buckets in rings around the bucket of the given position until no bucket of the next ring can contain a closer object.
+	 */
+	private T searchBuckets(int x, int y, Predicate<? super T> acceptor, int maxSquareDistance) {
+		int centerBucketX = x >> BUCKET_SHIFT;
+		int centerBucketY = y >> BUCKET_SHIFT;
+		int maxRing = Math.max(Math.max(centerBucketX - minBucketX, maxBucketX - centerBucketX), Math.max(centerBucketY - minBucketY, maxBucketY - centerBucketY));
+
+		int bestDistance = maxSquareDistance;
+		Entry<T> currBest = null;
+
+		for (int ring = 0; ring <= maxRing; ring++) {
+			if (ring > 0) {
+				int minRingDistance = getMinRingDistance(x, y, centerBucketX, centerBucketY, ring);
+				int minRingSquareDistance = minRingDistance * minRingDistance;
+				if (minRingSquareDistance > bestDistance || (currBest == null && minRingSquareDistance >= bestDistance)) {
+					break;
+				}
+			}
+
+			for (int bucketY = centerBucketY - ring; bucketY <= centerBucketY + ring; bucketY++) {
+				if (bucketY < minBucketY || bucketY > maxBucketY) {
+					continue;
+				}
+
+				boolean outerRow = bucketY == centerBucketY - ring || bucketY == centerBucketY + ring;
+				int stepX = outerRow ? 1 : 2 * ring;
+				for (int bucketX = centerBucketX - ring; bucketX <= centerBucketX + ring; bucketX += stepX) {
+					if (bucketX < minBucketX || bucketX > maxBucketX) {
+						continue;
+					}
+
+					ArrayList<Entry<T>> bucket = buckets.get(getBucketKey(bucketX, bucketY));
+					if (bucket == null) {
+						continue;
+					}
+
+					for (int i = 0; i < bucket.size(); i++) {
+						Entry<T> currEntry = bucket.get(i);
+						if (acceptor != null && !acceptor.test(currEntry.object)) {
+							continue;
+						}
+
+						int currDist = currEntry.getSquareDistance(x, y);
+						if (bestDistance > currDist || (bestDistance == currDist && currBest != null && currEntry.sequence < currBest.sequence)) {
+							bestDistance = currDist;
+							currBest = currEntry;
+						}
+					}
+				}
+			}
+		}
+		return currBest != null ? currBest.object : null;
+	}
+
+	/**
+	 * @return The minimum distance of the given position to any position outside of the rings before the given ring.
+	 */
+	private static int getMinRingDistance(int x, int y, int centerBucketX, int centerBucketY, int ring) {
+		int left = x - ((centerBucketX - ring + 1) << BUCKET_SHIFT) + 1;
+		int right = ((centerBucketX + ring) << BUCKET_SHIFT) - x;
+		int top = y - ((centerBucketY - ring + 1) << BUCKET_SHIFT) + 1;
+		int bottom = ((centerBucketY + ring) << BUCKET_SHIFT) - y;
+		return Math.min(Math.min(left, right), Math.min(top, bottom));
+	}
+
+	/**
+	 * Informs this list that the position of the given object has changed. Objects that are not stored in this list are ignored.
+	 *
+	 * @param object
+	 * 		The object that changed its position.
+	 */
+	public void positionChanged(ILocatable object) {
+		Entry<T> entry = entries.get(object);
+		ShortPoint2D position = object.getPosition();
+		if (entry == null || position == null || (entry.x == position.x && entry.y == position.y)) {
+			return;
+		}
+
+		removeFromBucket(entry);
+		entry.x = position.x;
+		entry.y = position.y;
+		addToBucket(entry);
+	}
+
 	@Override
 	public String toString() {
-		return data.toString();
+		return entries.keySet().toString();
 	}
 
 	public void moveAll(PositionableList<T> otherList) {
-		LinkedList<T> othersData = otherList.data;
-		data.addAll(othersData);
-		othersData.clear();
+		moveAll(otherList, null);
 	}
 
 	public void moveAll(PositionableList<T> otherList, Consumer<T> movedVisitor) {
-		LinkedList<T> othersData = otherList.data;
-		for (T othersDatum : othersData) {
-			movedVisitor.accept(othersDatum);
-			data.add(othersDatum);
+		for (Entry<T> othersEntry : otherList.entries.values()) {
+			otherList.objectRemoved(othersEntry.object);
+			if (movedVisitor != null) {
+				movedVisitor.accept(othersEntry.object);
+			}
+			if (!entries.containsKey(othersEntry.object)) {
+				append(othersEntry.object, othersEntry.x, othersEntry.y);
+			} else {
+				register(othersEntry.object);
+			}
 		}
-		othersData.clear();
+		otherList.init();
 	}
 
 	public void remove(T object) {
-		this.data.remove(object);
+		Entry<T> entry = entries.get(object);
+		if (entry != null) {
+			removeEntry(entry);
+		}
 	}
 
 	public boolean isEmpty() {
-		return data.isEmpty();
+		return entries.isEmpty();
 	}
 
 	public void moveObjectsAtPositionTo(ShortPoint2D position, PositionableList<T> newList, Consumer<T> movedVisitor) {
-		if(data.isEmpty()) return;
-
-		Iterator<T> iterator = data.iterator();
-		while (iterator.hasNext()) {
-			T curr = iterator.next();
-			if (curr.getPosition().equals(position)) {
-				iterator.remove();
-				movedVisitor.accept(curr);
-				newList.data.add(curr);
+		ArrayList<Entry<T>> bucket = buckets.get(getBucketKey(position.x >> BUCKET_SHIFT, position.y >> BUCKET_SHIFT));
+		if (bucket == null || bucket.isEmpty()) {
+			return;
+		}
+
+		ArrayList<Entry<T>> movedEntries = new ArrayList<>();
+		for (Entry<T> entry : bucket) {
+			if (entry.isAt(position.x, position.y)) {
+				movedEntries.add(entry);
+			}
+		}
+		movedEntries.sort((first, second) -> Long.compare(first.sequence, second.sequence));
+
+		for (Entry<T> entry : movedEntries) {
+			removeEntry(entry);
+			movedVisitor.accept(entry.object);
+			if (!newList.entries.containsKey(entry.object)) {
+				newList.append(entry.object, entry.x, entry.y);
+			} else {
+				newList.register(entry.object);
 			}
 		}
 	}
 
 	public int size() {
-		return data.size();
+		return entries.size();
+	}
+
+	/**
+	 * Removes the objects accepted by the given predicate.
+	 *
+	 * @param position
+	 * 		Only objects at this position are checked. If this is null, all objects are checked.
+	 * @param predicate
+	 * 		Predicate accepting the objects to be removed.
+	 */
+	protected final void removeObjects(ShortPoint2D position, Predicate<? super T> predicate) {
+		ArrayList<Entry<T>> removedEntries = new ArrayList<>();
+		if (position == null) {
+			for (Entry<T> entry : entries.values()) {
+				if (predicate.test(entry.object)) {
+					removedEntries.add(entry);
+				}
+			}
+		} else {
+			ArrayList<Entry<T>> bucket = buckets.get(getBucketKey(position.x >> BUCKET_SHIFT, position.y >> BUCKET_SHIFT));
+			if (bucket != null) {
+				for (Entry<T> entry : bucket) {
+					if (entry.isAt(position.x, position.y) && predicate.test(entry.object)) {
+						removedEntries.add(entry);
+					}
+				}
+			}
+		}
+
+		for (Entry<T> entry : removedEntries) {
+			removeEntry(entry);
+		}
+	}
+
+	/**
+	 * @return A read only view of the objects of this list in insertion order.
+	 */
+	protected final Iterable<T> getObjects() {
+		return Collections.unmodifiableSet(entries.keySet());
+	}
+
+	private void append(T object, short x, short y) {
+		Entry<T> entry = new Entry<>(object, x, y, nextSequence++);
+		entries.put(object, entry);
+		addToBucket(entry);
+		register(object);
+		objectAdded(object);
+	}
+
+	private void register(T object) {
+		if (object instanceof ITrackedLocatable) {
+			((ITrackedLocatable) object).setPositionableList(this);
+		}
+	}
+
+	private void removeEntry(Entry<T> entry) {
+		entries.remove(entry.object);
+		removeFromBucket(entry);
+		if (entries.isEmpty()) {
+			resetBounds();
+		}
+
+		if (entry.object instanceof ITrackedLocatable) {
+			ITrackedLocatable trackedObject = (ITrackedLocatable) entry.object;
+			if (trackedObject.getPositionableList() == this) {
+				trackedObject.setPositionableList(null);
+			}
+		}
+		objectRemoved(entry.object);
+	}
+
+	/**
+	 * Called after an object has been added to this list. Objects of a deserialized list are not reported.
+	 */
+	protected void objectAdded(T object) {
+	}
+
+	/**
+	 * Called after an object has been removed from this list or moved to another list.
+	 */
+	protected void objectRemoved(T object) {
+	}
+
+	private Entry<T> getFirstEntryAt(short x, short y) {
+		ArrayList<Entry<T>> bucket = buckets.get(getBucketKey(x >> BUCKET_SHIFT, y >> BUCKET_SHIFT));
+		if (bucket == null) {
+			return null;
+		}
+
+		Entry<T> first = null;
+		for (int i = 0; i < bucket.size(); i++) {
+			Entry<T> entry = bucket.get(i);
+			if (entry.isAt(x, y) && (first == null || entry.sequence < first.sequence)) {
+				first = entry;
+			}
+		}
+		return first;
+	}
+
+	private void addToBucket(Entry<T> entry) {
+		int bucketX = entry.x >> BUCKET_SHIFT;
+		int bucketY = entry.y >> BUCKET_SHIFT;
+		buckets.computeIfAbsent(getBucketKey(bucketX, bucketY), key -> new ArrayList<>()).add(entry);
+
+		minBucketX = Math.min(minBucketX, bucketX);
+		maxBucketX = Math.max(maxBucketX, bucketX);
+		minBucketY = Math.min(minBucketY, bucketY);
+		maxBucketY = Math.max(maxBucketY, bucketY);
+	}
+
+	private void removeFromBucket(Entry<T> entry) {
+		ArrayList<Entry<T>> bucket = buckets.get(getBucketKey(entry.x >> BUCKET_SHIFT, entry.y >> BUCKET_SHIFT));
+		for (int i = bucket.size() - 1; i >= 0; i--) {
+			if (bucket.get(i) == entry) {
+				int last = bucket.size() - 1;
+				bucket.set(i, bucket.get(last));
+				bucket.remove(last);
+				return;
+			}
+		}
+	}
+
+	private long getNumberOfBuckets() {
+		if (entries.isEmpty()) {
+			return 0;
+		}
+		return (long) (maxBucketX - minBucketX + 1) * (maxBucketY - minBucketY + 1);
+	}
+
+	private static int getBucketKey(int bucketX, int bucketY) {
+		return bucketX << 16 | bucketY;
+	}
+
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		oos.writeInt(entries.size());
+		for (Entry<T> entry : entries.values()) {
+			oos.writeObject(entry.object);
+			oos.writeShort(entry.x);
+			oos.writeShort(entry.y);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+		init();
+		int size = ois.readInt();
+		for (int i = 0; i < size; i++) {
+			T object = (T) ois.readObject();
+			short x = ois.readShort();
+			short y = ois.readShort();
+			// the object may not be completely deserialized yet, so the stored position is used and the object is not touched
+			Entry<T> entry = new Entry<>(object, x, y, nextSequence++);
+			entries.put(object, entry);
+			addToBucket(entry);
+		}
+	}
+
+	private static final class Entry<T> {
+		final T    object;
+		final long sequence;
+		short      x;
+		short      y;
+
+		Entry(T object, short x, short y, long sequence) {
+			this.object = object;
+			this.x = x;
+			this.y = y;
+			this.sequence = sequence;
+		}
+
+		boolean isAt(int x, int y) {
+			return this.x == x && this.y == y;
+		}
+
+		int getSquareDistance(int x, int y) {
+			int dx = this.x - x;
+			int dy = this.y - y;
+			return dx * dx + dy * dy;
+		}
 	}
 }
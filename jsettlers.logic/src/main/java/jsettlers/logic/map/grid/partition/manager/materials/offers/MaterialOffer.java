@@ -23,6 +23,7 @@ import jsettlers.logic.map.grid.partition.manager.materials.MaterialsManager;
 import jsettlers.logic.map.grid.partition.manager.materials.interfaces.IMaterialOffer;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.list.IListManageable;
 import jsettlers.logic.map.grid.partition.manager.materials.offers.list.IPrioritizable;
+import jsettlers.logic.map.grid.partition.manager.materials.offers.list.ManagingPositionableList;
 
 /**
  * This class is used by {@link MaterialsManager} to store offers of materials.
@@ -38,6 +39,8 @@ public class MaterialOffer implements Serializable, ILocatable, IPrioritizable<E
 	private byte amount = 0;
 	private byte inDistribution = 0;
 
+	private ManagingPositionableList<?> managingList;
+
 	MaterialOffer(ShortPoint2D position, EMaterialType materialType, IOffersCountListener countChangedListener, EOfferPriority priority, byte amount) {
 		this.position = position;
 		this.materialType = materialType;
@@ -62,6 +65,9 @@ public class MaterialOffer implements Serializable, ILocatable, IPrioritizable<E
 	public void incrementAmount() {
 		++amount;
 		countChangedListener.offersCountChanged(materialType, +1);
+		if (amount == 1 && managingList != null) {
+			managingList.removableChanged(this);
+		}
 	}
 
 	public byte getAmount() {
@@ -92,6 +98,16 @@ public class MaterialOffer implements Serializable, ILocatable, IPrioritizable<E
 		return amount <= 0;
 	}
 
+	@Override
+	public void setManagingList(ManagingPositionableList<?> list) {
+		this.managingList = list;
+	}
+
+	@Override
+	public ManagingPositionableList<?> getManagingList() {
+		return managingList;
+	}
+
 	@Override
 	public String toString() {
 		return "MaterialOffer{" + "position=" + position + ", priority=" + priority + ", amount=" + amount + '}';
@@ -113,6 +129,9 @@ public class MaterialOffer implements Serializable, ILocatable, IPrioritizable<E
 	public void offerTaken() {
 		inDistribution--;
 		amount--;
+		if (amount == 0 && managingList != null) {
+			managingList.removableChanged(this);
+		}
 	}
 
 	@Override
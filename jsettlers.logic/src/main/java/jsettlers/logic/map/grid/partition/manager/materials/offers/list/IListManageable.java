@@ -21,4 +21,13 @@ public interface IListManageable {
 	boolean isActive();
 
 	boolean canBeRemoved();
+
+	/**
+	 * @param list
+	 * 		The list this object is stored in or null if it has been removed from its list. The object has to call
+	 * 		{@link ManagingPositionableList#removableChanged(IListManageable)} on this list whenever the result of {@link #canBeRemoved()} changes.
+	 */
+	void setManagingList(ManagingPositionableList<?> list);
+
+	ManagingPositionableList<?> getManagingList();
 }
@@ -14,56 +14,160 @@
  *******************************************************************************/
 package jsettlers.logic.map.grid.partition.manager.materials.offers.list;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.function.Consumer;
 
 import jsettlers.common.position.ILocatable;
 import jsettlers.common.position.ShortPoint2D;
-import jsettlers.common.utils.MathUtils;
 import jsettlers.logic.map.grid.partition.manager.datastructures.PositionableList;
 
 /**
  * This is a data structure for storing and retrieving objects at given positions.<br>
  * It is also possible to find the nearest object around a given position.
+ * <p>
+ * Entries that can be removed are dropped when a search visits them. Removing and moving entries drops the removable entries they would
+ * otherwise move, and {@link #size()} and {@link #isEmpty()} only count the entries that can not be removed. {@link #getObjectAt(ShortPoint2D)}
+ * still returns a removable entry that has not been dropped yet, so it can be used again.
  *
  * @param <T>
  * @author Andreas Eberle
  */
 public class ManagingPositionableList<T extends ILocatable & IListManageable> extends PositionableList<T> {
+	private transient ArrayList<T> removableEntries;
+	private transient int          notRemovableCount;
+	private transient boolean      notRemovableCountValid;
+
+	public ManagingPositionableList() {
+		notRemovableCountValid = true;
+	}
 
 	@Override
 	protected T getObjectCloseTo(ShortPoint2D position) {
-		int bestDistance = Integer.MAX_VALUE;
-		T currBest = null;
+		return getObjectCloseTo(position, Integer.MAX_VALUE);
+	}
 
-		for (Iterator<T> iterator = data.iterator(); iterator.hasNext(); ) {
-			T currEntry = iterator.next();
+	/**
+	 * Finds the active object that's closest to the given position. Old entries that are found during the search are removed.
+	 *
+	 * @param maxSquareDistance
+	 * 		only objects with a square distance lower than this value are returned.
+	 */
+	T getObjectCloseTo(ShortPoint2D position, int maxSquareDistance) {
+		ArrayList<T> foundRemovableEntries = getRemovableEntries();
 
+		T currBest = getObjectCloseTo(position, currEntry -> {
 			if (currEntry.canBeRemoved()) { // remove old entries no longer needed
-				iterator.remove();
-
-			} else if (currEntry.isActive()) { // only use the active ones
-				int currDist = MathUtils.squareHypot(position, currEntry.getPosition());
-
-				if (bestDistance > currDist) {
-					bestDistance = currDist;
-					currBest = currEntry;
-				}
+				foundRemovableEntries.add(currEntry);
+				return false;
 			}
-		}
+			return currEntry.isActive(); // only use the active ones
+		}, maxSquareDistance);
+
+		removeAll(foundRemovableEntries);
 		return currBest;
 	}
 
 	public boolean hasNoActive() {
-		for (Iterator<T> iterator = data.iterator(); iterator.hasNext(); ) {
-			T datum = iterator.next();
+		ArrayList<T> foundRemovableEntries = getRemovableEntries();
+		boolean hasNoActive = true;
 
+		for (T datum : getObjects()) {
 			if (datum.canBeRemoved()) {
-				iterator.remove();
+				foundRemovableEntries.add(datum);
 
 			} else if (datum.isActive()) {
-				return false;
+				hasNoActive = false;
+				break;
+			}
+		}
+
+		removeAll(foundRemovableEntries);
+		return hasNoActive;
+	}
+
+	@Override
+	public T removeObjectAt(ShortPoint2D position) {
+		removeObjects(position, IListManageable::canBeRemoved);
+		return super.removeObjectAt(position);
+	}
+
+	@Override
+	public void moveAll(PositionableList<T> otherList, Consumer<T> movedVisitor) {
+		if (otherList instanceof ManagingPositionableList) {
+			((ManagingPositionableList<T>) otherList).removeObjects(null, IListManageable::canBeRemoved);
+		}
+		super.moveAll(otherList, movedVisitor);
+	}
+
+	@Override
+	public void moveObjectsAtPositionTo(ShortPoint2D position, PositionableList<T> newList, Consumer<T> movedVisitor) {
+		removeObjects(position, IListManageable::canBeRemoved);
+		super.moveObjectsAtPositionTo(position, newList, movedVisitor);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	/**
+	 * @return The number of entries that can not be removed.
+	 */
+	@Override
+	public int size() {
+		if (!notRemovableCountValid) { // the entries of a loaded list are not reported, so they are counted once
+			notRemovableCount = 0;
+			for (T object : getObjects()) {
+				if (!object.canBeRemoved()) {
+					notRemovableCount++;
+				}
 			}
+			notRemovableCountValid = true;
+		}
+		return notRemovableCount;
+	}
+
+	/**
+	 * Informs this list that the result of {@link IListManageable#canBeRemoved()} of the given object has changed.
+	 *
+	 * @param object
+	 * 		The object stored in this list.
+	 */
+	public void removableChanged(IListManageable object) {
+		if (notRemovableCountValid) {
+			notRemovableCount += object.canBeRemoved() ? -1 : 1;
+		}
+	}
+
+	@Override
+	protected void objectAdded(T object) {
+		object.setManagingList(this);
+		if (notRemovableCountValid && !object.canBeRemoved()) {
+			notRemovableCount++;
+		}
+	}
+
+	@Override
+	protected void objectRemoved(T object) {
+		if (object.getManagingList() == this) {
+			object.setManagingList(null);
+		}
+		if (notRemovableCountValid && !object.canBeRemoved()) {
+			notRemovableCount--;
+		}
+	}
+
+	private ArrayList<T> getRemovableEntries() {
+		if (removableEntries == null) {
+			removableEntries = new ArrayList<>();
+		}
+		return removableEntries;
+	}
+
+	private void removeAll(ArrayList<T> foundRemovableEntries) {
+		for (T removableEntry : foundRemovableEntries) {
+			remove(removableEntry);
 		}
-		return true;
+		foundRemovableEntries.clear();
 	}
 }
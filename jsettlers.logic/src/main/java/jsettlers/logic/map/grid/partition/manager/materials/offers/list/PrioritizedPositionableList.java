@@ -50,10 +50,12 @@ public class PrioritizedPositionableList<P extends Enum, T extends ILocatable &
 
 	public T getObjectCloseTo(ShortPoint2D position, P minimumIncludedPriority) {
 		T closestObject = null;
+		int closestDistance = Integer.MAX_VALUE;
 		for (int i = lists.length - 1; i >= minimumIncludedPriority.ordinal(); i--) {
-			T object = lists[i].getObjectCloseTo(position);
-			if (closestObject == null || (object != null && MathUtils.squareHypot(object.getPosition(), position) < MathUtils.squareHypot(closestObject.getPosition(), position))) {
+			T object = lists[i].getObjectCloseTo(position, closestDistance); // lower priorities are only used if they are closer
+			if (object != null) {
 				closestObject = object;
+				closestDistance = MathUtils.squareHypot(object.getPosition(), position);
 			}
 		}
 		return closestObject;
@@ -97,12 +97,25 @@ public class ProfessionSettings implements Serializable, IProfessionSettings {
 		bricklayerSettings.resetCount();
 	}
 	
-	public void increment(EMovableType movableType) {
-		if(!movableType.isPlayerControllable()) workerCount++;
+	/**
+	 * Replaces the current counts of the professions.
+	 *
+	 * @param movableTypeCounts
+	 *            The number of movables that are not player controllable for every {@link EMovableType}, indexed by the ordinal.
+	 */
+	public void setCounts(int[] movableTypeCounts) {
+		resetCount();
 
-		SingleProfessionLimit settings = getSettings(movableType);
-		if(settings != null) {
-			settings.incrementRealAmount();
+		for (EMovableType movableType : EMovableType.VALUES) {
+			int count = movableTypeCounts[movableType.ordinal()];
+			if (count == 0 || movableType.isPlayerControllable()) continue;
+
+			workerCount += count;
+
+			SingleProfessionLimit settings = getSettings(movableType);
+			if(settings != null) {
+				settings.incrementRealAmount(count);
+			}
 		}
 	}
 
@@ -31,6 +31,10 @@ public abstract class SingleProfessionLimit implements ISingleProfessionLimit, S
 		currentAmount++;
 	}
 
+	public final void incrementRealAmount(int amount) {
+		currentAmount += amount;
+	}
+
 	public final void incrementTempAmount() {
 		tempAmount++;
 	}
@@ -14,6 +14,8 @@
  *******************************************************************************/
 package jsettlers.logic.map.loading.list;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -38,6 +40,9 @@ import jsettlers.logic.map.loading.newmap.FreshMapSerializer;
 import jsettlers.logic.map.loading.newmap.MapFileHeader;
 import jsettlers.logic.map.loading.newmap.MapFileHeader.MapType;
 import jsettlers.logic.map.loading.newmap.RemakeMapLoader;
+import jsettlers.logic.map.loading.savegame.GridPlanes;
+import jsettlers.logic.map.loading.savegame.GridPlanes.PlaneObjectOutputStream;
+import jsettlers.logic.map.loading.savegame.SavegameSections;
 import jsettlers.logic.timer.RescheduleTimer;
 
 /**
@@ -218,19 +223,40 @@ public class MapList implements IMapListerCallable {
 	 */
 	public synchronized void saveMap(PlayerState[] playerStates, MapFileHeader header, MainGrid grid) throws IOException {
 		MilliStopWatch watch = new MilliStopWatch();
-		OutputStream outStream = saveDirectory.getOutputStream(header);
-
-		header.writeTo(outStream);
+		writeSavegame(header, createSavegameSections(playerStates, grid));
+		watch.stop("Writing savegame required");
+	}
 
-		ObjectOutputStream oos = new ObjectOutputStream(outStream);
+	/**
+	 * Serializes the game into the uncompressed sections of a savegame. The sections are a snapshot of the game, so the game may continue
+	 * while they are written with {@link #writeSavegame(MapFileHeader, SavegameSections)}. The map logic must not run while calling this
+	 * method.
+	 */
+	public static SavegameSections createSavegameSections(PlayerState[] playerStates, MainGrid grid) throws IOException {
+		ByteArrayOutputStream state = new ByteArrayOutputStream();
+		GridPlanes planes = new GridPlanes();
+		ObjectOutputStream oos = new PlaneObjectOutputStream(state, planes);
 		MatchConstants.serialize(oos);
 		oos.writeObject(playerStates);
 		GameSerializer gameSerializer = new GameSerializer();
 		gameSerializer.save(grid, oos);
 		RescheduleTimer.saveTo(oos);
-
 		oos.close();
-		watch.stop("Writing savegame required");
+
+		SavegameSections sections = new SavegameSections();
+		sections.put(SavegameSections.STATE, state.toByteArray());
+		sections.put(SavegameSections.PLANES, planes.toByteArray());
+		return sections;
+	}
+
+	/**
+	 * Compresses the given sections and writes them as a new savegame to disk.
+	 */
+	public synchronized void writeSavegame(MapFileHeader header, SavegameSections sections) throws IOException {
+		OutputStream outStream = saveDirectory.getOutputStream(header);
+		header.writeTo(outStream);
+		sections.writeTo(outStream);
+		outStream.close();
 
 		loadFileList();
 	}
@@ -336,4 +362,41 @@ public class MapList implements IMapListerCallable {
 		}
 	}
 
+	/**
+	 * A map held in memory, e.g. a keyframe of a replay.
+	 */
+	public static class ListedMemoryMap implements IListedMap {
+		private final String fileName;
+		private final byte[] data;
+
+		public ListedMemoryMap(String fileName, byte[] data) {
+			this.fileName = fileName;
+			this.data = data;
+		}
+
+		@Override
+		public boolean isCompressed() {
+			return false;
+		}
+
+		@Override
+		public InputStream getInputStream() {
+			return new ByteArrayInputStream(data);
+		}
+
+		@Override
+		public String getFileName() {
+			return fileName;
+		}
+
+		@Override
+		public File getFile() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void delete() {
+			throw new UnsupportedOperationException();
+		}
+	}
 }
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The big primitive arrays of the grids of a savegame.
+ * <p>
+ * While a game is written to a {@link PlaneObjectOutputStream}, the grids hand their planes to this class instead of serializing them into the
+ * object stream. The planes are then dumped as raw primitive arrays into their own savegame section. While the game is read from a
+ * {@link PlaneObjectInputStream}, the grids take their planes back in the same order.
+ *
+ * @see jsettlers.logic.SerializationUtils#writePlane(ObjectOutputStream, byte[])
+ */
+public final class GridPlanes {
+	private static final byte BYTE_PLANE  = 1;
+	private static final byte SHORT_PLANE = 2;
+	private static final byte LONG_PLANE  = 3;
+
+	private final List<Object> planes = new ArrayList<>();
+	private final ByteBuffer   buffer;
+
+	public GridPlanes() {
+		this.buffer = null;
+	}
+
+	/**
+	 * Creates the planes of a savegame section written by {@link #toByteArray()}.
+	 */
+	public GridPlanes(byte[] data) {
+		this.buffer = ByteBuffer.wrap(data);
+	}
+
+	public void add(byte[] plane) {
+		planes.add(plane);
+	}
+
+	public void add(short[] plane) {
+		planes.add(plane);
+	}
+
+	public void add(long[] plane) {
+		planes.add(plane);
+	}
+
+	public byte[] nextBytePlane() throws IOException {
+		byte[] plane = new byte[nextPlaneLength(BYTE_PLANE)];
+		buffer.get(plane);
+		return plane;
+	}
+
+	public short[] nextShortPlane() throws IOException {
+		short[] plane = new short[nextPlaneLength(SHORT_PLANE)];
+		buffer.asShortBuffer().get(plane);
+		buffer.position(buffer.position() + 2 * plane.length);
+		return plane;
+	}
+
+	public long[] nextLongPlane() throws IOException {
+		long[] plane = new long[nextPlaneLength(LONG_PLANE)];
+		buffer.asLongBuffer().get(plane);
+		buffer.position(buffer.position() + 8 * plane.length);
+		return plane;
+	}
+
+	private int nextPlaneLength(byte expectedType) throws IOException {
+		if (buffer == null || buffer.remaining() < 5) {
+			throw new IOException("The savegame does not contain more grid planes.");
+		}
+		byte type = buffer.get();
+		if (type != expectedType) {
+			throw new IOException("Expected a grid plane of type " + expectedType + " but found type " + type + ".");
+		}
+		return buffer.getInt();
+	}
+
+	public byte[] toByteArray() {
+		int size = 0;
+		for (Object plane : planes) {
+			if (plane instanceof byte[]) {
+				size += 5 + ((byte[]) plane).length;
+			} else if (plane instanceof short[]) {
+				size += 5 + 2 * ((short[]) plane).length;
+			} else {
+				size += 5 + 8 * ((long[]) plane).length;
+			}
+		}
+
+		ByteBuffer data = ByteBuffer.allocate(size);
+		for (Object plane : planes) {
+			if (plane instanceof byte[]) {
+				byte[] bytePlane = (byte[]) plane;
+				data.put(BYTE_PLANE).putInt(bytePlane.length).put(bytePlane);
+			} else if (plane instanceof short[]) {
+				short[] shortPlane = (short[]) plane;
+				data.put(SHORT_PLANE).putInt(shortPlane.length);
+				data.asShortBuffer().put(shortPlane);
+				data.position(data.position() + 2 * shortPlane.length);
+			} else {
+				long[] longPlane = (long[]) plane;
+				data.put(LONG_PLANE).putInt(longPlane.length);
+				data.asLongBuffer().put(longPlane);
+				data.position(data.position() + 8 * longPlane.length);
+			}
+		}
+		return data.array();
+	}
+
+	/**
+	 * An {@link ObjectOutputStream} that collects the grid planes in {@link GridPlanes}.
+	 */
+	public static class PlaneObjectOutputStream extends ObjectOutputStream {
+		private final GridPlanes planes;
+
+		public PlaneObjectOutputStream(OutputStream out, GridPlanes planes) throws IOException {
+			super(out);
+			this.planes = planes;
+		}
+
+		public GridPlanes getPlanes() {
+			return planes;
+		}
+	}
+
+	/**
+	 * An {@link ObjectInputStream} that takes the grid planes from {@link GridPlanes}.
+	 */
+	public static class PlaneObjectInputStream extends ObjectInputStream {
+		private final GridPlanes planes;
+
+		public PlaneObjectInputStream(InputStream in, GridPlanes planes) throws IOException {
+			super(in);
+			this.planes = planes;
+		}
+
+		public GridPlanes getPlanes() {
+			return planes;
+		}
+	}
+}
@@ -14,7 +14,10 @@
  *******************************************************************************/
 package jsettlers.logic.map.loading.savegame;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
 
 import jsettlers.logic.map.loading.data.IMapData;
@@ -26,6 +29,7 @@ import jsettlers.logic.map.grid.GameSerializer;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.loading.newmap.RemakeMapLoader;
 import jsettlers.logic.map.loading.list.IListedMap;
+import jsettlers.logic.map.loading.savegame.GridPlanes.PlaneObjectInputStream;
 import jsettlers.logic.map.loading.newmap.MapFileHeader;
 import jsettlers.logic.player.PlayerSetting;
 import jsettlers.logic.timer.RescheduleTimer;
@@ -41,9 +45,19 @@ public class SavegameLoader extends RemakeMapLoader {
 		super(file, header);
 	}
 
-		@Override
+	@Override
 	public MainGridWithUiSettings loadMainGrid(PlayerSetting[] playerSettings, EMapStartResources startResources) throws MapLoadException {
-		try (ObjectInputStream ois = new ObjectInputStream(super.getMapDataStream())) {
+		try (InputStream dataStream = new BufferedInputStream(super.getMapDataStream())) {
+			SavegameSections sections = SavegameSections.readIfSectioned(dataStream);
+
+			ObjectInputStream ois;
+			if (sections != null) {
+				GridPlanes planes = new GridPlanes(sections.get(SavegameSections.PLANES));
+				ois = new PlaneObjectInputStream(new ByteArrayInputStream(sections.get(SavegameSections.STATE)), planes);
+			} else { // savegame written before the sections have been introduced
+				ois = new ObjectInputStream(dataStream);
+			}
+
 			MatchConstants.deserialize(ois);
 			PlayerState[] playerStates = (PlayerState[]) ois.readObject();
 			GameSerializer gameSerializer = new GameSerializer();
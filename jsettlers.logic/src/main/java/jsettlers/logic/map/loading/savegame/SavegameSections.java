@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * The sections of a savegame. They follow the map file header.
+ * <p>
+ * Every section is compressed on its own, so the sections can be compressed in parallel. The format is:
+ *
+ * <pre>
+ * int magic, int version, int number of sections
+ * for every section: UTF name, int length, int compressed length, compressed data (deflate)
+ * </pre>
+ *
+ * Savegames written before the sections have been introduced directly start with the object stream of the game.
+ */
+public final class SavegameSections {
+	public static final int    MAGIC   = 0x4A534731; // "JSG1"
+	public static final int    VERSION = 1;
+	/**
+	 * The object stream of the game without the grid planes.
+	 */
+	public static final String STATE   = "state";
+	/**
+	 * The {@link GridPlanes} of the game.
+	 */
+	public static final String PLANES  = "planes";
+
+	private final Map<String, byte[]> sections = new LinkedHashMap<>();
+
+	public void put(String name, byte[] data) {
+		sections.put(name, data);
+	}
+
+	public byte[] get(String name) throws IOException {
+		byte[] data = sections.get(name);
+		if (data == null) {
+			throw new IOException("The savegame does not contain the section " + name);
+		}
+		return data;
+	}
+
+	public void writeTo(OutputStream out) throws IOException {
+		List<String> names = new ArrayList<>(sections.keySet());
+		List<byte[]> compressed = names.parallelStream().map(name -> compress(sections.get(name))).collect(ArrayList::new, List::add, List::addAll);
+
+		DataOutputStream dos = new DataOutputStream(out);
+		dos.writeInt(MAGIC);
+		dos.writeInt(VERSION);
+		dos.writeInt(names.size());
+		for (int i = 0; i < names.size(); i++) {
+			dos.writeUTF(names.get(i));
+			dos.writeInt(sections.get(names.get(i)).length);
+			dos.writeInt(compressed.get(i).length);
+			dos.write(compressed.get(i));
+		}
+		dos.flush();
+	}
+
+	/**
+	 * Reads the sections of a savegame. The stream has to be positioned behind the magic number.
+	 */
+	private static SavegameSections readFrom(DataInputStream dis) throws IOException {
+		int version = dis.readInt();
+		if (version > VERSION) {
+			throw new IOException("The savegame has the version " + version + " but only versions up to " + VERSION + " are supported.");
+		}
+
+		SavegameSections result = new SavegameSections();
+		int numberOfSections = dis.readInt();
+		for (int i = 0; i < numberOfSections; i++) {
+			String name = dis.readUTF();
+			int length = dis.readInt();
+			byte[] compressed = new byte[dis.readInt()];
+			dis.readFully(compressed);
+			result.put(name, decompress(compressed, length));
+		}
+		return result;
+	}
+
+	/**
+	 * @param in
+	 * 		The data of a savegame behind its map file header.
+	 * @return The sections of the savegame or <code>null</code> if the savegame has been written before the sections have been introduced. In
+	 * that case, the stream is left at its start.
+	 */
+	public static SavegameSections readIfSectioned(InputStream in) throws IOException {
+		if (!in.markSupported()) {
+			throw new IllegalArgumentException("The stream has to support mark()");
+		}
+		in.mark(4);
+		DataInputStream dis = new DataInputStream(in);
+		if (dis.readInt() != MAGIC) {
+			in.reset();
+			return null;
+		}
+		return readFrom(dis);
+	}
+
+	/**
+	 * @param in
+	 * 		The data of a savegame behind its map file header.
+	 * @return A stream of the uncompressed data of all sections or the given stream if the savegame has no sections.
+	 */
+	public static InputStream openUncompressedData(InputStream in) throws IOException {
+		SavegameSections sections = readIfSectioned(in);
+		if (sections == null) {
+			return in;
+		}
+
+		List<InputStream> streams = new ArrayList<>();
+		for (byte[] data : sections.sections.values()) {
+			streams.add(new ByteArrayInputStream(data));
+		}
+		return new SequenceInputStream(Collections.enumeration(streams));
+	}
+
+	private static byte[] compress(byte[] data) {
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+		deflater.setInput(data);
+		deflater.finish();
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+		byte[] buffer = new byte[64 * 1024];
+		while (!deflater.finished()) {
+			out.write(buffer, 0, deflater.deflate(buffer));
+		}
+		deflater.end();
+		return out.toByteArray();
+	}
+
+	private static byte[] decompress(byte[] compressed, int length) throws IOException {
+		Inflater inflater = new Inflater();
+		inflater.setInput(compressed);
+		byte[] data = new byte[length];
+		try {
+			int offset = 0;
+			while (offset < length && !inflater.finished()) {
+				int inflated = inflater.inflate(data, offset, length - offset);
+				if (inflated == 0 && inflater.needsInput()) {
+					throw new IOException("The savegame section is truncated.");
+				}
+				offset += inflated;
+			}
+			if (offset != length) {
+				throw new IOException("The savegame section is shorter than expected.");
+			}
+		} catch (DataFormatException e) {
+			throw new IOException(e);
+		} finally {
+			inflater.end();
+		}
+		return data;
+	}
+}
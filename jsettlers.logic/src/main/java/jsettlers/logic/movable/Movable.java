@@ -40,6 +40,8 @@ import jsettlers.common.position.ShortPoint2D;
 import jsettlers.common.selectable.ESelectionType;
 import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.partition.manager.datastructures.ITrackedLocatable;
+import jsettlers.logic.map.grid.partition.manager.datastructures.PositionableList;
 import jsettlers.logic.movable.cargo.CargoShipMovable;
 import jsettlers.logic.movable.cargo.DonkeyMovable;
 import jsettlers.logic.movable.civilian.BakerMovable;
@@ -79,7 +81,7 @@ import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.*;
  *
  * @author Andreas Eberle
  */
-public abstract class Movable implements ILogicMovable, FoWTask {
+public abstract class Movable implements ILogicMovable, FoWTask, ITrackedLocatable {
 	private static final long serialVersionUID = -705947810059935866L;
 
 	private static final int SHIP_PUSH_DISTANCE = 10;
@@ -105,11 +107,15 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 	protected ShortPoint2D position;
 
 	protected Path path;
+	private Path         preparedPath;
+	private ShortPoint2D preparedPathStart;
 
 	protected float         health;
 	private boolean       visible           = true;
 	private ShortPoint2D pushedFrom;
 
+	private PositionableList<?> positionableList;
+
 	private boolean isRightstep = false;
 	protected int     flockDelay  = 700;
 
@@ -350,7 +356,12 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 	protected static <T extends Movable> Node<T> goToPos(IShortPoint2DSupplier<T> target, IBooleanConditionFunction<T> pathStep) {
 		return sequence(
 				condition(mov -> {
-					mov.path = mov.grid.calculatePathTo(mov, target.apply(mov));
+					Movable realMov = mov;
+					ShortPoint2D targetPosition = target.apply(mov);
+					mov.path = realMov.takePreparedPath(targetPosition);
+					if (mov.path == null) {
+						mov.path = mov.grid.calculatePathTo(mov, targetPosition);
+					}
 					return mov.path != null;
 				}),
 				followPath(pathStep)
@@ -499,8 +510,10 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 				mov.setDirection(EDirection.getApproxDirection(mov.position, targetPosition));
 				mov.grid.leavePosition(mov.position, mov);
 				mov.grid.enterPosition(targetPosition, mov, false);
+				mov.grid.movablePositionChanged(mov, mov.position, targetPosition);
 				realMov.position = targetPosition;
 				realMov.isRightstep = !realMov.isRightstep;
+				realMov.informPositionableList();
 
 			}),
 			playAction(EMovableAction.WALKING, mov -> mov.getMovableType().getStepDurationMs())
@@ -675,7 +688,28 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 			grid.enterPosition(position, this, true);
 		}
 
+		grid.movablePositionChanged(this, this.position, position);
 		this.position = position;
+		informPositionableList();
+	}
+
+	/**
+	 * Must be called after every change of the position.
+	 */
+	protected final void informPositionableList() {
+		if (positionableList != null) {
+			positionableList.positionChanged(this);
+		}
+	}
+
+	@Override
+	public void setPositionableList(PositionableList<?> list) {
+		this.positionableList = list;
+	}
+
+	@Override
+	public PositionableList<?> getPositionableList() {
+		return positionableList;
 	}
 
 	public final void setVisible(boolean visible) {
@@ -856,6 +890,7 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 
 		grid.leavePosition(this.position, this);
 
+		grid.movablePositionChanged(this, this.position, null);
 		MovableManager.remove(this);
 	}
 
@@ -864,6 +899,28 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		this.state = EMovableState.DEAD;
 		this.selected = false;
 		position = null;
+		preparedPath = null;
+	}
+
+	@Override
+	public void setPreparedPath(Path path) {
+		preparedPath = path;
+		preparedPathStart = position;
+	}
+
+	/**
+	 * Removes the prepared path of this movable.
+	 *
+	 * @return The prepared path, if it leads from the current position to the given target, null otherwise.
+	 */
+	private Path takePreparedPath(ShortPoint2D targetPosition) {
+		Path path = preparedPath;
+		preparedPath = null;
+
+		if (path != null && position.equals(preparedPathStart) && path.getTargetPosition().equals(targetPosition)) {
+			return path;
+		}
+		return null;
 	}
 
 	public boolean isOnFerry() {
@@ -990,6 +1047,16 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 		return movableType.isShip();
 	}
 
+	@Override
+	public boolean usesHierarchicalPathfinding() {
+		return Constants.HIERARCHICAL_PATHFINDING_ENABLED && (movableType == EMovableType.BEARER || movableType.isSoldier());
+	}
+
+	@Override
+	public boolean usesPathCache() {
+		return Constants.PATH_CACHE_ENABLED && movableType == EMovableType.BEARER;
+	}
+
 	public final void setDirection(EDirection direction) {
 		this.direction = direction;
 	}
@@ -1024,6 +1091,7 @@ public abstract class Movable implements ILogicMovable, FoWTask {
 
 		Movable movable = chooseMovableClass(movableType, player, position, grid, replaceMovable);
 
+		grid.movablePositionChanged(movable, null, position);
 		MovableManager.add(movable);
 		grid.enterPosition(position, movable, true);
 
@@ -48,7 +48,7 @@ public class DonkeyMovable extends CargoMovable {
 
 		if(loaded) {
 			setMaterial(EMaterialType.BASKET);
-			attackable = true;
+			setAttackable(true);
 		}
 
 		return loaded;
@@ -69,7 +69,7 @@ public class DonkeyMovable extends CargoMovable {
 		}
 
 		setMaterial(EMaterialType.NO_MATERIAL);
-		attackable = false;
+		setAttackable(false);
 	}
 
 	@Override
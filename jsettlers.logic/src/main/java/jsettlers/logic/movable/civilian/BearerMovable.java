@@ -83,7 +83,7 @@ public class BearerMovable extends CivilianMovable implements IBearerMovable, IM
 								),
 								sequence(
 									playAction(EMovableAction.HOMELESS1, (short) 2000),
-									playAction(EMovableAction.HOMELESS_IDLE, (short) MatchConstants.random().nextInt(1000, 3000)),
+									playAction(EMovableAction.HOMELESS_IDLE, mov -> (short) MatchConstants.random().nextInt(1000, 3000)),
 									playAction(EMovableAction.HOMELESS2, (short) 2000)
 								)
 							)
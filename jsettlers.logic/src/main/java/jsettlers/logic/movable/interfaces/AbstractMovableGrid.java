@@ -60,6 +60,26 @@ public abstract class AbstractMovableGrid extends AbstractStrategyGrid {
 
 	public abstract void notifyAttackers(ShortPoint2D position, IAttackableMovable movable, boolean informFullArea);
 
+	/**
+	 * Must be called when the attackable state of a movable standing on the given position changes.
+	 *
+	 * @param position
+	 *            Position of the movable.
+	 */
+	public abstract void attackableChanged(ShortPoint2D position);
+
+	/**
+	 * Must be called before a movable is added to the game, removed from it or changes its position, even if it is not visible.
+	 *
+	 * @param movable
+	 *            The movable.
+	 * @param oldPosition
+	 *            The current position of the movable or null if it is added.
+	 * @param newPosition
+	 *            The new position of the movable or null if it is removed.
+	 */
+	public abstract void movablePositionChanged(ILogicMovable movable, ShortPoint2D oldPosition, ShortPoint2D newPosition);
+
 	public abstract Path calculatePathTo(IPathCalculatable pathCalculatable, ShortPoint2D targetPos);
 	public abstract Path calculatePathTo(IPathCalculatable pathCalculatable, ShortPoint2D targetPos, ShortPoint2D startPos);
 
@@ -225,6 +225,26 @@ public abstract class AbstractStrategyGrid implements Serializable {
 	public abstract IAttackable getEnemyInSearchArea(ShortPoint2D centerPos, IAttackable movable, short minSearchRadius, short maxSearchRadius,
 													 boolean includeTowers);
 
+	/**
+	 * @return A counter that is increased by every change that may alter the result of
+	 *         {@link #getEnemyInSearchArea(ShortPoint2D, IAttackable, short, short, boolean)}.
+	 */
+	public abstract long getEnemySearchModificationCount();
+
+	/**
+	 * Checks if the result of an enemy search in the given area may have changed after {@link #getEnemySearchModificationCount()} returned the
+	 * given value.
+	 *
+	 * @param centerPos
+	 *            The center position of the search.
+	 * @param radius
+	 *            The maximum radius of the search.
+	 * @param modificationCount
+	 *            A value returned by {@link #getEnemySearchModificationCount()}.
+	 * @return true if the result of the search is still the same.
+	 */
+	public abstract boolean isEnemySearchAreaUnmodifiedSince(ShortPoint2D centerPos, int radius, long modificationCount);
+
 	/**
 	 * Adds an arrow object to the map flying from
 	 *
@@ -18,6 +18,7 @@ import java.io.Serializable;
 
 import jsettlers.algorithms.fogofwar.MovableFoWTask;
 import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
 import jsettlers.common.movable.EEffectType;
 import jsettlers.common.action.EMoveToType;
 import jsettlers.common.movable.IGraphicsMovable;
@@ -37,6 +38,15 @@ public interface ILogicMovable extends IScheduledTimerable, IPathCalculatable, I
 	Player getPlayer();
 
 	void moveTo(ShortPoint2D targetPosition, EMoveToType moveToType);
+
+	/**
+	 * Sets a path calculated for this movable in advance. It is used instead of a new path search, if the movable starts to move from its
+	 * current position to the target of the path.
+	 *
+	 * @param path
+	 * 		The path from the current position of this movable, not containing the current position.
+	 */
+	void setPreparedPath(Path path);
 	void addEffect(EEffectType effect);
 
 	void setPosition(ShortPoint2D to);
@@ -10,6 +10,7 @@ import jsettlers.common.movable.EMovableAction;
 import jsettlers.common.movable.EMovableType;
 import jsettlers.common.position.ShortPoint2D;
 import jsettlers.logic.buildings.military.occupying.IOccupyableBuilding;
+import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.movable.MovableManager;
 import jsettlers.logic.movable.interfaces.IAttackable;
@@ -19,10 +20,11 @@ import jsettlers.logic.movable.Movable;
 import jsettlers.logic.movable.interfaces.AbstractMovableGrid;
 import jsettlers.logic.movable.interfaces.ISoldierMovable;
 import jsettlers.logic.player.Player;
+import jsettlers.logic.timer.IParallelScheduledTimerable;
 
 import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.*;
 
-public abstract class SoldierMovable extends AttackableHumanMovable implements ISoldierMovable {
+public abstract class SoldierMovable extends AttackableHumanMovable implements ISoldierMovable, IParallelScheduledTimerable {
 
 	protected IAttackable enemy;
 
@@ -41,6 +43,8 @@ public abstract class SoldierMovable extends AttackableHumanMovable implements I
 	private IAttackable toCloseEnemy;
 	private ShortPoint2D startPoint;
 
+	private transient PreparedEnemySearch preparedEnemySearch;
+
 
 	public SoldierMovable(AbstractMovableGrid grid, EMovableType movableType, ShortPoint2D position, Player player, Movable movable) {
 		super(grid, movableType, position, player, movable);
@@ -224,7 +228,7 @@ public abstract class SoldierMovable extends AttackableHumanMovable implements I
 
 	private static Node<SoldierMovable> findEnemy() {
 		return condition(mov -> {
-			mov.enemy = mov.grid.getEnemyInSearchArea(mov.getAttackPosition(), mov, mov.getMinSearchDistance(), mov.getMaxSearchDistance(), !mov.defending);
+			mov.enemy = mov.searchEnemy();
 			if(mov.enemy instanceof IThiefMovable) ((IThiefMovable)mov.enemy).uncoveredBy(mov.player.getTeamId());
 			return mov.enemy != null;
 		});
@@ -268,6 +272,43 @@ public abstract class SoldierMovable extends AttackableHumanMovable implements I
 		playerControlled = true;
 	}
 
+	@Override
+	public void prepareTimerEvent() {
+		preparedEnemySearch = null;
+		if (isAlive() && (enemyNearby || defending)) {
+			long modificationCount = grid.getEnemySearchModificationCount();
+			ShortPoint2D attackPosition = getAttackPosition();
+			short minSearchDistance = getMinSearchDistance();
+			short maxSearchDistance = getMaxSearchDistance();
+			boolean includeTowers = !defending;
+
+			IAttackable foundEnemy = grid.getEnemyInSearchArea(attackPosition, this, minSearchDistance, maxSearchDistance, includeTowers);
+			preparedEnemySearch = new PreparedEnemySearch(attackPosition, minSearchDistance, maxSearchDistance, includeTowers, foundEnemy, modificationCount);
+		}
+	}
+
+	@Override
+	public int timerEvent() {
+		int delay = super.timerEvent();
+		preparedEnemySearch = null;
+		return delay;
+	}
+
+	private IAttackable searchEnemy() {
+		ShortPoint2D attackPosition = getAttackPosition();
+		short minSearchDistance = getMinSearchDistance();
+		short maxSearchDistance = getMaxSearchDistance();
+		boolean includeTowers = !defending;
+
+		PreparedEnemySearch prepared = preparedEnemySearch;
+		preparedEnemySearch = null;
+		if (prepared != null && prepared.isValidFor(grid, attackPosition, minSearchDistance, maxSearchDistance, includeTowers)) {
+			return prepared.enemy;
+		}
+
+		return grid.getEnemyInSearchArea(attackPosition, this, minSearchDistance, maxSearchDistance, includeTowers);
+	}
+
 	protected ShortPoint2D getAttackPosition() {
 		return isInTower && !defending && isBowman() ? inTowerAttackPosition : position;
 	}
@@ -399,4 +440,37 @@ public abstract class SoldierMovable extends AttackableHumanMovable implements I
 
 		return player.getCombatStrengthInformation().getCombatStrength(isOnOwnGround()) * strengthMod;
 	}
+
+	/**
+	 * Result of an enemy search done by {@link #prepareTimerEvent()}.
+	 */
+	private static final class PreparedEnemySearch {
+		private final ShortPoint2D attackPosition;
+		private final short        minSearchDistance;
+		private final short        maxSearchDistance;
+		private final boolean      includeTowers;
+		private final IAttackable  enemy;
+		private final long         modificationCount;
+
+		PreparedEnemySearch(ShortPoint2D attackPosition, short minSearchDistance, short maxSearchDistance, boolean includeTowers, IAttackable enemy,
+							long modificationCount) {
+			this.attackPosition = attackPosition;
+			this.minSearchDistance = minSearchDistance;
+			this.maxSearchDistance = maxSearchDistance;
+			this.includeTowers = includeTowers;
+			this.enemy = enemy;
+			this.modificationCount = modificationCount;
+		}
+
+		boolean isValidFor(AbstractMovableGrid grid, ShortPoint2D attackPosition, short minSearchDistance, short maxSearchDistance, boolean includeTowers) {
+			if (!this.attackPosition.equals(attackPosition) || this.minSearchDistance != minSearchDistance || this.maxSearchDistance != maxSearchDistance
+				|| this.includeTowers != includeTowers) {
+				return false;
+			}
+
+			// without a result, towers are searched up to the tower search radius
+			int searchRadius = includeTowers ? Math.max(maxSearchDistance, Constants.TOWER_ATTACKABLE_SEARCH_RADIUS) : maxSearchDistance;
+			return grid.isEnemySearchAreaUnmodifiedSince(attackPosition, searchRadius, modificationCount);
+		}
+	}
 }
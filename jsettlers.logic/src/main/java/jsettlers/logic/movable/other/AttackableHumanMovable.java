@@ -27,7 +27,9 @@ public class AttackableHumanMovable extends AttackableMovable implements IAttack
 
 	@Override
 	public void leaveFerryAt(ShortPoint2D position) {
+		grid.movablePositionChanged(this, this.position, position);
 		this.position = position;
+		informPositionableList();
 		setState(Movable.EMovableState.ACTIVE);
 
 		grid.enterPosition(position, this, true);
@@ -38,6 +38,13 @@ public class AttackableMovable extends Movable implements IAttackableMovable {
 		return attackable;
 	}
 
+	protected final void setAttackable(boolean attackable) {
+		if (this.attackable != attackable) {
+			this.attackable = attackable;
+			grid.attackableChanged(position);
+		}
+	}
+
 	@Override
 	public boolean isTower() {
 		return false;
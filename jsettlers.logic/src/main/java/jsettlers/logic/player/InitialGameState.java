@@ -28,8 +28,8 @@ public class InitialGameState implements Cloneable, Serializable {
 	}
 
 	public InitialGameState(DataInputStream dis) throws IOException {
-		playerId = dis.readByte();
 		randomSeed = dis.readLong();
+		playerId = dis.readByte();
 		startResources = EMapStartResources.values()[dis.readByte()];
 
 		playerSettings = new PlayerSetting[dis.readInt()];
@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.timer;
+
+import jsettlers.common.position.ILocatable;
+
+/**
+ * A {@link IScheduledTimerable} whose timer event can be split into a read phase and the actual timer event.
+ * <p>
+ * If the parallel mode of the {@link RescheduleTimer} is enabled, {@link #prepareTimerEvent()} is called for all timerables of a time slot
+ * concurrently, before their {@link #timerEvent()} methods are called sequentially in the usual order. The timerables are grouped by their
+ * position, so timerables near each other are prepared by the same thread.
+ */
+public interface IParallelScheduledTimerable extends IScheduledTimerable, ILocatable {
+
+	/**
+	 * Prepares the next call of {@link #timerEvent()}. This method may only read the game state and write the fields of this object.
+	 * <p>
+	 * To keep the game deterministic, {@link #timerEvent()} must only use the prepared results if they are still equal to the results it would
+	 * calculate itself.
+	 */
+	void prepareTimerEvent();
+}
@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.timer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Runs the read phase ({@link IParallelScheduledTimerable#prepareTimerEvent()}) of the timerables of a time slot on a worker pool.
+ * <p>
+ * The timerables are sorted by map region and split into consecutive chunks, so every worker reads a compact part of the map.
+ */
+final class ParallelTimerablePreparer {
+	private static final int REGION_SHIFT            = 5;
+	private static final int REGIONS_PER_ROW         = 1 << 11;
+	private static final int MIN_PARALLEL_TIMERABLES = 32;
+	private static final int TASKS_PER_THREAD        = 4;
+
+	private final ExecutorService workerPool;
+	private final int             numberOfThreads;
+
+	private IParallelScheduledTimerable[] timerables = new IParallelScheduledTimerable[256];
+	private long[]                        sortKeys   = new long[256];
+
+	ParallelTimerablePreparer(int numberOfThreads) {
+		this.numberOfThreads = numberOfThreads;
+		this.workerPool = Executors.newFixedThreadPool(numberOfThreads, runnable -> {
+			Thread thread = new Thread(runnable, "RescheduleTimer-worker");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Prepares all {@link IParallelScheduledTimerable}s of the given time slot. Returns when all of them have been prepared.
+	 */
+	void prepare(IScheduledTimerable[] slot, int slotSize) {
+		int count = collectTimerables(slot, slotSize);
+		if (count < MIN_PARALLEL_TIMERABLES) {
+			Arrays.fill(timerables, 0, count, null);
+			return; // not worth the synchronization, the timer events will do the work themselves
+		}
+
+		Arrays.sort(sortKeys, 0, count);
+
+		int numberOfTasks = Math.min(count, numberOfThreads * TASKS_PER_THREAD);
+		List<Callable<Void>> tasks = new ArrayList<>(numberOfTasks);
+		for (int task = 0; task < numberOfTasks; task++) {
+			int from = (int) ((long) count * task / numberOfTasks);
+			int to = (int) ((long) count * (task + 1) / numberOfTasks);
+			tasks.add(() -> {
+				for (int i = from; i < to; i++) {
+					prepare(timerables[(int) sortKeys[i]]);
+				}
+				return null;
+			});
+		}
+
+		try {
+			workerPool.invokeAll(tasks);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			Arrays.fill(timerables, 0, count, null);
+		}
+	}
+
+	void shutdown() {
+		workerPool.shutdownNow();
+	}
+
+	private int collectTimerables(IScheduledTimerable[] slot, int slotSize) {
+		int count = 0;
+		for (int slotIdx = 0; slotIdx < slotSize; slotIdx++) {
+			IScheduledTimerable timerable = slot[slotIdx];
+			if (!(timerable instanceof IParallelScheduledTimerable)) {
+				continue;
+			}
+
+			IParallelScheduledTimerable parallelTimerable = (IParallelScheduledTimerable) timerable;
+			ShortPoint2D position = parallelTimerable.getPosition();
+			if (position == null) {
+				continue;
+			}
+
+			if (count == timerables.length) {
+				timerables = Arrays.copyOf(timerables, count * 2);
+				sortKeys = Arrays.copyOf(sortKeys, count * 2);
+			}
+
+			long region = (position.y >> REGION_SHIFT) * REGIONS_PER_ROW + (position.x >> REGION_SHIFT);
+			sortKeys[count] = region << 32 | count;
+			timerables[count] = parallelTimerable;
+			count++;
+		}
+		return count;
+	}
+
+	private static void prepare(IParallelScheduledTimerable timerable) {
+		try {
+			timerable.prepareTimerEvent();
+		} catch (Throwable t) { // the timer event will repeat the work and handle the problem
+			System.err.println("RescheduleTimer catched while preparing: ");
+			t.printStackTrace();
+		}
+	}
+}
@@ -18,17 +18,15 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Iterator;
 
 import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.network.client.interfaces.IGameClock;
 import jsettlers.network.synchronic.timer.INetworkTimerable;
 
 public final class RescheduleTimer implements INetworkTimerable, Serializable {
-	private static final long serialVersionUID = -1962430988827211391L;
+	private static final long serialVersionUID = 4409146745473329717L;
 
 	private static final int FUTURE_TIME = 32000;
 	private static final short TIME_SLICE = 25; // ms
@@ -36,14 +34,13 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 
 	private static RescheduleTimer uniIns;
 
-	@SuppressWarnings("unchecked")
-	private final ArrayList<IScheduledTimerable> timerables[] = new ArrayList[TIME_SLOTS];
-	private int currTimeSlot = 0;
+	private final TimerWheel timerables = new TimerWheel(TIME_SLOTS);
+
+	private transient ParallelTimerablePreparer parallelPreparer;
+	private transient TimerMetrics              metrics;
 
 	protected RescheduleTimer() {
-		for (int i = 0; i < TIME_SLOTS; i++) {
-			timerables[i] = new ArrayList<>();
-		}
+		metrics = new TimerMetrics(TIME_SLOTS);
 	}
 
 	public static synchronized void stopAndClear() {
@@ -51,6 +48,9 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 			if (MatchConstants.clock() != null) {
 				MatchConstants.clock().remove(uniIns);
 			}
+			if (uniIns.parallelPreparer != null) {
+				uniIns.parallelPreparer.shutdown();
+			}
 			uniIns = null;
 			try {
 				Thread.sleep(100L); // stopping takes some time
@@ -60,7 +60,8 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 	}
 
 	/**
-	 * Schedules the given {@link IScheduledTimerable} in max delay milliseconds.
+	 * Schedules the given {@link IScheduledTimerable} in max delay milliseconds. Delays of more than {@value #FUTURE_TIME} milliseconds are
+	 * supported, but are handled slightly slower.
 	 * 
 	 * @param t
 	 * @param delay
@@ -77,9 +78,7 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 		int delaySlots = delay / TIME_SLICE;
 		delaySlots = delaySlots > 0 ? delaySlots : 1; // ensure at least one slot delay
 
-		assert delaySlots < TIME_SLOTS : "SCHEDULED TO FAR IN THE FUTURE! " + delay + "ms";
-
-		timerables[(currTimeSlot + delaySlots) % TIME_SLOTS].add(t);
+		timerables.add(t, delaySlots);
 	}
 
 	private static synchronized RescheduleTimer get() {
@@ -89,17 +88,40 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 		return uniIns;
 	}
 
+	/**
+	 * @return The metrics of the currently running timer.
+	 */
+	public static TimerMetrics getMetrics() {
+		return get().metrics;
+	}
+
 	@Override
 	public void timerEvent() {
-		ArrayList<IScheduledTimerable> queue = timerables[currTimeSlot];
+		IScheduledTimerable[] queue = timerables.getCurrentSlot();
+		int queueSize = timerables.getCurrentSlotSize();
+		metrics.slotExecuted(timerables.getCurrentSlotIndex(), queueSize);
 
-		for (IScheduledTimerable curr : queue) {
+		if (Constants.PARALLEL_TIMER_ENABLED) {
+			getParallelPreparer().prepare(queue, queueSize);
+		}
+
+		boolean measureTimes = Constants.TIMER_METRICS_ENABLED;
+
+		for (int i = 0; i < queueSize; i++) {
 			if (uniIns != this) { // fast stop when stopAndClear() is called.
 				return;
 			}
 
+			IScheduledTimerable curr = queue[i];
 			try {
-				int delay = curr.timerEvent();
+				int delay;
+				if (measureTimes) {
+					long start = System.nanoTime();
+					delay = curr.timerEvent();
+					metrics.timerEventExecuted(curr.getClass(), System.nanoTime() - start);
+				} else {
+					delay = curr.timerEvent();
+				}
 				addTimerable(curr, delay);
 			} catch (Throwable t) {
 				System.err.println("RescheduleTimer catched: ");
@@ -113,8 +135,19 @@ public final class RescheduleTimer implements INetworkTimerable, Serializable {
 			}
 		}
 
-		queue.clear();
-		currTimeSlot = (currTimeSlot + 1) % TIME_SLOTS;
+		timerables.advance();
+	}
+
+	private ParallelTimerablePreparer getParallelPreparer() {
+		if (parallelPreparer == null) {
+			parallelPreparer = new ParallelTimerablePreparer(Runtime.getRuntime().availableProcessors());
+		}
+		return parallelPreparer;
+	}
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+		metrics = new TimerMetrics(TIME_SLOTS);
 	}
 
 	public static void loadFrom(ObjectInputStream ois) throws MapLoadException {
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.timer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Statistics of the {@link RescheduleTimer}.
+ * <p>
+ * The occupancy of the slots is always recorded. The execution times per timerable class are only measured while
+ * {@link jsettlers.logic.constants.Constants#TIMER_METRICS_ENABLED} is set, because reading the clock for every timer event is not for free.
+ * <p>
+ * The metrics are written by the timer thread without synchronization, so other threads only see approximate values.
+ */
+public final class TimerMetrics {
+	private final int[] lastOccupancy;
+	private final int[] maxOccupancy;
+
+	private final HashMap<Class<?>, ClassMetrics> classMetrics = new HashMap<>();
+
+	private long executedTimerEvents;
+
+	TimerMetrics(int numberOfSlots) {
+		this.lastOccupancy = new int[numberOfSlots];
+		this.maxOccupancy = new int[numberOfSlots];
+	}
+
+	void slotExecuted(int slot, int occupancy) {
+		lastOccupancy[slot] = occupancy;
+		if (occupancy > maxOccupancy[slot]) {
+			maxOccupancy[slot] = occupancy;
+		}
+		executedTimerEvents += occupancy;
+	}
+
+	void timerEventExecuted(Class<?> timerableClass, long nanos) {
+		ClassMetrics metrics = classMetrics.get(timerableClass);
+		if (metrics == null) {
+			metrics = new ClassMetrics(timerableClass);
+			classMetrics.put(timerableClass, metrics);
+		}
+		metrics.executed(nanos);
+	}
+
+	public int getNumberOfSlots() {
+		return lastOccupancy.length;
+	}
+
+	/**
+	 * @return The number of timerables the given slot contained when it has been executed the last time.
+	 */
+	public int getLastOccupancy(int slot) {
+		return lastOccupancy[slot];
+	}
+
+	/**
+	 * @return The maximum number of timerables the given slot ever contained when it has been executed.
+	 */
+	public int getMaxOccupancy(int slot) {
+		return maxOccupancy[slot];
+	}
+
+	public long getExecutedTimerEvents() {
+		return executedTimerEvents;
+	}
+
+	/**
+	 * @return The indexes of the given number of slots with the highest maximum occupancy, the busiest slot first.
+	 */
+	public int[] getBusiestSlots(int numberOfSlots) {
+		numberOfSlots = Math.min(numberOfSlots, maxOccupancy.length);
+		int[] busiest = new int[numberOfSlots];
+		int found = 0;
+
+		for (int slot = 0; slot < maxOccupancy.length; slot++) {
+			int insertIdx = found;
+			while (insertIdx > 0 && maxOccupancy[busiest[insertIdx - 1]] < maxOccupancy[slot]) {
+				insertIdx--;
+			}
+			if (insertIdx < numberOfSlots) {
+				int moved = Math.min(found, numberOfSlots - 1) - insertIdx;
+				System.arraycopy(busiest, insertIdx, busiest, insertIdx + 1, moved);
+				busiest[insertIdx] = slot;
+				found = Math.min(found + 1, numberOfSlots);
+			}
+		}
+		return busiest;
+	}
+
+	/**
+	 * @return The execution times of the timerable classes, the class with the highest total time first.
+	 */
+	public List<ClassMetrics> getClassMetrics() {
+		List<ClassMetrics> result = new ArrayList<>(classMetrics.values());
+		result.sort((first, second) -> Long.compare(second.totalNanos, first.totalNanos));
+		return result;
+	}
+
+	public void reset() {
+		for (int slot = 0; slot < maxOccupancy.length; slot++) {
+			lastOccupancy[slot] = 0;
+			maxOccupancy[slot] = 0;
+		}
+		classMetrics.clear();
+		executedTimerEvents = 0;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder("TimerMetrics [executedTimerEvents=").append(executedTimerEvents).append(", busiestSlots=");
+		for (int slot : getBusiestSlots(5)) {
+			builder.append(' ').append(slot).append(':').append(maxOccupancy[slot]);
+		}
+		builder.append(']');
+		for (ClassMetrics metrics : getClassMetrics()) {
+			builder.append("\n\t").append(metrics);
+		}
+		return builder.toString();
+	}
+
+	public static final class ClassMetrics {
+		private final Class<?> timerableClass;
+
+		private long calls;
+		private long totalNanos;
+		private long maxNanos;
+
+		ClassMetrics(Class<?> timerableClass) {
+			this.timerableClass = timerableClass;
+		}
+
+		void executed(long nanos) {
+			calls++;
+			totalNanos += nanos;
+			if (nanos > maxNanos) {
+				maxNanos = nanos;
+			}
+		}
+
+		public Class<?> getTimerableClass() {
+			return timerableClass;
+		}
+
+		public long getCalls() {
+			return calls;
+		}
+
+		public long getTotalNanos() {
+			return totalNanos;
+		}
+
+		public long getMaxNanos() {
+			return maxNanos;
+		}
+
+		public long getAverageNanos() {
+			return calls == 0 ? 0 : totalNanos / calls;
+		}
+
+		@Override
+		public String toString() {
+			return timerableClass.getSimpleName() + " [calls=" + calls + ", totalMs=" + totalNanos / 1000000 + ", averageNs=" + getAverageNanos()
+				+ ", maxNs=" + maxNanos + "]";
+		}
+	}
+}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.timer;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The slots of the {@link RescheduleTimer}.
+ * <p>
+ * Every slot is a plain array that keeps its capacity when the slot is cleared, so scheduling does not allocate once the game is running.
+ * Timerables scheduled one revolution or more in the future are kept on an overflow level and moved into their slot at the start of the
+ * revolution they are due in.
+ * <p>
+ * The timerables of a slot are executed in the order they have been added. This order is part of the game state and is kept in savegames.
+ */
+final class TimerWheel implements Serializable {
+	private static final long serialVersionUID = 8563174922718264373L;
+
+	private static final int INITIAL_SLOT_CAPACITY     = 4;
+	private static final int INITIAL_OVERFLOW_CAPACITY = 16;
+
+	private static final IScheduledTimerable[] EMPTY_SLOT = new IScheduledTimerable[0];
+
+	private final int numberOfSlots;
+	private int       currentTick;
+
+	private transient IScheduledTimerable[][] slots;
+	private transient int[]                   slotSizes;
+
+	private transient IScheduledTimerable[] overflowTimerables;
+	private transient int[]                 overflowDueTicks;
+	private transient int                   overflowSize;
+
+	TimerWheel(int numberOfSlots) {
+		this.numberOfSlots = numberOfSlots;
+		initSlots();
+	}
+
+	private void initSlots() {
+		slots = new IScheduledTimerable[numberOfSlots][];
+		slotSizes = new int[numberOfSlots];
+		overflowTimerables = new IScheduledTimerable[INITIAL_OVERFLOW_CAPACITY];
+		overflowDueTicks = new int[INITIAL_OVERFLOW_CAPACITY];
+		overflowSize = 0;
+	}
+
+	/**
+	 * Schedules the given timerable the given number of ticks after the current tick.
+	 *
+	 * @param delayTicks
+	 * 		Must be at least 1.
+	 */
+	void add(IScheduledTimerable timerable, int delayTicks) {
+		assert delayTicks > 0 : "a timerable can not be added to the current slot";
+
+		if (delayTicks < numberOfSlots) {
+			addToSlot((currentTick + delayTicks) % numberOfSlots, timerable);
+		} else {
+			addToOverflow(currentTick + delayTicks, timerable);
+		}
+	}
+
+	/**
+	 * @return The timerables of the current slot. Only the first {@link #getCurrentSlotSize()} entries are valid. The array stays valid until
+	 * {@link #advance()} is called, because nothing can be added to the current slot.
+	 */
+	IScheduledTimerable[] getCurrentSlot() {
+		IScheduledTimerable[] slot = slots[getCurrentSlotIndex()];
+		return slot != null ? slot : EMPTY_SLOT;
+	}
+
+	int getCurrentSlotSize() {
+		return slotSizes[getCurrentSlotIndex()];
+	}
+
+	int getCurrentSlotIndex() {
+		return currentTick % numberOfSlots;
+	}
+
+	int getNumberOfSlots() {
+		return numberOfSlots;
+	}
+
+	int getOverflowSize() {
+		return overflowSize;
+	}
+
+	/**
+	 * Clears the current slot and moves on to the next tick.
+	 */
+	void advance() {
+		int slotIndex = getCurrentSlotIndex();
+		IScheduledTimerable[] slot = slots[slotIndex];
+		if (slot != null) {
+			Arrays.fill(slot, 0, slotSizes[slotIndex], null);
+		}
+		slotSizes[slotIndex] = 0;
+
+		currentTick++;
+		if (getCurrentSlotIndex() == 0) {
+			cascadeOverflow();
+		}
+	}
+
+	private void addToSlot(int slotIndex, IScheduledTimerable timerable) {
+		IScheduledTimerable[] slot = slots[slotIndex];
+		int size = slotSizes[slotIndex];
+		if (slot == null) {
+			slot = slots[slotIndex] = new IScheduledTimerable[INITIAL_SLOT_CAPACITY];
+		} else if (size == slot.length) {
+			slot = slots[slotIndex] = Arrays.copyOf(slot, size * 2);
+		}
+		slot[size] = timerable;
+		slotSizes[slotIndex] = size + 1;
+	}
+
+	private void addToOverflow(int dueTick, IScheduledTimerable timerable) {
+		if (overflowSize == overflowTimerables.length) {
+			overflowTimerables = Arrays.copyOf(overflowTimerables, overflowSize * 2);
+			overflowDueTicks = Arrays.copyOf(overflowDueTicks, overflowSize * 2);
+		}
+		overflowTimerables[overflowSize] = timerable;
+		overflowDueTicks[overflowSize] = dueTick;
+		overflowSize++;
+	}
+
+	/**
+	 * Moves all overflow entries that are due in the revolution starting with the current tick into their slots.
+	 */
+	private void cascadeOverflow() {
+		int revolutionEnd = currentTick + numberOfSlots;
+		int remaining = 0;
+		for (int i = 0; i < overflowSize; i++) {
+			IScheduledTimerable timerable = overflowTimerables[i];
+			int dueTick = overflowDueTicks[i];
+			if (dueTick < revolutionEnd) {
+				addToSlot(dueTick % numberOfSlots, timerable);
+			} else {
+				overflowTimerables[remaining] = timerable;
+				overflowDueTicks[remaining] = dueTick;
+				remaining++;
+			}
+		}
+		Arrays.fill(overflowTimerables, remaining, overflowSize, null);
+		overflowSize = remaining;
+	}
+
+	private void writeObject(ObjectOutputStream oos) throws IOException {
+		oos.defaultWriteObject();
+		for (int slotIndex = 0; slotIndex < numberOfSlots; slotIndex++) {
+			int size = slotSizes[slotIndex];
+			oos.writeInt(size);
+			for (int i = 0; i < size; i++) {
+				oos.writeObject(slots[slotIndex][i]);
+			}
+		}
+		oos.writeInt(overflowSize);
+		for (int i = 0; i < overflowSize; i++) {
+			oos.writeInt(overflowDueTicks[i]);
+			oos.writeObject(overflowTimerables[i]);
+		}
+	}
+
+	private void readObject(ObjectInputStream ois) throws IOException, ClassNotFoundException {
+		ois.defaultReadObject();
+		initSlots();
+		for (int slotIndex = 0; slotIndex < numberOfSlots; slotIndex++) {
+			int size = ois.readInt();
+			for (int i = 0; i < size; i++) {
+				addToSlot(slotIndex, (IScheduledTimerable) ois.readObject());
+			}
+		}
+		int numberOfOverflowTimerables = ois.readInt();
+		for (int i = 0; i < numberOfOverflowTimerables; i++) {
+			int dueTick = ois.readInt();
+			addToOverflow(dueTick, (IScheduledTimerable) ois.readObject());
+		}
+	}
+}
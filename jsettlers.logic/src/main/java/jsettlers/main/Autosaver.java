@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.main;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.menu.UIState;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.synchronic.timer.INetworkTimerable;
+
+/**
+ * Writes a savegame every few minutes of game time.
+ * <p>
+ * The {@link jsettlers.network.synchronic.timer.NetworkTimer} calls the autosaver between two game steps, so the snapshot is taken at a
+ * lockstep boundary without stopping any other thread. Only the serialization into memory blocks the game, the compression and the file
+ * access are done by a background thread.
+ */
+public class Autosaver implements INetworkTimerable {
+	/**
+	 * The autosaver checks every time slice of the game clock whether a lockstep boundary has been reached.
+	 */
+	public static final short CHECK_PERIOD = 50;
+
+	private final MainGrid          mainGrid;
+	private final byte              playerId;
+	private final Supplier<UIState> uiStateSupplier;
+	private final int               interval;
+	private final ExecutorService   writer;
+
+	private int       nextSaveTime;
+	private Future<?> lastWrite;
+
+	/**
+	 * @param intervalMinutes
+	 * 		The game time between two savegames.
+	 */
+	public Autosaver(MainGrid mainGrid, byte playerId, Supplier<UIState> uiStateSupplier, int intervalMinutes) {
+		this.mainGrid = mainGrid;
+		this.playerId = playerId;
+		this.uiStateSupplier = uiStateSupplier;
+		this.interval = intervalMinutes * 60 * 1000;
+		this.nextSaveTime = MatchConstants.clock().getTime() + interval;
+		this.writer = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "AutosaveThread");
+			thread.setPriority(Thread.MIN_PRIORITY);
+			return thread;
+		});
+	}
+
+	@Override
+	public void timerEvent() {
+		int time = MatchConstants.clock().getTime();
+		if (time < nextSaveTime || time % NetworkConstants.Client.LOCKSTEP_PERIOD != 0) {
+			return;
+		}
+		nextSaveTime = time + interval;
+
+		if (lastWrite != null && !lastWrite.isDone()) {
+			System.err.println("Skipping autosave, because the last autosave is still being written.");
+			return;
+		}
+
+		try {
+			MilliStopWatch watch = new MilliStopWatch();
+			Runnable writeTask = mainGrid.createSavegameSnapshot(playerId, uiStateSupplier.get());
+			watch.stop("Taking autosave snapshot required");
+			lastWrite = writer.submit(writeTask);
+		} catch (IOException e) {
+			System.err.println("Autosave failed:");
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Stops the autosaver. A savegame that is currently written is completed.
+	 */
+	public void shutdown() {
+		writer.shutdown();
+	}
+}
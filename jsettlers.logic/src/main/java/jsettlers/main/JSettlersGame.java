@@ -16,9 +16,12 @@ package jsettlers.main;
 
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.PrintStream;
+import java.io.RandomAccessFile;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Arrays;
@@ -45,19 +48,24 @@ import jsettlers.input.PlayerState;
 import jsettlers.logic.buildings.Building;
 import jsettlers.logic.buildings.trading.HarborBuilding;
 import jsettlers.logic.buildings.trading.MarketBuilding;
+import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.grid.MainGrid;
 import jsettlers.logic.map.loading.IGameCreator;
 import jsettlers.logic.map.loading.IGameCreator.MainGridWithUiSettings;
 import jsettlers.logic.map.loading.MapLoadException;
 import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.map.loading.list.MapList;
 import jsettlers.logic.movable.MovableManager;
 import jsettlers.logic.player.InitialGameState;
 import jsettlers.logic.player.PlayerSetting;
 import jsettlers.logic.timer.RescheduleTimer;
 import jsettlers.main.replay.ReplayUtils;
+import jsettlers.network.NetworkConstants;
 import jsettlers.network.client.OfflineNetworkConnector;
 import jsettlers.network.client.interfaces.INetworkConnector;
+import jsettlers.network.synchronic.timer.ReplayKeyframe;
+import jsettlers.network.synchronic.timer.ReplayKeyframeIndex;
 
 /**
  * This class can start a Thread that loads and sets up a game and wait's for its termination.
@@ -72,6 +80,7 @@ public class JSettlersGame {
 	private final INetworkConnector networkConnector;
 	private final boolean multiplayer;
 	private final DataInputStream replayFileInputStream;
+	private final ReplayKeyframe replayKeyframe;
 
 	private final GameRunner gameRunner;
 	private final InitialGameState initialGameState;
@@ -84,7 +93,7 @@ public class JSettlersGame {
 	private PrintStream systemOutStream;
 
 	private JSettlersGame(IGameCreator mapCreator, INetworkConnector networkConnector, InitialGameState initialGameState,
-			boolean controlAll, boolean multiplayer, DataInputStream replayFileInputStream) {
+			boolean controlAll, boolean multiplayer, DataInputStream replayFileInputStream, ReplayKeyframe replayKeyframe) {
 		configureLogging(mapCreator);
 
 		this.initialGameState = initialGameState;
@@ -102,6 +111,7 @@ public class JSettlersGame {
 		this.networkConnector = networkConnector;
 		this.multiplayer = multiplayer;
 		this.replayFileInputStream = replayFileInputStream;
+		this.replayKeyframe = replayKeyframe;
 
 		MatchConstants.ENABLE_ALL_PLAYER_FOG_OF_WAR = controlAll;
 		MatchConstants.ENABLE_ALL_PLAYER_SELECTION = controlAll;
@@ -116,7 +126,7 @@ public class JSettlersGame {
 	 * @param networkConnector
 	 */
 	public JSettlersGame(IGameCreator mapCreator, INetworkConnector networkConnector, InitialGameState initialGameState) {
-		this(mapCreator, networkConnector, initialGameState, CommonConstants.CONTROL_ALL, true, null);
+		this(mapCreator, networkConnector, initialGameState, CommonConstants.CONTROL_ALL, true, null, null);
 	}
 
 	/**
@@ -125,7 +135,7 @@ public class JSettlersGame {
 	 * @param mapCreator
 	 */
 	public JSettlersGame(IGameCreator mapCreator, InitialGameState initialGameState) {
-		this(mapCreator, new OfflineNetworkConnector(), initialGameState, CommonConstants.CONTROL_ALL, false, null);
+		this(mapCreator, new OfflineNetworkConnector(), initialGameState, CommonConstants.CONTROL_ALL, false, null, null);
 	}
 
 	public static JSettlersGame loadFromReplayFile(ReplayUtils.IReplayStreamProvider loadableReplayFile, INetworkConnector networkConnector, ReplayStartInformation replayStartInformation)
@@ -135,12 +145,70 @@ public class JSettlersGame {
 			replayStartInformation.deserialize(replayFileInputStream);
 
 			MapLoader mapCreator = loadableReplayFile.getMap(replayStartInformation);
-			return new JSettlersGame(mapCreator, networkConnector, replayStartInformation.getReplayableGameState(), true, false, replayFileInputStream);
+			return new JSettlersGame(mapCreator, networkConnector, replayStartInformation.getReplayableGameState(), true, false, replayFileInputStream, null);
 		} catch (IOException e) {
 			throw new MapLoadException("Could not deserialize " + loadableReplayFile, e);
 		}
 	}
 
+	/**
+	 * Loads a replay starting at the latest keyframe at or before the given game time, so only the game time after the keyframe has to be
+	 * simulated. If the replay has no such keyframe, it starts at the beginning of the game. Replays of games with AI players always start at the
+	 * beginning, because the state of the AI players is not part of the keyframes.
+	 *
+	 * @param targetGameTime
+	 *            The game time in milliseconds the replay should be watched from.
+	 */
+	public static JSettlersGame loadFromReplayFile(ReplayUtils.IReplayStreamProvider loadableReplayFile, INetworkConnector networkConnector, ReplayStartInformation replayStartInformation,
+			int targetGameTime) throws MapLoadException {
+		File file = loadableReplayFile.getFile();
+		if (file == null) {
+			return loadFromReplayFile(loadableReplayFile, networkConnector, replayStartInformation);
+		}
+
+		try {
+			try (DataInputStream headerStream = new DataInputStream(loadableReplayFile.openStream())) {
+				replayStartInformation.deserialize(headerStream);
+			}
+			if (hasAiPlayers(replayStartInformation.getInitialGameState())) {
+				return loadFromReplayFile(loadableReplayFile, networkConnector, replayStartInformation);
+			}
+
+			ReplayKeyframe keyframe;
+			try (RandomAccessFile replayFile = new RandomAccessFile(file, "r")) {
+				ReplayKeyframeIndex.Entry entry = ReplayKeyframeIndex.readFrom(replayFile).findKeyframe(targetGameTime / NetworkConstants.Client.LOCKSTEP_PERIOD);
+				if (entry == null) {
+					return loadFromReplayFile(loadableReplayFile, networkConnector, replayStartInformation);
+				}
+				keyframe = ReplayKeyframeIndex.readKeyframe(replayFile, entry);
+			}
+			System.out.println("Starting replay at the keyframe of lockstep " + keyframe.getLockstep());
+
+			InputStream tasksStream = loadableReplayFile.openStream();
+			for (long remaining = keyframe.getTasksOffset(); remaining > 0;) {
+				long skipped = tasksStream.skip(remaining);
+				if (skipped <= 0) {
+					throw new IOException("The replay file is shorter than the offset of its keyframe.");
+				}
+				remaining -= skipped;
+			}
+
+			MapLoader mapCreator = MapLoader.getLoaderForListedMap(new MapList.ListedMemoryMap("keyframe-" + keyframe.getLockstep() + MapLoader.MAP_EXTENSION, keyframe.getState()));
+			return new JSettlersGame(mapCreator, networkConnector, replayStartInformation.getReplayableGameState(), true, false, new DataInputStream(tasksStream), keyframe);
+		} catch (IOException e) {
+			throw new MapLoadException("Could not deserialize " + loadableReplayFile, e);
+		}
+	}
+
+	private static boolean hasAiPlayers(InitialGameState initialGameState) {
+		for (PlayerSetting playerSetting : initialGameState.getPlayerSettings()) {
+			if (playerSetting.isAvailable() && playerSetting.getPlayerType() != null && playerSetting.getPlayerType().isAi()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
 	/**
 	 * Starts the game in a new thread. Returns immediately.
 	 *
@@ -175,6 +243,8 @@ public class JSettlersGame {
 		private Consumer<IStartedGame> exitListener;
 		private boolean gameRunning;
 		private AiExecutor aiExecutor;
+		private Autosaver autosaver;
+		private ReplayKeyframer replayKeyframer;
 
 		@Override
 		public void run() {
@@ -186,11 +256,15 @@ public class JSettlersGame {
 
 				clearState();
 				MatchConstants.init(networkConnector.getGameClock(), initialGameState.getRandomSeed());
-				try {
-					MatchConstants.clock().setReplayLogStream(createReplayFileStream());
-				} catch (IOException e) {
-					// TODO: log that we do not have write access to resources.
-					System.out.println("Cannot write jsettlers.integration.replay file.");
+				if (replayKeyframe == null) {
+					try {
+						MatchConstants.clock().setReplayLogStream(createReplayFileStream());
+					} catch (IOException e) {
+						// TODO: log that we do not have write access to resources.
+						System.out.println("Cannot write jsettlers.integration.replay file.");
+					}
+				} else { // the tasks before the keyframe are unknown
+					System.out.println("No jsettlers.integration.replay file is written for a game started at a keyframe.");
 				}
 
 				updateProgressListener(EProgressState.LOADING_MAP, 0.3f);
@@ -205,14 +279,16 @@ public class JSettlersGame {
 				gameTimeProvider = new GameTimeProvider(MatchConstants.clock());
 
 				mainGrid.initForPlayer(initialGameState.getPlayerId(), playerState.getFogOfWar());
-				mainGrid.startThreads();
+				mainGrid.startThreads(MatchConstants.clock().isHeadless());
 
 				waitForStartingGameListener();
 				startingGameListener.waitForPreloading();
 
 				updateProgressListener(EProgressState.WAITING_FOR_OTHER_PLAYERS, 0.98f);
 
-				if (replayFileInputStream != null) {
+				if (replayKeyframe != null) {
+					MatchConstants.clock().loadReplayLogFromKeyframe(replayKeyframe, replayFileInputStream);
+				} else if (replayFileInputStream != null) {
 					MatchConstants.clock().loadReplayLogFromStream(replayFileInputStream);
 				}
 
@@ -228,6 +304,15 @@ public class JSettlersGame {
 				aiExecutor = new AiExecutor(initialGameState.getPlayerSettings(), mainGrid, networkConnector.getTaskScheduler());
 				networkConnector.getGameClock().schedule(aiExecutor, (short) 1000);
 
+				if (Constants.AUTOSAVE_INTERVAL_MINUTES > 0) {
+					autosaver = new Autosaver(mainGrid, initialGameState.getPlayerId(), guiInterface::getUIState, Constants.AUTOSAVE_INTERVAL_MINUTES);
+					networkConnector.getGameClock().schedule(autosaver, Autosaver.CHECK_PERIOD);
+				}
+				if (Constants.REPLAY_KEYFRAME_INTERVAL_LOCKSTEPS > 0) {
+					replayKeyframer = new ReplayKeyframer(mainGrid, initialGameState.getPlayerId(), guiInterface::getUIState, Constants.REPLAY_KEYFRAME_INTERVAL_LOCKSTEPS);
+					networkConnector.getGameClock().schedule(replayKeyframer, ReplayKeyframer.CHECK_PERIOD);
+				}
+
 				MatchConstants.clock().startExecution(); // WARNING: GAME CLOCK IS STARTED!
 				// NO CONFIGURATION AFTER THIS POINT! =================================
 				gameRunning = true;
@@ -243,7 +328,13 @@ public class JSettlersGame {
 					}
 				}
 
+				if (replayKeyframer != null) {
+					replayKeyframer.shutdown(); // the keyframe being written has to be completed before the clock closes the replay log
+				}
 				networkConnector.shutdown();
+				if (autosaver != null) {
+					autosaver.shutdown();
+				}
 				mainGrid.stopThreads();
 				connector.shutdown();
 				guiInterface.stop();
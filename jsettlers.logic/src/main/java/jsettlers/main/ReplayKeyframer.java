@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.main;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.menu.UIState;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.client.interfaces.IGameClock;
+import jsettlers.network.synchronic.timer.INetworkTimerable;
+import jsettlers.network.synchronic.timer.ReplayKeyframe;
+
+/**
+ * Embeds a keyframe into the replay log every few locksteps.
+ * <p>
+ * Like the {@link Autosaver}, the snapshot is taken at a lockstep boundary by the game clock. Compressing it and appending it to the replay
+ * log is done by a background thread.
+ */
+public class ReplayKeyframer implements INetworkTimerable {
+	/**
+	 * The keyframer checks every time slice of the game clock whether a lockstep boundary has been reached.
+	 */
+	public static final short CHECK_PERIOD = 50;
+
+	private final MainGrid          mainGrid;
+	private final byte              playerId;
+	private final Supplier<UIState> uiStateSupplier;
+	private final int               interval;
+	private final ExecutorService   writer;
+
+	private int       nextKeyframeTime;
+	private Future<?> lastWrite;
+
+	/**
+	 * @param intervalLocksteps
+	 * 		The number of locksteps between two keyframes.
+	 */
+	public ReplayKeyframer(MainGrid mainGrid, byte playerId, Supplier<UIState> uiStateSupplier, int intervalLocksteps) {
+		this.mainGrid = mainGrid;
+		this.playerId = playerId;
+		this.uiStateSupplier = uiStateSupplier;
+		this.interval = intervalLocksteps * NetworkConstants.Client.LOCKSTEP_PERIOD;
+		this.nextKeyframeTime = MatchConstants.clock().getTime() + interval;
+		this.writer = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "ReplayKeyframeThread");
+			thread.setPriority(Thread.MIN_PRIORITY);
+			return thread;
+		});
+	}
+
+	@Override
+	public void timerEvent() {
+		IGameClock clock = MatchConstants.clock();
+		int time = clock.getTime();
+		if (time < nextKeyframeTime || time % NetworkConstants.Client.LOCKSTEP_PERIOD != 0 || writer.isShutdown()) {
+			return;
+		}
+		nextKeyframeTime = time + interval;
+
+		if (lastWrite != null && !lastWrite.isDone()) {
+			System.err.println("Skipping replay keyframe, because the last keyframe is still being written.");
+			return;
+		}
+
+		ReplayKeyframe keyframe = clock.markReplayKeyframe();
+		if (keyframe == null) { // no replay log is written
+			return;
+		}
+
+		try {
+			MilliStopWatch watch = new MilliStopWatch();
+			Runnable writeTask = mainGrid.createSavegameSnapshot(playerId, uiStateSupplier.get(), savegame -> {
+				keyframe.setState(savegame);
+				clock.writeReplayKeyframe(keyframe);
+			});
+			watch.stop("Taking replay keyframe snapshot required");
+			lastWrite = writer.submit(writeTask);
+		} catch (IOException e) {
+			System.err.println("Replay keyframe failed:");
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Stops the keyframer. A keyframe that is currently written is completed, so this has to be called before the replay log is closed.
+	 */
+	public void shutdown() {
+		writer.shutdown();
+		try {
+			writer.awaitTermination(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+		}
+	}
+}
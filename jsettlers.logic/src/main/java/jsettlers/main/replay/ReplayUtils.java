@@ -22,6 +22,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 
 import jsettlers.common.menu.IStartedGame;
 import jsettlers.common.menu.IStartingGame;
@@ -51,6 +52,7 @@ import static java.util.Arrays.stream;
  *
  */
 public class ReplayUtils {
+	private static final String REPLAY_CONFIGURATION_FILE = "jsettlers.integration.replay";
 
 	public static MapLoader replayAndCreateSavegame(IReplayStreamProvider replayFile, int targetGameTimeMinutes, String newReplayFile) throws MapLoadException, IOException {
 		OfflineNetworkConnector networkConnector = createPausingOfflineNetworkConnector();
@@ -81,8 +83,26 @@ public class ReplayUtils {
 		return newSavegame;
 	}
 
+	/**
+	 * Starts the replay at the latest keyframe before the target game time and creates a savegame at the target game time.
+	 *
+	 * @see JSettlersGame#loadFromReplayFile(IReplayStreamProvider, INetworkConnector, ReplayStartInformation, int)
+	 */
+	public static MapLoader seekAndCreateSavegame(IReplayStreamProvider replayFile, int targetGameTimeMinutes) throws MapLoadException {
+		OfflineNetworkConnector networkConnector = createPausingOfflineNetworkConnector();
+		// the savegame task needs to be scheduled after the keyframe
+		int seekGameTime = targetGameTimeMinutes * 60 * 1000 - NetworkConstants.Client.LOCKSTEP_PERIOD;
+		JSettlersGame game = JSettlersGame.loadFromReplayFile(replayFile, networkConnector, new ReplayStartInformation(), seekGameTime);
+
+		MapLoader newSavegame = playGameToTargetTimeAndGetSavegames(game, networkConnector, targetGameTimeMinutes)[0];
+
+		System.out.println("Seeked: " + replayFile + " and created savegame: " + newSavegame);
+
+		return newSavegame;
+	}
+
 	private static OfflineNetworkConnector createPausingOfflineNetworkConnector() {
-		OfflineNetworkConnector networkConnector = new OfflineNetworkConnector();
+		OfflineNetworkConnector networkConnector = new OfflineNetworkConnector(true);
 		networkConnector.getGameClock().setPausing(true);
 		return networkConnector;
 	}
@@ -107,6 +127,8 @@ public class ReplayUtils {
 			savegames[i] = getNewestSavegame();
 		}
 
+		System.out.println(String.format(Locale.ENGLISH, "Simulated the game with %.1f seconds per second.", MatchConstants.clock().getSimulationSpeed()));
+
 		awaitShutdown(startedGame);
 
 		return savegames;
@@ -184,11 +206,15 @@ public class ReplayUtils {
 	}
 
 	public static PlayMapResult playMapToTargetTimes(MapLoader map, byte playerId, final int... targetTimeMinutes) {
+		return playMapToTargetTimes(map, playerId, PlayerSetting.createDefaultSettings(playerId, (byte) map.getMaxPlayers()), targetTimeMinutes);
+	}
+
+	public static PlayMapResult playMapToTargetTimes(MapLoader map, byte playerId, PlayerSetting[] playerSettings, final int... targetTimeMinutes) {
 		OfflineNetworkConnector networkConnector = ReplayUtils.createPausingOfflineNetworkConnector();
-		JSettlersGame game = new JSettlersGame(map, networkConnector, new InitialGameState(playerId, PlayerSetting.createDefaultSettings(playerId, (byte) map.getMaxPlayers()), 0L)) {
+		JSettlersGame game = new JSettlersGame(map, networkConnector, new InitialGameState(playerId, playerSettings, 0L)) {
 			@Override
 			protected OutputStream createReplayWriteStream() throws IOException {
-				return ResourceManager.writeConfigurationFile("jsettlers.integration.replay");
+				return ResourceManager.writeConfigurationFile(REPLAY_CONFIGURATION_FILE);
 			}
 		};
 
@@ -201,6 +227,14 @@ public class ReplayUtils {
 		InputStream openStream() throws IOException;
 
 		MapLoader getMap(ReplayStartInformation replayStartInformation) throws MapLoadException;
+
+		/**
+		 * @return The replay as a file or <code>null</code> if it can only be read as a stream. Only the keyframes of replay files can be
+		 * found, because their index is at the end of the file.
+		 */
+		default File getFile() {
+			return null;
+		}
 	}
 
 	/**
@@ -224,6 +258,11 @@ public class ReplayUtils {
 		public MapLoader getMap(ReplayStartInformation replayStartInformation) {
 			return MapList.getDefaultList().getMapById(replayStartInformation.getMapId());
 		}
+
+		@Override
+		public File getFile() {
+			return file;
+		}
 	}
 
 	public static class PlayMapResult implements IReplayStreamProvider {
@@ -237,7 +276,13 @@ public class ReplayUtils {
 
 		@Override
 		public InputStream openStream() throws IOException {
-			return ResourceManager.getResourcesFileStream("jsettlers.integration.replay");
+			return ResourceManager.getResourcesFileStream(REPLAY_CONFIGURATION_FILE);
+		}
+
+		@Override
+		public File getFile() {
+			File file = new File(ResourceManager.getResourcesDirectory(), REPLAY_CONFIGURATION_FILE);
+			return file.exists() ? file : null;
 		}
 
 		@Override
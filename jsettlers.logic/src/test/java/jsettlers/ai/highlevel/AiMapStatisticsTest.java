@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.ai.highlevel;
+
+import static org.junit.Assert.assertNull;
+
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jsettlers.common.landscape.ELandscapeType;
+import jsettlers.common.landscape.EResourceType;
+import jsettlers.common.mapobject.EMapObjectType;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.grid.MainGridDataAccessor;
+import jsettlers.logic.map.grid.flags.FlagsGrid;
+import jsettlers.logic.map.grid.landscape.LandscapeGrid;
+import jsettlers.logic.map.grid.objects.MapObjectsManager;
+import jsettlers.logic.map.grid.partition.PartitionsGrid;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Checks that the {@link AiMapStatistics} updated from the change events of the grids equal statistics calculated from scratch.
+ */
+public class AiMapStatisticsTest {
+	private static final ELandscapeType[] LANDSCAPE_TYPES = { ELandscapeType.GRASS, ELandscapeType.DESERT, ELandscapeType.MOUNTAIN, ELandscapeType.WATER1 };
+
+	private final Random random = new Random(42);
+
+	private ExecutorService threadPool;
+	private MainGrid        grid;
+	private short           width;
+	private short           height;
+	private LandscapeGrid   landscapeGrid;
+	private FlagsGrid       flagsGrid;
+	private PartitionsGrid  partitionsGrid;
+	private MapObjectsManager mapObjectsManager;
+
+	private ShortPoint2D[] playerPositions;
+	private short[]        partitionIdsToBuildOn;
+	private short[]        blockedPartitionIds;
+
+	@Before
+	public void setUp() throws Exception {
+		MatchConstants.init(new NetworkTimer(true), 0);
+		threadPool = Executors.newFixedThreadPool(2);
+		grid = MapUtils.getMountainlake().loadMainGrid(null).getMainGrid();
+
+		MainGridDataAccessor accessor = new MainGridDataAccessor(grid);
+		width = accessor.getWidth();
+		height = accessor.getHeight();
+		landscapeGrid = accessor.getLandscapeGrid();
+		flagsGrid = accessor.getFlagsGrid();
+		partitionsGrid = accessor.getPartitionsGrid();
+		mapObjectsManager = accessor.getMapObjectsManager();
+
+		int numberOfPlayers = partitionsGrid.getNumberOfPlayers();
+		playerPositions = new ShortPoint2D[numberOfPlayers];
+		partitionIdsToBuildOn = new short[numberOfPlayers];
+		blockedPartitionIds = new short[numberOfPlayers];
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				byte playerId = partitionsGrid.getPlayerIdAt(x, y);
+				if (playerId >= 0 && playerPositions[playerId] == null) {
+					playerPositions[playerId] = new ShortPoint2D(x, y);
+					partitionIdsToBuildOn[playerId] = partitionsGrid.getPartitionIdAt(x, y);
+					blockedPartitionIds[playerId] = landscapeGrid.getBlockedPartitionAt(x, y);
+				}
+			}
+		}
+	}
+
+	@After
+	public void tearDown() {
+		threadPool.shutdown();
+		MatchConstants.clearState();
+	}
+
+	@Test
+	public void testUpdatedStatisticsEqualRebuiltStatistics() {
+		AiMapStatistics statistics = new AiMapStatistics(grid, threadPool);
+		grid.addMapChangedListener(statistics);
+		statistics.update(partitionIdsToBuildOn, blockedPartitionIds);
+
+		for (int round = 0; round < 5; round++) {
+			for (int change = 0; change < 30; change++) {
+				changeRandomPosition();
+			}
+
+			statistics.update(partitionIdsToBuildOn, blockedPartitionIds);
+			assertNull(statistics.findDifference(rebuildStatistics()));
+		}
+	}
+
+	@Test
+	public void testInterruptedUpdateIsRepeated() {
+		AiMapStatistics statistics = new AiMapStatistics(grid, threadPool);
+		grid.addMapChangedListener(statistics);
+		statistics.update(partitionIdsToBuildOn, blockedPartitionIds);
+
+		for (int change = 0; change < 30; change++) {
+			changeRandomPosition();
+		}
+		statistics.invalidate(); // enough blocks to calculate them in the thread pool, if there is more than one processor
+		Thread.currentThread().interrupt();
+		statistics.update(partitionIdsToBuildOn, blockedPartitionIds);
+		Thread.interrupted();
+
+		statistics.update(partitionIdsToBuildOn, blockedPartitionIds);
+		assertNull(statistics.findDifference(rebuildStatistics()));
+	}
+
+	private AiMapStatistics rebuildStatistics() {
+		AiMapStatistics rebuilt = new AiMapStatistics(grid, threadPool);
+		rebuilt.update(partitionIdsToBuildOn, blockedPartitionIds);
+		return rebuilt;
+	}
+
+	private void changeRandomPosition() {
+		ShortPoint2D center = playerPositions[random.nextInt(playerPositions.length)];
+		int x = Math.max(1, Math.min(width - 2, center.x + random.nextInt(41) - 20));
+		int y = Math.max(1, Math.min(height - 2, center.y + random.nextInt(41) - 20));
+		ShortPoint2D position = new ShortPoint2D(x, y);
+
+		switch (random.nextInt(7)) {
+		case 0:
+			landscapeGrid.setLandscapeTypeAt(x, y, LANDSCAPE_TYPES[random.nextInt(LANDSCAPE_TYPES.length)], false);
+			break;
+		case 1:
+			landscapeGrid.setResourceAt((short) x, (short) y, EResourceType.VALUES[random.nextInt(EResourceType.VALUES.length)], (byte) random.nextInt(20));
+			break;
+		case 2:
+			flagsGrid.setBlockedAndProtected(x, y, random.nextBoolean());
+			break;
+		case 3:
+			mapObjectsManager.plantAdultTree(position);
+			break;
+		case 4:
+			mapObjectsManager.addStone(position, 1 + random.nextInt(10));
+			break;
+		case 5:
+			mapObjectsManager.removeMapObjectType(x, y, random.nextBoolean() ? EMapObjectType.TREE_ADULT : EMapObjectType.STONE);
+			break;
+		default:
+			partitionsGrid.changePlayerAt(x, y, (byte) random.nextInt(playerPositions.length));
+			break;
+		}
+	}
+}
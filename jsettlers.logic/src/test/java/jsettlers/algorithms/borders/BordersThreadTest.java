@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.borders;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.common.movable.EDirection;
+import jsettlers.common.position.ShortPoint2D;
+
+public class BordersThreadTest {
+
+	@Test
+	public void testSmallAreaMatchesFullCalculation() {
+		assertAreaMatchesFullCalculation(new TestGrid(60, 50, 1));
+	}
+
+	@Test
+	public void testParallelAreaMatchesFullCalculation() {
+		assertAreaMatchesFullCalculation(new TestGrid(400, 300, 2));
+	}
+
+	@Test
+	public void testChangedPositionsUpdateTheirNeighbors() {
+		TestGrid grid = new TestGrid(80, 70, 3);
+		BordersThread bordersThread = new BordersThread(grid);
+		bordersThread.checkArea(0, 0, (short) grid.width, (short) grid.height);
+		bordersThread.calculateDirtyPositions();
+
+		Random random = new Random(4);
+		for (int change = 0; change < 200; change++) {
+			int x = random.nextInt(grid.width);
+			int y = random.nextInt(grid.height);
+			grid.players[x + y * grid.width] = (byte) (random.nextInt(4) - 1);
+			bordersThread.checkPosition(new ShortPoint2D(x, y));
+
+			if (change % 20 == 0) {
+				bordersThread.calculateDirtyPositions();
+				assertEquals(grid.calculateExpectedBorders(), grid.borders);
+			}
+		}
+
+		bordersThread.calculateDirtyPositions();
+		assertEquals(grid.calculateExpectedBorders(), grid.borders);
+	}
+
+	private void assertAreaMatchesFullCalculation(TestGrid grid) {
+		BordersThread bordersThread = new BordersThread(grid);
+		bordersThread.checkArea(0, 0, (short) grid.width, (short) grid.height);
+		bordersThread.calculateDirtyPositions();
+
+		assertEquals(grid.calculateExpectedBorders(), grid.borders);
+	}
+
+	private static class TestGrid implements IBordersThreadGrid {
+		private final int    width;
+		private final int    height;
+		private final byte[] players;
+		private final BitSet blocked;
+		private final BitSet borders;
+
+		TestGrid(int width, int height, long seed) {
+			this.width = width;
+			this.height = height;
+			this.players = new byte[width * height];
+			this.blocked = new BitSet(width * height);
+			this.borders = new BitSet(width * height);
+
+			Random random = new Random(seed);
+			for (int index = 0; index < width * height; index++) {
+				players[index] = (byte) (random.nextInt(4) - 1);
+				blocked.set(index, random.nextInt(10) == 0);
+			}
+		}
+
+		BitSet calculateExpectedBorders() {
+			BitSet expected = new BitSet(width * height);
+			for (int y = 0; y < height; y++) {
+				for (int x = 0; x < width; x++) {
+					expected.set(x + y * width, isExpectedBorder(x, y));
+				}
+			}
+			return expected;
+		}
+
+		private boolean isExpectedBorder(int x, int y) {
+			if (getBlockedPartition(x, y) <= 0 || getPlayerIdAt(x, y) < 0) {
+				return false;
+			}
+			for (EDirection direction : EDirection.VALUES) {
+				int neighborX = direction.getNextTileX(x);
+				int neighborY = direction.getNextTileY(y);
+				if (isInBounds(neighborX, neighborY) && getBlockedPartition(neighborX, neighborY) > 0
+						&& getPlayerIdAt(neighborX, neighborY) != getPlayerIdAt(x, y)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		@Override
+		public byte getPlayerIdAt(int x, int y) {
+			return players[x + y * width];
+		}
+
+		@Override
+		public void setBorderAt(int x, int y, boolean isBorder) {
+			borders.set(x + y * width, isBorder);
+		}
+
+		@Override
+		public boolean isInBounds(int x, int y) {
+			return 0 <= x && x < width && 0 <= y && y < height;
+		}
+
+		@Override
+		public short getBlockedPartition(int x, int y) {
+			return (short) (blocked.get(x + y * width) ? 0 : 1);
+		}
+
+		@Override
+		public int getWidth() {
+			return width;
+		}
+
+		@Override
+		public int getHeight() {
+			return height;
+		}
+	}
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.construction;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import jsettlers.common.buildings.BuildingVariant;
+import jsettlers.common.buildings.EBuildingType;
+import jsettlers.common.landscape.ELandscapeType;
+import jsettlers.common.map.shapes.MapRectangle;
+import jsettlers.common.player.ECivilisation;
+import jsettlers.common.position.RelativePoint;
+import jsettlers.logic.map.grid.IMapChangedListener;
+
+public class NewConstructionMarksAlgorithmTest {
+	private static final int WIDTH  = 120;
+	private static final int HEIGHT = 100;
+
+	private final TestMap           map       = new TestMap(1);
+	private final BuildingVariant   building  = EBuildingType.CASTLE.getVariant(ECivilisation.ROMAN);
+	private final NewConstructionMarksAlgorithm algorithm = new NewConstructionMarksAlgorithm(map, (byte) 0);
+
+	@Test
+	public void testScrollingMatchesFullCalculation() {
+		Random random = new Random(2);
+		algorithm.calculateConstructMarks(new MapRectangle(10, 10, 40, 30), building, null);
+		assertMarks(new MapRectangle(10, 10, 40, 30));
+
+		for (int i = 0; i < 30; i++) {
+			MapRectangle area = new MapRectangle(random.nextInt(WIDTH) - 20, random.nextInt(HEIGHT) - 20, 20 + random.nextInt(40), 10 + random.nextInt(40));
+			algorithm.calculateConstructMarks(area, building, new BitSet());
+			assertMarks(area);
+		}
+	}
+
+	@Test
+	public void testChangedPositionsMatchFullCalculation() {
+		Random random = new Random(3);
+		MapRectangle area = new MapRectangle(20, 15, 50, 40);
+		algorithm.calculateConstructMarks(area, building, null);
+
+		for (int i = 0; i < 30; i++) {
+			BitSet changed = new BitSet();
+			for (int change = 0; change < 5; change++) {
+				int index = random.nextInt(WIDTH * HEIGHT);
+				map.blocked.flip(index);
+				changed.set(index);
+			}
+
+			algorithm.calculateConstructMarks(area, building, changed);
+			assertMarks(area);
+		}
+	}
+
+	private void assertMarks(MapRectangle area) {
+		TestMap expectedMap = new TestMap(map.blocked);
+		new NewConstructionMarksAlgorithm(expectedMap, (byte) 0).calculateConstructMarks(area, building, null);
+		assertArrayEquals(expectedMap.marks, map.marks);
+	}
+
+	private static class TestMap extends AbstractConstructionMarkableMap {
+		private final BitSet blocked;
+		private final byte[] marks = new byte[WIDTH * HEIGHT];
+
+		TestMap(long seed) {
+			this(new BitSet());
+			Random random = new Random(seed);
+			for (int i = 0; i < WIDTH * HEIGHT / 50; i++) {
+				blocked.set(random.nextInt(WIDTH * HEIGHT));
+			}
+		}
+
+		TestMap(BitSet blocked) {
+			this.blocked = (BitSet) blocked.clone();
+			Arrays.fill(marks, (byte) -1);
+		}
+
+		@Override
+		public void setConstructMarking(int x, int y, boolean set, boolean binaryConstructionMarkValues, RelativePoint[] flattenPositions) {
+			if (isInBounds(x, y)) {
+				marks[x + y * WIDTH] = (byte) (set ? 0 : -1);
+			}
+		}
+
+		@Override
+		public short getWidth() {
+			return WIDTH;
+		}
+
+		@Override
+		public short getHeight() {
+			return HEIGHT;
+		}
+
+		@Override
+		public boolean canUsePositionForConstruction(int x, int y, Set<ELandscapeType> landscapeTypes, short partitionId) {
+			return isInBounds(x, y) && !blocked.get(x + y * WIDTH);
+		}
+
+		@Override
+		public short getPartitionIdAt(int x, int y) {
+			return 1;
+		}
+
+		@Override
+		public boolean canPlayerConstructOnPartition(byte playerId, short partitionId) {
+			return true;
+		}
+
+		@Override
+		public boolean isInBounds(int x, int y) {
+			return 0 <= x && x < WIDTH && 0 <= y && y < HEIGHT;
+		}
+
+		@Override
+		public boolean canConstructAt(int x, int y, EBuildingType type, byte playerId) {
+			BuildingVariant building = type.getVariant(ECivilisation.ROMAN);
+			for (RelativePoint position : building.getBuildingArea()) {
+				if (!canUsePositionForConstruction(position.calculateX(x), position.calculateY(y), null, (short) 1)) {
+					return false;
+				}
+			}
+			for (RelativePoint border : building.getBuildingAreaBorder()) {
+				int borderX = border.calculateX(x);
+				int borderY = border.calculateY(y);
+				if (isInBounds(borderX, borderY) && blocked.get(borderX + borderY * WIDTH)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public byte calculateConstructionMarkValue(int mapX, int mapY, RelativePoint[] flattenPositions) {
+			return 0;
+		}
+
+		@Override
+		public void addConstructionChangedListener(IMapChangedListener listener) {
+		}
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.fogofwar;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jsettlers.common.CommonConstants;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Checks that dimming only the marked positions of the {@link FogOfWar} gives the same sight as dimming every position of the map.
+ */
+public class FogOfWarTest {
+	private static final byte DIM = 7;
+
+	private FogOfWar fogOfWar;
+	private byte[][] expectedSight;
+
+	@Before
+	public void setUp() throws Exception {
+		MatchConstants.init(new NetworkTimer(true), 0);
+		MainGrid grid = MapUtils.getMountainlake().loadMainGrid(null).getMainGrid();
+		fogOfWar = new FogOfWar(grid, (byte) 0);
+		expectedSight = new byte[fogOfWar.width][fogOfWar.height];
+	}
+
+	@After
+	public void tearDown() {
+		MatchConstants.clearState();
+	}
+
+	@Test
+	public void testDimmedSightEqualsFullScan() {
+		Object first = new Object();
+		Object second = new Object();
+		Object third = new Object();
+
+		addCircle(new ShortPoint2D(100, 100), 20, first);
+		addCircle(new ShortPoint2D(115, 110), 15, second);
+		assertSightAfterFrames(5);
+
+		removeCircle(new ShortPoint2D(100, 100), 20, first);
+		addCircle(new ShortPoint2D(3, 2), 30, third);
+		assertSightAfterFrames(3);
+
+		removeCircle(new ShortPoint2D(115, 110), 15, second);
+		addCircle(new ShortPoint2D(105, 100), 20, first);
+		assertSightAfterFrames(20);
+
+		removeCircle(new ShortPoint2D(105, 100), 20, first);
+		removeCircle(new ShortPoint2D(3, 2), 30, third);
+		assertSightAfterFrames(20);
+	}
+
+	private void addCircle(ShortPoint2D at, int viewDistance, Object reference) {
+		fogOfWar.circleDrawer.drawCircleToBuffer(at, viewDistance, FogOfWar.CIRCLE_ADD | FogOfWar.CIRCLE_DIM, reference);
+	}
+
+	private void removeCircle(ShortPoint2D at, int viewDistance, Object reference) {
+		fogOfWar.circleDrawer.drawCircleToBuffer(at, viewDistance, FogOfWar.CIRCLE_REMOVE | FogOfWar.CIRCLE_DIM, reference);
+	}
+
+	private void assertSightAfterFrames(int frames) {
+		for (int frame = 0; frame < frames; frame++) {
+			fogOfWar.dimThread.dimMarkedPositions(DIM);
+			dimAllPositions();
+
+			for (int x = 0; x < fogOfWar.width; x++) {
+				assertArrayEquals("x = " + x + ", frame " + frame, expectedSight[x], fogOfWar.sight[x]);
+			}
+		}
+	}
+
+	private void dimAllPositions() {
+		for (int y = 0; y < fogOfWar.height; y++) {
+			for (int x = 0; x < fogOfWar.width; x++) {
+				byte currentSight = expectedSight[x][y];
+				byte targetSight = targetSight(currentSight, fogOfWar.refSight(x, y));
+
+				if (Math.abs(currentSight - targetSight) < DIM) {
+					expectedSight[x][y] = targetSight;
+				} else if (currentSight < targetSight) {
+					expectedSight[x][y] = (byte) (currentSight + DIM);
+				} else {
+					expectedSight[x][y] = (byte) (currentSight - DIM);
+				}
+			}
+		}
+	}
+
+	private static byte targetSight(byte currentSight, byte refSight) {
+		if (currentSight >= CommonConstants.FOG_OF_WAR_EXPLORED && refSight < CommonConstants.FOG_OF_WAR_EXPLORED) {
+			return CommonConstants.FOG_OF_WAR_EXPLORED;
+		}
+		if (currentSight <= CommonConstants.FOG_OF_WAR_EXPLORED && refSight < currentSight) {
+			return currentSight;
+		}
+		return refSight;
+	}
+}
@@ -84,6 +84,16 @@ public class BucketQueueAStarTest {
 			public boolean isShip() {
 				return false;
 			}
+
+			@Override
+			public boolean usesHierarchicalPathfinding() {
+				return false;
+			}
+
+			@Override
+			public boolean usesPathCache() {
+				return false;
+			}
 		};
 	}
 }
@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar.hierarchical;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.AbstractAStar;
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.common.Color;
+import jsettlers.common.logging.MilliStopWatch;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGridDataAccessor;
+import jsettlers.logic.map.grid.flags.FlagsGrid;
+import jsettlers.logic.map.grid.landscape.LandscapeGrid;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Compares expanded nodes, wall time and path lengths of the {@link HierarchicalAStar} with the {@link BucketQueueAStar} on the test maps.
+ */
+public class HierarchicalAStarSpeedTest {
+	private static final int NUMBER_OF_ROUTES   = 300;
+	private static final int MIN_ROUTE_DISTANCE = 80;
+
+	@Test
+	public void testMountainlake() throws MapLoadException {
+		compareOnMap(MapUtils.getMountainlake());
+	}
+
+	@Test
+	public void testSpezialSumpf() throws MapLoadException {
+		compareOnMap(MapUtils.getSpezialSumpf());
+	}
+
+	private void compareOnMap(MapLoader mapLoader) throws MapLoadException {
+		MatchConstants.init(new NetworkTimer(true), 0);
+		MainGridDataAccessor grid = new MainGridDataAccessor(mapLoader.loadMainGrid(null).getMainGrid());
+		short width = grid.getWidth();
+		short height = grid.getHeight();
+
+		CountingPathMap map = new CountingPathMap(grid.getFlagsGrid(), grid.getLandscapeGrid());
+		BucketQueueAStar baseAStar = new BucketQueueAStar(map, width, height);
+		HierarchicalAStar hierarchicalAStar = new HierarchicalAStar(map, baseAStar, width, height);
+
+		MilliStopWatch watch = new MilliStopWatch();
+		hierarchicalAStar.updateAbstraction();
+		watch.stop("building abstraction of " + width + "x" + height + " map with " + hierarchicalAStar.getNumberOfPortals() + " portals");
+
+		int[] routes = createRoutes(map, width, height);
+
+		Result base = runRoutes(baseAStar, map, routes, false);
+		Result hierarchical = runRoutes(hierarchicalAStar, map, routes, true);
+
+		assertEquals(base.foundPaths, hierarchical.foundPaths);
+		System.out.println("A*:  " + base);
+		System.out.println("HPA: " + hierarchical);
+		System.out.println("expanded nodes ratio: " + (float) hierarchical.expandedNodes / base.expandedNodes
+			+ "   path length ratio: " + (float) hierarchical.pathLength / base.pathLength);
+	}
+
+	private static int[] createRoutes(CountingPathMap map, short width, short height) {
+		Random random = new Random(42);
+		int[] routes = new int[4 * NUMBER_OF_ROUTES];
+		int route = 0;
+		while (route < NUMBER_OF_ROUTES) {
+			int sx = random.nextInt(width);
+			int sy = random.nextInt(height);
+			int tx = random.nextInt(width);
+			int ty = random.nextInt(height);
+			if (!map.isBlocked(sx, sy) && !map.isBlocked(tx, ty) && map.getBlockedPartition(sx, sy) == map.getBlockedPartition(tx, ty)
+				&& ShortPoint2D.getOnGridDist(tx - sx, ty - sy) >= MIN_ROUTE_DISTANCE) {
+				routes[4 * route] = sx;
+				routes[4 * route + 1] = sy;
+				routes[4 * route + 2] = tx;
+				routes[4 * route + 3] = ty;
+				route++;
+			}
+		}
+		return routes;
+	}
+
+	private static Result runRoutes(AbstractAStar aStar, CountingPathMap map, int[] routes, boolean hierarchical) {
+		Result result = new Result();
+		map.expandedNodes = 0;
+		long start = System.nanoTime();
+		for (int route = 0; route < NUMBER_OF_ROUTES; route++) {
+			short sx = (short) routes[4 * route];
+			short sy = (short) routes[4 * route + 1];
+			Path path = aStar.findPath(new Requester(sx, sy, hierarchical), sx, sy, (short) routes[4 * route + 2], (short) routes[4 * route + 3]);
+			if (path != null) {
+				result.foundPaths++;
+				result.pathLength += path.getLength();
+			}
+		}
+		result.nanos = System.nanoTime() - start;
+		result.expandedNodes = map.expandedNodes;
+		return result;
+	}
+
+	private static class Result {
+		int  foundPaths;
+		long pathLength;
+		long expandedNodes;
+		long nanos;
+
+		@Override
+		public String toString() {
+			return NUMBER_OF_ROUTES + " routes in " + nanos / 1000000 + " ms, " + foundPaths + " found, " + expandedNodes + " expanded nodes, total path length " + pathLength;
+		}
+	}
+
+	private static class CountingPathMap implements IHierarchicalAStarPathMap {
+		private final FlagsGrid     flagsGrid;
+		private final LandscapeGrid landscapeGrid;
+		long expandedNodes;
+
+		CountingPathMap(FlagsGrid flagsGrid, LandscapeGrid landscapeGrid) {
+			this.flagsGrid = flagsGrid;
+			this.landscapeGrid = landscapeGrid;
+		}
+
+		@Override
+		public boolean isBlocked(int x, int y) {
+			return flagsGrid.isBlocked(x, y);
+		}
+
+		@Override
+		public boolean isBlocked(IPathCalculatable requester, int x, int y) {
+			return flagsGrid.isBlocked(x, y);
+		}
+
+		@Override
+		public float getCost(IPathCalculatable requester, int sx, int sy, int tx, int ty) {
+			return 1;
+		}
+
+		@Override
+		public void markAsOpen(int x, int y) {
+		}
+
+		@Override
+		public void markAsClosed(int x, int y) {
+			expandedNodes++;
+		}
+
+		@Override
+		public void setDebugColor(int x, int y, Color color) {
+		}
+
+		@Override
+		public short getBlockedPartition(int x, int y) {
+			return landscapeGrid.getBlockedPartitionAt(x, y);
+		}
+	}
+
+	private static class Requester implements IPathCalculatable {
+		private final ShortPoint2D position;
+		private final boolean      hierarchical;
+
+		Requester(short x, short y, boolean hierarchical) {
+			this.position = new ShortPoint2D(x, y);
+			this.hierarchical = hierarchical;
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		public IPlayer getPlayer() {
+			return IPlayer.DEFAULT_DUMMY_PLAYER0;
+		}
+
+		@Override
+		public boolean needsPlayersGround() {
+			return false;
+		}
+
+		@Override
+		public boolean isShip() {
+			return false;
+		}
+
+		@Override
+		public boolean usesHierarchicalPathfinding() {
+			return hierarchical;
+		}
+
+		@Override
+		public boolean usesPathCache() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.astar.hierarchical;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.algorithms.path.astar.DummyEmptyAStarMap;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+public class HierarchicalAStarTest {
+
+	private static final short WIDTH  = 150;
+	private static final short HEIGHT = 130;
+
+	private final DummyEmptyAStarMap map       = new DummyEmptyAStarMap(WIDTH, HEIGHT);
+	private final BucketQueueAStar   baseAStar = new BucketQueueAStar(map, WIDTH, HEIGHT);
+	private final HierarchicalAStar  aStar     = new HierarchicalAStar(map, baseAStar, WIDTH, HEIGHT, 10);
+
+	@Test
+	public void testEmptyMapPathsAreValidAndNearlyOptimal() {
+		Random random = new Random(1);
+		for (int i = 0; i < 500; i++) {
+			short sx = (short) random.nextInt(WIDTH);
+			short sy = (short) random.nextInt(HEIGHT);
+			short tx = (short) random.nextInt(WIDTH);
+			short ty = (short) random.nextInt(HEIGHT);
+			if (sx == tx && sy == ty) {
+				continue;
+			}
+
+			Path path = aStar.findPath(getPathable(sx, sy, true), new ShortPoint2D(tx, ty));
+			int optimalLength = ShortPoint2D.getOnGridDist(tx - sx, ty - sy);
+
+			assertValidPath(path, sx, sy, tx, ty);
+			assertTrue(path.getLength() + " > " + optimalLength, path.getLength() <= optimalLength * 1.25f + 4);
+		}
+	}
+
+	@Test
+	public void testRequesterWithoutHierarchicalPathfindingGetsOptimalPath() {
+		Path path = aStar.findPath(getPathable((short) 5, (short) 5, false), new ShortPoint2D(140, 120));
+		assertEquals(ShortPoint2D.getOnGridDist(135, 115), path.getLength());
+	}
+
+	@Test
+	public void testFindsSameReachabilityAsBaseAStarOnRandomObstacles() {
+		Random random = new Random(2);
+		for (int i = 0; i < 2500; i++) {
+			map.setBlocked(random.nextInt(WIDTH), random.nextInt(HEIGHT), true);
+		}
+		addWallWithGap(75, 10);
+		informAll();
+
+		for (int i = 0; i < 300; i++) {
+			short sx = (short) random.nextInt(WIDTH);
+			short sy = (short) random.nextInt(HEIGHT);
+			short tx = (short) random.nextInt(WIDTH);
+			short ty = (short) random.nextInt(HEIGHT);
+			if ((sx == tx && sy == ty) || map.isBlocked(sx, sy)) {
+				continue;
+			}
+
+			Path expected = baseAStar.findPath(getPathable(sx, sy, false), new ShortPoint2D(tx, ty));
+			Path actual = aStar.findPath(getPathable(sx, sy, true), new ShortPoint2D(tx, ty));
+
+			assertEquals(expected == null, actual == null);
+			if (actual != null) {
+				assertValidPath(actual, sx, sy, tx, ty);
+			}
+		}
+	}
+
+	@Test
+	public void testAbstractionIsUpdatedWhenBlockingChanges() {
+		Path before = aStar.findPath(getPathable((short) 10, (short) 60, true), new ShortPoint2D(140, 60));
+		assertValidPath(before, 10, 60, 140, 60);
+		assertEquals(0, aStar.updateAbstraction());
+
+		addWallWithGap(75, 120);
+		for (int y = 0; y < HEIGHT; y++) {
+			aStar.blockedChanged(75, y);
+		}
+		assertTrue(aStar.updateAbstraction() > 0);
+
+		Path after = aStar.findPath(getPathable((short) 10, (short) 60, true), new ShortPoint2D(140, 60));
+		assertValidPath(after, 10, 60, 140, 60);
+		assertTrue(after.getLength() > before.getLength() + 50);
+	}
+
+	private void addWallWithGap(int x, int gapY) {
+		for (int y = 0; y < HEIGHT; y++) {
+			map.setBlocked(x, y, Math.abs(y - gapY) > 1);
+		}
+	}
+
+	private void informAll() {
+		for (int x = 0; x < WIDTH; x++) {
+			for (int y = 0; y < HEIGHT; y++) {
+				aStar.blockedChanged(x, y);
+			}
+		}
+	}
+
+	private void assertValidPath(Path path, int sx, int sy, int tx, int ty) {
+		assertNotNull(path);
+		int x = sx;
+		int y = sy;
+		while (path.hasNextStep()) {
+			int nextX = path.nextX();
+			int nextY = path.nextY();
+			assertEquals(1, ShortPoint2D.getOnGridDist(nextX - x, nextY - y));
+			assertFalse(map.isBlocked(nextX, nextY));
+			x = nextX;
+			y = nextY;
+			path.goToNextStep();
+		}
+		assertEquals(tx, x);
+		assertEquals(ty, y);
+	}
+
+	private IPathCalculatable getPathable(final short x, final short y, final boolean hierarchical) {
+		return new IPathCalculatable() {
+			@Override
+			public ShortPoint2D getPosition() {
+				return new ShortPoint2D(x, y);
+			}
+
+			@Override
+			public IPlayer getPlayer() {
+				return IPlayer.DEFAULT_DUMMY_PLAYER0;
+			}
+
+			@Override
+			public boolean needsPlayersGround() {
+				return false;
+			}
+
+			@Override
+			public boolean isShip() {
+				return false;
+			}
+
+			@Override
+			public boolean usesHierarchicalPathfinding() {
+				return hierarchical;
+			}
+
+			@Override
+			public boolean usesPathCache() {
+				return false;
+			}
+		};
+	}
+}
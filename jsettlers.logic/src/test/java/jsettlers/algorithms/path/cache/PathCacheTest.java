@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.Path;
+
+public class PathCacheTest {
+	private static final short WIDTH  = 100;
+	private static final short HEIGHT = 100;
+
+	private final PathCache cache = new PathCache(WIDTH, HEIGHT, 3, 10);
+
+	@Test
+	public void testHitsAndMisses() {
+		assertNull(cache.get((short) 0, (short) 0, (short) 5, (short) 0, (short) 1));
+		cache.put((short) 0, (short) 0, (short) 5, (short) 0, (short) 1, createStraightPath(0, 5, 0));
+
+		assertNotNull(cache.get((short) 0, (short) 0, (short) 5, (short) 0, (short) 1));
+		assertNull(cache.get((short) 0, (short) 0, (short) 5, (short) 0, (short) 2));
+		assertNull(cache.get((short) 0, (short) 0, (short) 6, (short) 0, (short) 1));
+
+		assertEquals(1, cache.getHits());
+		assertEquals(3, cache.getMisses());
+		assertEquals(0.25f, cache.getHitRate(), 0.0001f);
+	}
+
+	@Test
+	public void testCachedPathsHaveIndependentSteps() {
+		Path original = createStraightPath(0, 5, 0);
+		cache.put((short) 0, (short) 0, (short) 5, (short) 0, (short) 1, original);
+		original.goToNextStep(3);
+
+		Path first = cache.get((short) 0, (short) 0, (short) 5, (short) 0, (short) 1);
+		Path second = cache.get((short) 0, (short) 0, (short) 5, (short) 0, (short) 1);
+		assertNotSame(first, second);
+
+		first.goToNextStep(2);
+		assertEquals(3, first.nextX());
+		assertEquals(1, second.nextX());
+		assertEquals(5, second.getRemainingSteps());
+	}
+
+	@Test
+	public void testCachedPathsAreReadOnly() {
+		Path original = createStraightPath(0, 5, 0);
+		cache.put((short) 0, (short) 0, (short) 5, (short) 0, (short) 1, original);
+		Path cached = cache.get((short) 0, (short) 0, (short) 5, (short) 0, (short) 1);
+
+		assertInsertFails(original);
+		assertInsertFails(cached);
+		assertEquals(1, cached.nextX());
+	}
+
+	@Test
+	public void testInvalidationOnlyDropsPathsTouchingTheRegion() {
+		cache.put((short) 0, (short) 0, (short) 30, (short) 0, (short) 1, createStraightPath(0, 30, 0));
+		cache.put((short) 0, (short) 50, (short) 5, (short) 50, (short) 1, createStraightPath(0, 5, 50));
+
+		cache.invalidate(22, 15);
+		assertEquals(0, cache.getInvalidations());
+		assertEquals(2, cache.size());
+
+		cache.invalidate(25, 0);
+		assertEquals(1, cache.getInvalidations());
+		assertNull(cache.get((short) 0, (short) 0, (short) 30, (short) 0, (short) 1));
+		assertNotNull(cache.get((short) 0, (short) 50, (short) 5, (short) 50, (short) 1));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedPathIsEvicted() {
+		cache.put((short) 0, (short) 0, (short) 5, (short) 0, (short) 1, createStraightPath(0, 5, 0));
+		cache.put((short) 0, (short) 1, (short) 5, (short) 1, (short) 1, createStraightPath(0, 5, 1));
+		cache.put((short) 0, (short) 2, (short) 5, (short) 2, (short) 1, createStraightPath(0, 5, 2));
+		cache.get((short) 0, (short) 0, (short) 5, (short) 0, (short) 1);
+
+		cache.put((short) 0, (short) 3, (short) 5, (short) 3, (short) 1, createStraightPath(0, 5, 3));
+
+		assertEquals(3, cache.size());
+		assertEquals(1, cache.getEvictions());
+		assertNull(cache.get((short) 0, (short) 1, (short) 5, (short) 1, (short) 1));
+		assertNotNull(cache.get((short) 0, (short) 0, (short) 5, (short) 0, (short) 1));
+
+		cache.invalidate(0, 1); // the evicted path must not be invalidated anymore
+		assertEquals(3, cache.getInvalidations());
+		assertEquals(0, cache.size());
+	}
+
+	private static void assertInsertFails(Path path) {
+		try {
+			path.insertAt(0, (short) 42, (short) 42);
+			fail("the positions of a shared path must not be changeable");
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	private static Path createStraightPath(int startX, int targetX, int y) {
+		Path path = new Path(targetX - startX);
+		for (int i = 0; i < path.getLength(); i++) {
+			path.insertAt(i, (short) (startX + i + 1), (short) y);
+		}
+		return path;
+	}
+}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.dijkstra;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.algorithms.path.astar.DummyEmptyAStarMap;
+import jsettlers.common.mapobject.EMapObjectType;
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.grid.objects.ObjectsGrid;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Compares the time the workers need to search for trees and stones with and without the {@link SearchTypeIndex}.
+ */
+public class DijkstraSearchSpeedTest {
+	private static final int   SEARCHES   = 20000;
+	private static final short WORK_RADIUS = 15;
+
+	@Test
+	public void testSpezialSumpf() throws MapLoadException {
+		compareOnMap(MapUtils.getSpezialSumpf());
+	}
+
+	@Test
+	public void testMountainlake() throws MapLoadException {
+		compareOnMap(MapUtils.getMountainlake());
+	}
+
+	private void compareOnMap(MapLoader mapLoader) throws MapLoadException {
+		MatchConstants.init(new NetworkTimer(true), 0);
+		MainGrid grid = mapLoader.loadMainGrid(null).getMainGrid();
+		short width = grid.getWidth();
+		short height = grid.getHeight();
+
+		DummyEmptyAStarMap aStarMap = new DummyEmptyAStarMap(width, height);
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				aStarMap.setBlocked(x, y, grid.getFlagsGrid().isBlocked(x, y));
+			}
+		}
+		BucketQueueAStar aStar = new BucketQueueAStar(aStarMap, width, height);
+
+		CuttableObjectsMap map = new CuttableObjectsMap(grid.getObjectsGrid(), height);
+		long start = System.nanoTime();
+		SearchTypeIndex index = new SearchTypeIndex(map, width, height, EnumSet.of(ESearchType.CUTTABLE_TREE, ESearchType.CUTTABLE_STONE));
+		index.rebuild();
+		long rebuildNanos = System.nanoTime() - start;
+
+		DijkstraAlgorithm ringScan = new DijkstraAlgorithm(map, aStar, width, height);
+		DijkstraAlgorithm indexed = new DijkstraAlgorithm(map, aStar, index, width, height);
+
+		short[] centers = new short[2 * SEARCHES];
+		Random random = new Random(1);
+		for (int i = 0; i < SEARCHES; i++) {
+			short x, y;
+			do {
+				x = (short) random.nextInt(width);
+				y = (short) random.nextInt(height);
+			} while (aStarMap.isBlocked(x, y));
+			centers[2 * i] = x;
+			centers[2 * i + 1] = y;
+		}
+
+		Path[] expected = new Path[SEARCHES];
+		Path[] actual = new Path[SEARCHES];
+		search(ringScan, centers, expected); // warm up
+		search(indexed, centers, actual);
+
+		start = System.nanoTime();
+		search(ringScan, centers, expected);
+		long ringScanNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		search(indexed, centers, actual);
+		long indexedNanos = System.nanoTime() - start;
+
+		int found = 0;
+		for (int i = 0; i < SEARCHES; i++) {
+			assertEquals(expected[i] == null, actual[i] == null);
+			if (expected[i] != null) {
+				assertEquals(expected[i].getTargetX(), actual[i].getTargetX());
+				assertEquals(expected[i].getTargetY(), actual[i].getTargetY());
+				found++;
+			}
+		}
+
+		System.out.println(mapLoader.getMapName() + ": " + index.getNumberOfCandidates(ESearchType.CUTTABLE_TREE) + " trees, "
+			+ index.getNumberOfCandidates(ESearchType.CUTTABLE_STONE) + " stones, " + found + " of " + SEARCHES + " searches successful");
+		System.out.println("\tring scan: " + ringScanNanos / 1000000 + " ms, index: " + indexedNanos / 1000000 + " ms, index rebuild: "
+			+ rebuildNanos / 1000000 + " ms");
+		assertTrue(found > 0);
+	}
+
+	private static void search(DijkstraAlgorithm dijkstra, short[] centers, Path[] results) {
+		for (int i = 0; i < results.length; i++) {
+			short x = centers[2 * i];
+			short y = centers[2 * i + 1];
+			ESearchType type = i % 2 == 0 ? ESearchType.CUTTABLE_TREE : ESearchType.CUTTABLE_STONE;
+			results[i] = dijkstra.find(new TestRequester(x, y), x, y, (short) 0, WORK_RADIUS, type);
+		}
+	}
+
+	private static class CuttableObjectsMap implements IDijkstraPathMap, ISearchTypeIndexMap {
+		private final ObjectsGrid objectsGrid;
+		private final short       height;
+
+		CuttableObjectsMap(ObjectsGrid objectsGrid, short height) {
+			this.objectsGrid = objectsGrid;
+			this.height = height;
+		}
+
+		@Override
+		public boolean isSearchCandidate(int x, int y, ESearchType type) {
+			switch (type) {
+			case CUTTABLE_TREE:
+				return x > 0 && y > 0 && objectsGrid.hasCuttableObject(x - 1, y - 1, EMapObjectType.TREE_ADULT);
+			case CUTTABLE_STONE:
+				return y + 1 < height && x - 1 > 0 && objectsGrid.hasCuttableObject(x - 1, y + 1, EMapObjectType.STONE);
+			default:
+				return true;
+			}
+		}
+
+		@Override
+		public boolean fitsSearchType(int x, int y, ESearchType type, IPathCalculatable requester) {
+			return isSearchCandidate(x, y, type);
+		}
+
+		@Override
+		public boolean fitsSearchType(int x, int y, Set<ESearchType> types, IPathCalculatable requester) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void setDijkstraSearched(int x, int y) {
+		}
+	}
+
+	private static class TestRequester implements IPathCalculatable {
+		private final ShortPoint2D position;
+
+		TestRequester(short x, short y) {
+			this.position = new ShortPoint2D(x, y);
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		public IPlayer getPlayer() {
+			return IPlayer.DEFAULT_DUMMY_PLAYER0;
+		}
+
+		@Override
+		public boolean needsPlayersGround() {
+			return false;
+		}
+
+		@Override
+		public boolean isShip() {
+			return false;
+		}
+
+		@Override
+		public boolean usesHierarchicalPathfinding() {
+			return false;
+		}
+
+		@Override
+		public boolean usesPathCache() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.dijkstra;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.algorithms.path.astar.DummyEmptyAStarMap;
+import jsettlers.common.material.ESearchType;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+public class SearchTypeIndexTest {
+	private static final short WIDTH  = 120;
+	private static final short HEIGHT = 100;
+
+	private static final byte[] DIRECTION_INCREASE_X = { -1, 0, 1, 1, 0, -1 };
+	private static final byte[] DIRECTION_INCREASE_Y = { 0, 1, 1, 0, -1, -1 };
+
+	private final TestMap map = new TestMap();
+	private final SearchTypeIndex index = new SearchTypeIndex(map, WIDTH, HEIGHT, EnumSet.of(ESearchType.CUTTABLE_TREE));
+
+	@Test
+	public void testSearchOrderFollowsTheRingWalk() {
+		assertEquals(0, SearchTypeIndex.getSearchOrder(0, 0, 0));
+
+		int expectedOrder = 1;
+		for (int radius = 1; radius <= 12; radius++) {
+			int x = 0, y = -radius;
+			for (int direction = 0; direction < 6; direction++) {
+				for (int length = 0; length < radius; length++) {
+					x += DIRECTION_INCREASE_X[direction];
+					y += DIRECTION_INCREASE_Y[direction];
+					assertEquals(radius, ShortPoint2D.getOnGridDist(x, y));
+					assertEquals("offset " + x + "|" + y, expectedOrder++, SearchTypeIndex.getSearchOrder(x, y, radius));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testUpdateKeepsTheCandidatesInSync() {
+		index.rebuild();
+		assertEquals(0, index.getNumberOfCandidates(ESearchType.CUTTABLE_TREE));
+		assertFalse(index.isIndexed(ESearchType.CUTTABLE_STONE));
+
+		map.candidates.set(5 + 7 * WIDTH);
+		index.update(5, 7, ESearchType.CUTTABLE_TREE);
+		index.update(5, 7, ESearchType.CUTTABLE_TREE);
+		index.update(-1, 7, ESearchType.CUTTABLE_TREE);
+		index.update(5, 7, ESearchType.CUTTABLE_STONE);
+		assertTrue(index.isCandidate(5, 7, ESearchType.CUTTABLE_TREE));
+		assertEquals(1, index.getNumberOfCandidates(ESearchType.CUTTABLE_TREE));
+
+		map.candidates.clear(5 + 7 * WIDTH);
+		index.update(5, 7, ESearchType.CUTTABLE_TREE);
+		assertFalse(index.isCandidate(5, 7, ESearchType.CUTTABLE_TREE));
+		assertEquals(0, index.getNumberOfCandidates(ESearchType.CUTTABLE_TREE));
+	}
+
+	@Test
+	public void testFindNearestReturnsTheCandidatesInSearchOrder() {
+		map.candidates.set(50 + 40 * WIDTH); // radius 0
+		map.candidates.set(53 + 40 * WIDTH); // radius 3
+		map.candidates.set(50 + 38 * WIDTH); // radius 2
+		map.candidates.set(49 + 38 * WIDTH); // radius 2, visited before (50|38)
+		map.candidates.set(80 + 40 * WIDTH); // out of range
+		index.rebuild();
+
+		int[] result = new int[3];
+		assertEquals(3, index.findNearest(50, 40, 0, 10, ESearchType.CUTTABLE_TREE, result));
+		assertArrayEquals(new int[] { 50 + 40 * WIDTH, 49 + 38 * WIDTH, 50 + 38 * WIDTH }, result);
+
+		assertEquals(3, index.findNearest(50, 40, 1, 10, ESearchType.CUTTABLE_TREE, result));
+		assertArrayEquals(new int[] { 49 + 38 * WIDTH, 50 + 38 * WIDTH, 53 + 40 * WIDTH }, result);
+	}
+
+	@Test
+	public void testIndexedSearchFindsTheSameTargetsAsTheRingScan() {
+		Random random = new Random(42);
+		DummyEmptyAStarMap aStarMap = new DummyEmptyAStarMap(WIDTH, HEIGHT);
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				aStarMap.setBlocked(x, y, random.nextInt(100) < 15);
+				if (random.nextInt(100) < 4) {
+					map.candidates.set(x + y * WIDTH);
+				}
+				if (random.nextInt(100) < 30) {
+					map.reserved.set(x + y * WIDTH);
+				}
+			}
+		}
+		index.rebuild();
+
+		BucketQueueAStar aStar = new BucketQueueAStar(aStarMap, WIDTH, HEIGHT);
+		DijkstraAlgorithm ringScan = new DijkstraAlgorithm(map, aStar, WIDTH, HEIGHT);
+		DijkstraAlgorithm indexed = new DijkstraAlgorithm(map, aStar, index, WIDTH, HEIGHT);
+
+		int foundPaths = 0;
+		for (int i = 0; i < 500; i++) {
+			short x = (short) random.nextInt(WIDTH);
+			short y = (short) random.nextInt(HEIGHT);
+			aStarMap.setBlocked(x, y, false);
+			short minRadius = (short) random.nextInt(3);
+			short maxRadius = (short) (minRadius + 1 + random.nextInt(30));
+			IPathCalculatable requester = new TestRequester(x, y);
+
+			Path expected = ringScan.find(requester, x, y, minRadius, maxRadius, ESearchType.CUTTABLE_TREE);
+			Path actual = indexed.find(requester, x, y, minRadius, maxRadius, ESearchType.CUTTABLE_TREE);
+
+			if (expected == null) {
+				assertNull(actual);
+			} else {
+				assertEquals(expected.getTargetX(), actual.getTargetX());
+				assertEquals(expected.getTargetY(), actual.getTargetY());
+				foundPaths++;
+			}
+		}
+		assertTrue(foundPaths > 100);
+	}
+
+	private static class TestMap implements IDijkstraPathMap, ISearchTypeIndexMap {
+		final BitSet candidates = new BitSet();
+		final BitSet reserved   = new BitSet();
+
+		@Override
+		public boolean isSearchCandidate(int x, int y, ESearchType type) {
+			return candidates.get(x + y * WIDTH);
+		}
+
+		@Override
+		public boolean fitsSearchType(int x, int y, ESearchType type, IPathCalculatable requester) {
+			return candidates.get(x + y * WIDTH) && !reserved.get(x + y * WIDTH);
+		}
+
+		@Override
+		public boolean fitsSearchType(int x, int y, Set<ESearchType> types, IPathCalculatable requester) {
+			return fitsSearchType(x, y, ESearchType.CUTTABLE_TREE, requester);
+		}
+
+		@Override
+		public void setDijkstraSearched(int x, int y) {
+		}
+	}
+
+	private static class TestRequester implements IPathCalculatable {
+		private final ShortPoint2D position;
+
+		TestRequester(short x, short y) {
+			this.position = new ShortPoint2D(x, y);
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		public IPlayer getPlayer() {
+			return IPlayer.DEFAULT_DUMMY_PLAYER0;
+		}
+
+		@Override
+		public boolean needsPlayersGround() {
+			return false;
+		}
+
+		@Override
+		public boolean isShip() {
+			return false;
+		}
+
+		@Override
+		public boolean usesHierarchicalPathfinding() {
+			return false;
+		}
+
+		@Override
+		public boolean usesPathCache() {
+			return false;
+		}
+	}
+}
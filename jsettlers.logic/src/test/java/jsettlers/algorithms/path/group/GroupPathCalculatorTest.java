@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.group;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.algorithms.path.astar.DummyEmptyAStarMap;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+
+public class GroupPathCalculatorTest {
+	private static final short WIDTH  = 100;
+	private static final short HEIGHT = 100;
+
+	private final DummyEmptyAStarMap  map                 = new DummyEmptyAStarMap(WIDTH, HEIGHT);
+	private final BucketQueueAStar    aStar               = new BucketQueueAStar(map, WIDTH, HEIGHT);
+	private final GroupPathCalculator groupPathCalculator = new GroupPathCalculator(map, aStar, WIDTH, HEIGHT);
+
+	@Test
+	public void testPathsToTheCenterAreShortestPaths() {
+		Random random = new Random(1);
+		blockRandomPositions(random);
+		ShortPoint2D center = new ShortPoint2D(50, 50);
+		map.setBlocked(center.x, center.y, false);
+
+		IPathCalculatable[] requesters = createRandomRequesters(random, 200);
+		ShortPoint2D[] targets = new ShortPoint2D[requesters.length];
+		for (int i = 0; i < targets.length; i++) {
+			targets[i] = center;
+		}
+
+		Path[] paths = groupPathCalculator.findPaths(requesters, targets, center);
+
+		int foundPaths = 0;
+		for (int i = 0; i < requesters.length; i++) {
+			Path expected = aStar.findPath(requesters[i], center);
+			if (expected == null) {
+				assertNull(paths[i]);
+			} else {
+				assertEquals(expected.getLength(), paths[i].getLength());
+				assertValidPath(requesters[i].getPosition(), center, paths[i]);
+				foundPaths++;
+			}
+		}
+		assertTrue(foundPaths > 100);
+	}
+
+	@Test
+	public void testPathsLeadToTheTargetsAroundTheCenter() {
+		Random random = new Random(2);
+		blockRandomPositions(random);
+		ShortPoint2D center = new ShortPoint2D(30, 70);
+
+		IPathCalculatable[] requesters = createRandomRequesters(random, 200);
+		ShortPoint2D[] targets = new ShortPoint2D[requesters.length];
+		for (int i = 0; i < targets.length; i++) {
+			targets[i] = new ShortPoint2D(center.x + random.nextInt(15) - 7, center.y + random.nextInt(15) - 7);
+			map.setBlocked(targets[i].x, targets[i].y, false);
+		}
+
+		Path[] paths = groupPathCalculator.findPaths(requesters, targets, center);
+
+		for (int i = 0; i < requesters.length; i++) {
+			Path expected = aStar.findPath(requesters[i], targets[i]);
+			assertEquals(expected == null, paths[i] == null);
+			if (paths[i] != null) {
+				assertValidPath(requesters[i].getPosition(), targets[i], paths[i]);
+			}
+		}
+	}
+
+	@Test
+	public void testEnclosedAndBlockedStarts() {
+		for (int y = 0; y < HEIGHT; y++) {
+			map.setBlocked(20, y, true);
+		}
+		ShortPoint2D center = new ShortPoint2D(60, 60);
+		IPathCalculatable enclosed = new TestRequester(10, 10);
+		IPathCalculatable onWall = new TestRequester(20, 50);
+		IPathCalculatable free = new TestRequester(80, 10);
+
+		Path[] paths = groupPathCalculator.findPaths(new IPathCalculatable[] { enclosed, onWall, free },
+			new ShortPoint2D[] { center, center, center }, center);
+
+		assertNull(paths[0]);
+		assertNotNull(paths[1]);
+		assertValidPathFromBlockedStart(onWall.getPosition(), center, paths[1]);
+		assertValidPath(free.getPosition(), center, paths[2]);
+	}
+
+	private void blockRandomPositions(Random random) {
+		for (int y = 0; y < HEIGHT; y++) {
+			for (int x = 0; x < WIDTH; x++) {
+				map.setBlocked(x, y, random.nextInt(100) < 25);
+			}
+		}
+	}
+
+	private IPathCalculatable[] createRandomRequesters(Random random, int number) {
+		IPathCalculatable[] requesters = new IPathCalculatable[number];
+		for (int i = 0; i < number; i++) {
+			int x, y;
+			do {
+				x = random.nextInt(WIDTH);
+				y = random.nextInt(HEIGHT);
+			} while (map.isBlocked(x, y));
+			requesters[i] = new TestRequester(x, y);
+		}
+		return requesters;
+	}
+
+	private void assertValidPath(ShortPoint2D start, ShortPoint2D target, Path path) {
+		ShortPoint2D position = start;
+		for (int i = 0; i < path.getLength(); i++) {
+			ShortPoint2D next = path.getNextPos();
+			path.goToNextStep();
+			assertEquals(1, position.getOnGridDistTo(next));
+			assertTrue(!map.isBlocked(next.x, next.y));
+			position = next;
+		}
+		assertEquals(target, position);
+	}
+
+	private void assertValidPathFromBlockedStart(ShortPoint2D start, ShortPoint2D target, Path path) {
+		ShortPoint2D position = start;
+		for (int i = 0; i < path.getLength(); i++) {
+			ShortPoint2D next = path.getNextPos();
+			path.goToNextStep();
+			assertEquals(1, position.getOnGridDistTo(next));
+			position = next;
+		}
+		assertEquals(target, position);
+	}
+
+	private static class TestRequester implements IPathCalculatable {
+		private final ShortPoint2D position;
+
+		TestRequester(int x, int y) {
+			this.position = new ShortPoint2D(x, y);
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		public IPlayer getPlayer() {
+			return IPlayer.DEFAULT_DUMMY_PLAYER0;
+		}
+
+		@Override
+		public boolean needsPlayersGround() {
+			return false;
+		}
+
+		@Override
+		public boolean isShip() {
+			return false;
+		}
+
+		@Override
+		public boolean usesHierarchicalPathfinding() {
+			return false;
+		}
+
+		@Override
+		public boolean usesPathCache() {
+			return false;
+		}
+	}
+}
@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.algorithms.path.group;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.Path;
+import jsettlers.algorithms.path.astar.BucketQueueAStar;
+import jsettlers.algorithms.path.astar.hierarchical.HierarchicalAStar;
+import jsettlers.algorithms.path.astar.hierarchical.IHierarchicalAStarPathMap;
+import jsettlers.common.Color;
+import jsettlers.common.map.shapes.HexGridArea;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGridDataAccessor;
+import jsettlers.logic.map.grid.flags.FlagsGrid;
+import jsettlers.logic.map.grid.landscape.LandscapeGrid;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Compares the time needed to calculate the paths of groups of soldiers with one {@link HierarchicalAStar} search per soldier and with the
+ * {@link GroupPathCalculator}.
+ */
+public class GroupPathSpeedTest {
+	private static final int[] GROUP_SIZES        = { 10, 100, 1000 };
+	private static final int   NUMBER_OF_GROUPS   = 10;
+	private static final int   MIN_ROUTE_DISTANCE = 80;
+
+	@Test
+	public void testMountainlake() throws MapLoadException {
+		compareOnMap(MapUtils.getMountainlake());
+	}
+
+	@Test
+	public void testSpezialSumpf() throws MapLoadException {
+		compareOnMap(MapUtils.getSpezialSumpf());
+	}
+
+	private void compareOnMap(MapLoader mapLoader) throws MapLoadException {
+		MatchConstants.init(new NetworkTimer(true), 0);
+		MainGridDataAccessor grid = new MainGridDataAccessor(mapLoader.loadMainGrid(null).getMainGrid());
+		short width = grid.getWidth();
+		short height = grid.getHeight();
+
+		PathMap map = new PathMap(grid.getFlagsGrid(), grid.getLandscapeGrid());
+		BucketQueueAStar baseAStar = new BucketQueueAStar(map, width, height);
+		HierarchicalAStar hierarchicalAStar = new HierarchicalAStar(map, baseAStar, width, height);
+		hierarchicalAStar.updateAbstraction();
+		GroupPathCalculator groupPathCalculator = new GroupPathCalculator(map, hierarchicalAStar, width, height);
+
+		compareGroupSize(map, hierarchicalAStar, groupPathCalculator, 100, width, height); // warm up
+
+		System.out.println(mapLoader.getMapName() + ":");
+		for (int groupSize : GROUP_SIZES) {
+			System.out.println("\tgroup size " + groupSize + ": " + compareGroupSize(map, hierarchicalAStar, groupPathCalculator, groupSize, width, height));
+		}
+	}
+
+	private static String compareGroupSize(PathMap map, HierarchicalAStar hierarchicalAStar, GroupPathCalculator groupPathCalculator, int groupSize,
+			short width, short height) {
+		Random random = new Random(groupSize);
+		long singleNanos = 0, groupNanos = 0;
+		long singleLength = 0, groupLength = 0;
+		long maxSingleNanos = 0, maxGroupNanos = 0;
+
+		for (int group = 0; group < NUMBER_OF_GROUPS; group++) {
+			ShortPoint2D[] route = createRoute(map, random, width, height);
+			IPathCalculatable[] soldiers = createSoldiers(map, route[0], groupSize, width, height);
+			ShortPoint2D[] targets = createTargets(map, route[1], soldiers.length, width, height);
+
+			long start = System.nanoTime();
+			Path[] expected = new Path[soldiers.length];
+			for (int i = 0; i < soldiers.length; i++) {
+				expected[i] = hierarchicalAStar.findPath(soldiers[i], targets[i]);
+			}
+			long nanos = System.nanoTime() - start;
+			singleNanos += nanos;
+			maxSingleNanos = Math.max(maxSingleNanos, nanos);
+
+			start = System.nanoTime();
+			Path[] actual = groupPathCalculator.findPaths(soldiers, targets, route[1]);
+			nanos = System.nanoTime() - start;
+			groupNanos += nanos;
+			maxGroupNanos = Math.max(maxGroupNanos, nanos);
+
+			for (int i = 0; i < soldiers.length; i++) {
+				assertEquals(expected[i] == null, actual[i] == null);
+				if (actual[i] != null) {
+					assertValidPath(map, soldiers[i].getPosition(), targets[i], actual[i]);
+					singleLength += expected[i].getLength();
+					groupLength += actual[i].getLength();
+				}
+			}
+		}
+
+		return "A* per soldier " + singleNanos / NUMBER_OF_GROUPS / 1000 + " us (max " + maxSingleNanos / 1000 + " us), group "
+			+ groupNanos / NUMBER_OF_GROUPS / 1000 + " us (max " + maxGroupNanos / 1000 + " us), path length ratio " + (float) groupLength / singleLength;
+	}
+
+	static void assertValidPath(IHierarchicalAStarPathMap map, ShortPoint2D start, ShortPoint2D target, Path path) {
+		ShortPoint2D position = start;
+		for (int i = 0; i < path.getLength(); i++) {
+			ShortPoint2D next = path.getNextPos();
+			path.goToNextStep();
+			assertEquals(1, position.getOnGridDistTo(next));
+			assertTrue(!map.isBlocked(next.x, next.y));
+			position = next;
+		}
+		assertEquals(target, position);
+	}
+
+	private static ShortPoint2D[] createRoute(PathMap map, Random random, short width, short height) {
+		while (true) {
+			int sx = random.nextInt(width);
+			int sy = random.nextInt(height);
+			int tx = random.nextInt(width);
+			int ty = random.nextInt(height);
+			if (!map.isBlocked(sx, sy) && !map.isBlocked(tx, ty) && map.getBlockedPartition(sx, sy) == map.getBlockedPartition(tx, ty)
+				&& ShortPoint2D.getOnGridDist(tx - sx, ty - sy) >= MIN_ROUTE_DISTANCE) {
+				return new ShortPoint2D[] { new ShortPoint2D(sx, sy), new ShortPoint2D(tx, ty) };
+			}
+		}
+	}
+
+	private static IPathCalculatable[] createSoldiers(PathMap map, ShortPoint2D center, int groupSize, short width, short height) {
+		List<IPathCalculatable> soldiers = new ArrayList<>();
+		short partition = map.getBlockedPartition(center.x, center.y);
+		for (int radius = 0; soldiers.size() < groupSize && radius < 50; radius++) {
+			HexGridArea.streamBorder(center.x, center.y, radius).filterBounds(width, height).forEach((x, y) -> {
+				if (soldiers.size() < groupSize && !map.isBlocked(x, y) && map.getBlockedPartition(x, y) == partition) {
+					soldiers.add(new Soldier((short) x, (short) y));
+				}
+			});
+		}
+		return soldiers.toArray(new IPathCalculatable[0]);
+	}
+
+	/**
+	 * Spreads the targets around the center like the GuiTaskExecutor does.
+	 */
+	private static ShortPoint2D[] createTargets(PathMap map, ShortPoint2D center, int numberOfTargets, short width, short height) {
+		List<ShortPoint2D> targets = new ArrayList<>();
+		for (int radius = 0; targets.size() < numberOfTargets; radius++) {
+			HexGridArea.streamBorder(center.x, center.y, radius).filterBounds(width, height).getEvery(2).forEach((x, y) -> {
+				if (targets.size() < numberOfTargets && !map.isBlocked(x, y)) {
+					targets.add(new ShortPoint2D(x, y));
+				}
+			});
+		}
+		return targets.toArray(new ShortPoint2D[0]);
+	}
+
+	private static class PathMap implements IHierarchicalAStarPathMap {
+		private final FlagsGrid     flagsGrid;
+		private final LandscapeGrid landscapeGrid;
+
+		PathMap(FlagsGrid flagsGrid, LandscapeGrid landscapeGrid) {
+			this.flagsGrid = flagsGrid;
+			this.landscapeGrid = landscapeGrid;
+		}
+
+		@Override
+		public boolean isBlocked(int x, int y) {
+			return flagsGrid.isBlocked(x, y);
+		}
+
+		@Override
+		public boolean isBlocked(IPathCalculatable requester, int x, int y) {
+			return flagsGrid.isBlocked(x, y);
+		}
+
+		@Override
+		public float getCost(IPathCalculatable requester, int sx, int sy, int tx, int ty) {
+			return 1;
+		}
+
+		@Override
+		public void markAsOpen(int x, int y) {
+		}
+
+		@Override
+		public void markAsClosed(int x, int y) {
+		}
+
+		@Override
+		public void setDebugColor(int x, int y, Color color) {
+		}
+
+		@Override
+		public short getBlockedPartition(int x, int y) {
+			return landscapeGrid.getBlockedPartitionAt(x, y);
+		}
+	}
+
+	private static class Soldier implements IPathCalculatable {
+		private final ShortPoint2D position;
+
+		Soldier(short x, short y) {
+			this.position = new ShortPoint2D(x, y);
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		public IPlayer getPlayer() {
+			return IPlayer.DEFAULT_DUMMY_PLAYER0;
+		}
+
+		@Override
+		public boolean needsPlayersGround() {
+			return false;
+		}
+
+		@Override
+		public boolean isShip() {
+			return false;
+		}
+
+		@Override
+		public boolean usesHierarchicalPathfinding() {
+			return true;
+		}
+
+		@Override
+		public boolean usesPathCache() {
+			return false;
+		}
+	}
+}
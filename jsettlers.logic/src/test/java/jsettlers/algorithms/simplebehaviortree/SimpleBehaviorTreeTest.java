@@ -1,5 +1,11 @@
 package jsettlers.algorithms.simplebehaviortree;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import org.junit.Test;
 
 import jsettlers.algorithms.simplebehaviortree.nodes.Parallel;
@@ -7,6 +13,7 @@ import jsettlers.common.utils.mutables.MutableInt;
 
 import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.*;
 import static jsettlers.algorithms.simplebehaviortree.NodeStatus.*;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class SimpleBehaviorTreeTest {
@@ -165,6 +172,38 @@ public class SimpleBehaviorTreeTest {
 		testTree(repeatTree, FAILURE);
 	}
 
+	@Test
+	public void testSerialization() throws IOException, ClassNotFoundException {
+		Root<TestMovable> seqTree = new Root<>(
+				sequence(
+						action(TestMovable::actionA),
+						waitFor(condition(TestMovable::waitFunc)),
+						action(TestMovable::actionB),
+						action(TestMovable::actionC),
+						action(TestMovable::reset)
+				)
+		);
+
+		TestMovable target = new TestMovable();
+		Tick<TestMovable> tick = new Tick<>(target, seqTree);
+		assertEquals(RUNNING, tick.tick());
+
+		byte[] serialized = serialize(tick);
+		Tick<TestMovable> deserialized = Tick.deserialize(new ObjectInputStream(new ByteArrayInputStream(serialized)), target, seqTree);
+
+		assertArrayEquals(serialized, serialize(deserialized));
+		assertEquals(SUCCESS, deserialized.tick());
+		assertEquals(RUNNING, deserialized.tick());
+	}
+
+	private static byte[] serialize(Tick<?> tick) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+			tick.serialize(oos);
+		}
+		return bytes.toByteArray();
+	}
+
 	private class TestMovable {
 
 		int i = 0;
@@ -0,0 +1,98 @@
+package jsettlers.algorithms.simplebehaviortree;
+
+import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.action;
+import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.alwaysSucceed;
+import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.condition;
+import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.guard;
+import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.guardSelector;
+import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.parallel;
+import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.repeatLoop;
+import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.selector;
+import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.sequence;
+import static jsettlers.algorithms.simplebehaviortree.BehaviorTreeHelper.waitFor;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import jsettlers.algorithms.simplebehaviortree.nodes.Guard;
+import jsettlers.algorithms.simplebehaviortree.nodes.Parallel;
+
+/**
+ * Measures the time and the memory allocated per tick for many workers that run a tree with the composites the movables use.
+ */
+public class TickSpeedTest {
+	private static final int WORKERS = 10000;
+	private static final int TICKS   = 200;
+	private static final int JOBS    = 20;
+
+	@Test
+	public void testTicks() {
+		Root<Worker> tree = createTree();
+		System.out.println("Tree with " + tree.getChildrenCount() + " nodes");
+
+		runTicks(tree); // warm up
+		runTicks(tree);
+	}
+
+	private static void runTicks(Root<Worker> tree) {
+		List<Tick<Worker>> ticks = new ArrayList<>(WORKERS);
+		for (int i = 0; i < WORKERS; i++) {
+			ticks.add(new Tick<>(new Worker(i % JOBS), tree));
+		}
+
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long allocatedBefore = threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+		long start = System.nanoTime();
+		for (int round = 0; round < TICKS; round++) {
+			for (Tick<Worker> tick : ticks) {
+				tick.tick();
+			}
+		}
+		long time = System.nanoTime() - start;
+		long allocated = threads.getThreadAllocatedBytes(Thread.currentThread().getId()) - allocatedBefore;
+
+		long tickCount = (long) WORKERS * TICKS;
+		System.out.println(tickCount + " ticks: " + time / tickCount + " ns and " + allocated / tickCount + " bytes allocated per tick");
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Root<Worker> createTree() {
+		Guard<Worker>[] jobs = new Guard[JOBS];
+		for (int i = 0; i < JOBS; i++) {
+			int job = i;
+			jobs[i] = guard(worker -> worker.job == job,
+					sequence(
+							action(worker -> { worker.steps++; }),
+							repeatLoop(3,
+									sequence(
+											action(worker -> { worker.steps++; }),
+											waitFor(condition(worker -> (worker.steps++ & 1) == 0))
+									)
+							),
+							selector(
+									condition(worker -> false),
+									action(worker -> { worker.steps++; })
+							),
+							parallel(Parallel.Policy.ALL, false,
+									alwaysSucceed(),
+									waitFor(condition(worker -> (worker.steps++ & 3) == 0))
+							),
+							action(worker -> { worker.job = (worker.job + 1) % JOBS; })
+					)
+			);
+		}
+		return new Root<>(guardSelector(jobs));
+	}
+
+	private static class Worker {
+		int job;
+		int steps;
+
+		Worker(int job) {
+			this.job = job;
+		}
+	}
+}
@@ -53,6 +53,7 @@ public class AiTestUtils {
 		} while (aiStatistics.isAlive(expectedLooserSlotId));
 		System.out.println("The battle between " + expectedWinner + " and " + expectedLooser + " took " + (MatchConstants.clock().getTime() / 60000) +
 				" minutes.");
+		System.out.println(String.format(Locale.ENGLISH, "Simulated the battle with %.1f seconds per second.", MatchConstants.clock().getSimulationSpeed()));
 		ReplayUtils.awaitShutdown(startedGame);
 
 		ensureRuntimePerformance("to apply light rules", startingGame.getAiExecutor().getApplyLightRulesStopWatch(), 20, 300);
@@ -83,7 +84,7 @@ public class AiTestUtils {
 			}
 		}
 
-		JSettlersGame game = new JSettlersGame(map, new OfflineNetworkConnector(), new InitialGameState(playerId, playerSettings, 1L));
+		JSettlersGame game = new JSettlersGame(map, new OfflineNetworkConnector(true), new InitialGameState(playerId, playerSettings, 1L));
 		return (JSettlersGame.GameRunner) game.start();
 	}
 
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.integration.replay;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import jsettlers.common.CommonConstants;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.main.replay.ReplayUtils;
+import jsettlers.testutils.TestUtils;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Runs the same games with the sequential and the parallel mode of the {@link jsettlers.logic.timer.RescheduleTimer} and checks that the
+ * resulting game states are equal.
+ */
+public class ParallelTimerDeterminismIT {
+	private static final String REMAINING_REPLAY_FILENAME = "out/remainingParallelReplay.log";
+
+	@BeforeClass
+	public static void loadSettings() {
+		CommonConstants.ENABLE_CONSOLE_LOGGING = true;
+		CommonConstants.CONTROL_ALL = true;
+		CommonConstants.USE_SAVEGAME_COMPRESSION = false;
+		Constants.FOG_OF_WAR_DEFAULT_ENABLED = false;
+
+		TestUtils.setupTempResourceManager();
+	}
+
+	@After
+	public void resetParallelMode() {
+		Constants.PARALLEL_TIMER_ENABLED = false;
+	}
+
+	@Test
+	public void testParallelReplayEqualsSequentialReplay() throws IOException, MapLoadException, ClassNotFoundException {
+		final byte playerId = 0;
+		final int targetTimeMinutes = 60;
+
+		ReplayUtils.PlayMapResult recordedGame = ReplayUtils.playMapToTargetTimes(MapUtils.getMountainlake(), playerId, targetTimeMinutes);
+		assertEquals(1, recordedGame.getSavegames().length);
+
+		Constants.PARALLEL_TIMER_ENABLED = false;
+		MapLoader sequentialSavegame = ReplayUtils.replayAndCreateSavegame(recordedGame, targetTimeMinutes, REMAINING_REPLAY_FILENAME);
+
+		Constants.PARALLEL_TIMER_ENABLED = true;
+		MapLoader parallelSavegame = ReplayUtils.replayAndCreateSavegame(recordedGame, targetTimeMinutes, REMAINING_REPLAY_FILENAME);
+
+		MapUtils.compareMapFiles(sequentialSavegame, parallelSavegame);
+	}
+}
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.integration.replay;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import jsettlers.common.CommonConstants;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.logic.player.PlayerSetting;
+import jsettlers.main.replay.ReplayUtils;
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.synchronic.timer.ReplayKeyframeIndex;
+import jsettlers.testutils.TestUtils;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Records a replay with keyframes, reports the size of the keyframes and measures seeking to a keyframe against replaying the game from its
+ * start. The savegames reached both ways and the savegame of the recorded game have to be equal.
+ * <p />
+ * The state of AI players is not part of the keyframes, so replays of games with AI players are always started at the beginning.
+ */
+public class ReplaySeekIT {
+	private static final String REMAINING_REPLAY_FILENAME = "out/remainingSeekReplay.log";
+	private static final int    KEYFRAME_INTERVAL_MINUTES = 5;
+
+	@BeforeClass
+	public static void loadSettings() {
+		CommonConstants.ENABLE_CONSOLE_LOGGING = true;
+		CommonConstants.CONTROL_ALL = true;
+		CommonConstants.USE_SAVEGAME_COMPRESSION = false;
+		Constants.FOG_OF_WAR_DEFAULT_ENABLED = false;
+
+		TestUtils.setupTempResourceManager();
+	}
+
+	@After
+	public void disableKeyframes() {
+		Constants.REPLAY_KEYFRAME_INTERVAL_LOCKSTEPS = 0;
+	}
+
+	@Test
+	public void testSeekingReachesTargetTime() throws IOException, MapLoadException, ClassNotFoundException {
+		MapLoader map = MapUtils.getMountainlake();
+		PlayerSetting[] playerSettings = new PlayerSetting[map.getMaxPlayers()];
+		for (byte i = 0; i < playerSettings.length; i++) {
+			playerSettings[i] = new PlayerSetting(i);
+		}
+		recordAndSeek(map, playerSettings, 58);
+	}
+
+	@Test
+	public void testSeekingWithAiPlayersReachesTargetTime() throws IOException, MapLoadException, ClassNotFoundException {
+		MapLoader map = MapUtils.getMountainlake();
+		recordAndSeek(map, PlayerSetting.createDefaultSettings((byte) 0, (byte) map.getMaxPlayers()), 23);
+	}
+
+	private static void recordAndSeek(MapLoader map, PlayerSetting[] playerSettings, int targetTimeMinutes) throws IOException, MapLoadException,
+			ClassNotFoundException {
+		final byte playerId = 0;
+
+		Constants.REPLAY_KEYFRAME_INTERVAL_LOCKSTEPS = KEYFRAME_INTERVAL_MINUTES * 60 * 1000 / NetworkConstants.Client.LOCKSTEP_PERIOD;
+		ReplayUtils.PlayMapResult recordedGame = ReplayUtils.playMapToTargetTimes(map, playerId, playerSettings, targetTimeMinutes);
+		Constants.REPLAY_KEYFRAME_INTERVAL_LOCKSTEPS = 0;
+
+		File replayFile = recordedGame.getFile();
+		assertNotNull(replayFile);
+		try (RandomAccessFile file = new RandomAccessFile(replayFile, "r")) {
+			ReplayKeyframeIndex index = ReplayKeyframeIndex.readFrom(file);
+			assertFalse(index.isEmpty());
+			long keyframesLength = index.getKeyframesLength();
+			System.out.println("Replay: " + replayFile.length() / 1024 + " KB, " + index.getEntries().size() + " keyframes: " + keyframesLength / 1024
+				+ " KB (" + keyframesLength / index.getEntries().size() / 1024 + " KB per keyframe), tasks: " + (replayFile.length() - keyframesLength) / 1024 + " KB");
+		}
+
+		long start = System.nanoTime();
+		MapLoader replayedSavegame = ReplayUtils.replayAndCreateSavegame(recordedGame, targetTimeMinutes, REMAINING_REPLAY_FILENAME);
+		long replayMs = (System.nanoTime() - start) / 1000000;
+
+		start = System.nanoTime();
+		MapLoader seekedSavegame = ReplayUtils.seekAndCreateSavegame(recordedGame, targetTimeMinutes);
+		long seekMs = (System.nanoTime() - start) / 1000000;
+
+		System.out.println("Reaching minute " + targetTimeMinutes + ": replay from start " + replayMs + " ms, seek to keyframe " + seekMs + " ms");
+
+		assertEquals(1, recordedGame.getSavegames().length);
+		MapUtils.compareMapFiles(replayedSavegame, seekedSavegame);
+		MapUtils.compareMapFiles(recordedGame.getSavegames()[0], seekedSavegame);
+	}
+}
@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.movable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.common.map.shapes.HexGridArea;
+import jsettlers.common.movable.EDirection;
+import jsettlers.common.movable.EMovableType;
+import jsettlers.common.player.IPlayer;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.logic.constants.Constants;
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.grid.MainGridDataAccessor;
+import jsettlers.logic.map.grid.flags.FlagsGrid;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.movable.Movable;
+import jsettlers.logic.movable.interfaces.AbstractMovableGrid;
+import jsettlers.logic.movable.interfaces.IAttackable;
+import jsettlers.logic.movable.interfaces.IAttackableMovable;
+import jsettlers.logic.movable.interfaces.ILogicMovable;
+import jsettlers.logic.player.Player;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Lets two armies of soldiers walk around each other on the mountain lake map and compares the enemies found by
+ * {@link MovableGrid#forEachEnemy(IPlayer, int, int, int, int, java.util.function.Consumer)} with a scan of the full {@link HexGridArea}, like
+ * {@link MovableGrid#informMovables(IAttackableMovable, short, short, boolean)} did before.
+ */
+public class BattleSpeedTest {
+	private static final int[] ARMY_SIZES      = { 50, 200, 500 };
+	private static final int   ROUNDS          = 20;
+	private static final int   ARMIES_DISTANCE = 20;
+
+	@Test
+	public void testMountainlake() throws MapLoadException {
+		MatchConstants.init(new NetworkTimer(true), 0);
+		MainGrid mainGrid = MapUtils.getMountainlake().loadMainGrid(null).getMainGrid();
+		MainGridDataAccessor grid = new MainGridDataAccessor(mainGrid);
+		Player player0 = grid.getPartitionsGrid().getPlayer(0);
+		Player player1 = grid.getPartitionsGrid().getPlayer(1);
+		assertNotEquals(player0.getTeamId(), player1.getTeamId());
+
+		Battle battle = new Battle(grid, mainGrid.getMovableGrid());
+		ShortPoint2D center = battle.findBattleField();
+		ShortPoint2D center0 = new ShortPoint2D(center.x - ARMIES_DISTANCE / 2, center.y);
+		ShortPoint2D center1 = new ShortPoint2D(center.x + ARMIES_DISTANCE / 2, center.y);
+
+		System.out.println("Battle around " + center + ":");
+		for (int armySize : ARMY_SIZES) {
+			while (battle.soldiers.size() < 2 * armySize) {
+				battle.createSoldier(player0, center0);
+				battle.createSoldier(player1, center1);
+			}
+
+			battle.runRounds(); // warm up
+			System.out.println("\tarmy size " + armySize + ": " + battle.runRounds());
+		}
+	}
+
+	private static class Battle {
+		private final AbstractMovableGrid movablePathfinderGrid;
+		private final MovableGrid         movableGrid;
+		private final FlagsGrid           flagsGrid;
+		private final short               width;
+		private final short               height;
+		private final List<ILogicMovable> soldiers = new ArrayList<>();
+		private final Random              random   = new Random(0);
+
+		Battle(MainGridDataAccessor grid, MovableGrid movableGrid) {
+			this.movablePathfinderGrid = grid.getMovablePathfinderGrid();
+			this.movableGrid = movableGrid;
+			this.flagsGrid = grid.getFlagsGrid();
+			this.width = grid.getWidth();
+			this.height = grid.getHeight();
+		}
+
+		String runRounds() {
+			long scanNanos = 0, bucketNanos = 0, enemies = 0;
+
+			for (int round = 0; round < ROUNDS; round++) {
+				for (ILogicMovable soldier : soldiers) {
+					ShortPoint2D target = EDirection.VALUES[random.nextInt(EDirection.NUMBER_OF_DIRECTIONS)].getNextHexPoint(soldier.getPosition());
+					if (isFree(target.x, target.y)) {
+						soldier.setPosition(target);
+					}
+				}
+
+				for (ILogicMovable soldier : soldiers) {
+					ShortPoint2D position = soldier.getPosition();
+					boolean fullArea = round % 2 == 0;
+					int minRadius = fullArea ? 1 : Constants.SOLDIER_SEARCH_RADIUS - 1;
+					int maxRadius = fullArea ? Constants.SOLDIER_SEARCH_RADIUS : Constants.SOLDIER_SEARCH_RADIUS - 1;
+
+					long start = System.nanoTime();
+					List<IAttackableMovable> expected = scanArea(soldier.getPlayer(), position.x, position.y, minRadius, maxRadius);
+					scanNanos += System.nanoTime() - start;
+
+					start = System.nanoTime();
+					List<IAttackableMovable> actual = new ArrayList<>();
+					movableGrid.forEachEnemy(soldier.getPlayer(), position.x, position.y, minRadius, maxRadius, actual::add);
+					bucketNanos += System.nanoTime() - start;
+
+					assertEquals(expected, actual);
+					enemies += actual.size();
+				}
+			}
+
+			int searches = ROUNDS * soldiers.size();
+			return "hexagon scan " + scanNanos / searches + " ns, buckets " + bucketNanos / searches + " ns per search, " + enemies / searches
+				+ " enemies on average";
+		}
+
+		private List<IAttackableMovable> scanArea(IPlayer player, short x, short y, int minRadius, int maxRadius) {
+			List<IAttackableMovable> enemies = new ArrayList<>();
+			HexGridArea.stream(x, y, minRadius, maxRadius).filterBounds(width, height).forEach((currX, currY) -> {
+				ILogicMovable currMovable = movableGrid.getMovableAt(currX, currY);
+				if (currMovable instanceof IAttackableMovable && MovableGrid.isEnemy(player, (IAttackable) currMovable)) {
+					enemies.add((IAttackableMovable) currMovable);
+				}
+			});
+			return enemies;
+		}
+
+		void createSoldier(Player player, ShortPoint2D armyCenter) {
+			ShortPoint2D position = HexGridArea.stream(armyCenter.x, armyCenter.y, 0, ARMIES_DISTANCE)
+				.iterateForResult((x, y) -> isFree(x, y) ? Optional.of(new ShortPoint2D(x, y)) : Optional.empty())
+				.orElseThrow(() -> new AssertionError("No space left for soldiers around " + armyCenter));
+			soldiers.add(Movable.createMovable(EMovableType.SWORDSMAN_L1, player, position, movablePathfinderGrid));
+		}
+
+		/**
+		 * Finds a position without any blocked position around it for both armies.
+		 */
+		ShortPoint2D findBattleField() {
+			for (int y = 2 * ARMIES_DISTANCE; y < height - 2 * ARMIES_DISTANCE; y += 4) {
+				for (int x = 2 * ARMIES_DISTANCE; x < width - 2 * ARMIES_DISTANCE; x += 4) {
+					if (HexGridArea.stream(x, y, 0, ARMIES_DISTANCE).iterate(this::isFree)) {
+						return new ShortPoint2D(x, y);
+					}
+				}
+			}
+			throw new AssertionError("The map has no space for a battle.");
+		}
+
+		private boolean isFree(int x, int y) {
+			return 0 <= x && x < width && 0 <= y && y < height && !flagsGrid.isBlocked(x, y) && movableGrid.hasNoMovableAt(x, y);
+		}
+	}
+}
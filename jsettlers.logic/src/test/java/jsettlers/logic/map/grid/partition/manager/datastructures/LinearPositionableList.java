@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.datastructures;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.function.Predicate;
+
+import jsettlers.common.position.ILocatable;
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.common.utils.MathUtils;
+
+/**
+ * The former implementation of the {@link PositionableList} that scans all objects. It is used as reference for the results and the speed of the
+ * {@link PositionableList}.
+ */
+class LinearPositionableList<T extends ILocatable> {
+	private final LinkedList<T> data = new LinkedList<>();
+
+	void insert(T object) {
+		if (!data.contains(object)) {
+			data.add(object);
+		}
+	}
+
+	void remove(T object) {
+		data.remove(object);
+	}
+
+	T getObjectAt(ShortPoint2D position) {
+		for (T curr : data) {
+			if (curr.getPosition().equals(position)) {
+				return curr;
+			}
+		}
+		return null;
+	}
+
+	T removeObjectAt(ShortPoint2D position) {
+		T object = getObjectAt(position);
+		data.remove(object);
+		return object;
+	}
+
+	T removeObjectNextTo(ShortPoint2D position, Predicate<T> acceptor) {
+		int bestDistance = Integer.MAX_VALUE;
+		T currBest = null;
+
+		for (T currEntry : data) {
+			if (acceptor != null && !acceptor.test(currEntry)) {
+				continue;
+			}
+
+			int currDist = MathUtils.squareHypot(position, currEntry.getPosition());
+			if (bestDistance > currDist) {
+				bestDistance = currDist;
+				currBest = currEntry;
+			}
+		}
+
+		if (currBest != null) {
+			data.remove(currBest);
+		}
+		return currBest;
+	}
+
+	void moveAll(LinearPositionableList<T> otherList) {
+		data.addAll(otherList.data);
+		otherList.data.clear();
+	}
+
+	void moveObjectsAtPositionTo(ShortPoint2D position, LinearPositionableList<T> newList) {
+		Iterator<T> iterator = data.iterator();
+		while (iterator.hasNext()) {
+			T curr = iterator.next();
+			if (curr.getPosition().equals(position)) {
+				iterator.remove();
+				newList.data.add(curr);
+			}
+		}
+	}
+
+	T getAnyObject() {
+		return data.peekFirst();
+	}
+
+	int size() {
+		return data.size();
+	}
+}
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.datastructures;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Compares the time needed by the {@link PositionableList} and a linear search to hand out the nearest objects of big lists, like the jobless
+ * bearers of a big partition.
+ */
+public class PositionableListSpeedTest {
+	private static final int MAP_SIZE           = 512;
+	private static final int NUMBER_OF_REQUESTS = 20000;
+
+	@Test
+	public void testSmallList() {
+		compare(50);
+	}
+
+	@Test
+	public void testMediumList() {
+		compare(500);
+	}
+
+	@Test
+	public void testBigList() {
+		compare(5000);
+	}
+
+	private void compare(int numberOfObjects) {
+		TestLocatable[] linearObjects = createObjects(numberOfObjects);
+		TestLocatable[] indexedObjects = createObjects(numberOfObjects);
+
+		LinearPositionableList<TestLocatable> linearList = new LinearPositionableList<>();
+		PositionableList<TestLocatable> indexedList = new PositionableList<>();
+		for (int i = 0; i < numberOfObjects; i++) {
+			linearList.insert(linearObjects[i]);
+			indexedList.insert(indexedObjects[i]);
+		}
+
+		long linearNanos = runRequests(new Random(7), position -> linearList.removeObjectNextTo(position, null), linearList::insert);
+		long indexedNanos = runRequests(new Random(7), indexedList::removeObjectNextTo, indexedList::insert);
+
+		assertEquals(linearList.size(), indexedList.size());
+		for (int i = 0; i < numberOfObjects; i++) {
+			assertEquals(linearObjects[i].getPosition(), indexedObjects[i].getPosition());
+		}
+
+		System.out.println(numberOfObjects + " objects, " + NUMBER_OF_REQUESTS + " requests: linear " + linearNanos / 1000000 + " ms, indexed "
+			+ indexedNanos / 1000000 + " ms, speedup " + (float) linearNanos / indexedNanos);
+	}
+
+	/**
+	 * Every request takes the nearest object, lets it walk to the request and puts it back into the list.
+	 */
+	private static long runRequests(Random random, IRemover remover, IInserter inserter) {
+		long start = System.nanoTime();
+		for (int i = 0; i < NUMBER_OF_REQUESTS; i++) {
+			ShortPoint2D position = new ShortPoint2D(random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE));
+			TestLocatable object = remover.removeObjectNextTo(position);
+			object.moveTo(position.x, position.y);
+			inserter.insert(object);
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static TestLocatable[] createObjects(int numberOfObjects) {
+		Random random = new Random(42);
+		TestLocatable[] objects = new TestLocatable[numberOfObjects];
+		for (int i = 0; i < numberOfObjects; i++) {
+			objects[i] = new TestLocatable(i, random.nextInt(MAP_SIZE), random.nextInt(MAP_SIZE));
+		}
+		return objects;
+	}
+
+	private interface IRemover {
+		TestLocatable removeObjectNextTo(ShortPoint2D position);
+	}
+
+	private interface IInserter {
+		void insert(TestLocatable object);
+	}
+}
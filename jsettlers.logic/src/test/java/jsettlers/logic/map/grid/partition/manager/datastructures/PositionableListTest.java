@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.datastructures;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+import jsettlers.common.position.ShortPoint2D;
+import jsettlers.testutils.TestUtils;
+
+/**
+ * Checks that the {@link PositionableList} returns exactly the same objects as a linear search over the insertion order.
+ */
+public class PositionableListTest {
+	private static final int AREA_SIZE = 200;
+
+	private final Random random = new Random(123);
+
+	private final PredicatedPositionableList<TestLocatable> list      = new PredicatedPositionableList<>();
+	private final PredicatedPositionableList<TestLocatable> otherList = new PredicatedPositionableList<>();
+
+	private final LinearPositionableList<TestLocatable> reference      = new LinearPositionableList<>();
+	private final LinearPositionableList<TestLocatable> otherReference = new LinearPositionableList<>();
+
+	private final List<TestLocatable> objects = new ArrayList<>();
+	private int nextId = 0;
+
+	@Test
+	public void testNearestObjectIsTheFirstInsertedOnTies() {
+		TestLocatable first = new TestLocatable(0, 10, 10);
+		TestLocatable second = new TestLocatable(1, 12, 10);
+		list.insert(second);
+		list.insert(first);
+		for (int i = 0; i < 40; i++) {
+			list.insert(new TestLocatable(i + 2, 100 + i, 100));
+		}
+
+		assertSame(second, list.removeObjectNextTo(new ShortPoint2D(11, 10)));
+		assertSame(first, list.removeObjectNextTo(new ShortPoint2D(11, 10)));
+	}
+
+	@Test
+	public void testMovedObjectsAreFoundAtTheirNewPosition() {
+		TestLocatable moving = new TestLocatable(0, 10, 10);
+		list.insert(moving);
+		for (int i = 0; i < 40; i++) {
+			list.insert(new TestLocatable(i + 1, 100 + i, 100));
+		}
+
+		moving.moveTo(150, 150);
+		assertSame(moving, list.getObjectAt(new ShortPoint2D(150, 150)));
+		assertSame(moving, list.removeObjectNextTo(new ShortPoint2D(160, 160)));
+		assertEquals(null, moving.getPositionableList());
+	}
+
+	@Test
+	public void testRandomOperationsMatchLinearSearch() {
+		for (int i = 0; i < 400; i++) {
+			insertNewObject();
+		}
+
+		for (int step = 0; step < 20000; step++) {
+			executeRandomOperation();
+			assertEquals(reference.size(), list.size());
+			assertEquals(otherReference.size(), otherList.size());
+		}
+	}
+
+	@Test
+	public void testSerializationKeepsOrderAndPositions() throws IOException, ClassNotFoundException {
+		for (int i = 0; i < 300; i++) {
+			insertNewObject();
+		}
+
+		PredicatedPositionableList<TestLocatable> deserialized = TestUtils.serializeAndDeserialize(list);
+		while (reference.size() > 0) {
+			ShortPoint2D position = randomPosition();
+			assertEquals(getId(reference.removeObjectNextTo(position, null)), getId(deserialized.removeObjectNextTo(position)));
+		}
+		assertEquals(0, deserialized.size());
+	}
+
+	private void executeRandomOperation() {
+		int operation = random.nextInt(100);
+		if (operation < 20) {
+			insertNewObject();
+
+		} else if (operation < 40) {
+			ShortPoint2D position = randomPosition();
+			assertSameObject(reference.removeObjectNextTo(position, null), list.removeObjectNextTo(position));
+
+		} else if (operation < 50) {
+			ShortPoint2D position = randomPosition();
+			Predicate<TestLocatable> predicate = object -> object.id % 3 == 0;
+			assertSameObject(reference.removeObjectNextTo(position, predicate), list.removeObjectNextTo(position, predicate));
+
+		} else if (operation < 70) {
+			TestLocatable object = objects.get(random.nextInt(objects.size()));
+			object.moveTo(random.nextInt(AREA_SIZE), random.nextInt(AREA_SIZE));
+
+		} else if (operation < 78) {
+			TestLocatable object = objects.get(random.nextInt(objects.size()));
+			reference.remove(object);
+			list.remove(object);
+			otherReference.remove(object);
+			otherList.remove(object);
+
+		} else if (operation < 85) {
+			ShortPoint2D position = objects.get(random.nextInt(objects.size())).getPosition();
+			assertSameObject(reference.getObjectAt(position), list.getObjectAt(position));
+			assertSameObject(reference.removeObjectAt(position), list.removeObjectAt(position));
+
+		} else if (operation < 97) {
+			ShortPoint2D position = objects.get(random.nextInt(objects.size())).getPosition();
+			reference.moveObjectsAtPositionTo(position, otherReference);
+			list.moveObjectsAtPositionTo(position, otherList, object -> {
+			});
+
+		} else if (operation < 99) {
+			ShortPoint2D position = randomPosition();
+			assertSameObject(otherReference.removeObjectNextTo(position, null), otherList.removeObjectNextTo(position));
+
+		} else {
+			reference.moveAll(otherReference);
+			list.moveAll(otherList);
+		}
+
+		assertSameObject(reference.getAnyObject(), list.getAnyObject());
+	}
+
+	private void insertNewObject() {
+		TestLocatable object = new TestLocatable(nextId++, random.nextInt(AREA_SIZE), random.nextInt(AREA_SIZE));
+		objects.add(object);
+		reference.insert(object);
+		list.insert(object);
+	}
+
+	private ShortPoint2D randomPosition() {
+		// also search from outside of the area
+		return new ShortPoint2D(random.nextInt(AREA_SIZE + 100), random.nextInt(AREA_SIZE + 100));
+	}
+
+	private static void assertSameObject(TestLocatable expected, TestLocatable actual) {
+		assertEquals(getId(expected), getId(actual));
+	}
+
+	private static int getId(TestLocatable object) {
+		return object == null ? -1 : object.id;
+	}
+}
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.datastructures;
+
+import java.io.Serializable;
+
+import jsettlers.common.position.ShortPoint2D;
+
+class TestLocatable implements ITrackedLocatable, Serializable {
+	private static final long serialVersionUID = 1L;
+
+	final int id;
+
+	private ShortPoint2D        position;
+	private PositionableList<?> positionableList;
+
+	TestLocatable(int id, int x, int y) {
+		this.id = id;
+		this.position = new ShortPoint2D(x, y);
+	}
+
+	void moveTo(int x, int y) {
+		position = new ShortPoint2D(x, y);
+		if (positionableList != null) {
+			positionableList.positionChanged(this);
+		}
+	}
+
+	@Override
+	public ShortPoint2D getPosition() {
+		return position;
+	}
+
+	@Override
+	public void setPositionableList(PositionableList<?> list) {
+		this.positionableList = list;
+	}
+
+	@Override
+	public PositionableList<?> getPositionableList() {
+		return positionableList;
+	}
+
+	@Override
+	public String toString() {
+		return "TestLocatable [id=" + id + ", position=" + position + "]";
+	}
+}
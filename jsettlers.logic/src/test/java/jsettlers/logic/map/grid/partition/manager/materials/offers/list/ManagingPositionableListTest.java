@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.grid.partition.manager.materials.offers.list;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import jsettlers.common.position.ILocatable;
+import jsettlers.common.position.ShortPoint2D;
+
+/**
+ * Checks that entries of the {@link ManagingPositionableList} that can be removed are never visible, even if no search visited them.
+ */
+public class ManagingPositionableListTest {
+	private final ManagingPositionableList<TestEntry> list = new ManagingPositionableList<>();
+
+	@Test
+	public void testRemovableEntriesAreNotCounted() {
+		TestEntry active = insert(10, 10);
+		TestEntry removable = insert(150, 150);
+		for (int i = 0; i < 40; i++) {
+			insert(100 + i, 20);
+		}
+		removable.setRemovable(true);
+
+		assertSame(active, list.getObjectCloseTo(new ShortPoint2D(11, 10)));
+		assertEquals(41, list.size());
+
+		active.setRemovable(true);
+		assertFalse(list.isEmpty());
+		assertEquals(40, list.size());
+	}
+
+	@Test
+	public void testRemovableEntryAtPositionCanBeUsedAgain() {
+		TestEntry removable = insert(10, 10);
+		TestEntry active = insert(10, 10);
+		removable.setRemovable(true);
+		assertEquals(1, list.size());
+
+		assertSame(removable, list.getObjectAt(new ShortPoint2D(10, 10)));
+		removable.setRemovable(false);
+		assertEquals(2, list.size());
+
+		removable.setRemovable(true);
+		assertSame(active, list.removeObjectAt(new ShortPoint2D(10, 10)));
+		assertNull(list.getObjectAt(new ShortPoint2D(10, 10)));
+		assertTrue(list.isEmpty());
+	}
+
+	@Test
+	public void testRemovableEntriesAreNotMoved() {
+		ManagingPositionableList<TestEntry> otherList = new ManagingPositionableList<>();
+		TestEntry removable = insert(10, 10);
+		TestEntry active = insert(10, 10);
+		TestEntry otherRemovable = insert(20, 20);
+		TestEntry otherActive = insert(30, 30);
+		removable.setRemovable(true);
+		otherRemovable.setRemovable(true);
+
+		List<TestEntry> moved = new ArrayList<>();
+		list.moveObjectsAtPositionTo(new ShortPoint2D(10, 10), otherList, moved::add);
+		otherList.moveAll(list, moved::add);
+
+		assertEquals(2, moved.size());
+		assertSame(active, moved.get(0));
+		assertSame(otherActive, moved.get(1));
+		assertEquals(2, otherList.size());
+		assertTrue(list.isEmpty());
+
+		otherActive.setRemovable(true);
+		assertEquals(1, otherList.size());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testRemovableEntriesAreNotCountedAfterLoading() throws IOException, ClassNotFoundException {
+		insert(10, 10);
+		insert(20, 20).setRemovable(true);
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+			oos.writeObject(list);
+		}
+		ManagingPositionableList<TestEntry> loadedList;
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+			loadedList = (ManagingPositionableList<TestEntry>) ois.readObject();
+		}
+
+		assertEquals(1, loadedList.size());
+		loadedList.getObjectAt(new ShortPoint2D(10, 10)).setRemovable(true);
+		assertTrue(loadedList.isEmpty());
+	}
+
+	private TestEntry insert(int x, int y) {
+		TestEntry entry = new TestEntry(x, y);
+		list.insert(entry);
+		return entry;
+	}
+
+	private static class TestEntry implements ILocatable, IListManageable, Serializable {
+		private final ShortPoint2D position;
+		private boolean removable;
+		private ManagingPositionableList<?> managingList;
+
+		TestEntry(int x, int y) {
+			this.position = new ShortPoint2D(x, y);
+		}
+
+		@Override
+		public ShortPoint2D getPosition() {
+			return position;
+		}
+
+		@Override
+		public boolean isActive() {
+			return !removable;
+		}
+
+		@Override
+		public boolean canBeRemoved() {
+			return removable;
+		}
+
+		@Override
+		public void setManagingList(ManagingPositionableList<?> list) {
+			this.managingList = list;
+		}
+
+		@Override
+		public ManagingPositionableList<?> getManagingList() {
+			return managingList;
+		}
+
+		void setRemovable(boolean removable) {
+			this.removable = removable;
+			if (managingList != null) {
+				managingList.removableChanged(this);
+			}
+		}
+	}
+}
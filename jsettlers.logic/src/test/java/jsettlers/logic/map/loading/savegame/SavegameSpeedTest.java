@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.map.loading.savegame;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Test;
+
+import jsettlers.logic.constants.MatchConstants;
+import jsettlers.logic.map.grid.GameSerializer;
+import jsettlers.logic.map.grid.MainGrid;
+import jsettlers.logic.map.loading.MapLoadException;
+import jsettlers.logic.map.loading.MapLoader;
+import jsettlers.network.synchronic.timer.NetworkTimer;
+import jsettlers.testutils.map.MapUtils;
+
+/**
+ * Compares the size and the save and load times of the sectioned savegame format with a zipped object stream, which has been used before.
+ */
+public class SavegameSpeedTest {
+	private static final int RUNS = 5;
+
+	@Test
+	public void testSpezialSumpf() throws MapLoadException, IOException {
+		compareOnMap(MapUtils.getSpezialSumpf());
+	}
+
+	@Test
+	public void testMountainlake() throws MapLoadException, IOException {
+		compareOnMap(MapUtils.getMountainlake());
+	}
+
+	private void compareOnMap(MapLoader mapLoader) throws MapLoadException, IOException {
+		MatchConstants.init(new NetworkTimer(true), 0);
+		MainGrid grid = mapLoader.loadMainGrid(null).getMainGrid();
+
+		byte[] legacy = null;
+		byte[] sectioned = null;
+		long legacySaveNanos = Long.MAX_VALUE, sectionedSaveNanos = Long.MAX_VALUE;
+		long legacyLoadNanos = Long.MAX_VALUE, sectionedLoadNanos = Long.MAX_VALUE;
+
+		for (int run = 0; run < RUNS; run++) {
+			long start = System.nanoTime();
+			legacy = saveLegacy(grid);
+			legacySaveNanos = Math.min(legacySaveNanos, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			sectioned = saveSectioned(grid);
+			sectionedSaveNanos = Math.min(sectionedSaveNanos, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			assertNotNull(loadLegacy(legacy));
+			legacyLoadNanos = Math.min(legacyLoadNanos, System.nanoTime() - start);
+
+			start = System.nanoTime();
+			assertNotNull(loadSectioned(sectioned));
+			sectionedLoadNanos = Math.min(sectionedLoadNanos, System.nanoTime() - start);
+		}
+
+		System.out.println(mapLoader + " (" + grid.getWidth() + "x" + grid.getHeight() + ")");
+		System.out.println("zipped object stream: " + legacy.length / 1024 + " KB, save " + legacySaveNanos / 1000000 + " ms, load "
+			+ legacyLoadNanos / 1000000 + " ms");
+		System.out.println("sectioned savegame:   " + sectioned.length / 1024 + " KB, save " + sectionedSaveNanos / 1000000 + " ms, load "
+			+ sectionedLoadNanos / 1000000 + " ms");
+
+		// the loaded grid has to result in the same savegame again
+		SavegameSections expected = readSections(sectioned);
+		SavegameSections actual = readSections(saveSectioned(loadSectioned(sectioned)));
+		assertArrayEquals(expected.get(SavegameSections.PLANES), actual.get(SavegameSections.PLANES));
+	}
+
+	private static byte[] saveLegacy(MainGrid grid) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		ZipOutputStream zipStream = new ZipOutputStream(buffer);
+		zipStream.putNextEntry(new ZipEntry("savegame"));
+		ObjectOutputStream oos = new ObjectOutputStream(zipStream);
+		new GameSerializer().save(grid, oos);
+		oos.close();
+		return buffer.toByteArray();
+	}
+
+	private static MainGrid loadLegacy(byte[] data) throws IOException, MapLoadException {
+		ZipInputStream zipStream = new ZipInputStream(new ByteArrayInputStream(data));
+		zipStream.getNextEntry();
+		try (ObjectInputStream ois = new ObjectInputStream(zipStream)) {
+			return new GameSerializer().load(ois);
+		}
+	}
+
+	private static byte[] saveSectioned(MainGrid grid) throws IOException {
+		ByteArrayOutputStream state = new ByteArrayOutputStream();
+		GridPlanes planes = new GridPlanes();
+		ObjectOutputStream oos = new GridPlanes.PlaneObjectOutputStream(state, planes);
+		new GameSerializer().save(grid, oos);
+		oos.close();
+
+		SavegameSections sections = new SavegameSections();
+		sections.put(SavegameSections.STATE, state.toByteArray());
+		sections.put(SavegameSections.PLANES, planes.toByteArray());
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		sections.writeTo(buffer);
+		return buffer.toByteArray();
+	}
+
+	private static MainGrid loadSectioned(byte[] data) throws IOException, MapLoadException {
+		SavegameSections sections = readSections(data);
+		GridPlanes planes = new GridPlanes(sections.get(SavegameSections.PLANES));
+		try (ObjectInputStream ois = new GridPlanes.PlaneObjectInputStream(new ByteArrayInputStream(sections.get(SavegameSections.STATE)), planes)) {
+			return new GameSerializer().load(ois);
+		}
+	}
+
+	private static SavegameSections readSections(byte[] data) throws IOException {
+		return SavegameSections.readIfSectioned(new ByteArrayInputStream(data));
+	}
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.player;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.junit.Test;
+
+import jsettlers.common.ai.EPlayerType;
+import jsettlers.common.player.ECivilisation;
+import jsettlers.logic.map.loading.EMapStartResources;
+
+public class InitialGameStateTest {
+
+	@Test
+	public void testSerializedStateCanBeReadAgain() throws IOException {
+		PlayerSetting[] playerSettings = {
+				new PlayerSetting(),
+				new PlayerSetting(true, EPlayerType.HUMAN, ECivilisation.ROMAN, (byte) 1),
+				new PlayerSetting(true, EPlayerType.AI_HARD, ECivilisation.ROMAN, null)
+		};
+		InitialGameState state = new InitialGameState((byte) 2, playerSettings, 1528043562660L, EMapStartResources.LOW_GOODS);
+
+		InitialGameState readState = serializeAndRead(state);
+
+		assertEquals(2, readState.getPlayerId());
+		assertEquals(1528043562660L, readState.getRandomSeed());
+		assertEquals(EMapStartResources.LOW_GOODS, readState.getStartResources());
+		assertEquals(playerSettings.length, readState.getPlayerSettings().length);
+		for (int i = 0; i < playerSettings.length; i++) {
+			PlayerSetting expected = playerSettings[i];
+			PlayerSetting actual = readState.getPlayerSettings()[i];
+			assertEquals(expected.isAvailable(), actual.isAvailable());
+			assertEquals(expected.getPlayerType(), actual.getPlayerType());
+			assertEquals(expected.getCivilisation(), actual.getCivilisation());
+			assertEquals(expected.getTeamId(), actual.getTeamId());
+		}
+	}
+
+	private static InitialGameState serializeAndRead(InitialGameState state) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try (DataOutputStream dos = new DataOutputStream(buffer)) {
+			state.serialize(dos);
+		}
+		try (DataInputStream dis = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+			return new InitialGameState(dis);
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.logic.timer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+
+public class TimerWheelTest {
+	private static final int SLOTS = 8;
+
+	private final TimerWheel wheel = new TimerWheel(SLOTS);
+
+	@Test
+	public void testTimerablesAreExecutedInTheirSlotInOrder() {
+		wheel.add(new TestTimerable(1), 3);
+		wheel.add(new TestTimerable(2), 1);
+		wheel.add(new TestTimerable(3), 3);
+
+		assertEquals(0, wheel.getCurrentSlotSize());
+		wheel.advance();
+		assertArrayEquals(new int[] { 2 }, getCurrentIds());
+		wheel.advance();
+		wheel.advance();
+		assertArrayEquals(new int[] { 1, 3 }, getCurrentIds());
+		wheel.advance();
+		assertEquals(0, wheel.getCurrentSlotSize());
+	}
+
+	@Test
+	public void testDelaysBeyondOneRevolutionUseTheOverflow() {
+		wheel.advance();
+		wheel.advance();
+		wheel.add(new TestTimerable(1), SLOTS);
+		wheel.add(new TestTimerable(2), 3 * SLOTS + 1);
+		assertEquals(2, wheel.getOverflowSize());
+
+		assertEquals(SLOTS, advanceToNextTimerable());
+		assertArrayEquals(new int[] { 1 }, getCurrentIds());
+		assertEquals(1, wheel.getOverflowSize());
+
+		assertEquals(2 * SLOTS + 1, advanceToNextTimerable());
+		assertArrayEquals(new int[] { 2 }, getCurrentIds());
+		assertEquals(0, wheel.getOverflowSize());
+	}
+
+	@Test
+	public void testSlotsGrowAndAreReused() {
+		for (int i = 0; i < 100; i++) {
+			wheel.add(new TestTimerable(i), 1);
+		}
+		wheel.advance();
+		assertEquals(100, wheel.getCurrentSlotSize());
+		IScheduledTimerable[] slot = wheel.getCurrentSlot();
+
+		for (int i = 0; i < SLOTS; i++) {
+			wheel.advance();
+		}
+		wheel.add(new TestTimerable(100), SLOTS);
+		for (int i = 0; i < SLOTS; i++) {
+			wheel.advance();
+		}
+
+		assertArrayEquals(new int[] { 100 }, getCurrentIds());
+		assertSame(slot, wheel.getCurrentSlot());
+	}
+
+	@Test
+	public void testSerializationKeepsSlotsAndOverflow() throws IOException, ClassNotFoundException {
+		wheel.advance();
+		wheel.add(new TestTimerable(1), 2);
+		wheel.add(new TestTimerable(2), 2);
+		wheel.add(new TestTimerable(3), 2 * SLOTS);
+
+		TimerWheel loaded = serializeAndDeserialize(wheel);
+
+		loaded.advance();
+		loaded.advance();
+		assertArrayEquals(new int[] { 1, 2 }, getIds(loaded));
+		assertEquals(1, loaded.getOverflowSize());
+		for (int i = 2; i < 2 * SLOTS; i++) {
+			loaded.advance();
+		}
+		assertArrayEquals(new int[] { 3 }, getIds(loaded));
+	}
+
+	private int advanceToNextTimerable() {
+		int ticks = 0;
+		do {
+			wheel.advance();
+			ticks++;
+		} while (wheel.getCurrentSlotSize() == 0);
+		return ticks;
+	}
+
+	private int[] getCurrentIds() {
+		return getIds(wheel);
+	}
+
+	private static int[] getIds(TimerWheel wheel) {
+		IScheduledTimerable[] slot = wheel.getCurrentSlot();
+		int[] ids = new int[wheel.getCurrentSlotSize()];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = ((TestTimerable) slot[i]).id;
+		}
+		return ids;
+	}
+
+	private static TimerWheel serializeAndDeserialize(TimerWheel wheel) throws IOException, ClassNotFoundException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		try (ObjectOutputStream oos = new ObjectOutputStream(buffer)) {
+			oos.writeObject(wheel);
+		}
+		try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(buffer.toByteArray()))) {
+			return (TimerWheel) ois.readObject();
+		}
+	}
+
+	private static class TestTimerable implements IScheduledTimerable {
+		private static final long serialVersionUID = 1L;
+
+		final int id;
+
+		TestTimerable(int id) {
+			this.id = id;
+		}
+
+		@Override
+		public int timerEvent() {
+			return -1;
+		}
+
+		@Override
+		public void kill() {
+		}
+	}
+}
@@ -27,6 +27,7 @@ import jsettlers.common.menu.IStartingGame;
 import jsettlers.common.resources.ResourceManager;
 import jsettlers.graphics.localization.AbstractLabels;
 import jsettlers.graphics.localization.Labels;
+import jsettlers.logic.constants.Constants;
 import jsettlers.logic.constants.MatchConstants;
 import jsettlers.logic.map.loading.MapLoadException;
 import jsettlers.logic.map.loading.MapLoader;
@@ -80,6 +81,8 @@ public class SwingManagedJSettlers {
 		CommonConstants.ACTIVATE_ALL_PLAYERS = SettingsManager.getInstance().isActivateAllPlayers();
 		CommonConstants.ENABLE_CONSOLE_LOGGING = SettingsManager.getInstance().useConsoleOutput();
 		CommonConstants.DISABLE_ORIGINAL_MAPS = SettingsManager.getInstance().areOriginalMapsDisabled();
+		SettingsManager.getInstance().getAutosaveIntervalMinutes().ifPresent(minutes -> Constants.AUTOSAVE_INTERVAL_MINUTES = minutes);
+		SettingsManager.getInstance().getReplayKeyframeIntervalLocksteps().ifPresent(locksteps -> Constants.REPLAY_KEYFRAME_INTERVAL_LOCKSTEPS = locksteps);
 		AbstractLabels.setPreferredLocale(SettingsManager.getInstance().getLocale());
 	}
 
@@ -160,7 +163,7 @@ public class SwingManagedJSettlers {
 					game = new JSettlersGame(mapLoader, initialGameState).start();
 				}
 			} else {
-				game = JSettlersGame.loadFromReplayFile(loadableReplayFile, new OfflineNetworkConnector(), new ReplayStartInformation()).start();
+				game = JSettlersGame.loadFromReplayFile(loadableReplayFile, new OfflineNetworkConnector(), new ReplayStartInformation(), targetGameTime * 60 * 1000).start();
 			}
 			settlersFrame.showStartingGamePanel(game);
 
@@ -65,6 +65,8 @@ public class SettingsManager implements ISoundSettingsProvider {
 	private static final String SETTING_RANDOM = "random";
 	private static final String SETTING_REPLAY_FILE = "replay-file";
 	private static final String SETTING_TARGET_TIME = "target-time";
+	private static final String SETTING_AUTOSAVE_INTERVAL = "autosave-interval";
+	private static final String SETTING_REPLAY_KEYFRAME_INTERVAL = "replay-keyframe-interval";
 	private static final String SETTING_MAPS = "maps";
 
 	private static SettingsManager manager;
@@ -298,6 +300,14 @@ public class SettingsManager implements ISoundSettingsProvider {
 		return getAsOptional(SETTING_TARGET_TIME).map(Integer::valueOf);
 	}
 
+	public Optional<Integer> getAutosaveIntervalMinutes() {
+		return getAsOptional(SETTING_AUTOSAVE_INTERVAL).map(Integer::valueOf);
+	}
+
+	public Optional<Integer> getReplayKeyframeIntervalLocksteps() {
+		return getAsOptional(SETTING_REPLAY_KEYFRAME_INTERVAL).map(Integer::valueOf);
+	}
+
 	public String getAdditionalMapsDirectory() {
 		return get(SETTING_MAPS);
 	}
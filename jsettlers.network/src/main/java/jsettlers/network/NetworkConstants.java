@@ -68,6 +68,23 @@ public final class NetworkConstants {
 		}
 
 		public static final long OPEN_MATCHES_SEND_INTERVAL_MS = 5 * 1000;
+
+		/**
+		 * Number of selector threads serving the sockets of all clients.
+		 */
+		public static final int NIO_SELECTOR_THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+		/**
+		 * Size of the pooled buffers used to receive data and to queue data that could not be sent directly.
+		 */
+		public static final int NIO_BUFFER_SIZE = 8 * 1024;
+		/**
+		 * Maximum number of idle buffers kept by the pool of every selector thread.
+		 */
+		public static final int NIO_MAX_POOLED_BUFFERS = 256;
+		/**
+		 * Clients that leave more bytes unread are disconnected.
+		 */
+		public static final int NIO_MAX_PENDING_WRITE_BYTES = 4 * 1024 * 1024;
 	}
 
 	public final static class Client {
@@ -271,6 +271,7 @@ public class NetworkClient implements ITaskScheduler, INetworkConnector, INetwor
 	}
 
 	private void startTimeSynchronization(ISynchronizableClock clock) {
+		clock.setRoundTripTimeSupplier(channel);
 		channel.registerListener(new TimeSynchronizationListener(channel, clock));
 		TimeSyncSenderTimerTask timeSyncSender = new TimeSyncSenderTimerTask(channel, clock);
 		timer.schedule(timeSyncSender, 0, NetworkConstants.Client.TIME_SYNC_SEND_INTERVALL);
@@ -32,9 +32,22 @@ import jsettlers.network.synchronic.timer.NetworkTimer;
  */
 public class OfflineNetworkConnector implements ITaskScheduler, INetworkConnector {
 
-	private final NetworkTimer networkTimer = new NetworkTimer(true);
+	private final NetworkTimer networkTimer;
 	private boolean startFinished;
 
+	public OfflineNetworkConnector() {
+		this(false);
+	}
+
+	/**
+	 * @param headless
+	 *            If <code>true</code>, the game time is not bound to the wall clock but runs as fast as possible.
+	 * @see NetworkTimer#NetworkTimer(boolean, boolean)
+	 */
+	public OfflineNetworkConnector(boolean headless) {
+		this.networkTimer = new NetworkTimer(true, headless);
+	}
+
 	@Override
 	public void scheduleTask(TaskPacket task) {
 		scheduleTaskAt(networkTimer.getTime() / NetworkConstants.Client.LOCKSTEP_PERIOD + 2, task);
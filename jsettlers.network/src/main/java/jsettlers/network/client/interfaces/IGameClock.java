@@ -20,6 +20,7 @@ import java.io.IOException;
 
 import jsettlers.network.synchronic.timer.INetworkTimerable;
 import jsettlers.network.synchronic.timer.ITaskExecutor;
+import jsettlers.network.synchronic.timer.ReplayKeyframe;
 
 /**
  * This interface defines a clock supported by the network library to the user of the library.
@@ -71,6 +72,32 @@ public interface IGameClock extends IPausingSupplier {
 
 	void loadReplayLogFromStream(DataInputStream dataInputStream);
 
+	/**
+	 * Loads the task packets a replay needs to continue from the given keyframe.
+	 * 
+	 * @param keyframe
+	 *            The keyframe the game state has been loaded from.
+	 * @param tasksStream
+	 *            The replay log positioned at the {@link ReplayKeyframe#getTasksOffset() tasks offset} of the keyframe.
+	 */
+	void loadReplayLogFromKeyframe(ReplayKeyframe keyframe, DataInputStream tasksStream);
+
+	/**
+	 * Starts a keyframe of the replay log at the current game time. This must be called by the game clock between two game steps.
+	 * 
+	 * @return The keyframe without its state or <code>null</code> if no replay log is written.
+	 */
+	ReplayKeyframe markReplayKeyframe();
+
+	/**
+	 * Appends the given keyframe to the replay log. This may be called by any thread. The keyframe is dropped if the replay log has been
+	 * closed in the meantime.
+	 * 
+	 * @param keyframe
+	 *            A keyframe created by {@link #markReplayKeyframe()} with its state set.
+	 */
+	void writeReplayKeyframe(ReplayKeyframe keyframe);
+
 	/**
 	 * Plays the game with maximum speed to the given game time and then pauses the game.
 	 * 
@@ -79,4 +106,17 @@ public interface IGameClock extends IPausingSupplier {
 	 */
 	void fastForwardTo(int targetGameTime);
 
+	/**
+	 * @return <code>true</code> if the clock is not bound to the wall clock, because nobody watches the game.
+	 */
+	boolean isHeadless();
+
+	/**
+	 * Gets the game time simulated per time spent simulating it. Waiting for locksteps and the time between the ticks of a clock bound to the
+	 * wall clock are not counted.
+	 * 
+	 * @return The simulated seconds per wall second or 0 if no game time has been simulated yet.
+	 */
+	float getSimulationSpeed();
+
 }
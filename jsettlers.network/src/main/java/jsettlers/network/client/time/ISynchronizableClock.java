@@ -14,6 +14,8 @@
  *******************************************************************************/
 package jsettlers.network.client.time;
 
+import jsettlers.network.infrastructure.channel.ping.IRoundTripTimeSupplier;
+
 /**
  * 
  * @author Andreas Eberle
@@ -28,11 +30,21 @@ public interface ISynchronizableClock {
 	int getTime();
 
 	/**
-	 * Pauses the clock for at least the given period of time.
+	 * Lets the clock fall back by the given period of time. The clock may pause or run slower for a while to do so. A new call replaces the
+	 * remaining time of the previous one, because it is based on a newer measurement.
 	 * 
-	 * @param pauseTime
-	 *            milliseconds to pause the game
+	 * @param timeDelta
+	 *            milliseconds the game time shall fall back
 	 */
 	void pauseClockFor(int timeDelta);
 
+	/**
+	 * Sets the supplier of the round trip time of the connection the locksteps are received over. The clock uses it to size the game time it
+	 * needs to have buffered.
+	 * 
+	 * @param roundTripTimeSupplier
+	 *            The supplier or <code>null</code> if the clock shall not adapt to the connection.
+	 */
+	void setRoundTripTimeSupplier(IRoundTripTimeSupplier roundTripTimeSupplier);
+
 }
@@ -14,8 +14,6 @@
  *******************************************************************************/
 package jsettlers.network.infrastructure.channel;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -46,6 +44,12 @@ import jsettlers.network.infrastructure.log.SwitchableLogger;
  * 
  */
 public class Channel implements Runnable, IRoundTripTimeSupplier {
+	private static final int RECEIVE_BUFFER_SIZE = 1024;
+	/**
+	 * Receive buffers grown beyond this size by a large packet are not kept for the following packets.
+	 */
+	private static final int MAX_RECEIVE_BUFFER_SIZE = 64 * 1024;
+
 	private final Thread thread;
 
 	private final SwitchableLogger logger;
@@ -53,8 +57,11 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 	private final DataOutputStream outStream;
 	private final DataInputStream inStream;
 
-	private final ByteArrayOutputStream byteBufferOutStream = new ByteArrayOutputStream();
-	private final DataOutputStream bufferDataOutStream = new DataOutputStream(byteBufferOutStream);
+	private final FrameOutputStream frameOutStream = new FrameOutputStream();
+
+	private final FrameInputStream frameInStream = new FrameInputStream();
+	private final DataInputStream frameDataInStream = new DataInputStream(frameInStream);
+	private byte[] receiveBuffer = new byte[RECEIVE_BUFFER_SIZE];
 
 	private final HashMap<ENetworkKey, IChannelListener> listenerRegistry = new HashMap<>();
 
@@ -92,6 +99,25 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 		thread = new Thread(this, "ChannelForSocket_" + socket);
 	}
 
+	/**
+	 * Creates a {@link Channel} that is not backed by an {@link ISocket}. Subclasses using this constructor have to implement the transport by
+	 * overriding {@link #startReceiving()}, {@link #sendPacket(ENetworkKey, Packet)}, {@link #close()} and {@link #isClosed()} and hand the received
+	 * packets to {@link #dispatchPacket(ENetworkKey, int, DataInputStream)}.
+	 *
+	 * @param logger
+	 *            The logger of the channel.
+	 */
+	protected Channel(Logger logger) {
+		this.logger = new SwitchableLogger(logger);
+		this.socket = null;
+		this.outStream = null;
+		this.inStream = null;
+		this.thread = null;
+
+		pingPacketListener = new PingPacketListener(this.logger, this);
+		registerListener(pingPacketListener);
+	}
+
 	/**
 	 * Starts the message receiving of this {@link Channel}.
 	 * <p />
@@ -104,6 +130,13 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 	 */
 	public void start() {
 		started = true;
+		startReceiving();
+	}
+
+	/**
+	 * Starts the receiving of packets. Subclasses without a socket have to override this method.
+	 */
+	protected void startReceiving() {
 		thread.start();
 	}
 
@@ -118,16 +151,8 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 	}
 
 	private void sendPacketData(ENetworkKey key, Packet packet) throws IOException {
-		bufferDataOutStream.flush();
-		byteBufferOutStream.reset();
-
-		packet.serialize(bufferDataOutStream); // write packet to buffer to calculate length
-		bufferDataOutStream.flush();
-		final int length = byteBufferOutStream.size();
-
-		key.writeTo(outStream); // write key, length and the data
-		outStream.writeInt(length);
-		byteBufferOutStream.writeTo(outStream);
+		frameOutStream.writeFrame(key, packet);
+		frameOutStream.writeTo(outStream);
 
 		outStream.flush();
 	}
@@ -156,28 +181,9 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 				ENetworkKey key = ENetworkKey.readFrom(inStream);
 				int length = inStream.readInt();
 
-				DataInputStream bufferIn = readBytesToBuffer(inStream, length);
-
-				IChannelListener listener = listenerRegistry.get(key);
-
-				if (listener != null) {
-					try {
-						listener.receive(key, length, bufferIn);
-						if (bufferIn.available() > 0) {
-							logger.warn("Deserialization did not read all bytes of input: " + key + " " + length + " " + bufferIn.available());
-						}
-					} catch (Exception e) { // ignore exceptions thrown in receive
-						e.printStackTrace();
-					}
-				} else {
-					logger.warn("NO LISTENER FOUND for key: " + key + "   (" + socket + ")");
-
-					if (key != NetworkConstants.ENetworkKey.REJECT_PACKET) { // prevent endless loop
-						sendPacket(NetworkConstants.ENetworkKey.REJECT_PACKET,
-								new RejectPacket(NetworkConstants.ENetworkMessage.NO_LISTENER_FOUND, key));
-					}
-				}
+				readBytesToBuffer(inStream, length);
 
+				dispatchPacket(key, length, frameDataInStream);
 			} catch (Exception e) {
 				try {
 					socket.close();
@@ -188,14 +194,62 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 
 		close(); // release the resources
 
-		if (channelClosedListener != null) {
-			channelClosedListener.channelClosed();
-		}
+		informChannelClosedListener();
 		logger.info("Channel listener shut down: " + socket);
 	}
 
-	private DataInputStream readBytesToBuffer(DataInputStream inStream, int length) throws IOException {
-		byte[] data = new byte[length];
+	/**
+	 * Hands a received packet to the listener registered for its key.
+	 *
+	 * @param key
+	 *            The key of the packet.
+	 * @param length
+	 *            The length of the packet's data.
+	 * @param bufferIn
+	 *            A stream containing exactly the packet's data. It is reused for the following packets, so it must not be read after
+	 *            returning.
+	 */
+	protected final void dispatchPacket(ENetworkKey key, int length, DataInputStream bufferIn) throws IOException {
+		IChannelListener listener = listenerRegistry.get(key);
+
+		if (listener != null) {
+			try {
+				listener.receive(key, length, bufferIn);
+				if (bufferIn.available() > 0) {
+					logger.warn("Deserialization did not read all bytes of input: " + key + " " + length + " " + bufferIn.available());
+				}
+			} catch (Exception e) { // ignore exceptions thrown in receive
+				e.printStackTrace();
+			}
+		} else {
+			logger.warn("NO LISTENER FOUND for key: " + key + "   (" + this + ")");
+
+			if (key != NetworkConstants.ENetworkKey.REJECT_PACKET) { // prevent endless loop
+				sendPacket(NetworkConstants.ENetworkKey.REJECT_PACKET,
+						new RejectPacket(NetworkConstants.ENetworkMessage.NO_LISTENER_FOUND, key));
+			}
+		}
+	}
+
+	protected final void informChannelClosedListener() {
+		IChannelClosedListener listener = channelClosedListener;
+		if (listener != null) {
+			listener.channelClosed();
+		}
+	}
+
+	protected final Logger getLogger() {
+		return logger;
+	}
+
+	private void readBytesToBuffer(DataInputStream inStream, int length) throws IOException {
+		if (length < 0) {
+			throw new IOException("Received invalid length: " + length);
+		}
+		if (length > receiveBuffer.length || receiveBuffer.length > MAX_RECEIVE_BUFFER_SIZE) {
+			receiveBuffer = new byte[Math.max(length, RECEIVE_BUFFER_SIZE)];
+		}
+		byte[] data = receiveBuffer;
 
 		int alreadyRead = 0;
 		while (length - alreadyRead > 0) {
@@ -207,7 +261,7 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 			alreadyRead += numberOfBytesRead;
 		}
 
-		return new DataInputStream(new ByteArrayInputStream(data));
+		frameInStream.setData(data, 0, length);
 	}
 
 	/**
@@ -278,4 +332,9 @@ public class Channel implements Runnable, IRoundTripTimeSupplier {
 	public void setLogger(Logger newLogger) {
 		this.logger.setLogger(newLogger);
 	}
+
+	@Override
+	public String toString() {
+		return "Channel[" + socket + "]";
+	}
 }
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.channel;
+
+import java.io.InputStream;
+
+/**
+ * An unsynchronized {@link InputStream} over a part of a byte array. The array can be replaced for every received packet, so the receiving
+ * side of a channel does not need to allocate a new stream per packet.
+ */
+public final class FrameInputStream extends InputStream {
+	private byte[] buffer = new byte[0];
+	private int position;
+	private int end;
+
+	/**
+	 * Lets this stream read the given part of the given array.
+	 *
+	 * @param buffer
+	 *            The array containing the data.
+	 * @param offset
+	 *            The index of the first byte to be read.
+	 * @param length
+	 *            The number of bytes to be read.
+	 */
+	public void setData(byte[] buffer, int offset, int length) {
+		this.buffer = buffer;
+		this.position = offset;
+		this.end = offset + length;
+	}
+
+	@Override
+	public int read() {
+		return position < end ? buffer[position++] & 0xFF : -1;
+	}
+
+	@Override
+	public int read(byte[] bytes, int offset, int length) {
+		if (length == 0) {
+			return 0;
+		}
+		if (position >= end) {
+			return -1;
+		}
+
+		int readLength = Math.min(length, end - position);
+		System.arraycopy(buffer, position, bytes, offset, readLength);
+		position += readLength;
+		return readLength;
+	}
+
+	@Override
+	public long skip(long n) {
+		int skipped = (int) Math.max(0, Math.min(n, end - position));
+		position += skipped;
+		return skipped;
+	}
+
+	@Override
+	public int available() {
+		return end - position;
+	}
+}
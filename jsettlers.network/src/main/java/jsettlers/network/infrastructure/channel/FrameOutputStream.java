@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.channel;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import jsettlers.network.NetworkConstants.ENetworkKey;
+import jsettlers.network.infrastructure.channel.packet.Packet;
+
+/**
+ * An unsynchronized {@link OutputStream} that frames {@link Packet}s for sending. A frame consists of one byte for the key, an int for the
+ * length of the data and the data itself.
+ * <p />
+ * The length is written as a placeholder and back-patched after the packet has been serialized, so the packet is serialized directly into the
+ * frame. The buffer is reused for all frames of a channel, so a frame is only valid until the next one is written.
+ */
+public final class FrameOutputStream extends OutputStream {
+	public static final int HEADER_LENGTH = 1 + 4;
+	private static final int INITIAL_CAPACITY = 1024;
+	/**
+	 * Buffers grown beyond this capacity by a large packet are not kept for the following frames.
+	 */
+	private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+	private final DataOutputStream dataOutStream = new DataOutputStream(this);
+
+	private byte[] buffer = new byte[INITIAL_CAPACITY];
+	private int size;
+
+	/**
+	 * Replaces the current frame with the frame of the given packet.
+	 *
+	 * @param key
+	 *            The key of the packet.
+	 * @param packet
+	 *            The packet to be serialized.
+	 * @throws IOException
+	 *             If the packet can not be serialized.
+	 */
+	public void writeFrame(ENetworkKey key, Packet packet) throws IOException {
+		if (buffer.length > MAX_RETAINED_CAPACITY) {
+			buffer = new byte[INITIAL_CAPACITY];
+		}
+		size = 0;
+
+		key.writeTo(dataOutStream);
+		dataOutStream.writeInt(0); // placeholder for the length
+		packet.serialize(dataOutStream);
+		dataOutStream.flush();
+
+		int length = size - HEADER_LENGTH;
+		buffer[1] = (byte) (length >>> 24);
+		buffer[2] = (byte) (length >>> 16);
+		buffer[3] = (byte) (length >>> 8);
+		buffer[4] = (byte) length;
+	}
+
+	/**
+	 * @return The number of bytes of the current frame including the header.
+	 */
+	public int size() {
+		return size;
+	}
+
+	public void writeTo(OutputStream out) throws IOException {
+		out.write(buffer, 0, size);
+	}
+
+	/**
+	 * @return A {@link ByteBuffer} wrapping the current frame without copying it.
+	 */
+	public ByteBuffer asByteBuffer() {
+		return ByteBuffer.wrap(buffer, 0, size);
+	}
+
+	@Override
+	public void write(int b) {
+		ensureCapacity(size + 1);
+		buffer[size++] = (byte) b;
+	}
+
+	@Override
+	public void write(byte[] bytes, int offset, int length) {
+		ensureCapacity(size + length);
+		System.arraycopy(bytes, offset, buffer, size, length);
+		size += length;
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > buffer.length) {
+			buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+		}
+	}
+}
@@ -42,7 +42,8 @@ public interface IChannelListener {
 	 * @param length
 	 *            Number of bytes on the stream.
 	 * @param stream
-	 *            The {@link DataInputStream} offering the data.
+	 *            The {@link DataInputStream} offering the data. The stream is reused by the {@link Channel}, so it may only be read during this
+	 *            call.
 	 * 
 	 * @throws Exception
 	 *             If an I/O error occurs.
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.channel.nio;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A thread safe pool of equally sized {@link ByteBuffer}s. Buffers that are not returned are simply garbage collected, buffers returned while the
+ * pool is full are dropped.
+ */
+public class ByteBufferPool {
+	private final int bufferSize;
+	private final int maxPooledBuffers;
+
+	private final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger numberOfPooledBuffers = new AtomicInteger();
+
+	public ByteBufferPool(int bufferSize, int maxPooledBuffers) {
+		this.bufferSize = bufferSize;
+		this.maxPooledBuffers = maxPooledBuffers;
+	}
+
+	/**
+	 * @return A cleared buffer of this pool's buffer size.
+	 */
+	public ByteBuffer acquire() {
+		ByteBuffer buffer = buffers.poll();
+		if (buffer == null) {
+			return ByteBuffer.allocate(bufferSize);
+		}
+
+		numberOfPooledBuffers.decrementAndGet();
+		return buffer;
+	}
+
+	/**
+	 * Returns the given buffer to the pool. The buffer must not be used by the caller afterwards.
+	 *
+	 * @param buffer
+	 *            A buffer acquired from this pool.
+	 */
+	public void release(ByteBuffer buffer) {
+		if (numberOfPooledBuffers.incrementAndGet() <= maxPooledBuffers) {
+			buffer.clear();
+			buffers.offer(buffer);
+		} else {
+			numberOfPooledBuffers.decrementAndGet();
+		}
+	}
+
+	public int getBufferSize() {
+		return bufferSize;
+	}
+
+	public int getNumberOfPooledBuffers() {
+		return numberOfPooledBuffers.get();
+	}
+}
@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.channel.nio;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.NetworkConstants.ENetworkKey;
+import jsettlers.network.infrastructure.channel.Channel;
+import jsettlers.network.infrastructure.channel.FrameInputStream;
+import jsettlers.network.infrastructure.channel.FrameOutputStream;
+import jsettlers.network.infrastructure.channel.packet.Packet;
+import jsettlers.network.infrastructure.log.Logger;
+
+/**
+ * A {@link Channel} on a non blocking {@link SocketChannel} that is served by a {@link SelectorLoop} instead of an own thread. The packets are
+ * framed exactly like the ones of the {@link Channel}: one byte for the key, an int for the length and the data.
+ * <p />
+ * Packets are framed into a reused buffer and written directly by the sending thread as long as the socket accepts them. The rest is copied to
+ * pooled buffers and written by the {@link SelectorLoop} as soon as the socket is writable again. Received packets are dispatched directly from
+ * a pooled read buffer, which is returned to the pool as soon as it has been processed completely, so idle channels hold no buffers. If a partner does not read and the queue exceeds
+ * {@link NetworkConstants.Server#NIO_MAX_PENDING_WRITE_BYTES}, the channel is closed.
+ */
+public class NioChannel extends Channel {
+	private static final ENetworkKey[] KEYS = ENetworkKey.values();
+
+	private final SocketChannel socketChannel;
+	private final SelectorLoop loop;
+	private final SocketAddress remoteAddress;
+	private final AtomicBoolean closed = new AtomicBoolean(false);
+
+	private final ByteBufferPool bufferPool;
+	private ByteBuffer readBuffer; // only held while it contains unprocessed data
+	private ENetworkKey largePacketKey;
+	private byte[] largePacketData;
+	private int largePacketDataRead;
+	private final FrameInputStream frameInStream = new FrameInputStream();
+	private final DataInputStream frameDataInStream = new DataInputStream(frameInStream);
+
+	private final FrameOutputStream frameOutStream = new FrameOutputStream();
+	private final ArrayDeque<ByteBuffer> writeQueue = new ArrayDeque<>(); // pooled buffers ready to be drained
+	private int pendingWriteBytes;
+
+	private SelectionKey selectionKey;
+
+	public NioChannel(Logger logger, SocketChannel socketChannel, SelectorLoop loop) throws IOException {
+		super(logger);
+		this.socketChannel = socketChannel;
+		this.loop = loop;
+		this.bufferPool = loop.getBufferPool();
+		this.remoteAddress = socketChannel.getRemoteAddress();
+
+		socketChannel.configureBlocking(false);
+	}
+
+	@Override
+	protected void startReceiving() {
+		loop.execute(this::register);
+	}
+
+	private void register() {
+		try {
+			selectionKey = socketChannel.register(loop.getSelector(), SelectionKey.OP_READ, this);
+			updateInterestOps();
+		} catch (ClosedChannelException e) {
+			close();
+		}
+	}
+
+	@Override
+	public synchronized void sendPacket(ENetworkKey key, Packet packet) {
+		if (isClosed()) {
+			return;
+		}
+
+		try {
+			frameOutStream.writeFrame(key, packet);
+			ByteBuffer frame = frameOutStream.asByteBuffer();
+
+			if (writeQueue.isEmpty()) {
+				socketChannel.write(frame);
+				if (!frame.hasRemaining()) {
+					return;
+				}
+				loop.execute(this::updateInterestOps);
+			}
+
+			queueForWriting(frame);
+			if (pendingWriteBytes > NetworkConstants.Server.NIO_MAX_PENDING_WRITE_BYTES) {
+				getLogger().warn("Closing " + this + " because it does not read its data.");
+				close();
+			}
+		} catch (IOException e) {
+			close();
+		}
+	}
+
+	/**
+	 * Copies the remaining bytes of the given frame to the end of the write queue. The free space of the last queued buffer is filled first.
+	 */
+	private void queueForWriting(ByteBuffer frame) {
+		pendingWriteBytes += frame.remaining();
+
+		ByteBuffer last = writeQueue.peekLast();
+		while (frame.hasRemaining()) {
+			if (last == null || last.limit() == last.capacity()) {
+				last = bufferPool.acquire();
+				last.limit(0);
+				writeQueue.add(last);
+			}
+
+			int drainPosition = last.position();
+			last.position(last.limit());
+			last.limit(last.capacity());
+
+			int length = Math.min(frame.remaining(), last.remaining());
+			last.put(frame.array(), frame.arrayOffset() + frame.position(), length);
+			frame.position(frame.position() + length);
+
+			last.limit(last.position());
+			last.position(drainPosition);
+		}
+	}
+
+	void handleSelectedKey(SelectionKey key) {
+		try {
+			if (key.isReadable()) {
+				readPackets();
+			}
+			if (key.isValid() && key.isWritable()) {
+				writeQueuedFrames();
+			}
+		} catch (IOException | CancelledKeyException e) {
+			close();
+		}
+	}
+
+	private void readPackets() throws IOException {
+		if (readBuffer == null) {
+			readBuffer = bufferPool.acquire();
+		}
+
+		int read = socketChannel.read(readBuffer);
+		readBuffer.flip();
+		while (!isClosed() && readNextPacketPart()) {
+		}
+
+		if (read < 0) {
+			close();
+		}
+		if (readBuffer.hasRemaining() && !isClosed()) {
+			readBuffer.compact();
+		} else {
+			bufferPool.release(readBuffer);
+			readBuffer = null;
+		}
+	}
+
+	/**
+	 * Dispatches the next packet if it is completely contained in the read buffer. Packets larger than the read buffer are collected in an extra
+	 * array.
+	 *
+	 * @return true if there may be more to read in the buffer.
+	 */
+	private boolean readNextPacketPart() throws IOException {
+		if (largePacketData != null) {
+			return readLargePacketPart();
+		}
+
+		int position = readBuffer.position();
+		if (readBuffer.remaining() < FrameOutputStream.HEADER_LENGTH) {
+			return false;
+		}
+
+		int keyIndex = readBuffer.get(position);
+		int length = readBuffer.getInt(position + 1);
+		if (keyIndex < 0 || keyIndex >= KEYS.length || length < 0) {
+			throw new IOException("Received invalid packet header: " + keyIndex + " " + length);
+		}
+
+		if (length <= readBuffer.remaining() - FrameOutputStream.HEADER_LENGTH) { // dispatch directly from the read buffer
+			readBuffer.position(position + FrameOutputStream.HEADER_LENGTH + length);
+			frameInStream.setData(readBuffer.array(), readBuffer.arrayOffset() + position + FrameOutputStream.HEADER_LENGTH, length);
+			dispatchPacket(KEYS[keyIndex], length, frameDataInStream);
+			return true;
+
+		} else if (length <= readBuffer.capacity() - FrameOutputStream.HEADER_LENGTH) { // wait for the rest of the frame
+			return false;
+
+		} else {
+			readBuffer.position(position + FrameOutputStream.HEADER_LENGTH);
+			largePacketKey = KEYS[keyIndex];
+			largePacketData = new byte[length];
+			largePacketDataRead = 0;
+			return readLargePacketPart();
+		}
+	}
+
+	private boolean readLargePacketPart() throws IOException {
+		int readLength = Math.min(readBuffer.remaining(), largePacketData.length - largePacketDataRead);
+		readBuffer.get(largePacketData, largePacketDataRead, readLength);
+		largePacketDataRead += readLength;
+
+		if (largePacketDataRead < largePacketData.length) {
+			return false;
+		}
+
+		byte[] data = largePacketData;
+		largePacketData = null;
+		frameInStream.setData(data, 0, data.length);
+		dispatchPacket(largePacketKey, data.length, frameDataInStream);
+		return true;
+	}
+
+	private synchronized void writeQueuedFrames() throws IOException {
+		while (!writeQueue.isEmpty()) {
+			ByteBuffer frame = writeQueue.peek();
+			int remainingBefore = frame.remaining();
+			socketChannel.write(frame);
+			pendingWriteBytes -= remainingBefore - frame.remaining();
+
+			if (frame.hasRemaining()) {
+				return;
+			}
+			bufferPool.release(writeQueue.poll());
+		}
+		updateInterestOps();
+	}
+
+	private synchronized void updateInterestOps() {
+		if (selectionKey != null && selectionKey.isValid()) {
+			selectionKey.interestOps(writeQueue.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+		}
+	}
+
+	/**
+	 * Closes this {@link NioChannel} and its {@link SocketChannel}. The registered {@link jsettlers.network.infrastructure.channel.IChannelClosedListener}
+	 * is informed once on the thread of the {@link SelectorLoop}.
+	 */
+	@Override
+	public void close() {
+		if (!closed.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			socketChannel.close();
+		} catch (IOException e) {
+		}
+
+		synchronized (this) {
+			for (ByteBuffer buffer : writeQueue) {
+				bufferPool.release(buffer);
+			}
+			writeQueue.clear();
+			pendingWriteBytes = 0;
+		}
+
+		loop.execute(this::informChannelClosedListener); // never inform the listener while holding the lock of sendPacket()
+		getLogger().info("Channel listener shut down: " + this);
+	}
+
+	@Override
+	public boolean isClosed() {
+		return closed.get();
+	}
+
+	@Override
+	public String toString() {
+		return "NioChannel[" + remoteAddress + "]";
+	}
+}
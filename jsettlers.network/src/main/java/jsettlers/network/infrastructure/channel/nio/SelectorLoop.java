@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.channel.nio;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import jsettlers.network.NetworkConstants;
+
+/**
+ * A thread multiplexing the sockets of many {@link NioChannel}s with one {@link Selector}. All reading, the writing of data that could not be
+ * written directly and the changes of the interest sets are done by this thread.
+ * <p />
+ * Received packets are dispatched to the listeners on this thread, so listeners must not block.
+ */
+public class SelectorLoop extends Thread {
+	private final Selector selector;
+	private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+	private final ByteBufferPool bufferPool = new ByteBufferPool(NetworkConstants.Server.NIO_BUFFER_SIZE,
+			NetworkConstants.Server.NIO_MAX_POOLED_BUFFERS);
+
+	private volatile boolean canceled = false;
+	private volatile boolean stopped = false;
+
+	public SelectorLoop(String name) throws IOException {
+		super(name);
+		this.selector = Selector.open();
+		setDaemon(true);
+	}
+
+	/**
+	 * Executes the given task on this loop's thread. If the loop has already stopped, the task is executed directly.
+	 *
+	 * @param task
+	 *            The task to be executed.
+	 */
+	public void execute(Runnable task) {
+		tasks.add(task);
+		if (stopped) {
+			runTasks();
+		} else {
+			selector.wakeup();
+		}
+	}
+
+	Selector getSelector() {
+		return selector;
+	}
+
+	/**
+	 * @return The pool of the buffers used by the {@link NioChannel}s of this loop.
+	 */
+	public ByteBufferPool getBufferPool() {
+		return bufferPool;
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (!canceled) {
+				selector.select();
+				runTasks();
+
+				Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+				while (selectedKeys.hasNext()) {
+					SelectionKey key = selectedKeys.next();
+					selectedKeys.remove();
+
+					((NioChannel) key.attachment()).handleSelectedKey(key);
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		} finally {
+			stopped = true;
+			for (SelectionKey key : new ArrayList<>(selector.keys())) {
+				((NioChannel) key.attachment()).close();
+			}
+			runTasks();
+
+			try {
+				selector.close();
+			} catch (IOException e) {
+			}
+		}
+	}
+
+	private void runTasks() {
+		Runnable task;
+		while ((task = tasks.poll()) != null) {
+			try {
+				task.run();
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/**
+	 * Stops this loop and closes all {@link NioChannel}s registered on it.
+	 */
+	public void shutdown() {
+		canceled = true;
+		selector.wakeup();
+	}
+}
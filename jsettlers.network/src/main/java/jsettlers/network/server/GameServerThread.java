@@ -16,13 +16,15 @@ package jsettlers.network.server;
 
 import java.io.IOException;
 import java.net.InetAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.net.SocketException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 
 import jsettlers.network.NetworkConstants;
 import jsettlers.network.infrastructure.channel.Channel;
-import jsettlers.network.infrastructure.channel.socket.ISocketFactory;
+import jsettlers.network.infrastructure.channel.nio.NioChannel;
+import jsettlers.network.infrastructure.channel.nio.SelectorLoop;
 import jsettlers.network.infrastructure.log.Logger;
 import jsettlers.network.infrastructure.log.LoggerManager;
 import jsettlers.network.server.db.IDBFacade;
@@ -32,13 +34,16 @@ import jsettlers.network.server.lan.LanServerBroadcastThread;
 import jsettlers.network.server.lan.SingleLanServerAddressListener;
 
 /**
+ * Accepts the clients and hands their sockets to a small number of {@link SelectorLoop}s, so the server does not need a thread per client.
  * 
  * @author Andreas Eberle
  * 
  */
 public final class GameServerThread extends Thread {
+	private static final long SHUTDOWN_TIMEOUT_MS = 1000;
 
-	private final ServerSocket serverSocket;
+	private final ServerSocketChannel serverSocketChannel;
+	private final SelectorLoop[] selectorLoops;
 	private final ServerManager manager;
 	private final LanServerBroadcastThread lanBroadcastThread;
 	private final Logger logger;
@@ -53,7 +58,14 @@ public final class GameServerThread extends Thread {
 	public GameServerThread(boolean lan, Logger logger) throws IOException {
 		super("GameServer");
 		this.logger = logger;
-		this.serverSocket = new ServerSocket(NetworkConstants.Server.SERVER_PORT);
+		this.serverSocketChannel = ServerSocketChannel.open();
+		this.serverSocketChannel.socket().setReuseAddress(true);
+		this.serverSocketChannel.bind(new InetSocketAddress(NetworkConstants.Server.SERVER_PORT));
+
+		this.selectorLoops = new SelectorLoop[NetworkConstants.Server.NIO_SELECTOR_THREADS];
+		for (int i = 0; i < selectorLoops.length; i++) {
+			selectorLoops[i] = new SelectorLoop("GameServerSelector" + i);
+		}
 		this.manager = new ServerManager(new InMemoryDB());
 
 		this.setDaemon(true);
@@ -71,14 +83,14 @@ public final class GameServerThread extends Thread {
 		System.out.println("Server up and running!");
 		while (!canceled) {
 			try {
-				Socket clientSocket = serverSocket.accept();
+				SocketChannel clientSocket = serverSocketChannel.accept();
 
-				Channel clientChannel = new Channel(logger, ISocketFactory.DEFAULT_FACTORY.generateSocket(clientSocket));
+				Channel clientChannel = new NioChannel(logger, clientSocket, selectorLoops[(int) (counter % selectorLoops.length)]);
 				manager.identifyNewChannel(clientChannel);
 				clientChannel.start();
 
-				logger.log("accepted new client (" + ++counter + "): " + clientSocket);
-			} catch (SocketException e) {
+				logger.log("accepted new client (" + ++counter + "): " + clientChannel);
+			} catch (ClosedChannelException e) {
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
@@ -119,6 +131,9 @@ public final class GameServerThread extends Thread {
 
 	@Override
 	public synchronized void start() {
+		for (SelectorLoop selectorLoop : selectorLoops) {
+			selectorLoop.start();
+		}
 		super.start();
 		manager.start();
 		if(lanBroadcastThread != null) {
@@ -129,8 +144,15 @@ public final class GameServerThread extends Thread {
 	public synchronized void shutdown() {
 		canceled = true;
 		try {
-			serverSocket.close();
-		} catch (IOException e) {
+			serverSocketChannel.close();
+			if (Thread.currentThread() != this) {
+				join(SHUTDOWN_TIMEOUT_MS); // the port is released when the blocked accept() has returned
+			}
+		} catch (IOException | InterruptedException e) {
+		}
+
+		for (SelectorLoop selectorLoop : selectorLoops) {
+			selectorLoop.shutdown();
 		}
 
 		if(lanBroadcastThread != null) {
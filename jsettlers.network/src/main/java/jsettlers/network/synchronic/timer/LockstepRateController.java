@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.synchronic.timer;
+
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.infrastructure.channel.ping.RoundTripTime;
+
+/**
+ * Calculates the rate the {@link NetworkTimer} runs the game time with, relative to the game speed.
+ * <p />
+ * The client keeps a buffer of game time for which the locksteps have already been received. The buffer that is needed to absorb the jitter of
+ * the connection is sized from the averaged jitter of the {@link RoundTripTime}. If less time is buffered, the game time is stretched, so the
+ * next locksteps arrive before the clock has to wait for them. If this client has fallen far behind, the game time is shrunk until it has caught
+ * up. Time the time synchronization requests to give back is also given back by stretching the game time instead of pausing it.
+ */
+final class LockstepRateController {
+	static final float MIN_RATE = 0.75f;
+	static final float MAX_RATE = 1.25f;
+
+	/**
+	 * The buffered time exceeding the double target by this value lets the rate reach {@link #MAX_RATE}.
+	 */
+	static final int CATCH_UP_WINDOW_MS = 1000;
+	static final int MAX_TARGET_BUFFERED_TIME = 10 * NetworkConstants.Client.LOCKSTEP_PERIOD;
+
+	/**
+	 * @param bufferedTime
+	 *            The game time that can be executed until the clock has to wait for the next lockstep.
+	 * @param roundTripTime
+	 *            The current round trip time of the connection to the server or <code>null</code> if the locksteps are not received over the
+	 *            network.
+	 * @param timeDebt
+	 *            The game time still to be given back for the time synchronization.
+	 * @return The rate between {@link #MIN_RATE} and {@link #MAX_RATE}.
+	 */
+	float calculateRate(int bufferedTime, RoundTripTime roundTripTime, float timeDebt) {
+		float rate = 1;
+
+		if (roundTripTime != null) {
+			int targetBufferedTime = getTargetBufferedTime(roundTripTime);
+
+			if (bufferedTime < targetBufferedTime) {
+				float missing = Math.min(1, (float) (targetBufferedTime - bufferedTime) / targetBufferedTime);
+				rate = 1 - (1 - MIN_RATE) * missing;
+			} else if (bufferedTime > 2 * targetBufferedTime) {
+				float surplus = Math.min(1, (float) (bufferedTime - 2 * targetBufferedTime) / CATCH_UP_WINDOW_MS);
+				rate = 1 + (MAX_RATE - 1) * surplus;
+			}
+		}
+
+		if (timeDebt > 0) {
+			rate = Math.min(rate, MIN_RATE);
+		}
+		return rate;
+	}
+
+	static int getTargetBufferedTime(RoundTripTime roundTripTime) {
+		int target = NetworkConstants.Client.LOCKSTEP_PERIOD + 2 * Math.max(0, roundTripTime.getAveragedJitter());
+		return Math.min(MAX_TARGET_BUFFERED_TIME, target);
+	}
+}
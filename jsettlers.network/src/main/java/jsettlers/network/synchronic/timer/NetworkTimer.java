@@ -14,6 +14,7 @@
  *******************************************************************************/
 package jsettlers.network.synchronic.timer;
 
+import java.io.BufferedInputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -31,6 +32,7 @@ import jsettlers.network.NetworkConstants;
 import jsettlers.network.client.INetworkClientClock;
 import jsettlers.network.client.task.packets.SyncTasksPacket;
 import jsettlers.network.client.task.packets.TaskPacket;
+import jsettlers.network.infrastructure.channel.ping.IRoundTripTimeSupplier;
 
 /**
  * This is a basic game timer. All synchronous actions must be based on this clock. The {@link NetworkTimer} also triggers the execution of synchronous tasks in the network game.
@@ -40,10 +42,16 @@ import jsettlers.network.client.task.packets.TaskPacket;
  */
 public final class NetworkTimer extends TimerTask implements INetworkClientClock {
 	public static final short TIME_SLICE = 50;
+	/**
+	 * The timer runs more often than the game time advances, so changes of the rate spread the ticks evenly instead of skipping whole ticks.
+	 */
+	private static final int TIMER_PERIOD = TIME_SLICE / 5;
 	private static final Comparator<SyncTasksPacket> tasksByTimeComparator = Comparator.comparingInt(SyncTasksPacket::getLockstepNumber);
 
 	private final Timer timer;
+	private final boolean headless;
 	private final Object lockstepLock = new Object();
+	private final Object pausingLock = new Object();
 
 	private final List<ScheduledTimerable> timerables = new ArrayList<>();
 	private final List<ScheduledTimerable> newTimerables = new LinkedList<>();
@@ -52,24 +60,48 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 	private final LinkedList<SyncTasksPacket> tasks = new LinkedList<>();
 
 	private int time = 0;
-	private int maxAllowedLockstep = -1;
+	private volatile int maxAllowedLockstep = -1;
 
-	private boolean isPausing;
-	private int pauseTime;
+	private volatile boolean isPausing;
+	private volatile boolean stopped;
+	private float timeDebt;
 	private float speedFactor = 1.0f;
 	private float progress = 0.0f;
+	private long lastRunNanos;
+
+	private final LockstepRateController lockstepRateController = new LockstepRateController();
+	private IRoundTripTimeSupplier roundTripTimeSupplier;
+	private float lockstepRate = 1.0f;
+	private long lockstepWaitingNanos;
+
+	private volatile long executedTimeSlices;
+	private volatile long executionNanos;
 
 	private boolean scheduled = false;
 
 	private ITaskExecutor taskExecutor;
 	private DataOutputStream replayLogStream;
+	private final ReplayKeyframeIndex replayKeyframeIndex = new ReplayKeyframeIndex();
 
 	public NetworkTimer() {
-		this.timer = new Timer("NetworkTimer");
+		this(false, false);
 	}
 
 	public NetworkTimer(boolean disableLockstepWaiting) {
-		this();
+		this(disableLockstepWaiting, false);
+	}
+
+	/**
+	 * @param disableLockstepWaiting
+	 *            If <code>true</code>, the timer does not wait for the locksteps to be unlocked.
+	 * @param headless
+	 *            If <code>true</code>, the timer is not bound to the wall clock. When started, it executes the time slices one after the other as
+	 *            fast as possible on its own thread and ignores the game speed. This is meant for games nobody watches, e.g. replays and AI
+	 *            matches.
+	 */
+	public NetworkTimer(boolean disableLockstepWaiting, boolean headless) {
+		this.headless = headless;
+		this.timer = headless ? null : new Timer("NetworkTimer");
 
 		if (disableLockstepWaiting) {
 			maxAllowedLockstep = Integer.MAX_VALUE;
@@ -80,44 +112,91 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 	public synchronized void startExecution() {
 		if (!scheduled) {
 			scheduled = true;
-			timer.schedule(this, 0, TIME_SLICE);
+			lastRunNanos = System.nanoTime();
+			if (headless) {
+				Thread headlessThread = new Thread(this::runHeadless, "HeadlessNetworkTimer");
+				headlessThread.setDaemon(true);
+				headlessThread.start();
+			} else {
+				timer.schedule(this, 0, TIMER_PERIOD);
+			}
 		}
 	}
 
 	@Override
 	public void stopExecution() {
+		stopped = true;
 		setPausing(true);
-		timer.cancel();
+		if (timer != null) {
+			timer.cancel();
+		}
 
 		closeReplayLogStreamIfNeeded();
 	}
 
+	private void runHeadless() {
+		while (!stopped) {
+			synchronized (pausingLock) {
+				while (isPausing && !stopped) {
+					try {
+						pausingLock.wait();
+					} catch (InterruptedException e) {
+					}
+				}
+			}
+
+			if (!stopped) {
+				executeRun();
+			}
+		}
+	}
+
 	@Override
 	public void run() {
+		long now = System.nanoTime();
+		float elapsedMs = Math.min(TIME_SLICE, (now - lastRunNanos) / 1000000f);
+		lastRunNanos = now;
+
 		if (!isPausing) {
-			if (pauseTime <= 0) { // this is used for synchronizing the network clients
-				progress += speedFactor;
+			float gameTimeDelta = elapsedMs * speedFactor;
 
-				while (progress >= 1) {
-					executeRun();
-					progress--;
-				}
-			} else {
-				pauseTime -= TIME_SLICE;
+			lockstepRate = calculateLockstepRate();
+			timeDebt = Math.max(0, timeDebt - gameTimeDelta * (1 - lockstepRate)); // the time stretched gives back the time debt
+			progress += gameTimeDelta * lockstepRate / TIME_SLICE;
+
+			while (progress >= 1) {
+				executeRun();
+				progress--;
 			}
 		}
 	}
 
+	private float calculateLockstepRate() {
+		int allowedLockstep = maxAllowedLockstep;
+		if (roundTripTimeSupplier == null || allowedLockstep == Integer.MAX_VALUE) {
+			return lockstepRateController.calculateRate(0, null, timeDebt);
+		}
+
+		int bufferedTime = (allowedLockstep + 1) * NetworkConstants.Client.LOCKSTEP_PERIOD - TIME_SLICE - time;
+		return lockstepRateController.calculateRate(bufferedTime, roundTripTimeSupplier.getRoundTripTime(), timeDebt);
+	}
+
 	private synchronized void executeRun() {
+		long startNanos = System.nanoTime();
+		long waitingNanosBefore = lockstepWaitingNanos;
 		try {
 			time += TIME_SLICE;
 			final int lockstep = time / NetworkConstants.Client.LOCKSTEP_PERIOD;
 
 			// check if the lockstep is allowed
 			synchronized (lockstepLock) {
-				while (lockstep > maxAllowedLockstep) {
+				if (lockstep > maxAllowedLockstep) {
 					System.out.println("WAITING for lockstep!");
-					lockstepLock.wait();
+					long waitingStart = System.nanoTime();
+					while (lockstep > maxAllowedLockstep) {
+						lockstepLock.wait();
+					}
+					lockstepWaitingNanos += System.nanoTime() - waitingStart;
 				}
 			}
 
@@ -154,6 +233,9 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 			System.err.println("WARNING: Networking Timer catched Throwable!!!");
 			t.printStackTrace();
 		}
+
+		executedTimeSlices++;
+		executionNanos += System.nanoTime() - startNanos - (lockstepWaitingNanos - waitingNanosBefore);
 	}
 
 	private void executeTasksPacket(SyncTasksPacket tasksPacket) {
@@ -246,12 +328,18 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 
 	@Override
 	public void setPausing(boolean pausing) {
-		this.isPausing = pausing;
+		synchronized (pausingLock) {
+			this.isPausing = pausing;
+			pausingLock.notifyAll();
+		}
 	}
 
 	@Override
 	public void invertPausing() {
-		this.isPausing = !this.isPausing;
+		synchronized (pausingLock) {
+			this.isPausing = !this.isPausing;
+			pausingLock.notifyAll();
+		}
 	}
 
 	@Override
@@ -261,8 +349,40 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 
 	@Override
 	public void pauseClockFor(int timeDelta) {
-		this.pauseTime = timeDelta;
-		System.err.println("pausing for " + timeDelta + " ms");
+		this.timeDebt = timeDelta;
+		System.err.println("falling back by " + timeDelta + " ms");
+	}
+
+	@Override
+	public void setRoundTripTimeSupplier(IRoundTripTimeSupplier roundTripTimeSupplier) {
+		this.roundTripTimeSupplier = roundTripTimeSupplier;
+	}
+
+	/**
+	 * @return The rate the game time currently runs with relative to the game speed.
+	 */
+	public float getLockstepRate() {
+		return lockstepRate;
+	}
+
+	/**
+	 * @return The total time in milliseconds the game time stopped, because the next lockstep had not arrived yet.
+	 */
+	public long getLockstepWaitingTime() {
+		return lockstepWaitingNanos / 1000000;
+	}
+
+	@Override
+	public boolean isHeadless() {
+		return headless;
+	}
+
+	@Override
+	public float getSimulationSpeed() {
+		if (executionNanos <= 0) {
+			return 0;
+		}
+		return executedTimeSlices * TIME_SLICE * 1000000f / executionNanos;
 	}
 
 	@Override
@@ -349,25 +469,89 @@ public final class NetworkTimer extends TimerTask implements INetworkClientClock
 	}
 
 	private void closeReplayLogStreamIfNeeded() {
-		if (replayLogStream != null) {
+		synchronized (tasks) {
+			if (replayLogStream != null) {
+				try {
+					if (!replayKeyframeIndex.isEmpty()) {
+						replayKeyframeIndex.writeTo(replayLogStream);
+					}
+					replayLogStream.flush();
+					replayLogStream.close();
+				} catch (IOException e) {
+					e.printStackTrace();
+				} finally {
+					replayLogStream = null;
+				}
+			}
+		}
+	}
+
+	@Override
+	public ReplayKeyframe markReplayKeyframe() {
+		synchronized (tasks) { // no task packet may be written in between
+			if (replayLogStream == null) {
+				return null;
+			}
+			return new ReplayKeyframe(time / NetworkConstants.Client.LOCKSTEP_PERIOD, replayLogStream.size(), new ArrayList<>(tasks));
+		}
+	}
+
+	@Override
+	public void writeReplayKeyframe(ReplayKeyframe keyframe) {
+		synchronized (tasks) {
+			if (replayLogStream == null) {
+				System.err.println("Dropped replay keyframe of lockstep " + keyframe.getLockstep() + ", because the replay log has been closed.");
+				return;
+			}
+
 			try {
+				long offset = replayLogStream.size();
+				replayLogStream.writeInt(ReplayKeyframeIndex.KEYFRAME_MARKER);
+				keyframe.serialize(replayLogStream);
 				replayLogStream.flush();
-				replayLogStream.close();
+				replayKeyframeIndex.add(keyframe, offset, replayLogStream.size() - offset);
 			} catch (IOException e) {
 				e.printStackTrace();
-			} finally {
-				replayLogStream = null;
 			}
 		}
 	}
 
 	@Override
 	public void loadReplayLogFromStream(DataInputStream dataInputStream) {
+		loadReplayLog(dataInputStream, -1);
+	}
+
+	@Override
+	public void loadReplayLogFromKeyframe(ReplayKeyframe keyframe, DataInputStream tasksStream) {
+		for (SyncTasksPacket tasksPacket : keyframe.getPendingTasks()) {
+			scheduleSyncTasksPacket(tasksPacket);
+		}
+		loadReplayLog(tasksStream, keyframe.getLockstep());
+	}
+
+	/**
+	 * Schedules the task packets of the replay log that are executed after the given lockstep. Keyframes are skipped.
+	 */
+	private void loadReplayLog(DataInputStream replayLogStream, int afterLockstep) {
+		DataInputStream dataInputStream = new DataInputStream(new BufferedInputStream(replayLogStream));
 		try {
 			while (true) {
+				dataInputStream.mark(4);
+				int marker = dataInputStream.readInt();
+				if (marker == ReplayKeyframeIndex.KEYFRAME_MARKER) {
+					ReplayKeyframe.skip(dataInputStream);
+					continue;
+				} else if (marker == ReplayKeyframeIndex.INDEX_MARKER) {
+					System.out.println("Successfully loaded jsettlers.integration.replay file.");
+					return;
+				}
+				dataInputStream.reset();
+
 				SyncTasksPacket currPacket = new SyncTasksPacket();
 				currPacket.deserialize(dataInputStream);
-				scheduleSyncTasksPacket(currPacket);
+				if (currPacket.getLockstepNumber() > afterLockstep) {
+					scheduleSyncTasksPacket(currPacket);
+				}
 			}
 		} catch (IOException e1) { // something went wrong, or the stream was empty
 			try {
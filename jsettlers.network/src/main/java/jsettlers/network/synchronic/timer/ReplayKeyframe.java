@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.synchronic.timer;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import jsettlers.network.client.task.packets.SyncTasksPacket;
+
+/**
+ * A snapshot of the game state embedded into the replay log, so a replay can be started from it instead of from the beginning.
+ * <p>
+ * The {@link NetworkTimer} writes the task packets into the replay log when they are scheduled, which is some locksteps before they are
+ * executed. A keyframe therefore contains the task packets that were scheduled but not executed when the snapshot was taken. All packets
+ * following the {@link #getTasksOffset() tasks offset} in the replay log have been scheduled after the snapshot.
+ */
+public final class ReplayKeyframe {
+	private final int                   lockstep;
+	private final long                  tasksOffset;
+	private final List<SyncTasksPacket> pendingTasks;
+
+	private byte[] state;
+
+	ReplayKeyframe(int lockstep, long tasksOffset, List<SyncTasksPacket> pendingTasks) {
+		this.lockstep = lockstep;
+		this.tasksOffset = tasksOffset;
+		this.pendingTasks = pendingTasks;
+	}
+
+	/**
+	 * @return The last lockstep whose tasks are contained in the state.
+	 */
+	public int getLockstep() {
+		return lockstep;
+	}
+
+	/**
+	 * @return The position in the replay log after which the task packets scheduled after the snapshot follow.
+	 */
+	public long getTasksOffset() {
+		return tasksOffset;
+	}
+
+	public List<SyncTasksPacket> getPendingTasks() {
+		return pendingTasks;
+	}
+
+	/**
+	 * @return The serialized game state or <code>null</code> if it has not been set yet.
+	 */
+	public byte[] getState() {
+		return state;
+	}
+
+	public void setState(byte[] state) {
+		this.state = state;
+	}
+
+	void serialize(DataOutputStream dos) throws IOException {
+		dos.writeInt(lockstep);
+		dos.writeLong(tasksOffset);
+		dos.writeInt(pendingTasks.size());
+		for (SyncTasksPacket tasksPacket : pendingTasks) {
+			tasksPacket.serialize(dos);
+		}
+		dos.writeInt(state.length);
+		dos.write(state);
+	}
+
+	static ReplayKeyframe deserialize(DataInputStream dis) throws IOException {
+		ReplayKeyframe keyframe = readHeader(dis);
+		keyframe.state = new byte[dis.readInt()];
+		dis.readFully(keyframe.state);
+		return keyframe;
+	}
+
+	/**
+	 * Reads over a keyframe without loading its state.
+	 */
+	static void skip(DataInputStream dis) throws IOException {
+		readHeader(dis);
+		int length = dis.readInt();
+		while (length > 0) {
+			int skipped = dis.skipBytes(length);
+			if (skipped <= 0) {
+				throw new IOException("The replay keyframe is truncated.");
+			}
+			length -= skipped;
+		}
+	}
+
+	private static ReplayKeyframe readHeader(DataInputStream dis) throws IOException {
+		int lockstep = dis.readInt();
+		long tasksOffset = dis.readLong();
+		int numberOfPendingTasks = dis.readInt();
+		List<SyncTasksPacket> pendingTasks = new ArrayList<>(numberOfPendingTasks);
+		for (int i = 0; i < numberOfPendingTasks; i++) {
+			SyncTasksPacket tasksPacket = new SyncTasksPacket();
+			tasksPacket.deserialize(dis);
+			pendingTasks.add(tasksPacket);
+		}
+		return new ReplayKeyframe(lockstep, tasksOffset, pendingTasks);
+	}
+}
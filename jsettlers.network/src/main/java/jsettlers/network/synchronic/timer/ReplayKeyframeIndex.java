@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.synchronic.timer;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The index of the {@link ReplayKeyframe}s of a replay log. The {@link NetworkTimer} appends it to the replay log when the log is closed.
+ * <p>
+ * The replay log is a sequence of task packets, which start with their non-negative lockstep number, and keyframes. The format of the
+ * keyframes and the index is:
+ *
+ * <pre>
+ * keyframe: int {@value #KEYFRAME_MARKER}, {@link ReplayKeyframe}
+ * index:    int {@value #INDEX_MARKER}, int number of keyframes
+ *           for every keyframe: int lockstep, long offset, long length, long tasks offset
+ *           long offset of the index, int magic
+ * </pre>
+ *
+ * The offsets are counted from the start of the replay log stream. Replay logs without keyframes or of games that did not end properly
+ * have no index.
+ */
+public final class ReplayKeyframeIndex {
+	static final int KEYFRAME_MARKER = -1;
+	static final int INDEX_MARKER    = -2;
+
+	private static final int INDEX_MAGIC    = 0x4A53524B; // "JSRK"
+	private static final int TRAILER_LENGTH = 8 + 4;
+
+	private final List<Entry> entries = new ArrayList<>();
+
+	void add(ReplayKeyframe keyframe, long offset, long length) {
+		entries.add(new Entry(keyframe.getLockstep(), offset, length, keyframe.getTasksOffset()));
+	}
+
+	public List<Entry> getEntries() {
+		return Collections.unmodifiableList(entries);
+	}
+
+	public boolean isEmpty() {
+		return entries.isEmpty();
+	}
+
+	/**
+	 * @return The latest keyframe taken at or before the given lockstep or <code>null</code> if there is none.
+	 */
+	public Entry findKeyframe(int lockstep) {
+		Entry result = null;
+		for (Entry entry : entries) {
+			if (entry.lockstep <= lockstep) {
+				result = entry;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return The number of bytes the keyframes take in the replay log.
+	 */
+	public long getKeyframesLength() {
+		long length = 0;
+		for (Entry entry : entries) {
+			length += entry.length;
+		}
+		return length;
+	}
+
+	void writeTo(DataOutputStream dos) throws IOException {
+		long indexOffset = dos.size();
+		dos.writeInt(INDEX_MARKER);
+		dos.writeInt(entries.size());
+		for (Entry entry : entries) {
+			dos.writeInt(entry.lockstep);
+			dos.writeLong(entry.offset);
+			dos.writeLong(entry.length);
+			dos.writeLong(entry.tasksOffset);
+		}
+		dos.writeLong(indexOffset);
+		dos.writeInt(INDEX_MAGIC);
+	}
+
+	/**
+	 * Reads the index at the end of a replay log.
+	 *
+	 * @return The index. It is empty if the replay log has no index.
+	 */
+	public static ReplayKeyframeIndex readFrom(RandomAccessFile file) throws IOException {
+		ReplayKeyframeIndex index = new ReplayKeyframeIndex();
+
+		long length = file.length();
+		if (length < TRAILER_LENGTH) {
+			return index;
+		}
+		file.seek(length - TRAILER_LENGTH);
+		long indexOffset = file.readLong();
+		if (file.readInt() != INDEX_MAGIC) {
+			return index;
+		}
+
+		file.seek(indexOffset);
+		if (file.readInt() != INDEX_MARKER) {
+			throw new IOException("The replay keyframe index is corrupted.");
+		}
+		int numberOfKeyframes = file.readInt();
+		for (int i = 0; i < numberOfKeyframes; i++) {
+			index.entries.add(new Entry(file.readInt(), file.readLong(), file.readLong(), file.readLong()));
+		}
+		return index;
+	}
+
+	/**
+	 * Reads the keyframe of the given entry including its state.
+	 */
+	public static ReplayKeyframe readKeyframe(RandomAccessFile file, Entry entry) throws IOException {
+		file.seek(entry.offset);
+		DataInputStream dis = new DataInputStream(new BufferedInputStream(Channels.newInputStream(file.getChannel())));
+		if (dis.readInt() != KEYFRAME_MARKER) {
+			throw new IOException("No replay keyframe found at " + entry.offset);
+		}
+		return ReplayKeyframe.deserialize(dis);
+	}
+
+	public static final class Entry {
+		private final int  lockstep;
+		private final long offset;
+		private final long length;
+		private final long tasksOffset;
+
+		Entry(int lockstep, long offset, long length, long tasksOffset) {
+			this.lockstep = lockstep;
+			this.offset = offset;
+			this.length = length;
+			this.tasksOffset = tasksOffset;
+		}
+
+		public int getLockstep() {
+			return lockstep;
+		}
+
+		public long getOffset() {
+			return offset;
+		}
+
+		public long getLength() {
+			return length;
+		}
+
+		public long getTasksOffset() {
+			return tasksOffset;
+		}
+
+		@Override
+		public String toString() {
+			return "Entry{lockstep=" + lockstep + ", offset=" + offset + ", length=" + length + "}";
+		}
+	}
+}
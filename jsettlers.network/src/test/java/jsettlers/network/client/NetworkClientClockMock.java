@@ -21,8 +21,10 @@ import java.util.LinkedList;
 
 import jsettlers.network.client.task.packets.SyncTasksPacket;
 import jsettlers.network.client.task.packets.TaskPacket;
+import jsettlers.network.infrastructure.channel.ping.IRoundTripTimeSupplier;
 import jsettlers.network.synchronic.timer.INetworkTimerable;
 import jsettlers.network.synchronic.timer.ITaskExecutor;
+import jsettlers.network.synchronic.timer.ReplayKeyframe;
 
 /**
  * This class is a mock of the {@link INetworkClientClock} interface.
@@ -61,6 +63,10 @@ public class NetworkClientClockMock implements INetworkClientClock {
 		adjustmentEvents.add(timeDelta);
 	}
 
+	@Override
+	public void setRoundTripTimeSupplier(IRoundTripTimeSupplier roundTripTimeSupplier) {
+	}
+
 	public LinkedList<Integer> popAdjustmentEvents() {
 		LinkedList<Integer> temp = adjustmentEvents;
 		adjustmentEvents = new LinkedList<>();
@@ -150,6 +156,19 @@ public class NetworkClientClockMock implements INetworkClientClock {
 	public void loadReplayLogFromStream(DataInputStream dataInputStream) {
 	}
 
+	@Override
+	public void loadReplayLogFromKeyframe(ReplayKeyframe keyframe, DataInputStream tasksStream) {
+	}
+
+	@Override
+	public ReplayKeyframe markReplayKeyframe() {
+		return null;
+	}
+
+	@Override
+	public void writeReplayKeyframe(ReplayKeyframe keyframe) {
+	}
+
 	@Override
 	public void saveRemainingTasks(DataOutputStream dos) throws IOException {
 	}
@@ -159,4 +178,14 @@ public class NetworkClientClockMock implements INetworkClientClock {
 		time = targetGameTime;
 	}
 
+	@Override
+	public boolean isHeadless() {
+		return false;
+	}
+
+	@Override
+	public float getSimulationSpeed() {
+		throw new UnsupportedOperationException("not mocked");
+	}
+
 }
@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.channel;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import jsettlers.network.NetworkConstants.ENetworkKey;
+
+public class FrameOutputStreamTest {
+	private final FrameOutputStream frameOutStream = new FrameOutputStream();
+
+	@Test
+	public void testFrameMatchesSeparatelyWrittenHeader() throws IOException {
+		TestPacket packet = new TestPacket("sdfjkl", 42);
+		frameOutStream.writeFrame(ENetworkKey.TEST_PACKET, packet);
+
+		assertArrayEquals(createFrameWithoutBackPatching(ENetworkKey.TEST_PACKET, packet), toByteArray(frameOutStream));
+	}
+
+	@Test
+	public void testBufferIsReusedAndGrowsForLargePackets() throws IOException {
+		char[] chars = new char[50000];
+		Arrays.fill(chars, 'a');
+		TestPacket largePacket = new TestPacket(new String(chars), 1);
+		TestPacket smallPacket = new TestPacket("b", 2);
+
+		frameOutStream.writeFrame(ENetworkKey.TEST_PACKET, largePacket);
+		assertArrayEquals(createFrameWithoutBackPatching(ENetworkKey.TEST_PACKET, largePacket), toByteArray(frameOutStream));
+
+		frameOutStream.writeFrame(ENetworkKey.PING, smallPacket);
+		assertArrayEquals(createFrameWithoutBackPatching(ENetworkKey.PING, smallPacket), toByteArray(frameOutStream));
+	}
+
+	@Test
+	public void testRoundTripWithFrameInputStream() throws IOException {
+		TestPacket packet = new TestPacket("dsfjklsdf", -234);
+		frameOutStream.writeFrame(ENetworkKey.TEST_PACKET, packet);
+
+		ByteBuffer frame = frameOutStream.asByteBuffer();
+		byte[] data = new byte[frame.remaining() + 3]; // the frame does not start at the beginning of the array
+		frame.get(data, 3, frame.remaining());
+
+		FrameInputStream frameInStream = new FrameInputStream();
+		frameInStream.setData(data, 3 + FrameOutputStream.HEADER_LENGTH, data.length - 3 - FrameOutputStream.HEADER_LENGTH);
+
+		TestPacket readPacket = new TestPacket();
+		readPacket.deserialize(new DataInputStream(frameInStream));
+		assertEquals(packet, readPacket);
+		assertEquals(0, frameInStream.available());
+		assertEquals(-1, frameInStream.read());
+	}
+
+	private static byte[] toByteArray(FrameOutputStream frameOutStream) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		frameOutStream.writeTo(out);
+		assertEquals(frameOutStream.size(), out.size());
+		return out.toByteArray();
+	}
+
+	private static byte[] createFrameWithoutBackPatching(ENetworkKey key, TestPacket packet) throws IOException {
+		ByteArrayOutputStream data = new ByteArrayOutputStream();
+		packet.serialize(new DataOutputStream(data));
+
+		ByteArrayOutputStream frame = new ByteArrayOutputStream();
+		DataOutputStream frameDataOut = new DataOutputStream(frame);
+		key.writeTo(frameDataOut);
+		frameDataOut.writeInt(data.size());
+		data.writeTo(frameDataOut);
+		return frame.toByteArray();
+	}
+}
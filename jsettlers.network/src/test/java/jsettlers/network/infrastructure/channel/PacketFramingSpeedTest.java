@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.channel;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import jsettlers.network.NetworkConstants.ENetworkKey;
+import jsettlers.network.client.task.TestTaskPacket;
+import jsettlers.network.client.task.packets.SyncTasksPacket;
+import jsettlers.network.client.task.packets.TaskPacket;
+import jsettlers.network.infrastructure.channel.packet.Packet;
+import jsettlers.network.server.packets.ServersideSyncTasksPacket;
+import jsettlers.network.server.packets.ServersideTaskPacket;
+
+/**
+ * Compares the throughput and the allocation rate of the framing of the {@link Channel} with the previous framing, which serialized every packet
+ * into a new buffer to learn its length and allocated a new array and new streams for every received packet.
+ * <p />
+ * The frames of one batch are written to the same buffer and read back from it, as a stand in for the socket. The allocations include the
+ * deserialized packets, which both framings need.
+ */
+public class PacketFramingSpeedTest {
+	private static final int FRAMES_PER_BATCH = 100;
+	private static final int BATCHES = 20000;
+	private static final int WARM_UP_BATCHES = 5000;
+
+	@Test
+	public void testClientSyncTasksPackets() throws IOException {
+		List<TaskPacket> tasks = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			tasks.add(new TestTaskPacket("task" + i, i, (byte) i));
+		}
+		compare("SyncTasksPacket", new SyncTasksPacket(2342, tasks), new GenericDeserializer<>(SyncTasksPacket.class));
+	}
+
+	@Test
+	public void testServerSyncTasksPackets() throws IOException {
+		List<ServersideTaskPacket> tasks = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			tasks.add(new ServersideTaskPacket(new byte[30 + i]));
+		}
+		compare("ServersideSyncTasksPacket", new ServersideSyncTasksPacket(2342, tasks),
+				new GenericDeserializer<>(ServersideSyncTasksPacket.class));
+	}
+
+	private static <T extends Packet> void compare(String name, T packet, IDeserializingable<T> deserializer) throws IOException {
+		IFraming allocatingFraming = new AllocatingFraming();
+		IFraming pooledFraming = new PooledFraming();
+
+		runBatches(allocatingFraming, packet, deserializer, WARM_UP_BATCHES);
+		runBatches(pooledFraming, packet, deserializer, WARM_UP_BATCHES);
+
+		Measurement allocating = measure(allocatingFraming, packet, deserializer);
+		Measurement pooled = measure(pooledFraming, packet, deserializer);
+
+		System.out.println(name + " round trips: allocating framing " + allocating + ", pooled framing " + pooled);
+	}
+
+	private static <T extends Packet> Measurement measure(IFraming framing, T packet, IDeserializingable<T> deserializer) throws IOException {
+		long allocatedBefore = getAllocatedBytes();
+		long start = System.nanoTime();
+		runBatches(framing, packet, deserializer, BATCHES);
+		long nanos = System.nanoTime() - start;
+		long allocatedBytes = getAllocatedBytes() - allocatedBefore;
+
+		return new Measurement(BATCHES * FRAMES_PER_BATCH, nanos, allocatedBytes);
+	}
+
+	private static <T extends Packet> void runBatches(IFraming framing, T packet, IDeserializingable<T> deserializer, int batches)
+			throws IOException {
+		ByteArrayOutputStream transport = new ByteArrayOutputStream();
+		DataOutputStream transportOut = new DataOutputStream(transport);
+
+		for (int batch = 0; batch < batches; batch++) {
+			transport.reset();
+			for (int i = 0; i < FRAMES_PER_BATCH; i++) {
+				framing.write(ENetworkKey.SYNCHRONOUS_TASK, packet, transportOut);
+			}
+
+			DataInputStream transportIn = new DataInputStream(new ByteArrayInputStream(transport.toByteArray()));
+			for (int i = 0; i < FRAMES_PER_BATCH; i++) {
+				ENetworkKey key = ENetworkKey.readFrom(transportIn);
+				int length = transportIn.readInt();
+				T readPacket = deserializer.deserialize(key, framing.read(transportIn, length));
+				if (i == 0 && batch == 0) {
+					assertEquals(packet, readPacket);
+				}
+			}
+		}
+	}
+
+	private static long getAllocatedBytes() {
+		java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (threadBean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return 0;
+	}
+
+	private interface IFraming {
+		void write(ENetworkKey key, Packet packet, DataOutputStream outStream) throws IOException;
+
+		DataInputStream read(DataInputStream inStream, int length) throws IOException;
+	}
+
+	/**
+	 * The framing as the {@link Channel} did it before the frame streams were introduced.
+	 */
+	private static class AllocatingFraming implements IFraming {
+		private final ByteArrayOutputStream byteBufferOutStream = new ByteArrayOutputStream();
+		private final DataOutputStream bufferDataOutStream = new DataOutputStream(byteBufferOutStream);
+
+		@Override
+		public void write(ENetworkKey key, Packet packet, DataOutputStream outStream) throws IOException {
+			byteBufferOutStream.reset();
+			packet.serialize(bufferDataOutStream);
+			bufferDataOutStream.flush();
+
+			key.writeTo(outStream);
+			outStream.writeInt(byteBufferOutStream.size());
+			byteBufferOutStream.writeTo(outStream);
+		}
+
+		@Override
+		public DataInputStream read(DataInputStream inStream, int length) throws IOException {
+			byte[] data = new byte[length];
+			inStream.readFully(data);
+			return new DataInputStream(new ByteArrayInputStream(data));
+		}
+	}
+
+	private static class PooledFraming implements IFraming {
+		private final FrameOutputStream frameOutStream = new FrameOutputStream();
+		private final FrameInputStream frameInStream = new FrameInputStream();
+		private final DataInputStream frameDataInStream = new DataInputStream(frameInStream);
+		private byte[] receiveBuffer = new byte[1024];
+
+		@Override
+		public void write(ENetworkKey key, Packet packet, DataOutputStream outStream) throws IOException {
+			frameOutStream.writeFrame(key, packet);
+			frameOutStream.writeTo(outStream);
+		}
+
+		@Override
+		public DataInputStream read(DataInputStream inStream, int length) throws IOException {
+			if (length > receiveBuffer.length) {
+				receiveBuffer = new byte[length];
+			}
+			inStream.readFully(receiveBuffer, 0, length);
+			frameInStream.setData(receiveBuffer, 0, length);
+			return frameDataInStream;
+		}
+	}
+
+	private static class Measurement {
+		private final int frames;
+		private final long nanos;
+		private final long allocatedBytes;
+
+		Measurement(int frames, long nanos, long allocatedBytes) {
+			this.frames = frames;
+			this.nanos = nanos;
+			this.allocatedBytes = allocatedBytes;
+		}
+
+		@Override
+		public String toString() {
+			return frames * 1000000L / nanos + " frames/ms, " + allocatedBytes / frames + " bytes allocated per frame";
+		}
+	}
+}
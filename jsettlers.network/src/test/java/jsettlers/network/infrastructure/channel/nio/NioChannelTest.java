@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.infrastructure.channel.nio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.NetworkConstants.ENetworkKey;
+import jsettlers.network.infrastructure.channel.Channel;
+import jsettlers.network.infrastructure.channel.GenericDeserializer;
+import jsettlers.network.infrastructure.channel.TestPacket;
+import jsettlers.network.infrastructure.channel.TestPacketListener;
+import jsettlers.network.infrastructure.channel.listeners.BufferingPacketListener;
+import jsettlers.network.infrastructure.channel.reject.RejectPacket;
+import jsettlers.network.infrastructure.channel.socket.ISocketFactory;
+import jsettlers.network.infrastructure.log.ConsoleLogger;
+
+/**
+ * Test for class {@link NioChannel}. The other side of the connection is a blocking {@link Channel} to ensure both use the same framing.
+ */
+public class NioChannelTest {
+	private SelectorLoop loop;
+	private Socket clientSocket;
+	private Channel client;
+	private NioChannel server;
+
+	@Before
+	public void setUp() throws IOException {
+		loop = new SelectorLoop("TestSelectorLoop");
+		loop.start();
+
+		try (ServerSocketChannel serverSocketChannel = ServerSocketChannel.open()) {
+			serverSocketChannel.bind(new InetSocketAddress("localhost", 0));
+			clientSocket = new Socket("localhost", serverSocketChannel.socket().getLocalPort());
+			server = new NioChannel(new ConsoleLogger("server"), serverSocketChannel.accept(), loop);
+		}
+		client = new Channel(ISocketFactory.DEFAULT_FACTORY.generateSocket(clientSocket));
+
+		server.start();
+		client.start();
+	}
+
+	@After
+	public void tearDown() {
+		client.close();
+		server.close();
+		loop.shutdown();
+	}
+
+	@Test
+	public void testConnection() throws Exception {
+		TestPacketListener clientListener = new TestPacketListener(ENetworkKey.TEST_PACKET);
+		TestPacketListener serverListener = new TestPacketListener(ENetworkKey.TEST_PACKET);
+		client.registerListener(clientListener);
+		server.registerListener(serverListener);
+
+		TestPacket testPacket = new TestPacket("dlkfjs", -23423);
+		client.sendPacket(ENetworkKey.TEST_PACKET, testPacket);
+		server.sendPacket(ENetworkKey.TEST_PACKET, testPacket);
+
+		Thread.sleep(80L);
+
+		assertEquals(Arrays.asList(testPacket), clientListener.packets);
+		assertEquals(Arrays.asList(testPacket), serverListener.packets);
+	}
+
+	@Test
+	public void testMultiPacketsInBothDirections() throws Exception {
+		TestPacketListener clientListener = new TestPacketListener(ENetworkKey.TEST_PACKET);
+		TestPacketListener serverListener = new TestPacketListener(ENetworkKey.TEST_PACKET);
+		client.registerListener(clientListener);
+		server.registerListener(serverListener);
+
+		final int NUMBER_OF_PACKETS = 2000;
+		for (int i = 0; i < NUMBER_OF_PACKETS; i++) {
+			client.sendPacket(ENetworkKey.TEST_PACKET, new TestPacket(i));
+			server.sendPacket(ENetworkKey.TEST_PACKET, new TestPacket(i));
+		}
+
+		Thread.sleep(200L);
+
+		assertPacketsInOrder(NUMBER_OF_PACKETS, clientListener.packets);
+		assertPacketsInOrder(NUMBER_OF_PACKETS, serverListener.packets);
+	}
+
+	@Test
+	public void testPacketsLargerThanTheReadBuffer() throws Exception {
+		TestPacketListener clientListener = new TestPacketListener(ENetworkKey.TEST_PACKET);
+		TestPacketListener serverListener = new TestPacketListener(ENetworkKey.TEST_PACKET);
+		client.registerListener(clientListener);
+		server.registerListener(serverListener);
+
+		char[] chars = new char[NetworkConstants.Server.NIO_BUFFER_SIZE * 5];
+		Arrays.fill(chars, 'x');
+		TestPacket largePacket = new TestPacket(new String(chars), 42);
+
+		for (int i = 0; i < 50; i++) { // more than the socket buffers can hold, so the server has to queue
+			client.sendPacket(ENetworkKey.TEST_PACKET, largePacket);
+			server.sendPacket(ENetworkKey.TEST_PACKET, largePacket);
+		}
+
+		Thread.sleep(300L);
+
+		assertEquals(50, clientListener.packets.size());
+		assertEquals(50, serverListener.packets.size());
+		assertEquals(largePacket, serverListener.packets.get(49));
+		assertEquals(largePacket, clientListener.packets.get(49));
+		assertTrue(loop.getBufferPool().getNumberOfPooledBuffers() > 0); // the read and write buffers have been returned
+	}
+
+	@Test
+	public void testRoundTripTime() throws InterruptedException {
+		server.initPinging();
+		Thread.sleep(100L);
+
+		assertTrue(System.currentTimeMillis() - server.getRoundTripTime().getLastUpdated() < 50);
+		assertTrue(System.currentTimeMillis() - client.getRoundTripTime().getLastUpdated() < 50);
+	}
+
+	@Test
+	public void testCloseClientSide() throws InterruptedException {
+		AtomicInteger closed = new AtomicInteger();
+		server.setChannelClosedListener(closed::incrementAndGet);
+
+		client.close();
+		Thread.sleep(50L);
+
+		assertTrue(server.isClosed());
+		assertEquals(1, closed.get());
+
+		server.close();
+		Thread.sleep(50L);
+		assertEquals(1, closed.get());
+	}
+
+	@Test
+	public void testCloseServerSide() throws InterruptedException {
+		AtomicInteger closed = new AtomicInteger();
+		server.setChannelClosedListener(closed::incrementAndGet);
+
+		server.close();
+		assertTrue(server.isClosed());
+		Thread.sleep(50L);
+
+		assertTrue(client.isClosed());
+		assertEquals(1, closed.get());
+	}
+
+	@Test
+	public void testSendingOnClosedChannel() {
+		server.close();
+		server.sendPacket(ENetworkKey.TEST_PACKET, new TestPacket("sdfsdf", 1434));
+	}
+
+	@Test
+	public void testRejectSendingForUnlistenedPackets() throws InterruptedException {
+		BufferingPacketListener<RejectPacket> rejectListener = new BufferingPacketListener<>(ENetworkKey.REJECT_PACKET,
+				new GenericDeserializer<>(RejectPacket.class));
+		client.registerListener(rejectListener);
+
+		client.sendPacket(ENetworkKey.TEST_PACKET, new TestPacket("dsfs", 4234));
+		Thread.sleep(50L);
+
+		List<RejectPacket> rejects = rejectListener.popBufferedPackets();
+		assertEquals(1, rejects.size());
+		assertEquals(ENetworkKey.TEST_PACKET, rejects.get(0).getRejectedKey());
+	}
+
+	@Test
+	public void testInvalidHeaderClosesChannel() throws Exception {
+		DataOutputStream out = new DataOutputStream(clientSocket.getOutputStream());
+		out.writeByte(ENetworkKey.TEST_PACKET.ordinal());
+		out.writeInt(-1);
+		out.flush();
+
+		Thread.sleep(50L);
+		assertTrue(server.isClosed());
+	}
+
+	private static void assertPacketsInOrder(int expectedNumber, List<TestPacket> packets) {
+		assertEquals(expectedNumber, packets.size());
+		for (int i = 0; i < expectedNumber; i++) {
+			assertEquals(i, packets.get(i).getTestInt());
+		}
+	}
+}
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.NetworkConstants.ENetworkKey;
+import jsettlers.network.common.packets.ArrayOfMatchInfosPacket;
+import jsettlers.network.common.packets.PlayerInfoPacket;
+import jsettlers.network.infrastructure.channel.Channel;
+import jsettlers.network.infrastructure.channel.GenericDeserializer;
+import jsettlers.network.infrastructure.channel.listeners.BufferingPacketListener;
+import jsettlers.network.infrastructure.channel.packet.EmptyPacket;
+import jsettlers.network.server.match.EPlayerState;
+
+/**
+ * Connects hundreds of clients to a local {@link GameServerThread}, lets all of them log in and ping the server and checks that the server
+ * keeps serving all of them with a constant number of threads.
+ */
+public class GameServerLoadIT {
+	private static final int NUMBER_OF_CLIENTS = 500;
+	private static final long MAX_WAIT_MS = 10000;
+	/**
+	 * Threads the JVM or the test environment may start on their own while the clients connect. It is far below the number of clients, so a
+	 * thread per server socket would still exceed the bound.
+	 */
+	private static final int UNRELATED_THREADS = 20;
+
+	@Test
+	public void testManyClients() throws IOException, InterruptedException {
+		GameServerThread gameServer = new GameServerThread(false);
+		gameServer.start();
+		int threadsBefore = Thread.activeCount();
+
+		List<Channel> clients = new ArrayList<>();
+		List<BufferingPacketListener<EmptyPacket>> identifiedListeners = new ArrayList<>();
+		try {
+			long start = System.currentTimeMillis();
+			for (int i = 0; i < NUMBER_OF_CLIENTS; i++) {
+				Channel client = new Channel("localhost", NetworkConstants.Server.SERVER_PORT);
+				BufferingPacketListener<EmptyPacket> identifiedListener = new BufferingPacketListener<>(ENetworkKey.IDENTIFY_USER,
+						new GenericDeserializer<>(EmptyPacket.class));
+				client.registerListener(identifiedListener);
+				client.registerListener(new BufferingPacketListener<>(ENetworkKey.ARRAY_OF_MATCHES,
+						new GenericDeserializer<>(ArrayOfMatchInfosPacket.class)));
+				client.start();
+				client.sendPacket(ENetworkKey.IDENTIFY_USER, new PlayerInfoPacket("player" + i, "Player " + i, false));
+
+				clients.add(client);
+				identifiedListeners.add(identifiedListener);
+			}
+
+			for (BufferingPacketListener<EmptyPacket> identifiedListener : identifiedListeners) {
+				while (identifiedListener.popBufferedPackets().isEmpty()) {
+					assertTrue(System.currentTimeMillis() - start < MAX_WAIT_MS);
+					Thread.sleep(10L);
+				}
+			}
+			System.out.println(NUMBER_OF_CLIENTS + " clients identified after " + (System.currentTimeMillis() - start) + " ms");
+
+			assertEquals(NUMBER_OF_CLIENTS, gameServer.getDatabase().getPlayers(EPlayerState.values()).size());
+			assertEquals(NetworkConstants.Server.NIO_SELECTOR_THREADS, countThreads("GameServerSelector"));
+			// one receiver thread per client channel, but no thread per socket on the server side
+			assertEquals(NUMBER_OF_CLIENTS, countThreads("ChannelForSocket_"));
+			assertTrue(Thread.activeCount() <= threadsBefore + NUMBER_OF_CLIENTS + UNRELATED_THREADS);
+
+			for (Channel client : clients) {
+				client.initPinging();
+			}
+			Thread.sleep(1000L);
+
+			long now = System.currentTimeMillis();
+			int maxRtt = 0;
+			for (Channel client : clients) {
+				assertFalse(client.isClosed());
+				assertTrue(now - client.getRoundTripTime().getLastUpdated() < 500);
+				maxRtt = Math.max(maxRtt, client.getRoundTripTime().getRtt());
+			}
+			System.out.println("max rtt of " + NUMBER_OF_CLIENTS + " continuously pinging clients: " + maxRtt + " ms");
+
+		} finally {
+			for (Channel client : clients) {
+				client.close();
+			}
+			gameServer.shutdown();
+		}
+
+		Thread.sleep(200L);
+		assertEquals(0, gameServer.getDatabase().getPlayers(EPlayerState.values()).size());
+	}
+
+	private static long countThreads(String namePrefix) {
+		return Thread.getAllStackTraces().keySet().stream().filter(thread -> thread.isAlive() && thread.getName().startsWith(namePrefix)).count();
+	}
+}
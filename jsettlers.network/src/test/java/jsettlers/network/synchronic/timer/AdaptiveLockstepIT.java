@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.synchronic.timer;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+
+import org.junit.Test;
+
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.NetworkConstants.ENetworkKey;
+import jsettlers.network.client.task.TaskPacketListener;
+import jsettlers.network.client.task.packets.SyncTasksPacket;
+import jsettlers.network.infrastructure.channel.Channel;
+import jsettlers.network.infrastructure.channel.socket.ISocketFactory;
+import jsettlers.network.infrastructure.channel.socket.delayed.DelayedSocket;
+
+/**
+ * Runs a {@link NetworkTimer} that adapts to the connection and one that does not against a server that sends the locksteps with a lead of one
+ * lockstep over a {@link DelayedSocket}. The delay of 80 to 120 ms eats up the lead, so the fixed timer regularly has to wait for the next
+ * lockstep, while the adaptive timer stretches the game time and keeps enough locksteps buffered.
+ */
+public class AdaptiveLockstepIT {
+	private static final int DURATION_MS = 6000;
+	private static final int LEAD_STEPS = 1;
+
+	@Test
+	public void testAdaptiveTimerWaitsLessForLocksteps() throws IOException, InterruptedException {
+		LockstepConnection fixedConnection = new LockstepConnection(false);
+		LockstepConnection adaptiveConnection = new LockstepConnection(true);
+
+		long start = System.currentTimeMillis();
+		fixedConnection.start(start);
+		adaptiveConnection.start(start);
+		Thread.sleep(DURATION_MS);
+		fixedConnection.stop();
+		adaptiveConnection.stop();
+
+		long fixedWaiting = fixedConnection.timer.getLockstepWaitingTime();
+		long adaptiveWaiting = adaptiveConnection.timer.getLockstepWaitingTime();
+		System.out.println("lockstep waiting time in " + DURATION_MS + " ms: fixed " + fixedWaiting + " ms (game time " + fixedConnection.timer.getTime()
+				+ " ms), adaptive " + adaptiveWaiting + " ms (game time " + adaptiveConnection.timer.getTime() + " ms)");
+
+		assertTrue(adaptiveWaiting * 2 < fixedWaiting);
+		assertTrue(adaptiveWaiting < DURATION_MS / 20);
+		assertTrue(adaptiveConnection.timer.getTime() > DURATION_MS * 3 / 4);
+	}
+
+	private static class LockstepConnection {
+		final NetworkTimer timer = new NetworkTimer();
+		private final Channel serverChannel;
+		private final Channel clientChannel;
+
+		private volatile boolean stopped;
+
+		LockstepConnection(boolean adaptive) throws IOException {
+			try (ServerSocket serverSocket = new ServerSocket(0)) {
+				Socket clientSocket = new Socket("localhost", serverSocket.getLocalPort());
+				serverChannel = new Channel(new DelayedSocket(serverSocket.accept()));
+				clientChannel = new Channel(ISocketFactory.DEFAULT_FACTORY.generateSocket(clientSocket));
+			}
+
+			clientChannel.registerListener(new TaskPacketListener(timer));
+			if (adaptive) {
+				timer.setRoundTripTimeSupplier(clientChannel);
+			}
+
+		}
+
+		void start(long start) {
+			Thread lockstepSender = new Thread(() -> {
+				try {
+					for (int step = 0; !stopped; step++) { // the server sends lockstep n + LEAD_STEPS when the game time of lockstep n starts
+						serverChannel.sendPacket(ENetworkKey.SYNCHRONOUS_TASK, new SyncTasksPacket(step + LEAD_STEPS, new ArrayList<>()));
+						Thread.sleep(Math.max(0, start + (step + 1) * NetworkConstants.Client.LOCKSTEP_PERIOD - System.currentTimeMillis()));
+					}
+				} catch (InterruptedException e) {
+				}
+			}, "LockstepSender");
+
+			serverChannel.start();
+			clientChannel.start();
+			clientChannel.initPinging();
+
+			for (int lockstep = 0; lockstep < LEAD_STEPS; lockstep++) {
+				timer.scheduleSyncTasksPacket(new SyncTasksPacket(lockstep, new ArrayList<>()));
+			}
+			lockstepSender.start();
+			timer.startExecution();
+		}
+
+		void stop() {
+			stopped = true;
+			timer.stopExecution();
+			serverChannel.close();
+			clientChannel.close();
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.synchronic.timer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import jsettlers.network.client.task.TestTaskPacket;
+import jsettlers.network.client.task.packets.SyncTasksPacket;
+import jsettlers.network.client.task.packets.TaskPacket;
+
+/**
+ * Tests the headless mode of the {@link NetworkTimer}.
+ */
+public class HeadlessNetworkTimerTest {
+	private final NetworkTimer timer = new NetworkTimer(true, true);
+
+	@After
+	public void tearDown() {
+		timer.stopExecution();
+	}
+
+	@Test
+	public void testRunsFasterThanTheWallClock() throws InterruptedException {
+		assertTrue(timer.isHeadless());
+
+		timer.startExecution();
+		Thread.sleep(200L);
+		timer.setPausing(true);
+
+		assertTrue(timer.getTime() > 10 * 200);
+		assertTrue(timer.getSimulationSpeed() > 10);
+	}
+
+	@Test
+	public void testPausingStopsTheTime() throws InterruptedException {
+		timer.setPausing(true);
+		timer.startExecution();
+		Thread.sleep(50L);
+		assertEquals(0, timer.getTime());
+
+		timer.setPausing(false);
+		Thread.sleep(50L);
+		timer.setPausing(true);
+		Thread.sleep(10L); // let the running time slice finish
+
+		int pausedTime = timer.getTime();
+		assertTrue(pausedTime > 0);
+		Thread.sleep(50L);
+		assertEquals(pausedTime, timer.getTime());
+	}
+
+	@Test
+	public void testExecutesTasksAndTimerables() throws InterruptedException {
+		TaskExecutorMock taskExecutor = new TaskExecutorMock();
+		timer.setTaskExecutor(taskExecutor);
+		int[] timerEvents = new int[1];
+		timer.schedule(() -> timerEvents[0]++, (short) 1000);
+
+		TaskPacket task = new TestTaskPacket("task", 1, (byte) 2);
+		timer.scheduleSyncTasksPacket(new SyncTasksPacket(100, Arrays.asList(task)));
+
+		timer.setPausing(true);
+		timer.startExecution();
+		timer.fastForwardTo(100 * 1000);
+
+		List<TaskPacket> executedTasks = taskExecutor.popBufferedPackets();
+		assertEquals(Arrays.asList(task), executedTasks);
+		assertEquals(100, timerEvents[0]);
+		assertTrue(timer.getSimulationSpeed() > 0);
+	}
+
+	@Test
+	public void testStopEndsTheThread() throws InterruptedException {
+		timer.startExecution();
+		Thread.sleep(20L);
+		timer.stopExecution();
+		Thread.sleep(20L);
+
+		int stoppedTime = timer.getTime();
+		Thread.sleep(50L);
+		assertEquals(stoppedTime, timer.getTime());
+	}
+}
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.synchronic.timer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import jsettlers.network.NetworkConstants;
+import jsettlers.network.infrastructure.channel.ping.RoundTripTime;
+
+public class LockstepRateControllerTest {
+	private static final float DELTA = 0.0001f;
+	private static final int PERIOD = NetworkConstants.Client.LOCKSTEP_PERIOD;
+
+	private final LockstepRateController controller = new LockstepRateController();
+
+	@Test
+	public void testTargetGrowsWithJitter() {
+		assertEquals(PERIOD, LockstepRateController.getTargetBufferedTime(createRoundTripTime(0)));
+		assertEquals(PERIOD + 60, LockstepRateController.getTargetBufferedTime(createRoundTripTime(30)));
+		assertEquals(LockstepRateController.MAX_TARGET_BUFFERED_TIME, LockstepRateController.getTargetBufferedTime(createRoundTripTime(100000)));
+		assertEquals(PERIOD, LockstepRateController.getTargetBufferedTime(createRoundTripTime(-5))); // overflown averages
+	}
+
+	@Test
+	public void testStretchesWhenTooLittleIsBuffered() {
+		RoundTripTime roundTripTime = createRoundTripTime(50); // target of 200 ms
+		assertEquals(1, controller.calculateRate(200, roundTripTime, 0), DELTA);
+		assertEquals(1 - (1 - LockstepRateController.MIN_RATE) / 2, controller.calculateRate(100, roundTripTime, 0), DELTA);
+		assertEquals(LockstepRateController.MIN_RATE, controller.calculateRate(0, roundTripTime, 0), DELTA);
+		assertEquals(LockstepRateController.MIN_RATE, controller.calculateRate(-NetworkTimer.TIME_SLICE, roundTripTime, 0), DELTA);
+	}
+
+	@Test
+	public void testShrinksOnlyWhenFarBehind() {
+		RoundTripTime roundTripTime = createRoundTripTime(50);
+		assertEquals(1, controller.calculateRate(400, roundTripTime, 0), DELTA);
+
+		float rate = controller.calculateRate(400 + LockstepRateController.CATCH_UP_WINDOW_MS / 2, roundTripTime, 0);
+		assertEquals(1 + (LockstepRateController.MAX_RATE - 1) / 2, rate, DELTA);
+		assertEquals(LockstepRateController.MAX_RATE, controller.calculateRate(100000, roundTripTime, 0), DELTA);
+	}
+
+	@Test
+	public void testTimeDebtIsGivenBackByStretching() {
+		assertEquals(1, controller.calculateRate(0, null, 0), DELTA);
+		assertEquals(LockstepRateController.MIN_RATE, controller.calculateRate(0, null, 70), DELTA);
+		assertEquals(LockstepRateController.MIN_RATE, controller.calculateRate(100000, createRoundTripTime(0), 70), DELTA);
+	}
+
+	@Test
+	public void testRateStaysInBounds() {
+		for (int jitter = 0; jitter < 1000; jitter += 7) {
+			for (int buffered = -100; buffered < 5000; buffered += 13) {
+				float rate = controller.calculateRate(buffered, createRoundTripTime(jitter), 0);
+				assertTrue(rate >= LockstepRateController.MIN_RATE && rate <= LockstepRateController.MAX_RATE);
+			}
+		}
+	}
+
+	private static RoundTripTime createRoundTripTime(int averagedJitter) {
+		return new RoundTripTime(System.currentTimeMillis(), 100, averagedJitter, averagedJitter);
+	}
+}
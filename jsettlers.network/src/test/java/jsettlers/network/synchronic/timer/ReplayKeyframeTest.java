@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2026
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated documentation files (the "Software"),
+ * to deal in the Software without restriction, including without limitation the rights to use, copy, modify, merge, publish, distribute, sublicense,
+ * and/or sell copies of the Software, and to permit persons to whom the Software is furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER
+ * DEALINGS IN THE SOFTWARE.
+ *******************************************************************************/
+package jsettlers.network.synchronic.timer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import jsettlers.network.client.task.TestTaskPacket;
+import jsettlers.network.client.task.packets.SyncTasksPacket;
+import jsettlers.network.client.task.packets.TaskPacket;
+
+/**
+ * Tests writing keyframes into the replay log of the {@link NetworkTimer} and continuing a replay from them.
+ */
+public class ReplayKeyframeTest {
+	private static final byte[] STATE = { 1, 2, 3 };
+
+	private final TaskPacket taskA = new TestTaskPacket("A", 1, (byte) 1);
+	private final TaskPacket taskB = new TestTaskPacket("B", 2, (byte) 2);
+	private final TaskPacket taskC = new TestTaskPacket("C", 3, (byte) 3);
+	private final TaskPacket taskD = new TestTaskPacket("D", 4, (byte) 4);
+
+	private File replayFile;
+
+	@Before
+	public void recordReplay() throws IOException {
+		replayFile = File.createTempFile("replay", ".log");
+
+		NetworkTimer timer = new NetworkTimer(true);
+		timer.setTaskExecutor(new TaskExecutorMock());
+		DataOutputStream replayLogStream = new DataOutputStream(new FileOutputStream(replayFile));
+		replayLogStream.writeUTF("header");
+		timer.setReplayLogStream(replayLogStream);
+
+		timer.scheduleSyncTasksPacket(new SyncTasksPacket(5, Collections.singletonList(taskA)));
+		timer.scheduleSyncTasksPacket(new SyncTasksPacket(20, Collections.singletonList(taskB)));
+		timer.fastForwardTo(1000);
+
+		ReplayKeyframe keyframe = timer.markReplayKeyframe();
+		timer.scheduleSyncTasksPacket(new SyncTasksPacket(30, Collections.singletonList(taskC))); // scheduled while the keyframe is written
+		keyframe.setState(STATE);
+		timer.writeReplayKeyframe(keyframe);
+		timer.scheduleSyncTasksPacket(new SyncTasksPacket(40, Collections.singletonList(taskD)));
+
+		timer.stopExecution();
+	}
+
+	@After
+	public void deleteReplay() {
+		replayFile.delete();
+	}
+
+	@Test
+	public void testIndex() throws IOException {
+		try (RandomAccessFile file = new RandomAccessFile(replayFile, "r")) {
+			ReplayKeyframeIndex index = ReplayKeyframeIndex.readFrom(file);
+			assertEquals(1, index.getEntries().size());
+			assertNull(index.findKeyframe(9));
+
+			ReplayKeyframeIndex.Entry entry = index.findKeyframe(15);
+			assertEquals(10, entry.getLockstep());
+
+			ReplayKeyframe keyframe = ReplayKeyframeIndex.readKeyframe(file, entry);
+			assertEquals(10, keyframe.getLockstep());
+			assertArrayEquals(STATE, keyframe.getState());
+			assertEquals(Collections.singletonList(new SyncTasksPacket(20, Collections.singletonList(taskB))), keyframe.getPendingTasks());
+		}
+	}
+
+	@Test
+	public void testContinueFromKeyframe() throws IOException {
+		ReplayKeyframe keyframe;
+		try (RandomAccessFile file = new RandomAccessFile(replayFile, "r")) {
+			ReplayKeyframeIndex index = ReplayKeyframeIndex.readFrom(file);
+			keyframe = ReplayKeyframeIndex.readKeyframe(file, index.findKeyframe(15));
+		}
+
+		NetworkTimer timer = new NetworkTimer(true);
+		TaskExecutorMock taskExecutor = new TaskExecutorMock();
+		timer.setTaskExecutor(taskExecutor);
+		timer.setTime(1000);
+		try (InputStream in = new FileInputStream(replayFile)) {
+			assertEquals(keyframe.getTasksOffset(), in.skip(keyframe.getTasksOffset()));
+			timer.loadReplayLogFromKeyframe(keyframe, new DataInputStream(in));
+		}
+		timer.fastForwardTo(5000);
+
+		assertEquals(Arrays.asList(taskB, taskC, taskD), taskExecutor.popBufferedPackets());
+	}
+
+	@Test
+	public void testReplayFromStartSkipsKeyframes() throws IOException {
+		NetworkTimer timer = new NetworkTimer(true);
+		TaskExecutorMock taskExecutor = new TaskExecutorMock();
+		timer.setTaskExecutor(taskExecutor);
+		try (DataInputStream in = new DataInputStream(new FileInputStream(replayFile))) {
+			assertEquals("header", in.readUTF());
+			timer.loadReplayLogFromStream(in);
+		}
+		timer.fastForwardTo(5000);
+
+		assertEquals(Arrays.asList(taskA, taskB, taskC, taskD), taskExecutor.popBufferedPackets());
+	}
+}
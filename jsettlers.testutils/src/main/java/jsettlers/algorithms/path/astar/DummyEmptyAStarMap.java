@@ -15,6 +15,7 @@
 package jsettlers.algorithms.path.astar;
 
 import jsettlers.algorithms.path.IPathCalculatable;
+import jsettlers.algorithms.path.astar.hierarchical.IHierarchicalAStarPathMap;
 import jsettlers.common.Color;
 
 /**
@@ -23,7 +24,7 @@ import jsettlers.common.Color;
  * @author Andreas Eberle
  * 
  */
-public class DummyEmptyAStarMap implements IAStarPathMap {
+public class DummyEmptyAStarMap implements IHierarchicalAStarPathMap {
 
 	private final boolean[][] blocked;
 
@@ -36,6 +37,11 @@ public class DummyEmptyAStarMap implements IAStarPathMap {
 		return blocked[x][y];
 	}
 
+	@Override
+	public boolean isBlocked(int x, int y) {
+		return blocked[x][y];
+	}
+
 	@Override
 	public float getCost(IPathCalculatable requester, int sx, int sy, int tx, int ty) {
 		return 1;
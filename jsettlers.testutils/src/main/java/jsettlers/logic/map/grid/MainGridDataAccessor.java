@@ -16,7 +16,9 @@ package jsettlers.logic.map.grid;
 
 import jsettlers.logic.map.grid.flags.FlagsGrid;
 import jsettlers.logic.map.grid.landscape.LandscapeGrid;
+import jsettlers.logic.map.grid.objects.MapObjectsManager;
 import jsettlers.logic.map.grid.partition.PartitionsGrid;
+import jsettlers.logic.movable.interfaces.AbstractMovableGrid;
 
 public class MainGridDataAccessor {
 	private MainGrid grid;
@@ -44,4 +46,12 @@ public class MainGridDataAccessor {
 	public PartitionsGrid getPartitionsGrid() {
 		return grid.partitionsGrid;
 	}
+
+	public MapObjectsManager getMapObjectsManager() {
+		return grid.mapObjectsManager;
+	}
+
+	public AbstractMovableGrid getMovablePathfinderGrid() {
+		return grid.movablePathfinderGrid;
+	}
 }
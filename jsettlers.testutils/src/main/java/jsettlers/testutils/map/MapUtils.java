@@ -17,10 +17,13 @@ package jsettlers.testutils.map;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 
+import org.junit.Assert;
+
 import jsettlers.common.menu.UIState;
 import jsettlers.logic.constants.ExtendedRandom;
 import jsettlers.logic.constants.MatchConstants;
@@ -30,6 +33,7 @@ import jsettlers.logic.map.loading.MapLoader;
 import jsettlers.logic.map.loading.list.MapList;
 import jsettlers.logic.map.loading.newmap.MapFileHeader;
 import jsettlers.logic.map.loading.newmap.RemakeMapLoader;
+import jsettlers.logic.map.loading.savegame.SavegameSections;
 import jsettlers.main.ReplayStartInformation;
 import jsettlers.main.replay.ReplayUtils;
 import jsettlers.network.synchronic.timer.NetworkTimer;
@@ -48,28 +52,14 @@ public final class MapUtils {
 			throws IOException, MapLoadException, ClassNotFoundException {
 		System.out.println("Comparing expected '" + expectedSavegame + "' with actual '" + actualSavegame + "' (uncompressed!)");
 
-		try (InputStream expectedStream = RemakeMapLoader.getMapInputStream(expectedSavegame.getListedMap());
-				CountingInputStream actualStream = new CountingInputStream(RemakeMapLoader.getMapInputStream(actualSavegame.getListedMap()))) {
-			MapFileHeader expectedHeader = MapFileHeader.readFromStream(expectedStream);
-			MatchConstants.init(new NetworkTimer(true), 0L);
-			MatchConstants.deserialize(new ObjectInputStream(expectedStream));
-			int expectedTime = MatchConstants.clock().getTime();
-			ExtendedRandom expectedRandom = MatchConstants.random();
-			MatchConstants.clearState();
-
-			MapFileHeader actualHeader = MapFileHeader.readFromStream(actualStream);
-			MatchConstants.init(new NetworkTimer(true), 1L);
-			MatchConstants.deserialize(new ObjectInputStream(actualStream));
-			int actualTime = MatchConstants.clock().getTime();
-			ExtendedRandom actualRandom = MatchConstants.random();
-			MatchConstants.clearState();
-
-			assertEquals("Map ID", expectedHeader.getBaseMapId(), actualHeader.getBaseMapId());
-			assertEquals("Map time", expectedTime, actualTime);
-			// Test the random behavior a bit to have a high probability of equality. An equals method does not exist for Random.
-			assertEquals("Random number state", expectedRandom.nextLong(), actualRandom.nextLong());
-			assertEquals("Random number state", expectedRandom.nextLong(), actualRandom.nextLong());
+		try (InputStream expectedFile = RemakeMapLoader.getMapInputStream(expectedSavegame.getListedMap());
+				InputStream actualFile = RemakeMapLoader.getMapInputStream(actualSavegame.getListedMap())) {
+			SavegameStart expected = new SavegameStart(expectedFile);
+			SavegameStart actual = new SavegameStart(actualFile);
+			expected.assertEquals(actual);
 
+			InputStream expectedStream = expected.data;
+			CountingInputStream actualStream = actual.data;
 			int e, a;
 			while (((e = expectedStream.read()) != -1) & ((a = actualStream.read()) != -1)) {
 				assertEquals("difference at (uncompressed) byte " + actualStream.getByteCounter(), e, a);
@@ -78,6 +68,34 @@ public final class MapUtils {
 		}
 	}
 
+	/**
+	 * Header and match constants of a savegame. {@link #data} is positioned behind the match constants.
+	 */
+	private static class SavegameStart {
+		private final MapFileHeader       header;
+		private final CountingInputStream data;
+		private final int                 time;
+		private final ExtendedRandom      random;
+
+		SavegameStart(InputStream file) throws IOException, ClassNotFoundException {
+			header = MapFileHeader.readFromStream(file);
+			data = new CountingInputStream(SavegameSections.openUncompressedData(new BufferedInputStream(file)));
+			MatchConstants.init(new NetworkTimer(true), 0L);
+			MatchConstants.deserialize(new ObjectInputStream(data));
+			time = MatchConstants.clock().getTime();
+			random = MatchConstants.random();
+			MatchConstants.clearState();
+		}
+
+		void assertEquals(SavegameStart actual) {
+			Assert.assertEquals("Map ID", header.getBaseMapId(), actual.header.getBaseMapId());
+			Assert.assertEquals("Map time", time, actual.time);
+			// Test the random behavior a bit to have a high probability of equality. An equals method does not exist for Random.
+			Assert.assertEquals("Random number state", random.nextLong(), actual.random.nextLong());
+			Assert.assertEquals("Random number state", random.nextLong(), actual.random.nextLong());
+		}
+	}
+
 	public static MapLoader saveMainGrid(MainGrid mainGrid, Byte playerId, UIState uiState) {
 		try {
 			System.out.println("Writing savegame with final state of failed test.");
@@ -76,6 +76,16 @@ public class SimpleDijkstraTester {
 			public boolean isShip() {
 				return false;
 			}
+
+			@Override
+			public boolean usesHierarchicalPathfinding() {
+				return false;
+			}
+
+			@Override
+			public boolean usesPathCache() {
+				return false;
+			}
 		};
 		Path path = dijkstra.find(requester, (short) 100, (short) 100, (short) 1, (short) 30, null);
 		System.out.println("path:  " + path);